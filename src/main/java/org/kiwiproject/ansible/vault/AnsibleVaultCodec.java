@@ -0,0 +1,380 @@
+package org.kiwiproject.ansible.vault;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.stream.Collectors.joining;
+import static org.kiwiproject.base.KiwiPreconditions.checkArgumentNotBlank;
+import static org.kiwiproject.base.KiwiPreconditions.checkArgumentNotNull;
+import static org.kiwiproject.base.KiwiStrings.f;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Pattern;
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Encrypts and decrypts content in the Ansible Vault 1.1 and 1.2 {@code AES256} format inside the JVM, i.e., without
+ * launching {@code ansible-vault}.
+ * <p>
+ * The format is the same one {@code ansible-vault} produces. Keys are derived from the password and a random 32-byte
+ * salt using PBKDF2 with HMAC-SHA256 and 10,000 iterations. The first 32 bytes of the derived key are the AES key,
+ * the next 32 bytes are the HMAC key, and the last 16 bytes are the initial counter. The plain text is padded using
+ * PKCS#7, encrypted using AES in CTR mode, and authenticated using HMAC-SHA256 over the cipher text.
+ * <p>
+ * This is package-private as it is used by {@link VaultEncryptionHelper}, which is the public API.
+ */
+class AnsibleVaultCodec {
+
+    @VisibleForTesting
+    static final String CIPHER_NAME = "AES256";
+
+    private static final String VAULT_HEADER_PREFIX = "$ANSIBLE_VAULT";
+    private static final String FORMAT_VERSION_1_1 = "1.1";
+    private static final String FORMAT_VERSION_1_2 = "1.2";
+
+    private static final int SALT_LENGTH = 32;
+    private static final int KEY_LENGTH = 32;
+    private static final int IV_LENGTH = 16;
+    private static final int PBKDF2_ITERATIONS = 10_000;
+    private static final int AES_BLOCK_SIZE = 16;
+    private static final int LINE_LENGTH = 80;
+    private static final String ENCRYPT_STRING_INDENT = "          ";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final HexFormat HEX = HexFormat.of();
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    private final char[] password;
+
+    @Nullable
+    private final DerivedKeyCache keyCache;
+
+    /**
+     * Value class containing the keys derived from a password and salt.
+     */
+    @VisibleForTesting
+    record DerivedKeys(SecretKeySpec cipherKey, SecretKeySpec hmacKey, IvParameterSpec iv) {
+    }
+
+    /**
+     * Create a new instance using the given password.
+     *
+     * @param password the vault password
+     * @throws IllegalArgumentException if the password is empty
+     */
+    AnsibleVaultCodec(char[] password) {
+        this(password, null);
+    }
+
+    /**
+     * Create a new instance using the given password, which caches the keys it derives when decrypting in the given
+     * cache.
+     *
+     * @param password the vault password
+     * @param keyCache the cache for derived keys, or null to derive keys every time
+     * @throws IllegalArgumentException if the password is empty
+     */
+    AnsibleVaultCodec(char[] password, @Nullable DerivedKeyCache keyCache) {
+        checkArgumentNotNull(password, "password must not be null");
+        checkArgument(password.length > 0, "password must not be empty");
+        this.password = password.clone();
+        this.keyCache = keyCache;
+    }
+
+    /**
+     * Create a new instance using the password in the given vault password file. Like {@code ansible-vault}, leading
+     * and trailing whitespace in the file is ignored.
+     *
+     * @param vaultPasswordFile the path to the vault password file
+     * @return a new instance
+     * @throws VaultEncryptionException if the file is executable, since {@code ansible-vault} treats executable
+     *                                  password files as scripts that print the password, or if the file is not valid
+     *                                  UTF-8 or contains only whitespace
+     * @throws UncheckedIOException     if the file cannot be read
+     */
+    static AnsibleVaultCodec fromPasswordFile(Path vaultPasswordFile) {
+        return fromPasswordFile(vaultPasswordFile, null);
+    }
+
+    /**
+     * Create a new instance using the password in the given vault password file, and which caches the keys it derives
+     * when decrypting in the given cache.
+     *
+     * @param vaultPasswordFile the path to the vault password file
+     * @param keyCache          the cache for derived keys, or null to derive keys every time
+     * @return a new instance
+     * @throws VaultEncryptionException if the file is executable, is not valid UTF-8, or contains only whitespace
+     * @throws UncheckedIOException     if the file cannot be read
+     * @see #fromPasswordFile(Path)
+     */
+    static AnsibleVaultCodec fromPasswordFile(Path vaultPasswordFile, @Nullable DerivedKeyCache keyCache) {
+        checkArgumentNotNull(vaultPasswordFile, "vaultPasswordFile must not be null");
+
+        if (Files.isExecutable(vaultPasswordFile)) {
+            throw new VaultEncryptionException(
+                    f("vault password file {} is executable; password scripts are not supported", vaultPasswordFile));
+        }
+
+        var password = decodePassword(readAllBytes(vaultPasswordFile)).strip();
+        if (password.isEmpty()) {
+            throw new VaultEncryptionException(f("vault password file {} does not contain a password",
+                    vaultPasswordFile));
+        }
+
+        return new AnsibleVaultCodec(password.toCharArray(), keyCache);
+    }
+
+    private static byte[] readAllBytes(Path path) {
+        try {
+            return Files.readAllBytes(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading " + path, e);
+        }
+    }
+
+    private static String decodePassword(byte[] bytes) {
+        try {
+            return StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(bytes)).toString();
+        } catch (CharacterCodingException e) {
+            throw new VaultEncryptionException("vault password is not valid UTF-8", e);
+        }
+    }
+
+    /**
+     * Encrypt the given plain text, returning content in the same format as a file encrypted by
+     * {@code ansible-vault encrypt}. The format version is 1.2 if a vault ID label is given, otherwise 1.1.
+     *
+     * @param plainText    the plain text to encrypt
+     * @param vaultIdLabel the vault ID label, or null
+     * @return the encrypted content, which ends with a newline
+     */
+    String encrypt(byte[] plainText, @Nullable String vaultIdLabel) {
+        return header(vaultIdLabel) + "\n" + String.join("\n", encryptToLines(plainText)) + "\n";
+    }
+
+    /**
+     * Encrypt the given plain text, returning content in the same format as
+     * {@code ansible-vault encrypt_string --name}.
+     *
+     * @param plainText    the plain text to encrypt
+     * @param variableName the name of the variable
+     * @param vaultIdLabel the vault ID label, or null
+     * @return the encrypted variable
+     */
+    String encryptString(String plainText, String variableName, @Nullable String vaultIdLabel) {
+        checkArgumentNotNull(plainText, "plainText must not be null");
+        checkArgumentNotBlank(variableName, "variableName must not be blank");
+
+        var lines = new ArrayList<String>();
+        lines.add(variableName + ": !vault |");
+        lines.add(ENCRYPT_STRING_INDENT + header(vaultIdLabel));
+        encryptToLines(plainText.getBytes(StandardCharsets.UTF_8))
+                .forEach(line -> lines.add(ENCRYPT_STRING_INDENT + line));
+
+        return String.join("\n", lines);
+    }
+
+    private static String header(@Nullable String vaultIdLabel) {
+        if (isNull(vaultIdLabel)) {
+            return String.join(";", VAULT_HEADER_PREFIX, FORMAT_VERSION_1_1, CIPHER_NAME);
+        }
+
+        checkArgumentNotBlank(vaultIdLabel, "vaultIdLabel must not be blank");
+        checkArgument(!vaultIdLabel.contains(";"), "vaultIdLabel must not contain ';'");
+        return String.join(";", VAULT_HEADER_PREFIX, FORMAT_VERSION_1_2, CIPHER_NAME, vaultIdLabel);
+    }
+
+    private List<String> encryptToLines(byte[] plainText) {
+        checkArgumentNotNull(plainText, "plainText must not be null");
+
+        var salt = new byte[SALT_LENGTH];
+        SECURE_RANDOM.nextBytes(salt);
+        var keys = deriveKeys(salt);
+
+        var cipherText = crypt(Cipher.ENCRYPT_MODE, keys, pad(plainText));
+        var hmac = hmac(keys, cipherText);
+
+        var body = String.join("\n", HEX.formatHex(salt), HEX.formatHex(hmac), HEX.formatHex(cipherText));
+        var hexBody = HEX.formatHex(body.getBytes(StandardCharsets.US_ASCII));
+
+        var lines = new ArrayList<String>();
+        for (var start = 0; start < hexBody.length(); start += LINE_LENGTH) {
+            lines.add(hexBody.substring(start, Math.min(start + LINE_LENGTH, hexBody.length())));
+        }
+        return lines;
+    }
+
+    /**
+     * Decrypt the given encrypted variable.
+     *
+     * @param encryptedVariable the variable to decrypt
+     * @return the decrypted content
+     * @throws VaultEncryptionException if the variable is not in a supported format or cannot be decrypted
+     */
+    byte[] decrypt(VaultEncryptedVariable encryptedVariable) {
+        checkArgumentNotNull(encryptedVariable, "encryptedVariable must not be null");
+        return decrypt(encryptedVariable.getEncryptedFileContent());
+    }
+
+    /**
+     * Decrypt the given content, which must be in the same format as a file encrypted by
+     * {@code ansible-vault encrypt}.
+     *
+     * @param vaultText the encrypted content
+     * @return the decrypted content
+     * @throws VaultEncryptionException if the content is not in a supported format or cannot be decrypted, for
+     *                                  example because it was encrypted with a different password
+     */
+    byte[] decrypt(String vaultText) {
+        checkArgumentNotNull(vaultText, "vaultText must not be null");
+
+        var envelope = VaultEnvelope.parse(vaultText);
+        var salt = envelope.salt();
+        var keys = nonNull(keyCache) ? keyCache.get(password, salt, () -> deriveKeys(salt)) : deriveKeys(salt);
+
+        var expectedHmac = hmac(keys, envelope.cipherText());
+        if (!MessageDigest.isEqual(expectedHmac, envelope.hmac())) {
+            throw new VaultEncryptionException("HMAC verification failed; the vault password is probably incorrect");
+        }
+
+        return unpad(crypt(Cipher.DECRYPT_MODE, keys, envelope.cipherText()));
+    }
+
+    /**
+     * The parts of an encrypted vault envelope.
+     */
+    @VisibleForTesting
+    record VaultEnvelope(String formatVersion, byte[] salt, byte[] hmac, byte[] cipherText) {
+
+        static VaultEnvelope parse(String vaultText) {
+            var lines = vaultText.strip().lines().toList();
+            if (lines.size() < 2) {
+                throw new VaultEncryptionException("Input is not vault encrypted data");
+            }
+
+            var header = lines.get(0).strip().split(";");
+            if (header.length < 3 || !VAULT_HEADER_PREFIX.equals(header[0])) {
+                throw new VaultEncryptionException("Input is not vault encrypted data");
+            }
+
+            var formatVersion = header[1];
+            if (!FORMAT_VERSION_1_1.equals(formatVersion) && !FORMAT_VERSION_1_2.equals(formatVersion)) {
+                throw new VaultEncryptionException(f("Unsupported vault format version: {}", formatVersion));
+            }
+
+            var cipherName = header[2].strip();
+            if (!CIPHER_NAME.equals(cipherName)) {
+                throw new VaultEncryptionException(f("Unsupported vault cipher: {}", cipherName));
+            }
+
+            var hexBody = lines.stream()
+                    .skip(1)
+                    .map(line -> WHITESPACE.matcher(line).replaceAll(""))
+                    .collect(joining());
+            var parts = new String(unhex(hexBody), StandardCharsets.US_ASCII).split("\n");
+            if (parts.length != 3) {
+                throw new VaultEncryptionException("Vault encrypted data is malformed");
+            }
+
+            return new VaultEnvelope(formatVersion, unhex(parts[0]), unhex(parts[1]), unhex(parts[2]));
+        }
+
+        private static byte[] unhex(String value) {
+            try {
+                return HEX.parseHex(value);
+            } catch (IllegalArgumentException e) {
+                throw new VaultEncryptionException("Vault encrypted data is not valid hex", e);
+            }
+        }
+    }
+
+    @VisibleForTesting
+    DerivedKeys deriveKeys(byte[] salt) {
+        var spec = new PBEKeySpec(password, salt, PBKDF2_ITERATIONS, 8 * (2 * KEY_LENGTH + IV_LENGTH));
+        try {
+            var factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
+            var derived = factory.generateSecret(spec).getEncoded();
+            try {
+                return new DerivedKeys(
+                        new SecretKeySpec(derived, 0, KEY_LENGTH, "AES"),
+                        new SecretKeySpec(derived, KEY_LENGTH, KEY_LENGTH, "HmacSHA256"),
+                        new IvParameterSpec(derived, 2 * KEY_LENGTH, IV_LENGTH));
+            } finally {
+                Arrays.fill(derived, (byte) 0);
+            }
+        } catch (GeneralSecurityException e) {
+            throw new VaultEncryptionException("Unable to derive vault keys", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    private static byte[] crypt(int mode, DerivedKeys keys, byte[] input) {
+        try {
+            var cipher = Cipher.getInstance("AES/CTR/NoPadding");
+            cipher.init(mode, keys.cipherKey(), keys.iv());
+            return cipher.doFinal(input);
+        } catch (GeneralSecurityException e) {
+            throw new VaultEncryptionException("Unable to " + (mode == Cipher.ENCRYPT_MODE ? "encrypt" : "decrypt"), e);
+        }
+    }
+
+    private static byte[] hmac(DerivedKeys keys, byte[] cipherText) {
+        try {
+            var mac = Mac.getInstance("HmacSHA256");
+            mac.init(keys.hmacKey());
+            return mac.doFinal(cipherText);
+        } catch (GeneralSecurityException e) {
+            throw new VaultEncryptionException("Unable to compute HMAC", e);
+        }
+    }
+
+    @VisibleForTesting
+    static byte[] pad(byte[] input) {
+        var padLength = AES_BLOCK_SIZE - (input.length % AES_BLOCK_SIZE);
+        var padded = Arrays.copyOf(input, input.length + padLength);
+        Arrays.fill(padded, input.length, padded.length, (byte) padLength);
+        return padded;
+    }
+
+    @VisibleForTesting
+    static byte[] unpad(byte[] input) {
+        if (input.length == 0 || input.length % AES_BLOCK_SIZE != 0) {
+            throw new VaultEncryptionException("Decrypted data has invalid padding");
+        }
+
+        var padLength = input[input.length - 1] & 0xFF;
+        if (padLength < 1 || padLength > AES_BLOCK_SIZE) {
+            throw new VaultEncryptionException("Decrypted data has invalid padding");
+        }
+
+        for (var i = input.length - padLength; i < input.length; i++) {
+            if ((input[i] & 0xFF) != padLength) {
+                throw new VaultEncryptionException("Decrypted data has invalid padding");
+            }
+        }
+
+        return Arrays.copyOf(input, input.length - padLength);
+    }
+}
@@ -0,0 +1,124 @@
+package org.kiwiproject.ansible.vault;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.kiwiproject.base.KiwiPreconditions.checkArgumentNotNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import lombok.Getter;
+import org.kiwiproject.ansible.vault.AnsibleVaultCodec.DerivedKeys;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * An in-memory cache of keys derived from a vault password and salt, so that decrypting the same vault-encrypted
+ * content more than once only performs the (deliberately slow) PBKDF2 key derivation once.
+ * <p>
+ * Entries expire a fixed time after they are created. Passwords are not stored; entries are keyed by a SHA-256
+ * digest of the password together with the salt.
+ */
+class DerivedKeyCache {
+
+    /**
+     * The default time after which cached keys expire.
+     */
+    static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+
+    /**
+     * The default maximum number of cached keys.
+     */
+    static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    @Getter
+    private final Duration timeToLive;
+
+    private final Cache<CacheKey, DerivedKeys> cache;
+
+    private record CacheKey(ByteBuffer passwordDigest, ByteBuffer salt) {
+    }
+
+    /**
+     * Create a new instance using {@link #DEFAULT_TIME_TO_LIVE} and {@link #DEFAULT_MAXIMUM_SIZE}.
+     */
+    DerivedKeyCache() {
+        this(DEFAULT_TIME_TO_LIVE, DEFAULT_MAXIMUM_SIZE, Ticker.systemTicker());
+    }
+
+    @VisibleForTesting
+    DerivedKeyCache(Duration timeToLive, long maximumSize, Ticker ticker) {
+        checkArgumentNotNull(timeToLive, "timeToLive must not be null");
+        checkArgument(timeToLive.toMillis() > 0, "timeToLive must be positive");
+        checkArgument(maximumSize > 0, "maximumSize must be positive");
+        checkArgumentNotNull(ticker, "ticker must not be null");
+
+        this.timeToLive = timeToLive;
+        this.cache = CacheBuilder.newBuilder()
+                .expireAfterWrite(timeToLive)
+                .maximumSize(maximumSize)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Get the keys for the given password and salt, deriving and caching them if they are not already cached.
+     *
+     * @param password   the vault password
+     * @param salt       the salt
+     * @param keyDeriver derives the keys if they are not cached
+     * @return the derived keys
+     * @throws VaultEncryptionException if the keys could not be derived
+     */
+    DerivedKeys get(char[] password, byte[] salt, Supplier<DerivedKeys> keyDeriver) {
+        var key = new CacheKey(ByteBuffer.wrap(digestOf(password)), ByteBuffer.wrap(salt.clone()));
+
+        // Use Cache#get instead of asMap().computeIfAbsent, which does not honor expireAfterWrite
+        try {
+            return cache.get(key, keyDeriver::get);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof VaultEncryptionException vaultEncryptionException) {
+                throw vaultEncryptionException;
+            }
+            throw new VaultEncryptionException("Unable to derive keys", e.getCause());
+        }
+    }
+
+    private static byte[] digestOf(char[] password) {
+        var passwordBytes = StandardCharsets.UTF_8.encode(CharBuffer.wrap(password));
+        try {
+            var messageDigest = MessageDigest.getInstance("SHA-256");
+            messageDigest.update(passwordBytes);
+            return messageDigest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new VaultEncryptionException("SHA-256 is not available", e);
+        } finally {
+            if (passwordBytes.hasArray()) {
+                Arrays.fill(passwordBytes.array(), (byte) 0);
+            }
+        }
+    }
+
+    /**
+     * @return the approximate number of cached keys
+     */
+    long size() {
+        return cache.size();
+    }
+
+    /**
+     * Remove all cached keys.
+     */
+    void clear() {
+        cache.invalidateAll();
+    }
+}
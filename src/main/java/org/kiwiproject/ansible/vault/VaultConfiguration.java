@@ -2,8 +2,10 @@ package org.kiwiproject.ansible.vault;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.kiwiproject.base.KiwiPreconditions.requireNotBlank;
+import static org.kiwiproject.base.KiwiPreconditions.requireNotNullElse;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
@@ -41,13 +43,23 @@ public class VaultConfiguration {
     @NotBlank
     private String tempDirectory;
 
+    /**
+     * How strings are encrypted and decrypted, and how encrypted files are viewed. The default is
+     * {@link VaultEncryptionStrategy#ANSIBLE_VAULT_COMMAND}; use {@link VaultEncryptionStrategy#IN_JVM} to avoid
+     * launching the ansible-vault executable when possible.
+     */
+    @NotNull
+    private VaultEncryptionStrategy encryptionStrategy;
+
     /**
      * No-arg constructor. Useful mainly when using an external configuration mechanism that uses setter methods.
      * <p>
-     * Sets the temporary directory to the value of the running JVM's {@code java.io.tmpdir} system property.
+     * Sets the temporary directory to the value of the running JVM's {@code java.io.tmpdir} system property, and the
+     * encryption strategy to {@link VaultEncryptionStrategy#ANSIBLE_VAULT_COMMAND}.
      */
     public VaultConfiguration() {
         this.tempDirectory = getJavaTempDir();
+        this.encryptionStrategy = VaultEncryptionStrategy.ANSIBLE_VAULT_COMMAND;
     }
 
     /**
@@ -59,14 +71,34 @@ public class VaultConfiguration {
      * @param ansibleVaultPath      path to the ansible-vault executable
      * @param vaultPasswordFilePath path to the vault password file for encryption
      * @param tempDirectory         a temporary directory used with the {@code encrypt_string} command
+     */
+    public VaultConfiguration(String ansibleVaultPath, String vaultPasswordFilePath, String tempDirectory) {
+        this(ansibleVaultPath, vaultPasswordFilePath, tempDirectory, null);
+    }
+
+    /**
+     * All-args constructor.
+     * <p>
+     * If {@code tempDirectory} is blank, the temporary directory will be set to the value of the running JVM's
+     * {@code java.io.tmpdir} system property. If {@code encryptionStrategy} is null, it will be set to
+     * {@link VaultEncryptionStrategy#ANSIBLE_VAULT_COMMAND}.
+     *
+     * @param ansibleVaultPath      path to the ansible-vault executable
+     * @param vaultPasswordFilePath path to the vault password file for encryption
+     * @param tempDirectory         a temporary directory used with the {@code encrypt_string} command
+     * @param encryptionStrategy    how to encrypt and decrypt strings and view encrypted files
      * @implNote This constructor is used by the Lombok-generated builder, and therefore both this constructor and
      * the builder perform validation on the arguments.
      */
     @Builder
-    public VaultConfiguration(String ansibleVaultPath, String vaultPasswordFilePath, String tempDirectory) {
+    public VaultConfiguration(String ansibleVaultPath,
+                              String vaultPasswordFilePath,
+                              String tempDirectory,
+                              VaultEncryptionStrategy encryptionStrategy) {
         this.ansibleVaultPath = requireNotBlank(ansibleVaultPath);
         this.vaultPasswordFilePath = requireNotBlank(vaultPasswordFilePath);
         this.tempDirectory = isBlank(tempDirectory) ? getJavaTempDir() : tempDirectory;
+        this.encryptionStrategy = requireNotNullElse(encryptionStrategy, VaultEncryptionStrategy.ANSIBLE_VAULT_COMMAND);
     }
 
     private String getJavaTempDir() {
@@ -83,6 +115,7 @@ public class VaultConfiguration {
                 .ansibleVaultPath(ansibleVaultPath)
                 .vaultPasswordFilePath(vaultPasswordFilePath)
                 .tempDirectory(tempDirectory)
+                .encryptionStrategy(encryptionStrategy)
                 .build();
     }
 }
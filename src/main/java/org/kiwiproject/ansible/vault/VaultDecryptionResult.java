@@ -0,0 +1,70 @@
+package org.kiwiproject.ansible.vault;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.kiwiproject.base.KiwiStrings.f;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Value class containing the result of decrypting one encrypted variable when decrypting many of them together.
+ *
+ * @param variableName the name of the variable, or null if the encrypted variable could not be parsed
+ * @param plainText    the decrypted content, or null if decryption failed
+ * @param error        the exception thrown if decryption failed, otherwise null
+ * @see VaultEncryptionHelper#decryptStrings(java.util.Collection)
+ */
+public record VaultDecryptionResult(@Nullable String variableName,
+                                    @Nullable String plainText,
+                                    @Nullable RuntimeException error) {
+
+    /**
+     * Create a new instance for a variable that was decrypted.
+     *
+     * @param variableName the name of the variable
+     * @param plainText    the decrypted content
+     * @return a new instance
+     */
+    public static VaultDecryptionResult ofSuccess(String variableName, String plainText) {
+        return new VaultDecryptionResult(variableName, plainText, null);
+    }
+
+    /**
+     * Create a new instance for a variable that could not be decrypted.
+     *
+     * @param variableName the name of the variable, or null if it is not known
+     * @param error        the cause of the failure
+     * @return a new instance
+     */
+    public static VaultDecryptionResult ofFailure(@Nullable String variableName, RuntimeException error) {
+        return new VaultDecryptionResult(variableName, null, error);
+    }
+
+    /**
+     * @return true if the variable was decrypted
+     */
+    public boolean isSuccessful() {
+        return isNull(error);
+    }
+
+    /**
+     * @return true if the variable could not be decrypted
+     */
+    public boolean isFailed() {
+        return nonNull(error);
+    }
+
+    /**
+     * Get the decrypted content, or throw an exception if decryption failed.
+     *
+     * @return the decrypted content
+     * @throws VaultEncryptionException if decryption failed, with the original error as its cause
+     */
+    public String plainTextOrThrow() {
+        if (isFailed()) {
+            throw new VaultEncryptionException(f("Error decrypting variable {}", variableName), error);
+        }
+
+        return plainText;
+    }
+}
@@ -3,6 +3,7 @@ package org.kiwiproject.ansible.vault;
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.stream.Collectors.joining;
 import static org.kiwiproject.base.KiwiPreconditions.checkArgumentNotBlank;
+import static org.kiwiproject.base.KiwiPreconditions.checkArgumentNotNull;
 import static org.kiwiproject.collect.KiwiLists.subListFrom;
 
 import lombok.AccessLevel;
@@ -11,9 +12,11 @@ import org.kiwiproject.collect.KiwiLists;
 
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
 
 /**
  * Represents a variable encrypted using {@code ansible-vault encrypt_string}.
@@ -47,6 +50,12 @@ class VaultEncryptedVariable {
 
     private static final String LINE_SEPARATOR = System.lineSeparator();
 
+    private static final String ENCRYPTED_CONTENT_INDENT = "          ";
+
+    // Matches a YAML key whose value is vault-encrypted, e.g., "  db_password: !vault |"
+    private static final Pattern VAULT_VARIABLE_DECLARATION =
+            Pattern.compile("^( *)(?:- +)?([^\\s#:][^:]*):\\s+!vault\\s+\\|[-+]?\\s*$");
+
     private String variableName;
     private String formatVersion;
     private String cipher;
@@ -164,6 +173,42 @@ class VaultEncryptedVariable {
                 ".txt";
     }
 
+    /**
+     * Find all the vault-encrypted variables in the given YAML content, e.g., an Ansible variables file. Variables
+     * may be nested at any indentation, and are returned in the same format as {@code ansible-vault encrypt_string}
+     * output so that they can be passed to the constructor.
+     *
+     * @param yamlContent the YAML content to search
+     * @return the encrypted variables, in the order they appear in the content
+     */
+    static List<String> findAllIn(String yamlContent) {
+        checkArgumentNotNull(yamlContent, "yamlContent cannot be null");
+
+        var lines = yamlContent.lines().toList();
+        var variables = new ArrayList<String>();
+
+        for (var i = 0; i < lines.size(); i++) {
+            var matcher = VAULT_VARIABLE_DECLARATION.matcher(lines.get(i));
+            if (!matcher.matches()) {
+                continue;
+            }
+
+            var indent = matcher.group(1).length();
+            var variable = new StringBuilder(matcher.group(2).strip()).append(": !vault |");
+            while (i + 1 < lines.size() && isIndentedMoreThan(lines.get(i + 1), indent)) {
+                i++;
+                variable.append(LINE_SEPARATOR).append(ENCRYPTED_CONTENT_INDENT).append(lines.get(i).strip());
+            }
+            variables.add(variable.toString());
+        }
+
+        return variables;
+    }
+
+    private static boolean isIndentedMoreThan(String line, int indent) {
+        return !line.isBlank() && line.length() > indent && line.substring(0, indent + 1).isBlank();
+    }
+
     Optional<String> getVaultIdLabel() {
         return Optional.ofNullable(vaultIdLabel);
     }
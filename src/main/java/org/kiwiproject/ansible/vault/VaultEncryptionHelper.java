@@ -9,6 +9,7 @@ import static org.kiwiproject.base.KiwiStrings.format;
 import static org.kiwiproject.logging.LazyLogParameterSupplier.lazy;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.extern.slf4j.Slf4j;
 import org.kiwiproject.base.process.ProcessHelper;
 import org.kiwiproject.base.process.Processes;
@@ -16,12 +17,17 @@ import org.kiwiproject.io.KiwiIO;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * The main class in this package for executing {@code ansible-vault} commands.
@@ -29,6 +35,12 @@ import java.util.concurrent.TimeUnit;
  * While it is possible to use the various command classes directly to build the operating system command,
  * create a {@link ProcessBuilder} and finally a {@link Process}, this class wraps all that and makes it relatively
  * easy to make {@code ansible-vault} calls in the operating system.
+ * <p>
+ * By default, every operation launches {@code ansible-vault}. Set the configuration's encryption strategy to
+ * {@link VaultEncryptionStrategy#IN_JVM} to encrypt and decrypt strings, and view encrypted files, inside the JVM,
+ * falling back to {@code ansible-vault} only when that is not possible.
+ *
+ * @see VaultEncryptionStrategy
  */
 @SuppressWarnings("WeakerAccess")
 @Slf4j
@@ -42,6 +54,7 @@ public class VaultEncryptionHelper {
 
     private final ProcessHelper processHelper;
     private final VaultConfiguration configuration;
+    private final DerivedKeyCache derivedKeyCache;
 
     /**
      * Create an instance with the given vault configuration. Makes a copy of the given configuration, such that
@@ -61,11 +74,20 @@ public class VaultEncryptionHelper {
 
     @VisibleForTesting
     VaultEncryptionHelper(VaultConfiguration configuration, ProcessHelper processHelper) {
+        this(configuration, processHelper, new DerivedKeyCache());
+    }
+
+    @VisibleForTesting
+    VaultEncryptionHelper(VaultConfiguration configuration,
+                          ProcessHelper processHelper,
+                          DerivedKeyCache derivedKeyCache) {
         checkArgumentNotNull(configuration, "configuration is required");
         checkArgumentNotNull(processHelper, "processHelper is required");
+        checkArgumentNotNull(derivedKeyCache, "derivedKeyCache is required");
 
         this.configuration = validateAndCopyVaultConfiguration(configuration);
         this.processHelper = processHelper;
+        this.derivedKeyCache = derivedKeyCache;
     }
 
     /**
@@ -247,7 +269,9 @@ public class VaultEncryptionHelper {
      */
     public String viewFile(String encryptedFilePath) {
         var osCommand = VaultViewCommand.from(configuration, encryptedFilePath);
-        return executeVaultCommandReturningStdout(osCommand);
+        return executeInJvmOrVaultCommand("view file",
+                () -> decryptToString(readString(Path.of(encryptedFilePath))),
+                () -> executeVaultCommandReturningStdout(osCommand));
     }
 
     /**
@@ -294,7 +318,9 @@ public class VaultEncryptionHelper {
      */
     public String encryptString(String plainText, String variableName) {
         var osCommand = VaultEncryptStringCommand.from(configuration, plainText, variableName);
-        return executeVaultCommandReturningStdout(osCommand);
+        return executeInJvmOrVaultCommand("encrypt string",
+                () -> newCodec().encryptString(plainText, variableName, null),
+                () -> executeVaultCommandReturningStdout(osCommand));
     }
 
     /**
@@ -307,7 +333,9 @@ public class VaultEncryptionHelper {
      */
     public String encryptString(String vaultIdLabel, String plainText, String variableName) {
         var osCommand = VaultEncryptStringCommand.from(configuration, vaultIdLabel, plainText, variableName);
-        return executeVaultCommandReturningStdout(osCommand);
+        return executeInJvmOrVaultCommand("encrypt string",
+                () -> newCodec().encryptString(plainText, variableName, vaultIdLabel),
+                () -> executeVaultCommandReturningStdout(osCommand));
     }
 
     /**
@@ -321,6 +349,94 @@ public class VaultEncryptionHelper {
                 "configuration.tempDirectory is required for decryptString");
 
         var encryptedVariable = new VaultEncryptedVariable(encryptedString);
+        return decryptString(encryptedVariable);
+    }
+
+    private String decryptString(VaultEncryptedVariable encryptedVariable) {
+        return executeInJvmOrVaultCommand("decrypt string",
+                () -> decryptToString(encryptedVariable.getEncryptedFileContent()),
+                () -> decryptStringUsingVaultCommand(encryptedVariable));
+    }
+
+    /**
+     * Decrypts many encrypted string variables formatted using encrypt_string with a --name option, using at most as
+     * many threads as there are available processors.
+     *
+     * @param encryptedStrings the encrypted variables
+     * @return the results, in the same order as {@code encryptedStrings}
+     * @see #decryptStrings(Collection, int)
+     */
+    public List<VaultDecryptionResult> decryptStrings(Collection<String> encryptedStrings) {
+        return decryptStrings(encryptedStrings, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Decrypts many encrypted string variables formatted using encrypt_string with a --name option, using at most
+     * {@code maxConcurrency} threads.
+     * <p>
+     * A failure to decrypt one variable does not affect the others; instead, the failure is recorded in the
+     * corresponding {@link VaultDecryptionResult}.
+     * <p>
+     * When using the {@link VaultEncryptionStrategy#IN_JVM} strategy, the keys derived from the vault password and
+     * the salt of each variable are cached in memory for a few minutes, so decrypting the same variables again soon
+     * afterward (e.g., when configuration is reloaded) does not need to derive them again.
+     *
+     * @param encryptedStrings the encrypted variables
+     * @param maxConcurrency   the maximum number of variables to decrypt at the same time
+     * @return the results, in the same order as {@code encryptedStrings}
+     */
+    public List<VaultDecryptionResult> decryptStrings(Collection<String> encryptedStrings, int maxConcurrency) {
+        checkArgumentNotNull(encryptedStrings, "encryptedStrings cannot be null");
+        checkArgument(maxConcurrency > 0, "maxConcurrency must be positive");
+        checkArgumentNotBlank(configuration.getTempDirectory(),
+                "configuration.tempDirectory is required for decryptStrings");
+
+        if (encryptedStrings.isEmpty()) {
+            return List.of();
+        }
+
+        var threadFactory = new ThreadFactoryBuilder().setNameFormat("vault-decrypt-%d").setDaemon(true).build();
+        var executor = Executors.newFixedThreadPool(Math.min(maxConcurrency, encryptedStrings.size()), threadFactory);
+        try {
+            var futures = encryptedStrings.stream()
+                    .map(encryptedString -> CompletableFuture.supplyAsync(
+                            () -> decryptStringToResult(encryptedString), executor))
+                    .toList();
+
+            return futures.stream().map(CompletableFuture::join).toList();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private VaultDecryptionResult decryptStringToResult(String encryptedString) {
+        String variableName = null;
+        try {
+            var encryptedVariable = new VaultEncryptedVariable(encryptedString);
+            variableName = encryptedVariable.getVariableName();
+            return VaultDecryptionResult.ofSuccess(variableName, decryptString(encryptedVariable));
+        } catch (RuntimeException e) {
+            LOG.warn("Error decrypting variable {}: {}", variableName, e.getMessage());
+            return VaultDecryptionResult.ofFailure(variableName, e);
+        }
+    }
+
+    /**
+     * Decrypts all the encrypted string variables (i.e., values tagged with {@code !vault}) in a YAML file such as an
+     * Ansible variables file. Variables may be nested at any indentation.
+     *
+     * @param yamlFilePath the path to the YAML file
+     * @return the results, in the order the variables appear in the file
+     * @see #decryptStrings(Collection, int)
+     */
+    public List<VaultDecryptionResult> decryptStringsInFile(Path yamlFilePath) {
+        checkArgumentNotNull(yamlFilePath, "yamlFilePath cannot be null");
+
+        var yamlContent = readString(yamlFilePath);
+        return decryptStrings(VaultEncryptedVariable.findAllIn(yamlContent));
+    }
+
+    private String decryptStringUsingVaultCommand(VaultEncryptedVariable encryptedVariable) {
         var tempFilePath = encryptedVariable.generateRandomFilePath(configuration.getTempDirectory());
 
         try {
@@ -336,6 +452,42 @@ public class VaultEncryptionHelper {
         }
     }
 
+    /**
+     * Performs an operation inside the JVM if the configured strategy is {@link VaultEncryptionStrategy#IN_JVM},
+     * falling back to the ansible-vault command if that fails. Errors from the fallback are therefore reported the
+     * same way regardless of the strategy.
+     */
+    private String executeInJvmOrVaultCommand(String operation,
+                                              Supplier<String> inJvmOperation,
+                                              Supplier<String> vaultCommandOperation) {
+        if (configuration.getEncryptionStrategy() == VaultEncryptionStrategy.IN_JVM) {
+            try {
+                return inJvmOperation.get();
+            } catch (VaultEncryptionException | UncheckedIOException e) {
+                LOG.debug("Unable to {} in the JVM; falling back to ansible-vault. Cause: {}",
+                        operation, e.getMessage());
+            }
+        }
+
+        return vaultCommandOperation.get();
+    }
+
+    private AnsibleVaultCodec newCodec() {
+        return AnsibleVaultCodec.fromPasswordFile(Path.of(configuration.getVaultPasswordFilePath()), derivedKeyCache);
+    }
+
+    private String decryptToString(String vaultText) {
+        return new String(newCodec().decrypt(vaultText), StandardCharsets.UTF_8);
+    }
+
+    private static String readString(Path path) {
+        try {
+            return Files.readString(path, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading " + path, e);
+        }
+    }
+
     private static boolean isNotExistingPath(String filePath) {
         return !isExistingPath(filePath);
     }
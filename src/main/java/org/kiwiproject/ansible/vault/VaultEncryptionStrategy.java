@@ -0,0 +1,24 @@
+package org.kiwiproject.ansible.vault;
+
+/**
+ * Strategies that {@link VaultEncryptionHelper} can use to encrypt strings, decrypt strings, and view encrypted files.
+ * Operations that modify files (encrypt, decrypt, and rekey) always use the {@code ansible-vault} executable.
+ *
+ * @see VaultConfiguration#getEncryptionStrategy()
+ */
+public enum VaultEncryptionStrategy {
+
+    /**
+     * Encrypt and decrypt inside the JVM, using the Ansible Vault 1.1/1.2 {@code AES256} format and the password in
+     * the vault password file. No temporary files are written and no external programs are launched.
+     * <p>
+     * If content cannot be handled inside the JVM, for example if the vault password file is an executable script, or
+     * if the content is invalid or cannot be decrypted, this falls back to {@link #ANSIBLE_VAULT_COMMAND}.
+     */
+    IN_JVM,
+
+    /**
+     * Launch the {@code ansible-vault} executable for every operation.
+     */
+    ANSIBLE_VAULT_COMMAND
+}
@@ -0,0 +1,157 @@
+package org.kiwiproject.base.process;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.kiwiproject.base.KiwiStrings.splitToList;
+
+import com.google.common.annotations.VisibleForTesting;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.jspecify.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Finds processes and programs without launching external programs such as {@code pgrep} and {@code which}.
+ * <p>
+ * Command lines are read from {@code /proc/[pid]/cmdline} so that they are exactly what {@code pgrep} would match
+ * against and print. The {@link ProcessHandle.Info} API is not used for this since it reports the resolved
+ * executable path instead of the program name the process was launched with (e.g., {@code /usr/bin/sleep 25}
+ * instead of {@code sleep 25}).
+ *
+ * @see ProcessDiscoveryStrategy#PROCESS_HANDLE
+ */
+@UtilityClass
+@Slf4j
+class InJvmProcessDiscovery {
+
+    private static final Path PROC = Path.of("/proc");
+
+    private static final boolean PROC_FILE_SYSTEM_AVAILABLE = Files.isReadable(PROC.resolve("self").resolve("cmdline"));
+
+    /**
+     * @return true if the {@code /proc} file system is available to read process command lines
+     */
+    static boolean isProcFileSystemAvailable() {
+        return PROC_FILE_SYSTEM_AVAILABLE;
+    }
+
+    /**
+     * Finds processes whose full command line matches the given regular expression, like {@code pgrep -f}.
+     *
+     * @param user        the OS user name(s) to restrict results to, comma-separated; if blank, all users
+     * @param commandLine the regular expression to find in the full command line
+     * @return a list of pairs containing the pid and full command line, ordered by pid
+     */
+    static List<Pair<Long, String>> findProcesses(@Nullable String user, String commandLine) {
+        var pattern = Pattern.compile(commandLine);
+        var users = StringUtils.isBlank(user) ? Set.<String>of() : Set.copyOf(splitToList(user, ','));
+
+        try (var processes = ProcessHandle.allProcesses()) {
+            return processes
+                    .filter(handle -> users.isEmpty() || isOwnedByAnyOf(handle, users))
+                    .map(handle -> Pair.of(handle.pid(), readCommandLine(handle.pid()).orElse(null)))
+                    .filter(pidAndCommand -> matches(pattern, pidAndCommand.getRight()))
+                    .sorted(Comparator.comparing(Pair::getLeft))
+                    .toList();
+        }
+    }
+
+    private static boolean isOwnedByAnyOf(ProcessHandle handle, Set<String> users) {
+        return handle.info().user().filter(users::contains).isPresent();
+    }
+
+    private static boolean matches(Pattern pattern, @Nullable String fullCommandLine) {
+        return nonNull(fullCommandLine) && pattern.matcher(fullCommandLine).find();
+    }
+
+    /**
+     * Reads the full command line of a process, with arguments separated by spaces.
+     *
+     * @param processId the pid
+     * @return an Optional containing the full command line, or an empty Optional if the process no longer exists,
+     * cannot be read, or has an empty command line (e.g., kernel threads and zombies)
+     */
+    @VisibleForTesting
+    static Optional<String> readCommandLine(long processId) {
+        try {
+            var bytes = Files.readAllBytes(PROC.resolve(String.valueOf(processId)).resolve("cmdline"));
+            var commandLine = new String(bytes, StandardCharsets.UTF_8).replace('\0', ' ').strip();
+            return commandLine.isEmpty() ? Optional.empty() : Optional.of(commandLine);
+        } catch (IOException e) {
+            LOG.trace("Unable to read command line of process {} (it might have exited)", processId, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Finds the direct child processes of a process, like {@code pgrep -P}.
+     *
+     * @param parentProcessId the parent pid
+     * @return a list of child pids ordered by pid, or an empty list if the parent process does not exist
+     */
+    static List<Long> findChildProcessIds(long parentProcessId) {
+        return ProcessHandle.of(parentProcessId)
+                .map(parent -> parent.children().map(ProcessHandle::pid).sorted().toList())
+                .orElseGet(List::of);
+    }
+
+    /**
+     * Locates a program by scanning the directories in the {@code PATH} environment variable, like {@code which}.
+     *
+     * @param program the program to locate
+     * @return an Optional containing the full path to the first matching executable, or an empty Optional if not found
+     */
+    static Optional<String> which(String program) {
+        return which(program, System.getenv("PATH"));
+    }
+
+    @VisibleForTesting
+    static Optional<String> which(String program, @Nullable String pathVariable) {
+        if (StringUtils.isBlank(program)) {
+            return Optional.empty();
+        }
+
+        if (program.contains(File.separator)) {
+            return toPath(program).filter(InJvmProcessDiscovery::isExecutableFile).map(path -> program);
+        }
+
+        if (isNull(pathVariable)) {
+            return Optional.empty();
+        }
+
+        return Stream.of(pathVariable.split(Pattern.quote(File.pathSeparator), -1))
+                .map(directory -> directory.isEmpty() ? "." : directory)
+                .map(directory -> toPath(directory).map(path -> path.resolve(program)))
+                .flatMap(Optional::stream)
+                .filter(InJvmProcessDiscovery::isExecutableFile)
+                .map(Path::toString)
+                .findFirst();
+    }
+
+    private static Optional<Path> toPath(String value) {
+        try {
+            return Optional.of(Path.of(value));
+        } catch (InvalidPathException e) {
+            LOG.trace("Ignoring invalid path: {}", value, e);
+            return Optional.empty();
+        }
+    }
+
+    private static boolean isExecutableFile(Path path) {
+        return Files.isRegularFile(path) && Files.isExecutable(path);
+    }
+}
@@ -0,0 +1,356 @@
+package org.kiwiproject.base.process;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNullElse;
+import static java.util.Objects.requireNonNullElseGet;
+import static org.kiwiproject.base.KiwiPreconditions.checkArgumentNotNull;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.kiwiproject.base.UncheckedInterruptedException;
+import org.kiwiproject.base.process.ProcessOutputCollector.CapturedOutput;
+import org.kiwiproject.base.process.ProcessOutputCollector.ProcessOutput;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs many {@link OsCommand}s, at most {@code maxConcurrency} at a time, enforcing a timeout on each command and
+ * capturing its output using a {@link ProcessOutputCollector}. Commands that do not finish within the timeout are
+ * forcibly killed.
+ * <p>
+ * Each {@link CommandResult} records both how long the command waited for a free slot and how long it ran. If a
+ * {@link MetricRegistry} is supplied, the following metrics are also recorded, using the given metric name prefix:
+ * <ul>
+ *     <li>{@code [prefix].queueWait} - a timer of the time commands waited before starting</li>
+ *     <li>{@code [prefix].runTime} - a timer of the time commands ran, including collecting their output</li>
+ *     <li>{@code [prefix].timedOut} - a counter of commands that were killed because they timed out</li>
+ *     <li>{@code [prefix].launchFailed} - a counter of commands that could not be launched</li>
+ * </ul>
+ * <p>
+ * Instances own a thread pool, so {@link #close()} them when they are no longer needed.
+ *
+ * @implNote Each running command also uses two threads of the output collector's executor to drain its output.
+ */
+@Slf4j
+public class ProcessBatchExecutor implements Closeable {
+
+    /**
+     * The default timeout for each command.
+     */
+    public static final Duration DEFAULT_COMMAND_TIMEOUT = Duration.ofMinutes(1);
+
+    /**
+     * The default prefix for metric names.
+     */
+    public static final String DEFAULT_METRIC_NAME_PREFIX = MetricRegistry.name(ProcessBatchExecutor.class);
+
+    private static final long KILL_TIMEOUT_SECONDS = 5;
+
+    private static final CapturedOutput NO_OUTPUT = new CapturedOutput(List.of(), List.of(), 0);
+
+    @Getter
+    private final int maxConcurrency;
+
+    @Getter
+    private final Duration commandTimeout;
+
+    private final ProcessHelper processHelper;
+    private final ProcessOutputCollector outputCollector;
+    private final ExecutorService executor;
+
+    @Nullable
+    private final Timer queueWaitTimer;
+
+    @Nullable
+    private final Timer runTimeTimer;
+
+    @Nullable
+    private final Counter timedOutCounter;
+
+    @Nullable
+    private final Counter launchFailedCounter;
+
+    /**
+     * Value class containing the result of running a command.
+     *
+     * @param command          the command
+     * @param exitCode         the exit code, or an empty Optional if the command could not be launched, timed out,
+     *                         or failed
+     * @param stdout           the captured standard output
+     * @param stderr           the captured standard error
+     * @param timedOut         true if the command did not exit before the timeout, and was forcibly killed
+     * @param outputIncomplete true if the command exited before the timeout, but its output was not completely
+     *                         read before the timeout, so the captured output may be missing lines
+     * @param queueWait        how long the command waited before it started
+     * @param runTime          how long the command ran, including collecting its output
+     * @param launchError      the exception thrown if the command could not be launched, otherwise null
+     * @param runError         the exception thrown after the command was launched, e.g., while collecting its output,
+     *                         otherwise null
+     */
+    public record CommandResult(OsCommand command,
+                                Optional<Integer> exitCode,
+                                CapturedOutput stdout,
+                                CapturedOutput stderr,
+                                boolean timedOut,
+                                boolean outputIncomplete,
+                                Duration queueWait,
+                                Duration runTime,
+                                @Nullable RuntimeException launchError,
+                                @Nullable Throwable runError) {
+
+        /**
+         * @return true if the command finished before the timeout with a successful exit code
+         * @see Processes#isSuccessfulExitCode(int)
+         */
+        public boolean isSuccessful() {
+            return !timedOut && exitCode.filter(Processes::isSuccessfulExitCode).isPresent();
+        }
+
+        /**
+         * @return true if the command could not be launched
+         */
+        public boolean isLaunchFailed() {
+            return nonNull(launchError);
+        }
+
+        /**
+         * @return true if an exception was thrown after the command was launched
+         */
+        public boolean isRunFailed() {
+            return nonNull(runError);
+        }
+    }
+
+    /**
+     * Create a new instance. Any null arguments use the defaults.
+     *
+     * @param maxConcurrency   the maximum number of commands to run at the same time (default is the number of
+     *                         available processors)
+     * @param commandTimeout   the maximum time each command may run (default {@link #DEFAULT_COMMAND_TIMEOUT})
+     * @param processHelper    the {@link ProcessHelper} used to launch and kill processes
+     * @param outputCollector  the {@link ProcessOutputCollector} used to capture output
+     * @param metricRegistry   the registry in which to record metrics; if null, no metrics are recorded
+     * @param metricNamePrefix the prefix for metric names (default {@link #DEFAULT_METRIC_NAME_PREFIX})
+     */
+    @Builder
+    public ProcessBatchExecutor(@Nullable Integer maxConcurrency,
+                                @Nullable Duration commandTimeout,
+                                @Nullable ProcessHelper processHelper,
+                                @Nullable ProcessOutputCollector outputCollector,
+                                @Nullable MetricRegistry metricRegistry,
+                                @Nullable String metricNamePrefix) {
+        this.maxConcurrency = requireNonNullElse(maxConcurrency, Runtime.getRuntime().availableProcessors());
+        this.commandTimeout = requireNonNullElse(commandTimeout, DEFAULT_COMMAND_TIMEOUT);
+        checkArgument(this.maxConcurrency > 0, "maxConcurrency must be positive");
+        checkArgument(this.commandTimeout.toMillis() > 0, "commandTimeout must be positive");
+
+        this.processHelper = requireNonNullElseGet(processHelper, ProcessHelper::new);
+        this.outputCollector = requireNonNullElseGet(outputCollector, ProcessOutputCollector::new);
+        this.executor = Executors.newFixedThreadPool(this.maxConcurrency,
+                new ThreadFactoryBuilder().setNameFormat("process-batch-executor-%d").setDaemon(true).build());
+
+        if (isNull(metricRegistry)) {
+            this.queueWaitTimer = null;
+            this.runTimeTimer = null;
+            this.timedOutCounter = null;
+            this.launchFailedCounter = null;
+        } else {
+            var prefix = requireNonNullElse(metricNamePrefix, DEFAULT_METRIC_NAME_PREFIX);
+            this.queueWaitTimer = metricRegistry.timer(MetricRegistry.name(prefix, "queueWait"));
+            this.runTimeTimer = metricRegistry.timer(MetricRegistry.name(prefix, "runTime"));
+            this.timedOutCounter = metricRegistry.counter(MetricRegistry.name(prefix, "timedOut"));
+            this.launchFailedCounter = metricRegistry.counter(MetricRegistry.name(prefix, "launchFailed"));
+        }
+    }
+
+    /**
+     * Submit a command to run when a slot is available.
+     *
+     * @param command the command to run
+     * @return a future that completes with the result when the command finishes
+     */
+    public CompletableFuture<CommandResult> submit(OsCommand command) {
+        checkArgumentNotNull(command, "command must not be null");
+
+        var submittedAtNanos = System.nanoTime();
+        return CompletableFuture.supplyAsync(() -> run(command, submittedAtNanos), executor);
+    }
+
+    /**
+     * Submit commands to run, at most {@code maxConcurrency} at a time.
+     *
+     * @param commands the commands to run
+     * @return futures that complete with the results, in the same order as {@code commands}
+     */
+    public List<CompletableFuture<CommandResult>> submitAll(Collection<? extends OsCommand> commands) {
+        checkArgumentNotNull(commands, "commands must not be null");
+
+        return commands.stream().map(this::submit).toList();
+    }
+
+    /**
+     * Run commands, at most {@code maxConcurrency} at a time, and wait for all of them to finish.
+     *
+     * @param commands the commands to run
+     * @return the results, in the order the commands finished
+     * @throws UncheckedInterruptedException if the current thread is interrupted while waiting
+     */
+    public List<CommandResult> executeAll(Collection<? extends OsCommand> commands) {
+        return executeAll(commands, result -> {
+        });
+    }
+
+    /**
+     * Run commands, at most {@code maxConcurrency} at a time, and wait for all of them to finish. Each result is
+     * passed to {@code resultConsumer} on the calling thread as soon as its command finishes.
+     *
+     * @param commands       the commands to run
+     * @param resultConsumer receives each result as its command finishes
+     * @return the results, in the order the commands finished
+     * @throws UncheckedInterruptedException if the current thread is interrupted while waiting
+     */
+    public List<CommandResult> executeAll(Collection<? extends OsCommand> commands,
+                                          Consumer<CommandResult> resultConsumer) {
+        checkArgumentNotNull(commands, "commands must not be null");
+        checkArgumentNotNull(resultConsumer, "resultConsumer must not be null");
+
+        BlockingQueue<CommandResult> completed = new LinkedBlockingQueue<>();
+        var commandList = List.<OsCommand>copyOf(commands);
+        var futures = submitAll(commandList);
+        for (var i = 0; i < futures.size(); i++) {
+            var command = commandList.get(i);
+
+            // Every future must add a result, even if it completed exceptionally, or take() below never returns
+            futures.get(i).whenComplete((result, error) ->
+                    completed.add(isNull(error) ? result : failedResult(command, error)));
+        }
+
+        var results = new ArrayList<CommandResult>(futures.size());
+        try {
+            while (results.size() < futures.size()) {
+                var result = completed.take();
+                results.add(result);
+                resultConsumer.accept(result);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new UncheckedInterruptedException(e);
+        }
+
+        return results;
+    }
+
+    private CommandResult run(OsCommand command, long submittedAtNanos) {
+        var startedAtNanos = System.nanoTime();
+        var queueWait = Duration.ofNanos(startedAtNanos - submittedAtNanos);
+        update(queueWaitTimer, queueWait);
+
+        Process process;
+        try {
+            process = processHelper.launch(command.parts());
+        } catch (RuntimeException e) {
+            LOG.warn("Unable to launch command: {}", command.parts(), e);
+            increment(launchFailedCounter);
+            var runTime = elapsedSince(startedAtNanos);
+            update(runTimeTimer, runTime);
+            return new CommandResult(command, Optional.empty(), NO_OUTPUT, NO_OUTPUT, false, false,
+                    queueWait, runTime, e, null);
+        }
+
+        ProcessOutput output;
+        try {
+            output = outputCollector.collect(process, commandTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            LOG.warn("Error running command {} (pid {}); killing it forcibly", command.parts(), process.pid(), e);
+            killForcibly(process);
+            var runTime = elapsedSince(startedAtNanos);
+            update(runTimeTimer, runTime);
+            return new CommandResult(command, Optional.empty(), NO_OUTPUT, NO_OUTPUT, false, false,
+                    queueWait, runTime, null, e);
+        }
+
+        // The collector also reports a timeout when the process exited but its output was not completely read, in
+        // which case the process must not be killed, and its exit code is still valid
+        var exited = output.exitCode().isPresent();
+        if (!exited) {
+            LOG.warn("Command {} (pid {}) did not finish within {}; killing it forcibly",
+                    command.parts(), process.pid(), commandTimeout);
+            killForcibly(process);
+            increment(timedOutCounter);
+        } else if (output.timedOut()) {
+            LOG.warn("Command {} (pid {}) exited, but its output was not completely read within {}",
+                    command.parts(), process.pid(), commandTimeout);
+        }
+
+        var runTime = elapsedSince(startedAtNanos);
+        update(runTimeTimer, runTime);
+
+        return new CommandResult(command, output.exitCode(), output.stdout(), output.stderr(), !exited,
+                exited && output.timedOut(), queueWait, runTime, null, null);
+    }
+
+    private static CommandResult failedResult(OsCommand command, Throwable error) {
+        var cause = (error instanceof CompletionException && nonNull(error.getCause())) ? error.getCause() : error;
+        LOG.warn("Command {} failed unexpectedly", command.parts(), cause);
+        return new CommandResult(command, Optional.empty(), NO_OUTPUT, NO_OUTPUT, false, false,
+                Duration.ZERO, Duration.ZERO, null, cause);
+    }
+
+    private void killForcibly(Process process) {
+        try {
+            var killed = processHelper.killForcibly(process, KILL_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            if (!killed) {
+                LOG.warn("Process {} was not killed within {} seconds", process.pid(), KILL_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            LOG.warn("Interrupted while killing process {}", process.pid(), e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Duration elapsedSince(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+
+    private static void update(@Nullable Timer timer, Duration duration) {
+        if (nonNull(timer)) {
+            timer.update(duration);
+        }
+    }
+
+    private static void increment(@Nullable Counter counter) {
+        if (nonNull(counter)) {
+            counter.inc();
+        }
+    }
+
+    /**
+     * Stops accepting new commands. Commands that were already submitted continue to run.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,27 @@
+package org.kiwiproject.base.process;
+
+/**
+ * Strategies that {@link Processes} and {@link ProcessHelper} can use to find processes (e.g., the "pgrep" methods),
+ * to find child processes, to locate programs (e.g., the "which" methods), and to send {@code SIGTERM} and
+ * {@code SIGKILL} signals (the "kill" methods).
+ *
+ * @see Processes#setDiscoveryStrategy(ProcessDiscoveryStrategy)
+ */
+public enum ProcessDiscoveryStrategy {
+
+    /**
+     * Find processes inside the JVM using {@link ProcessHandle} and the {@code /proc} file system, and locate programs
+     * by scanning the directories in the {@code PATH} environment variable. Send {@code SIGTERM} and {@code SIGKILL}
+     * using {@link ProcessHandle#destroy()} and {@link ProcessHandle#destroyForcibly()}, and wait for processes to exit
+     * using {@link ProcessHandle#onExit()}. No external programs are launched, except to send other signals.
+     * <p>
+     * If the {@code /proc} file system is not available (e.g., on macOS), this falls back to
+     * {@link #EXTERNAL_COMMAND} when finding processes by command line.
+     */
+    PROCESS_HANDLE,
+
+    /**
+     * Launch external programs such as {@code pgrep} and {@code which}, and parse their output.
+     */
+    EXTERNAL_COMMAND
+}
@@ -13,6 +13,7 @@ import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
@@ -88,6 +89,24 @@ public class ProcessHelper {
         return Processes.launch(command);
     }
 
+    /**
+     * Launches a new process using the specified {@code command}, then waits up to the specified {@code timeout}
+     * for it to exit while concurrently draining its standard output and standard error using {@code collector}.
+     *
+     * @param command   the list containing the program and its arguments
+     * @param collector the collector used to drain and capture the output of the process
+     * @param timeout   the maximum time to wait for the process to exit and its output to be read
+     * @param unit      the unit of time to wait
+     * @return the exit code and captured output
+     * @see Processes#launchAndCollectOutput(List, ProcessOutputCollector, long, TimeUnit)
+     */
+    public ProcessOutputCollector.ProcessOutput launchAndCollectOutput(List<String> command,
+                                                                       ProcessOutputCollector collector,
+                                                                       long timeout,
+                                                                       TimeUnit unit) {
+        return Processes.launchAndCollectOutput(command, collector, timeout, unit);
+    }
+
     /**
      * Does a {@code pgrep} with the specified full command.
      *
@@ -258,6 +277,61 @@ public class ProcessHelper {
         return Processes.kill(processId, signal, timeout, unit, action);
     }
 
+    /**
+     * Kill multiple processes concurrently, waiting up to {@link Processes#DEFAULT_KILL_TIMEOUT_SECONDS} seconds
+     * for all of them to terminate.
+     *
+     * @param processIds the pids of the processes to kill
+     * @param signal     the kill signal enum
+     * @param action     the {@link KillTimeoutAction} to take if any process doesn't terminate within the allotted time
+     * @return a map from each pid to the result of killing it, in the same order as {@code processIds}
+     * @see Processes#killAll(Collection, KillSignal, KillTimeoutAction)
+     */
+    public Map<Long, Integer> killAll(Collection<Long> processIds, KillSignal signal, KillTimeoutAction action) {
+        return Processes.killAll(processIds, signal, action);
+    }
+
+    /**
+     * Kill multiple processes concurrently, waiting up to {@code timeout} in the specified {@link TimeUnit} for all
+     * of them to terminate.
+     *
+     * @param processIds the pids of the processes to kill
+     * @param signal     the kill signal enum
+     * @param timeout    the time to wait for all the processes to be killed
+     * @param unit       the time unit associated with {@code timeout}
+     * @param action     the {@link KillTimeoutAction} to take if any process doesn't terminate within the allotted time
+     * @return a map from each pid to the result of killing it, in the same order as {@code processIds}
+     * @see Processes#killAll(Collection, KillSignal, long, TimeUnit, KillTimeoutAction)
+     */
+    public Map<Long, Integer> killAll(Collection<Long> processIds,
+                                      KillSignal signal,
+                                      long timeout,
+                                      TimeUnit unit,
+                                      KillTimeoutAction action) {
+        return Processes.killAll(processIds, signal, timeout, unit, action);
+    }
+
+    /**
+     * Kill multiple processes concurrently, waiting up to {@code timeout} in the specified {@link TimeUnit} for all
+     * of them to terminate.
+     *
+     * @param processIds the pids of the processes to kill
+     * @param signal     the kill signal; this could be the signal number (e.g. "1") or name (e.g. "SIGHUP")
+     * @param timeout    the time to wait for all the processes to be killed
+     * @param unit       the time unit associated with {@code timeout}
+     * @param action     the {@link KillTimeoutAction} to take if any process doesn't terminate within the allotted time
+     * @return a map from each pid to the result of killing it, in the same order as {@code processIds}
+     * @throws UncheckedIOException if an I/O error occurs while killing any of the processes
+     * @see Processes#killAll(Collection, String, long, TimeUnit, KillTimeoutAction)
+     */
+    public Map<Long, Integer> killAll(Collection<Long> processIds,
+                                      String signal,
+                                      long timeout,
+                                      TimeUnit unit,
+                                      KillTimeoutAction action) {
+        return Processes.killAll(processIds, signal, timeout, unit, action);
+    }
+
     /**
      * Equivalent to a {@code kill -9} (i.e., a {@code SIGKILL}).
      *
@@ -281,8 +355,14 @@ public class ProcessHelper {
      * @param parentProcessId the parent process id
      * @return optional containing the child process id if there is one; otherwise an empty optional
      * @throws IllegalStateException if there is more than one child process found
+     * @see Processes#getDiscoveryStrategy()
      */
     public Optional<Long> findChildProcessId(long parentProcessId) {
+        if (Processes.isUsingProcessHandleStrategy()) {
+            var childProcessIds = InJvmProcessDiscovery.findChildProcessIds(parentProcessId);
+            return singleChildProcessIdOrEmpty(parentProcessId, childProcessIds);
+        }
+
         return findChildProcessIdInternal(parentProcessId, this);
     }
 
@@ -295,12 +375,18 @@ public class ProcessHelper {
     @VisibleForTesting
     Optional<Long> findChildProcessIdInternal(long parentProcessId, ProcessHelper processHelper) {
         var process = launchPgrepWithParentPidFlag(parentProcessId, processHelper);
-        List<String> lines = readLinesFromInputStreamOf(process);
+        List<Long> childProcessIds = readLinesFromInputStreamOf(process).stream()
+                .map(Processes::getPidOrThrow)
+                .toList();
+
+        return singleChildProcessIdOrEmpty(parentProcessId, childProcessIds);
+    }
 
-        if (lines.isEmpty()) {
+    private static Optional<Long> singleChildProcessIdOrEmpty(long parentProcessId, List<Long> childProcessIds) {
+        if (childProcessIds.isEmpty()) {
             return Optional.empty();
-        } else if (lines.size() == 1) {
-            return Optional.of(Processes.getPidOrThrow(first(lines)));
+        } else if (childProcessIds.size() == 1) {
+            return Optional.of(first(childProcessIds));
         } else {
             throw new IllegalStateException("More than one child process found for process ID " + parentProcessId);
         }
@@ -312,8 +398,13 @@ public class ProcessHelper {
      *
      * @param parentProcessId the parent process id
      * @return a collection of child pids, or an empty collection if there are no child processes
+     * @see Processes#getDiscoveryStrategy()
      */
     public Collection<Long> findChildProcessIds(long parentProcessId) {
+        if (Processes.isUsingProcessHandleStrategy()) {
+            return InJvmProcessDiscovery.findChildProcessIds(parentProcessId);
+        }
+
         return findChildProcessIdsInternal(parentProcessId, this);
     }
 
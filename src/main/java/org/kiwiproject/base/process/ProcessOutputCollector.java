@@ -0,0 +1,400 @@
+package org.kiwiproject.base.process;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNullElse;
+import static org.kiwiproject.base.KiwiPreconditions.checkArgumentNotNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.kiwiproject.base.UncheckedInterruptedException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Drains the standard output and standard error of a {@link Process} concurrently, so that a process writing a lot
+ * to one stream never blocks on a full pipe buffer while the other stream is being read.
+ * <p>
+ * Output is read line by line. Only the first {@code headLines} and last {@code tailLines} lines of each stream are
+ * retained, and each retained line is truncated to {@code maxLineLength} characters, so that the memory used does
+ * not depend on how much output the process writes. Optional line consumers receive <em>every</em> line (also
+ * truncated to {@code maxLineLength}) as it is read, for streaming consumption.
+ * <p>
+ * Instances are immutable and can be shared. Use the builder to create instances; any options not specified use
+ * the defaults defined in this class.
+ * <p>
+ * Example:
+ * <pre>
+ * var collector = ProcessOutputCollector.builder()
+ *         .headLines(100)
+ *         .tailLines(100)
+ *         .stderrLineConsumer(line -&gt; LOG.warn("stderr: {}", line))
+ *         .build();
+ *
+ * var process = Processes.launch("some-command", "--verbose");
+ * var output = collector.collect(process, 30, TimeUnit.SECONDS);
+ * </pre>
+ *
+ * @implNote Line consumers are called on the threads that drain the streams. If a consumer throws an exception,
+ * it is logged and draining continues. The default executor uses cached daemon threads; the JDK this library
+ * targets does not have virtual threads.
+ */
+@Slf4j
+@Getter
+public class ProcessOutputCollector {
+
+    /**
+     * The default number of lines to retain from the start of each stream.
+     */
+    public static final int DEFAULT_HEAD_LINES = 500;
+
+    /**
+     * The default number of lines to retain from the end of each stream.
+     */
+    public static final int DEFAULT_TAIL_LINES = 500;
+
+    /**
+     * The default maximum length of each line; characters past this length are discarded.
+     */
+    public static final int DEFAULT_MAX_LINE_LENGTH = 8_192;
+
+    private static final ExecutorService DEFAULT_EXECUTOR = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder()
+                    .setNameFormat("process-output-collector-%d")
+                    .setDaemon(true)
+                    .build());
+
+    private static final Consumer<String> NO_OP_CONSUMER = line -> {
+    };
+
+    private final Charset charset;
+    private final int headLines;
+    private final int tailLines;
+    private final int maxLineLength;
+
+    @Getter(AccessLevel.NONE)
+    private final Consumer<String> stdoutLineConsumer;
+
+    @Getter(AccessLevel.NONE)
+    private final Consumer<String> stderrLineConsumer;
+
+    @Getter(AccessLevel.NONE)
+    private final ExecutorService executor;
+
+    /**
+     * Value class containing the result of collecting the output of a process.
+     *
+     * @param exitCode the exit code, or an empty Optional if the process did not exit before the timeout
+     * @param stdout   the captured standard output
+     * @param stderr   the captured standard error
+     * @param timedOut true if the process did not exit, or its output was not completely read, before the timeout
+     */
+    public record ProcessOutput(Optional<Integer> exitCode,
+                                CapturedOutput stdout,
+                                CapturedOutput stderr,
+                                boolean timedOut) {
+
+        /**
+         * @return true if the process exited before the timeout with a successful exit code
+         * @see Processes#isSuccessfulExitCode(int)
+         */
+        public boolean isSuccessful() {
+            return exitCode.filter(Processes::isSuccessfulExitCode).isPresent();
+        }
+    }
+
+    /**
+     * Value class containing the lines retained from one output stream of a process.
+     *
+     * @param head      the first lines of the stream
+     * @param tail      the last lines of the stream, not including any lines in {@code head}
+     * @param lineCount the total number of lines read from the stream
+     */
+    public record CapturedOutput(List<String> head, List<String> tail, long lineCount) {
+
+        /**
+         * @return the number of lines that were read but not retained
+         */
+        public long omittedLineCount() {
+            return lineCount - head.size() - tail.size();
+        }
+
+        /**
+         * @return true if any lines were read but not retained
+         */
+        public boolean isTruncated() {
+            return omittedLineCount() > 0;
+        }
+
+        /**
+         * @return all retained lines, i.e. the head followed by the tail
+         */
+        public List<String> lines() {
+            var lines = new ArrayList<String>(head.size() + tail.size());
+            lines.addAll(head);
+            lines.addAll(tail);
+            return lines;
+        }
+
+        /**
+         * Join the retained lines with newlines, with a line indicating how many lines were omitted between the
+         * head and the tail, if any.
+         *
+         * @return the retained output as a single string
+         */
+        public String asString() {
+            if (!isTruncated()) {
+                return String.join(System.lineSeparator(), lines());
+            }
+
+            var lines = new ArrayList<String>(head);
+            lines.add("[... " + omittedLineCount() + " lines omitted ...]");
+            lines.addAll(tail);
+            return String.join(System.lineSeparator(), lines);
+        }
+    }
+
+    /**
+     * Create a new instance using the default options.
+     */
+    public ProcessOutputCollector() {
+        this(null, null, null, null, null, null, null);
+    }
+
+    /**
+     * Create a new instance. Any null arguments use the defaults.
+     *
+     * @param charset            the charset of the process output (default UTF-8)
+     * @param headLines          the number of lines to retain from the start of each stream; may be zero
+     * @param tailLines          the number of lines to retain from the end of each stream; may be zero
+     * @param maxLineLength      the maximum length of each line
+     * @param stdoutLineConsumer receives every line of standard output as it is read
+     * @param stderrLineConsumer receives every line of standard error as it is read
+     * @param executor           the executor used to drain the streams; it must be able to run at least two tasks
+     *                           concurrently for each process being collected
+     */
+    @Builder
+    public ProcessOutputCollector(@Nullable Charset charset,
+                                  @Nullable Integer headLines,
+                                  @Nullable Integer tailLines,
+                                  @Nullable Integer maxLineLength,
+                                  @Nullable Consumer<String> stdoutLineConsumer,
+                                  @Nullable Consumer<String> stderrLineConsumer,
+                                  @Nullable ExecutorService executor) {
+        this.charset = requireNonNullElse(charset, StandardCharsets.UTF_8);
+        this.headLines = requireNonNullElse(headLines, DEFAULT_HEAD_LINES);
+        this.tailLines = requireNonNullElse(tailLines, DEFAULT_TAIL_LINES);
+        this.maxLineLength = requireNonNullElse(maxLineLength, DEFAULT_MAX_LINE_LENGTH);
+        this.stdoutLineConsumer = requireNonNullElse(stdoutLineConsumer, NO_OP_CONSUMER);
+        this.stderrLineConsumer = requireNonNullElse(stderrLineConsumer, NO_OP_CONSUMER);
+        this.executor = requireNonNullElse(executor, DEFAULT_EXECUTOR);
+
+        checkArgument(this.headLines >= 0, "headLines cannot be negative");
+        checkArgument(this.tailLines >= 0, "tailLines cannot be negative");
+        checkArgument(this.maxLineLength > 0, "maxLineLength must be positive");
+    }
+
+    /**
+     * Drain the output of the given process, waiting up to {@link Processes#DEFAULT_WAIT_FOR_EXIT_TIME_SECONDS} for
+     * the process to exit and for its output to be completely read.
+     *
+     * @param process the process
+     * @return the exit code and captured output
+     * @see #collect(Process, long, TimeUnit)
+     */
+    public ProcessOutput collect(Process process) {
+        return collect(process, Processes.DEFAULT_WAIT_FOR_EXIT_TIME_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Drain the output of the given process, waiting up to the specified {@code timeout} for the process to exit
+     * <em>and</em> for its output to be completely read.
+     * <p>
+     * Note that this method does <em>not</em> destroy the process if it times out waiting. In that case, the result
+     * contains the output captured so far, and the streams continue to be drained in the background until the
+     * process closes them, so that it never blocks writing its output.
+     *
+     * @param process the process, whose output must not already have been read
+     * @param timeout the maximum time to wait
+     * @param unit    the unit of time to wait
+     * @return the exit code and captured output
+     * @throws UncheckedInterruptedException if the current thread is interrupted while waiting
+     */
+    public ProcessOutput collect(Process process, long timeout, TimeUnit unit) {
+        checkArgumentNotNull(process, "process must not be null");
+        checkArgumentNotNull(unit, "unit must not be null");
+
+        var stdoutBuffer = new BoundedLineBuffer(headLines, tailLines);
+        var stderrBuffer = new BoundedLineBuffer(headLines, tailLines);
+
+        var stdoutDrain = drainAsync(process.getInputStream(), stdoutBuffer, stdoutLineConsumer);
+        var stderrDrain = drainAsync(process.getErrorStream(), stderrBuffer, stderrLineConsumer);
+
+        var deadlineNanos = System.nanoTime() + unit.toNanos(timeout);
+        try {
+            var exited = process.waitFor(timeout, unit);
+            var drained = exited && awaitDrained(CompletableFuture.allOf(stdoutDrain, stderrDrain), deadlineNanos);
+            var exitCode = exited ? Optional.of(process.exitValue()) : Optional.<Integer>empty();
+
+            return new ProcessOutput(exitCode, stdoutBuffer.snapshot(), stderrBuffer.snapshot(), !drained);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new UncheckedInterruptedException(e);
+        }
+    }
+
+    private CompletableFuture<Void> drainAsync(InputStream inputStream,
+                                               BoundedLineBuffer buffer,
+                                               Consumer<String> lineConsumer) {
+        return CompletableFuture.runAsync(() -> drain(inputStream, buffer, lineConsumer), executor);
+    }
+
+    private void drain(InputStream inputStream, BoundedLineBuffer buffer, Consumer<String> lineConsumer) {
+        try (var reader = new InputStreamReader(inputStream, charset)) {
+            readLines(reader, maxLineLength, line -> {
+                buffer.add(line);
+                acceptQuietly(lineConsumer, line);
+            });
+        } catch (IOException e) {
+            LOG.debug("Error draining process output stream; captured output may be incomplete", e);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void acceptQuietly(Consumer<String> lineConsumer, String line) {
+        try {
+            lineConsumer.accept(line);
+        } catch (Exception e) {
+            LOG.warn("Line consumer threw exception; continuing to drain process output", e);
+        }
+    }
+
+    private static boolean awaitDrained(CompletableFuture<Void> drains, long deadlineNanos)
+            throws InterruptedException {
+        try {
+            drains.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            LOG.debug("Process exited but its output was not completely read before timeout");
+            return false;
+        } catch (ExecutionException e) {
+            LOG.debug("Error draining process output", e.getCause());
+            return true;
+        }
+    }
+
+    /**
+     * Read lines from the given reader, truncating each line to {@code maxLineLength} characters without ever
+     * holding more than that many characters of a line in memory. Lines may be terminated by {@code \n} or
+     * {@code \r\n}.
+     *
+     * @param reader        the reader
+     * @param maxLineLength the maximum line length
+     * @param lineConsumer  receives each line
+     * @throws IOException if an I/O error occurs
+     */
+    @VisibleForTesting
+    static void readLines(Reader reader, int maxLineLength, Consumer<String> lineConsumer) throws IOException {
+        var chars = new char[8_192];
+        var line = new StringBuilder(Math.min(maxLineLength, 256));
+        var pendingLine = false;
+        int count;
+
+        while ((count = reader.read(chars)) != -1) {
+            for (var i = 0; i < count; i++) {
+                var c = chars[i];
+                if (c == '\n') {
+                    lineConsumer.accept(lineOf(line, maxLineLength));
+                    line.setLength(0);
+                    pendingLine = false;
+                } else {
+                    pendingLine = true;
+                    if (line.length() <= maxLineLength) {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+
+        if (pendingLine) {
+            lineConsumer.accept(lineOf(line, maxLineLength));
+        }
+    }
+
+    /**
+     * @implNote The line builder holds up to {@code maxLineLength + 1} characters so that a carriage return
+     * immediately after the maximum length can be recognized and removed along with any other extra character.
+     */
+    private static String lineOf(StringBuilder line, int maxLineLength) {
+        var length = line.length();
+        if (length > 0 && line.charAt(length - 1) == '\r') {
+            length--;
+        }
+        return line.substring(0, Math.min(length, maxLineLength));
+    }
+
+    /**
+     * Retains the first and last lines added to it. Thread-safe, so that snapshots can be taken while lines are
+     * still being added.
+     */
+    private static class BoundedLineBuffer {
+
+        private final int headLimit;
+        private final int tailLimit;
+        private final List<String> head;
+        private final Deque<String> tail;
+        private long lineCount;
+
+        BoundedLineBuffer(int headLimit, int tailLimit) {
+            this.headLimit = headLimit;
+            this.tailLimit = tailLimit;
+            this.head = new ArrayList<>(Math.min(headLimit, 64));
+            this.tail = new ArrayDeque<>(Math.min(tailLimit, 64));
+        }
+
+        synchronized void add(String line) {
+            lineCount++;
+
+            if (head.size() < headLimit) {
+                head.add(line);
+                return;
+            }
+
+            if (tailLimit == 0) {
+                return;
+            }
+
+            if (tail.size() == tailLimit) {
+                tail.removeFirst();
+            }
+            tail.addLast(line);
+        }
+
+        synchronized CapturedOutput snapshot() {
+            return new CapturedOutput(List.copyOf(head), List.copyOf(tail), lineCount);
+        }
+    }
+}
@@ -19,6 +19,7 @@ import com.google.common.collect.Lists;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Strings;
 import org.apache.commons.lang3.tuple.Pair;
 import org.jspecify.annotations.Nullable;
 import org.kiwiproject.base.UncheckedInterruptedException;
@@ -27,10 +28,17 @@ import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Utility class for working with operating system processes.
@@ -38,6 +46,11 @@ import java.util.concurrent.TimeUnit;
  * If you need to be able to mock any of the operations in this class in test code, consider using
  * {@link ProcessHelper} instead.
  * <p>
+ * By default, the "pgrep" and "which" methods find processes and programs inside the JVM using {@link ProcessHandle},
+ * the {@code /proc} file system, and the {@code PATH} environment variable, instead of launching the {@code pgrep}
+ * and {@code which} programs. When {@code /proc} is not available, the "pgrep" methods fall back to launching
+ * {@code pgrep}. Use {@link #setDiscoveryStrategy(ProcessDiscoveryStrategy)} to always launch external programs.
+ * <p>
  * <em>Note that most of the methods are intended only for use on Unix/Linux operating systems.</em>
  *
  * @see ProcessHelper
@@ -53,6 +66,11 @@ public class Processes {
      */
     public static final int SUCCESS_EXIT_CODE = 0;
 
+    /**
+     * Exit code that {@code kill} returns if there is no process with the given pid.
+     */
+    private static final int NO_SUCH_PROCESS_EXIT_CODE = 1;
+
     /**
      * Default number of seconds to wait for termination of a process.
      *
@@ -80,17 +98,24 @@ public class Processes {
      * <p>
      * See, for example, <a href="http://man7.org/linux/man-pages/man1/pgrep.1.html">Linux pgrep</a> and
      * <a href="https://www.freebsd.org/cgi/man.cgi?query=pgrep&sektion=1">BSD pgrep</a> for more information.
+     *
+     * @implNote The flags are determined the first time they are needed, which launches a couple of processes, so
+     * that applications using the {@link ProcessDiscoveryStrategy#PROCESS_HANDLE} strategy never pay that cost.
      */
-    private static final String PGREP_FULL_COMMAND_MATCH_AND_PRINT_FLAGS;
+    private static class PgrepFlags {
+        private static final String PGREP_FULL_COMMAND_MATCH_AND_PRINT_FLAGS;
 
-    private static final boolean PGREP_CHECK_SUCCESSFUL;
+        private static final boolean PGREP_CHECK_SUCCESSFUL;
 
-    static {
-        var result = choosePgrepFlags();
-        PGREP_FULL_COMMAND_MATCH_AND_PRINT_FLAGS = result.getLeft();
-        PGREP_CHECK_SUCCESSFUL = result.getRight();
+        static {
+            var result = choosePgrepFlags();
+            PGREP_FULL_COMMAND_MATCH_AND_PRINT_FLAGS = result.getLeft();
+            PGREP_CHECK_SUCCESSFUL = result.getRight();
+        }
     }
 
+    private static volatile ProcessDiscoveryStrategy discoveryStrategy = ProcessDiscoveryStrategy.PROCESS_HANDLE;
+
     private static final String PGREP_COMMAND = "pgrep";
 
     private static Pair<String, Boolean> choosePgrepFlags() {
@@ -179,14 +204,16 @@ public class Processes {
     }
 
     /**
-     * Use this method to determine if calling any of the pgrep methods in this class will work as expected.
+     * Use this method to determine if calling any of the pgrep methods in this class will work as expected
+     * when they launch {@code pgrep}. Calling this method launches {@code pgrep} to determine its flags if
+     * that has not already been done.
      *
      * @return true if the pgrep check to determine the flags to use for full command matching was successful; false
      * otherwise. If false, you should NOT use any of the pgrep methods.
      * @see #getPgrepFlags()
      */
     public static boolean wasPgrepFlagsCheckSuccessful() {
-        return PGREP_CHECK_SUCCESSFUL;
+        return PgrepFlags.PGREP_CHECK_SUCCESSFUL;
     }
 
     /**
@@ -197,7 +224,45 @@ public class Processes {
      * @return the flags that will be used in pgrep commands
      */
     public static String getPgrepFlags() {
-        return PGREP_FULL_COMMAND_MATCH_AND_PRINT_FLAGS;
+        return PgrepFlags.PGREP_FULL_COMMAND_MATCH_AND_PRINT_FLAGS;
+    }
+
+    /**
+     * Returns the strategy used to find processes and programs. The default is
+     * {@link ProcessDiscoveryStrategy#PROCESS_HANDLE}.
+     *
+     * @return the current process discovery strategy
+     */
+    public static ProcessDiscoveryStrategy getDiscoveryStrategy() {
+        return discoveryStrategy;
+    }
+
+    /**
+     * Change the strategy used to find processes and programs in the "pgrep" and "which" methods in this class,
+     * to send signals in the "kill" methods, and when finding child processes using {@link ProcessHelper}.
+     * This affects all callers in the JVM.
+     *
+     * @param strategy the new process discovery strategy
+     */
+    public static void setDiscoveryStrategy(ProcessDiscoveryStrategy strategy) {
+        checkArgumentNotNull(strategy, "strategy must not be null");
+        discoveryStrategy = strategy;
+    }
+
+    /**
+     * @return true if processes should be found by command line inside the JVM, i.e., the strategy is
+     * {@link ProcessDiscoveryStrategy#PROCESS_HANDLE} and the {@code /proc} file system is available
+     */
+    @VisibleForTesting
+    static boolean isFindingProcessesInJvm() {
+        return isUsingProcessHandleStrategy() && InJvmProcessDiscovery.isProcFileSystemAvailable();
+    }
+
+    /**
+     * @return true if the strategy is {@link ProcessDiscoveryStrategy#PROCESS_HANDLE}
+     */
+    static boolean isUsingProcessHandleStrategy() {
+        return discoveryStrategy == ProcessDiscoveryStrategy.PROCESS_HANDLE;
     }
 
     /**
@@ -367,6 +432,28 @@ public class Processes {
         return launch(Lists.newArrayList(command));
     }
 
+    /**
+     * Launches a new process using the specified {@code command}, then waits up to the specified {@code timeout}
+     * for it to exit while concurrently draining its standard output and standard error using {@code collector}.
+     * <p>
+     * Note that this method does <em>not</em> destroy the process if it times out waiting.
+     *
+     * @param command   the list containing the program and its arguments
+     * @param collector the collector used to drain and capture the output of the process
+     * @param timeout   the maximum time to wait for the process to exit and its output to be read
+     * @param unit      the unit of time to wait
+     * @return the exit code and captured output
+     * @see ProcessOutputCollector#collect(Process, long, TimeUnit)
+     */
+    public static ProcessOutputCollector.ProcessOutput launchAndCollectOutput(List<String> command,
+                                                                              ProcessOutputCollector collector,
+                                                                              long timeout,
+                                                                              TimeUnit unit) {
+        checkArgumentNotNull(collector, "collector must not be null");
+        var process = launch(command);
+        return collector.collect(process, timeout, unit);
+    }
+
     /**
      * Does a {@code pgrep} with the specified full command.
      *
@@ -390,6 +477,12 @@ public class Processes {
      * @see #getPgrepFlags()
      */
     public static List<Long> pgrep(String user, String commandLine) {
+        if (isFindingProcessesInJvm()) {
+            return InJvmProcessDiscovery.findProcesses(user, commandLine).stream()
+                    .map(Pair::getLeft)
+                    .toList();
+        }
+
         try {
             List<String> command = buildPgrepCommand(user, commandLine);
             var process = launchProcessInternal(command);
@@ -459,6 +552,12 @@ public class Processes {
      * @see #getPgrepFlags()
      */
     public static List<String> pgrepList(String user, String commandLine) {
+        if (isFindingProcessesInJvm()) {
+            return InJvmProcessDiscovery.findProcesses(user, commandLine).stream()
+                    .map(pidAndCommand -> pidAndCommand.getLeft() + " " + pidAndCommand.getRight())
+                    .toList();
+        }
+
         try {
             List<String> command = buildPgrepListCommand(user, commandLine);
             var process = launchProcessInternal(command);
@@ -495,6 +594,10 @@ public class Processes {
      * @see #getPgrepFlags()
      */
     public static List<Pair<Long, String>> pgrepParsedList(String user, String commandLine) {
+        if (isFindingProcessesInJvm()) {
+            return InJvmProcessDiscovery.findProcesses(user, commandLine);
+        }
+
         List<String> lines = pgrepList(user, commandLine);
 
         return lines.stream().map(Processes::pairFromPgrepLine).toList();
@@ -521,7 +624,7 @@ public class Processes {
     }
 
     private static List<String> buildPgrepListCommand(String user, String commandLine) {
-        return buildPgrepCommand(user, commandLine, PGREP_FULL_COMMAND_MATCH_AND_PRINT_FLAGS);
+        return buildPgrepCommand(user, commandLine, getPgrepFlags());
     }
 
     private static List<String> buildPgrepCommand(String user, String commandLine, String flags) {
@@ -593,17 +696,223 @@ public class Processes {
      * @return the exit code from the {@code kill} command, or {@code -1} if {@code action} is
      * {@link KillTimeoutAction#NO_OP} and the kill command times out
      * @throws UncheckedIOException if an I/O error occurs while killing the process
+     * @implNote When using the {@link ProcessDiscoveryStrategy#PROCESS_HANDLE} strategy, {@code SIGTERM} and
+     * {@code SIGKILL} are sent using {@link ProcessHandle#destroy()} and {@link ProcessHandle#destroyForcibly()}
+     * instead of launching {@code kill}, and the timeout applies to waiting for the process itself to exit. In that
+     * case the return value is {@code 0} if the process exited, or {@code 1} if there was no such process, which
+     * are the same values {@code kill} returns. Other signals always launch {@code kill}.
      */
     public static int kill(long processId, String signal, long timeout, TimeUnit unit, KillTimeoutAction action) {
+        var pendingKill = startKill(processId, signal);
+        if (pendingKill.isNoSuchProcess()) {
+            return NO_SUCH_PROCESS_EXIT_CODE;
+        }
+
+        if (nonNull(pendingKill.killProcess())) {
+            return killInternal(processId, pendingKill.killProcess(), timeout, unit, action);
+        }
+
         try {
-            var killProcess = launchProcessInternal("kill", KillSignal.withLeadingDash(signal), String.valueOf(processId));
+            pendingKill.exit().get(timeout, unit);
+            return SUCCESS_EXIT_CODE;
+        } catch (TimeoutException e) {
+            return doTimeoutAction(action, pendingKill);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new UncheckedInterruptedException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(format("Error waiting for process %s to exit", processId), e.getCause());
+        }
+    }
+
+    /**
+     * Kill multiple processes concurrently, waiting up to {@link #DEFAULT_KILL_TIMEOUT_SECONDS} seconds for all of
+     * them to terminate.
+     *
+     * @param processIds the pids of the processes to kill
+     * @param signal     the kill signal enum
+     * @param action     the {@link KillTimeoutAction} to take if any process doesn't terminate within the allotted time
+     * @return a map from each pid to the result of killing it, in the same order as {@code processIds}
+     * @see #killAll(Collection, String, long, TimeUnit, KillTimeoutAction)
+     */
+    public static Map<Long, Integer> killAll(Collection<Long> processIds, KillSignal signal, KillTimeoutAction action) {
+        return killAll(processIds, signal.number(), DEFAULT_KILL_TIMEOUT_SECONDS, TimeUnit.SECONDS, action);
+    }
+
+    /**
+     * Kill multiple processes concurrently, waiting up to {@code timeout} in the specified {@link TimeUnit} for all
+     * of them to terminate.
+     *
+     * @param processIds the pids of the processes to kill
+     * @param signal     the kill signal enum
+     * @param timeout    the time to wait for all the processes to be killed
+     * @param unit       the time unit associated with {@code timeout}
+     * @param action     the {@link KillTimeoutAction} to take if any process doesn't terminate within the allotted time
+     * @return a map from each pid to the result of killing it, in the same order as {@code processIds}
+     * @see #killAll(Collection, String, long, TimeUnit, KillTimeoutAction)
+     */
+    public static Map<Long, Integer> killAll(Collection<Long> processIds,
+                                             KillSignal signal,
+                                             long timeout,
+                                             TimeUnit unit,
+                                             KillTimeoutAction action) {
+        return killAll(processIds, signal.number(), timeout, unit, action);
+    }
 
-            return killInternal(processId, killProcess, timeout, unit, action);
+    /**
+     * Kill multiple processes concurrently, waiting up to {@code timeout} in the specified {@link TimeUnit} for all
+     * of them to terminate.
+     * <p>
+     * The signal is sent to all the processes before waiting for any of them, so the total time is bounded by
+     * {@code timeout} rather than growing with the number of processes. The result for each pid is the same as
+     * {@link #kill(long, String, long, TimeUnit, KillTimeoutAction)} would return for that pid.
+     * <p>
+     * If {@code action} is {@link KillTimeoutAction#THROW_EXCEPTION}, an {@link IllegalStateException} listing
+     * every pid that did not end before the timeout is thrown. If it is {@link KillTimeoutAction#FORCE_KILL},
+     * all remaining processes are forcibly killed together.
+     *
+     * @param processIds the pids of the processes to kill
+     * @param signal     the kill signal; this could be the signal number (e.g. "1") or name (e.g. "SIGHUP")
+     * @param timeout    the time to wait for all the processes to be killed
+     * @param unit       the time unit associated with {@code timeout}
+     * @param action     the {@link KillTimeoutAction} to take if any process doesn't terminate within the allotted time
+     * @return a map from each pid to the result of killing it, in the same order as {@code processIds}
+     * @throws UncheckedIOException if an I/O error occurs while killing any of the processes
+     * @see #kill(long, String, long, TimeUnit, KillTimeoutAction)
+     */
+    public static Map<Long, Integer> killAll(Collection<Long> processIds,
+                                             String signal,
+                                             long timeout,
+                                             TimeUnit unit,
+                                             KillTimeoutAction action) {
+        checkArgumentNotNull(processIds, "processIds must not be null");
+        checkArgumentNotNull(action, "action must not be null");
+
+        var pendingKills = processIds.stream()
+                .distinct()
+                .map(processId -> startKill(processId, signal))
+                .toList();
+
+        var exitFutures = pendingKills.stream()
+                .map(PendingKill::exit)
+                .toArray(CompletableFuture[]::new);
+
+        try {
+            awaitQuietly(CompletableFuture.allOf(exitFutures), timeout, unit);
+
+            var timedOut = pendingKills.stream().filter(pendingKill -> !pendingKill.exit().isDone()).toList();
+            if (!timedOut.isEmpty()) {
+                doTimeoutAction(action, timedOut);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new UncheckedInterruptedException(e);
+        }
+
+        var results = new LinkedHashMap<Long, Integer>();
+        pendingKills.forEach(pendingKill -> results.put(pendingKill.processId(), pendingKill.result()));
+        return results;
+    }
+
+    private static void awaitQuietly(CompletableFuture<?> future, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        try {
+            future.get(timeout, unit);
+        } catch (TimeoutException | ExecutionException e) {
+            LOG.trace("Not all processes exited before timeout", e);
+        }
+    }
+
+    /**
+     * Represents a process that has been sent a signal, either directly via its {@link ProcessHandle}, or by
+     * launching a {@code kill} process. The {@code exit} future completes when the process handle exits, or when
+     * the {@code kill} process exits.
+     */
+    private record PendingKill(long processId,
+                               CompletableFuture<?> exit,
+                               @Nullable ProcessHandle handle,
+                               @Nullable Process killProcess) {
+
+        static PendingKill noSuchProcess(long processId) {
+            return new PendingKill(processId, CompletableFuture.completedFuture(null), null, null);
+        }
+
+        boolean isNoSuchProcess() {
+            return isNull(handle) && isNull(killProcess);
+        }
+
+        void forceKill() {
+            if (nonNull(handle)) {
+                handle.destroyForcibly();
+            } else if (nonNull(killProcess)) {
+                killProcess.destroyForcibly();
+            }
+        }
+
+        int result() {
+            if (isNoSuchProcess()) {
+                return NO_SUCH_PROCESS_EXIT_CODE;
+            } else if (!exit.isDone()) {
+                return -1;
+            } else if (nonNull(killProcess)) {
+                return killProcess.exitValue();
+            }
+
+            return SUCCESS_EXIT_CODE;
+        }
+    }
+
+    private static PendingKill startKill(long processId, String signal) {
+        var destroySignal = destroySignalFor(signal).filter(ignored -> isUsingProcessHandleStrategy());
+        if (destroySignal.isPresent() && processId != ProcessHandle.current().pid()) {
+            var handle = ProcessHandle.of(processId).orElse(null);
+            if (isNull(handle)) {
+                LOG.debug("Process {} does not exist, so not sending it signal {}", processId, signal);
+                return PendingKill.noSuchProcess(processId);
+            }
+
+            var requested = destroySignal.get() == KillSignal.SIGKILL ? handle.destroyForcibly() : handle.destroy();
+            if (requested) {
+                return new PendingKill(processId, handle.onExit(), handle, null);
+            }
+
+            LOG.debug("Unable to send signal {} to process {} using its process handle; launching kill instead",
+                    signal, processId);
+        }
+
+        try {
+            var killProcess = launchProcessInternal(
+                    "kill", KillSignal.withLeadingDash(signal), String.valueOf(processId));
+            return new PendingKill(processId, killProcess.onExit(), null, killProcess);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
 
+    /**
+     * Determine whether the given signal can be sent using {@link ProcessHandle#destroy()} ({@code SIGTERM}) or
+     * {@link ProcessHandle#destroyForcibly()} ({@code SIGKILL}).
+     *
+     * @param signal the signal number or name, e.g. "15", "-15", "TERM", or "SIGTERM"
+     * @return an Optional containing {@link KillSignal#SIGTERM} or {@link KillSignal#SIGKILL}, or an empty Optional
+     * for any other signal
+     */
+    @VisibleForTesting
+    static Optional<KillSignal> destroySignalFor(String signal) {
+        var withoutDash = Strings.CS.removeStart(signal, "-").toUpperCase(Locale.ENGLISH);
+        var normalized = Strings.CS.removeStart(withoutDash, "SIG");
+
+        if (KillSignal.SIGTERM.number().equals(normalized) || "TERM".equals(normalized)) {
+            return Optional.of(KillSignal.SIGTERM);
+        } else if (KillSignal.SIGKILL.number().equals(normalized) || "KILL".equals(normalized)) {
+            return Optional.of(KillSignal.SIGKILL);
+        }
+
+        return Optional.empty();
+    }
+
     private static Process launchProcessInternal(String... commandLine) throws IOException {
         return launchProcessInternal(Lists.newArrayList(commandLine));
     }
@@ -670,6 +979,42 @@ public class Processes {
         }
     }
 
+    private static int doTimeoutAction(KillTimeoutAction action, PendingKill pendingKill) {
+        doTimeoutAction(action, List.of(pendingKill));
+        return pendingKill.result();
+    }
+
+    private static void doTimeoutAction(KillTimeoutAction action, List<PendingKill> timedOut) {
+        var processIds = timedOut.stream().map(PendingKill::processId).toList();
+        var description = processIds.size() == 1 ?
+                format("Process %s", first(processIds)) : format("Processes %s", processIds);
+
+        switch (action) {
+            case FORCE_KILL -> {
+                timedOut.forEach(PendingKill::forceKill);
+                awaitExitAfterForceKill(timedOut);
+                checkState(timedOut.stream().allMatch(pendingKill -> pendingKill.exit().isDone()),
+                        "%s not killed before 1 second timeout expired", description);
+            }
+            case THROW_EXCEPTION -> throw new IllegalStateException(
+                    format("%s did not end before timeout (and exception was requested)", description));
+            case NO_OP -> LOG.warn("{} did not end before timeout and no-op action requested, so doing nothing",
+                    description);
+            default -> throw new IllegalStateException("Unaccounted for action: " + action);
+        }
+    }
+
+    private static void awaitExitAfterForceKill(List<PendingKill> pendingKills) {
+        var exitFutures = pendingKills.stream().map(PendingKill::exit).toArray(CompletableFuture[]::new);
+        try {
+            awaitQuietly(CompletableFuture.allOf(exitFutures), 1L, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new UncheckedInterruptedException(e);
+        }
+    }
+
     private static void validateKilledBeforeTimeout(long processId, boolean killedBeforeWaitTimeout) {
         if (!killedBeforeWaitTimeout) {
             throw new IllegalStateException(
@@ -696,6 +1041,10 @@ public class Processes {
      * @implNote If there is more than program found, only the first one is returned
      */
     public static Optional<String> which(String program) {
+        if (isUsingProcessHandleStrategy()) {
+            return InJvmProcessDiscovery.which(program);
+        }
+
         var whichProc = launch("which", program);
         var stdOut = readLinesFromInputStreamOf(whichProc);
         return stdOut.stream().findFirst();
@@ -2,20 +2,30 @@ package org.kiwiproject.dropwizard.config;
 
 import static org.kiwiproject.base.KiwiStrings.format;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.base.CaseFormat;
 import io.dropwizard.core.setup.Environment;
+import io.dropwizard.util.DataSize;
 import io.dropwizard.util.Duration;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.kiwiproject.dropwizard.lifecycle.ManagedCloseable;
 import org.kiwiproject.dropwizard.metrics.health.TimeBasedDirectoryCleanerHealthCheck;
 import org.kiwiproject.io.TimeBasedDirectoryCleaner;
+import org.kiwiproject.io.TimeBasedDirectoryCleaner.CleanupRunStats;
+import org.kiwiproject.io.TimeBasedDirectoryCleaner.ScanMode;
 import org.slf4j.event.Level;
 
+import java.util.Optional;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * A (Dropwizard) configuration class to configure and schedule a {@link org.kiwiproject.io.TimeBasedDirectoryCleaner}.
@@ -46,6 +56,44 @@ public class TimeBasedDirectoryCleanerConfig {
     @NotBlank
     private String deleteErrorLogLevel = Level.WARN.toString();
 
+    /**
+     * How to scan the directory. Use {@link ScanMode#STREAMING} for directories containing a very large number of
+     * files.
+     */
+    @NotNull
+    private ScanMode scanMode = ScanMode.LIST_FILES;
+
+    /**
+     * The number of threads to use when deleting files. Only used with {@link ScanMode#STREAMING}.
+     */
+    @Positive
+    private int deleteParallelism = 1;
+
+    /**
+     * The maximum number of deletes in each cleanup run, or null for no limit. Only used with
+     * {@link ScanMode#STREAMING}.
+     */
+    @Positive
+    private Integer maxDeletesPerRun;
+
+    /**
+     * The maximum total size of the directory contents, or null for no size quota. When exceeded, the oldest
+     * entries are deleted first until the directory is under the quota.
+     */
+    private DataSize maxDirectorySize;
+
+    /**
+     * The maximum number of entries in the directory, or null for no entry count quota. When exceeded, the oldest
+     * entries are deleted first until the directory is under the quota.
+     */
+    @PositiveOrZero
+    private Integer maxDirectoryEntryCount;
+
+    /**
+     * When a quota is configured, whether to watch the directory for changes instead of rescanning it on each run.
+     */
+    private boolean watchForChanges;
+
     /**
      * Schedules directory cleanup using the given {@link ScheduledExecutorService}, returning the
      * {@link TimeBasedDirectoryCleaner} instance that was scheduled. It can then be used to retrieve delete
@@ -56,6 +104,11 @@ public class TimeBasedDirectoryCleanerConfig {
      * @implNote It is assumed that the {@link ScheduledExecutorService} is externally managed and has only one thread.
      */
     public TimeBasedDirectoryCleaner scheduleCleanupUsing(ScheduledExecutorService cleanupExecutor) {
+        return scheduleCleanupUsing(cleanupExecutor, null);
+    }
+
+    private TimeBasedDirectoryCleaner scheduleCleanupUsing(ScheduledExecutorService cleanupExecutor,
+                                                           Consumer<CleanupRunStats> cleanupRunListener) {
 
         var intervalMillis = cleanupInterval.toMilliseconds();
 
@@ -63,6 +116,13 @@ public class TimeBasedDirectoryCleanerConfig {
                 .directoryPath(directoryPath)
                 .retentionThreshold(retentionThreshold.toJavaDuration())
                 .deleteErrorLogLevel(deleteErrorLogLevel)
+                .scanMode(scanMode)
+                .deleteParallelism(deleteParallelism)
+                .maxDeletesPerRun(maxDeletesPerRun)
+                .maxTotalSizeInBytes(Optional.ofNullable(maxDirectorySize).map(DataSize::toBytes).orElse(null))
+                .maxEntryCount(maxDirectoryEntryCount)
+                .watchForChanges(watchForChanges)
+                .cleanupRunListener(cleanupRunListener)
                 .build();
 
         cleanupExecutor.scheduleWithFixedDelay(cleaner, initialCleanupDelay.toMilliseconds(), intervalMillis, TimeUnit.MILLISECONDS);
@@ -70,13 +130,29 @@ public class TimeBasedDirectoryCleanerConfig {
         LOG.info("Scheduled cleanup of {} with retention threshold {}; initial delay {}; interval {}",
                 directoryPath, retentionThreshold, initialCleanupDelay, cleanupInterval);
 
+        if (cleaner.hasQuota()) {
+            LOG.info("Cleanup of {} will also enforce max size {} and max entry count {}; watch for changes? {}",
+                    directoryPath, maxDirectorySize, maxDirectoryEntryCount, watchForChanges);
+        }
+
         return cleaner;
     }
 
     /**
      * Schedules directory cleanup and registers a {@link TimeBasedDirectoryCleanerHealthCheck} health check using the
      * given {@link Environment}, returning the {@link TimeBasedDirectoryCleaner} instance that was scheduled. It can
-     * then be used to retrieve delete error information.
+     * then be used to retrieve delete error information. The cleaner is also managed by the environment's lifecycle,
+     * so that it is closed when the application stops.
+     * <p>
+     * This also registers the following metrics for each cleanup run, named using the same prefix as the health check,
+     * e.g., {@code timeBasedDirectoryCleaner(/data/spool).scanDuration}:
+     * <ul>
+     *     <li>{@code scanDuration} - a timer containing the duration of each run</li>
+     *     <li>{@code entriesExamined} - a histogram of the number of entries examined in each run</li>
+     *     <li>{@code entriesDeleted} - a histogram of the number of entries deleted in each run</li>
+     *     <li>{@code bytesReclaimed} - a histogram of the number of bytes reclaimed in each run</li>
+     *     <li>{@code oldestRemainingAgeMillis} - a gauge of the age of the oldest remaining entry after the last run</li>
+     * </ul>
      *
      * @param environment the Dropwizard Environment to use
      * @return a new TimeBasedDirectoryCleaner using the given environment
@@ -88,10 +164,18 @@ public class TimeBasedDirectoryCleanerConfig {
                 .shutdownTime(SHUTDOWN_DURATION)
                 .build();
 
-        var cleaner = scheduleCleanupUsing(cleanupExecutor);
+        var cleanerName = cleanerNameFor(directoryPath);
+        var metrics = environment.metrics();
+        var cleanupRunListener = newMetricsUpdatingListener(metrics, cleanerName);
+
+        var cleaner = scheduleCleanupUsing(cleanupExecutor, cleanupRunListener);
+        environment.lifecycle().manage(ManagedCloseable.closingQuietly(cleaner));
+
+        metrics.gauge(MetricRegistry.name(cleanerName, "oldestRemainingAgeMillis"),
+                () -> oldestRemainingAgeMillisGauge(cleaner));
 
         environment.healthChecks().register(
-                format("{}({})", lowerCamelCaseCleanerClassName(), directoryPath),
+                cleanerName,
                 new TimeBasedDirectoryCleanerHealthCheck(cleaner, healthCheckWarningDuration.toJavaDuration())
         );
 
@@ -100,8 +184,33 @@ public class TimeBasedDirectoryCleanerConfig {
         return cleaner;
     }
 
+    private static Consumer<CleanupRunStats> newMetricsUpdatingListener(MetricRegistry metrics, String cleanerName) {
+        var scanDuration = metrics.timer(MetricRegistry.name(cleanerName, "scanDuration"));
+        var entriesExamined = metrics.histogram(MetricRegistry.name(cleanerName, "entriesExamined"));
+        var entriesDeleted = metrics.histogram(MetricRegistry.name(cleanerName, "entriesDeleted"));
+        var bytesReclaimed = metrics.histogram(MetricRegistry.name(cleanerName, "bytesReclaimed"));
+
+        return stats -> {
+            scanDuration.update(stats.duration());
+            entriesExamined.update(stats.entriesExamined());
+            entriesDeleted.update(stats.entriesDeleted());
+            bytesReclaimed.update(stats.bytesReclaimed());
+        };
+    }
+
+    private static Gauge<Long> oldestRemainingAgeMillisGauge(TimeBasedDirectoryCleaner cleaner) {
+        return () -> cleaner.getLastCleanupRunStats()
+                .flatMap(CleanupRunStats::oldestRemainingAge)
+                .map(java.time.Duration::toMillis)
+                .orElse(0L);
+    }
+
+    private static String cleanerNameFor(String directoryPath) {
+        return format("{}({})", lowerCamelCaseCleanerClassName(), directoryPath);
+    }
+
     private static String nameFormatFor(String directoryPath) {
-        return format("{}({})-%d", lowerCamelCaseCleanerClassName(), directoryPath);
+        return cleanerNameFor(directoryPath) + "-%d";
     }
 
     private static String lowerCamelCaseCleanerClassName() {
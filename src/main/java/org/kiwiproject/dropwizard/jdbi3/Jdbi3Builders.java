@@ -27,6 +27,9 @@ import java.util.Arrays;
  * Note also that when installing plugins, JDBI ignores duplicates (e.g., if you attempt to install more than one
  * {@link SqlObjectPlugin}) <em>only when the plugin is designed as a "single-install" plugin</em>. JDBI plugins
  * are "single-install" when they extend the package-private {@code JdbiPlugin.Singleton} class.
+ * <p>
+ * To record the execution time of each SQL statement and log slow statements, pass a {@link SqlTimingPlugin} as one
+ * of the plugins.
  */
 @Slf4j
 @UtilityClass
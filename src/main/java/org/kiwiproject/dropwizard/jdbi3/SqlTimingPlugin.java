@@ -0,0 +1,211 @@
+package org.kiwiproject.dropwizard.jdbi3;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNullElse;
+import static org.kiwiproject.base.KiwiPreconditions.checkArgumentNotNull;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.annotations.VisibleForTesting;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.spi.JdbiPlugin;
+import org.jdbi.v3.core.statement.SqlLogger;
+import org.jdbi.v3.core.statement.SqlStatements;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.jspecify.annotations.Nullable;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * A {@link JdbiPlugin} that records the execution time of every SQL statement in a Dropwizard {@link MetricRegistry}
+ * and logs statements that are slower than a threshold. Install it by passing it to one of the
+ * {@link Jdbi3Builders} {@code buildManagedJdbi} methods, or directly using {@link Jdbi#installPlugin(JdbiPlugin)}.
+ * <p>
+ * A {@link com.codahale.metrics.Timer} is registered for each distinct statement. Statements executed by SQL Objects
+ * are named by their SQL Object type and method, e.g. {@code com.acme.UserDao.findById}. Other statements are named
+ * by their SQL, normalized by collapsing whitespace, replacing numeric and string literals with {@code ?}, and
+ * replacing the placeholders generated by {@code bindList} with the list name, e.g. {@code <ids>}, so that statements
+ * differing only in literal values or list sizes share a timer. Since SQL built at runtime can still produce an
+ * unbounded number of distinct statements, at most {@link #getMaxStatementTimers()} statements are timed by their
+ * SQL; any others share a single timer named {@value #OTHER_STATEMENTS_TIMER_NAME}. Timer names are prefixed with
+ * {@link #getMetricNamePrefix()}.
+ * <p>
+ * Statements that take at least {@link #getSlowStatementThreshold()} are logged at WARN level, along with the
+ * normalized SQL. By default, only the names of bound parameters are logged; their values are logged only if
+ * {@link #isLogParameterValues()} is true, since they may contain sensitive data.
+ * <p>
+ * This plugin wraps the {@link SqlLogger} that is configured when it is installed, so the statement timers registered
+ * by the Dropwizard {@code JdbiFactory} continue to work.
+ */
+@Getter
+@Slf4j
+public class SqlTimingPlugin implements JdbiPlugin {
+
+    /**
+     * The default prefix for metric names.
+     */
+    public static final String DEFAULT_METRIC_NAME_PREFIX = MetricRegistry.name(SqlTimingPlugin.class);
+
+    /**
+     * The default duration at or above which statements are logged as slow.
+     */
+    public static final Duration DEFAULT_SLOW_STATEMENT_THRESHOLD = Duration.ofSeconds(1);
+
+    /**
+     * The default maximum number of statements that are timed by their SQL.
+     */
+    public static final int DEFAULT_MAX_STATEMENT_TIMERS = 500;
+
+    /**
+     * The name of the timer shared by statements that are not timed by their SQL, once
+     * {@link #getMaxStatementTimers()} is reached.
+     */
+    public static final String OTHER_STATEMENTS_TIMER_NAME = "other";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern LIST_PLACEHOLDERS = Pattern.compile(":__(\\w+?)_\\d+(?:\\s*,\\s*:__\\1_\\d+)*");
+
+    private final MetricRegistry metricRegistry;
+    private final String metricNamePrefix;
+    private final Duration slowStatementThreshold;
+    private final boolean logParameterValues;
+    private final int maxStatementTimers;
+
+    @Getter(AccessLevel.NONE)
+    private final Set<String> timedStatements;
+
+    /**
+     * Create a new instance. Use {@link #builder()} to create instances.
+     *
+     * @param metricRegistry         the registry in which to record statement timers
+     * @param metricNamePrefix       the prefix for metric names (default {@link #DEFAULT_METRIC_NAME_PREFIX})
+     * @param slowStatementThreshold the duration at or above which statements are logged as slow
+     *                               (default {@link #DEFAULT_SLOW_STATEMENT_THRESHOLD})
+     * @param logParameterValues     whether to log the values of bound parameters for slow statements (default false)
+     * @param maxStatementTimers     the maximum number of statements that are timed by their SQL
+     *                               (default {@link #DEFAULT_MAX_STATEMENT_TIMERS})
+     */
+    @Builder
+    private SqlTimingPlugin(MetricRegistry metricRegistry,
+                            @Nullable String metricNamePrefix,
+                            @Nullable Duration slowStatementThreshold,
+                            @Nullable Boolean logParameterValues,
+                            @Nullable Integer maxStatementTimers) {
+        checkArgumentNotNull(metricRegistry, "metricRegistry must not be null");
+
+        this.metricRegistry = metricRegistry;
+        this.metricNamePrefix = requireNonNullElse(metricNamePrefix, DEFAULT_METRIC_NAME_PREFIX);
+        this.slowStatementThreshold = requireNonNullElse(slowStatementThreshold, DEFAULT_SLOW_STATEMENT_THRESHOLD);
+        this.logParameterValues = requireNonNullElse(logParameterValues, false);
+        this.maxStatementTimers = requireNonNullElse(maxStatementTimers, DEFAULT_MAX_STATEMENT_TIMERS);
+        checkArgument(this.maxStatementTimers > 0, "maxStatementTimers must be positive");
+        this.timedStatements = ConcurrentHashMap.newKeySet();
+    }
+
+    @Override
+    public void customizeJdbi(Jdbi jdbi) {
+        var existingLogger = jdbi.getConfig(SqlStatements.class).getSqlLogger();
+        jdbi.setSqlLogger(new TimingSqlLogger(existingLogger));
+    }
+
+    private class TimingSqlLogger implements SqlLogger {
+
+        private final SqlLogger delegate;
+
+        TimingSqlLogger(SqlLogger delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void logBeforeExecution(StatementContext context) {
+            delegate.logBeforeExecution(context);
+        }
+
+        @Override
+        public void logAfterExecution(StatementContext context) {
+            delegate.logAfterExecution(context);
+            record(context, null);
+        }
+
+        @Override
+        public void logException(StatementContext context, SQLException ex) {
+            delegate.logException(context, ex);
+            record(context, ex);
+        }
+    }
+
+    @VisibleForTesting
+    void record(StatementContext context, @Nullable SQLException ex) {
+        var elapsed = Duration.ofNanos(context.getElapsedTime(ChronoUnit.NANOS));
+        var sql = normalizeSql(requireNonNullElse(context.getRenderedSql(), context.getRawSql()));
+        var statementName = statementName(context, sql);
+
+        metricRegistry.timer(MetricRegistry.name(metricNamePrefix, statementName)).update(elapsed);
+
+        if (elapsed.compareTo(slowStatementThreshold) >= 0) {
+            LOG.warn("Slow SQL statement {} took {} ms{}. SQL: [{}]; parameters: {}",
+                    statementName,
+                    elapsed.toMillis(),
+                    nonNull(ex) ? " and failed" : "",
+                    sql,
+                    describeParameters(context));
+        }
+    }
+
+    private String statementName(StatementContext context, String normalizedSql) {
+        var extensionMethod = context.getExtensionMethod();
+        if (isNull(extensionMethod)) {
+            return isTimedBySql(normalizedSql) ? normalizedSql : OTHER_STATEMENTS_TIMER_NAME;
+        }
+
+        return MetricRegistry.name(extensionMethod.getType(), extensionMethod.getMethod().getName());
+    }
+
+    private boolean isTimedBySql(String normalizedSql) {
+        if (timedStatements.contains(normalizedSql)) {
+            return true;
+        }
+
+        synchronized (timedStatements) {
+            if (timedStatements.size() < maxStatementTimers) {
+                timedStatements.add(normalizedSql);
+                return true;
+            }
+
+            return timedStatements.contains(normalizedSql);
+        }
+    }
+
+    private String describeParameters(StatementContext context) {
+        var binding = context.getBinding();
+        if (logParameterValues) {
+            return String.valueOf(binding);
+        }
+
+        return binding.getNames() + " (values redacted)";
+    }
+
+    /**
+     * Normalize the given SQL by replacing string and numeric literals with {@code ?}, replacing {@code bindList}
+     * placeholders such as {@code :__ids_0,:__ids_1} with {@code <ids>}, and collapsing whitespace.
+     */
+    @VisibleForTesting
+    static String normalizeSql(String sql) {
+        var withoutLists = LIST_PLACEHOLDERS.matcher(sql).replaceAll("<$1>");
+        var withoutStrings = STRING_LITERAL.matcher(withoutLists).replaceAll("?");
+        var withoutNumbers = NUMERIC_LITERAL.matcher(withoutStrings).replaceAll("?");
+        return WHITESPACE.matcher(withoutNumbers).replaceAll(" ").strip();
+    }
+}
@@ -5,6 +5,7 @@ import static org.kiwiproject.io.TimeBasedDirectoryCleaner.DeleteError;
 import com.codahale.metrics.health.HealthCheck;
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.kiwiproject.io.TimeBasedDirectoryCleaner;
+import org.kiwiproject.io.TimeBasedDirectoryCleaner.CleanupRunStats;
 
 import java.time.Duration;
 import java.time.ZonedDateTime;
@@ -14,6 +15,11 @@ import java.time.format.DateTimeFormatter;
  * A health check for {@link TimeBasedDirectoryCleaner} that checks if there have been any delete errors within
  * a specific duration of time. Errors older than the warning threshold will not cause this to report as unhealthy;
  * it will report unhealthy only if there are errors within the warning threshold.
+ * <p>
+ * This also reports unhealthy if cleanup is falling behind, meaning that after the most recent cleanup run, the
+ * oldest remaining entry in the directory was older than the cleaner's retention threshold. This can happen when
+ * deletes fail, or when the cleaner limits the number of deletes per run and producers are adding files faster
+ * than they are being cleaned.
  */
 public class TimeBasedDirectoryCleanerHealthCheck extends HealthCheck {
 
@@ -46,9 +52,7 @@ public class TimeBasedDirectoryCleanerHealthCheck extends HealthCheck {
     public TimeBasedDirectoryCleanerHealthCheck(TimeBasedDirectoryCleaner cleaner, Duration warningThreshold) {
         this.cleaner = cleaner;
         this.warningThresholdInMillis = warningThreshold.toMillis();
-        this.warningThresholdDescription = DurationFormatUtils.formatDurationWords(warningThresholdInMillis,
-                SUPPRESS_LEADING_ZERO_ELEMENTS,
-                SUPPRESS_TRAILING_ZERO_ELEMENTS);
+        this.warningThresholdDescription = durationDescription(warningThresholdInMillis);
 
         var formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd hh:mm");
         this.intializedAt = ZonedDateTime.now().format(formatter);
@@ -61,6 +65,19 @@ public class TimeBasedDirectoryCleanerHealthCheck extends HealthCheck {
                 .filter(error -> errorHasOccurredWithinWarningThreshold(now, error))
                 .count();
 
+        var oldestRemainingAgeBeyondRetention = cleaner.getLastCleanupRunStats()
+                .flatMap(CleanupRunStats::oldestRemainingAge)
+                .filter(age -> age.compareTo(cleaner.getRetentionThreshold()) > 0);
+
+        if (errorsWithinThreshold == 0 && oldestRemainingAgeBeyondRetention.isPresent()) {
+            return Result.unhealthy("Cleanup is behind: oldest remaining entry was %s old after last run," +
+                            " exceeding retention threshold of %s (%d total errors since %s)",
+                    durationDescription(oldestRemainingAgeBeyondRetention.get().toMillis()),
+                    cleaner.getRetentionThresholdDescription(),
+                    cleaner.getDeleteErrorCount(),
+                    intializedAt);
+        }
+
         if (errorsWithinThreshold == 0) {
             return Result.healthy("No delete errors in last %s (%d total errors since %s)",
                     warningThresholdDescription,
@@ -75,6 +92,12 @@ public class TimeBasedDirectoryCleanerHealthCheck extends HealthCheck {
                 intializedAt);
     }
 
+    private static String durationDescription(long milliseconds) {
+        return DurationFormatUtils.formatDurationWords(milliseconds,
+                SUPPRESS_LEADING_ZERO_ELEMENTS,
+                SUPPRESS_TRAILING_ZERO_ELEMENTS);
+    }
+
     private boolean errorHasOccurredWithinWarningThreshold(long now, DeleteError error) {
         var ageInMillis = now - error.getTimestamp();
         return ageInMillis < warningThresholdInMillis;
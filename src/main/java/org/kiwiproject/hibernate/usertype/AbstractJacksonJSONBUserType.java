@@ -0,0 +1,204 @@
+package org.kiwiproject.hibernate.usertype;
+
+import static java.util.Objects.isNull;
+import static org.kiwiproject.base.KiwiPreconditions.checkArgumentNotNull;
+import static org.kiwiproject.base.KiwiPreconditions.requireNotNull;
+import static org.kiwiproject.base.KiwiStrings.f;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.type.SqlTypes;
+import org.hibernate.usertype.UserType;
+import org.kiwiproject.json.JsonHelper;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Base class for Hibernate user-defined types that map Postgres {@code jsonb} columns to a Java type using Jackson.
+ * <p>
+ * Unlike {@link JSONBUserType}, which maps to raw JSON strings, the JSON is parsed once when an entity is loaded.
+ * Snapshots for dirty checking are structural copies, and values are compared as JSON trees, so differences in
+ * whitespace or the order of object keys do not cause unnecessary updates.
+ * <p>
+ * Use {@link JacksonJSONBUserType} to map to a {@link JsonNode}. To map to another type, create a public subclass
+ * with a public no-args constructor that calls one of the protected constructors, since Hibernate instantiates user
+ * types reflectively. For example:
+ * <pre>
+ * public class SettingsJSONBUserType extends AbstractJacksonJSONBUserType&lt;Settings&gt; {
+ *     public SettingsJSONBUserType() {
+ *         super(Settings.class);
+ *     }
+ * }
+ * </pre>
+ * and then:
+ * <pre>
+ * &#64;Type(SettingsJSONBUserType.class)
+ * &#64;Column(name = "settings")
+ * private Settings settings;
+ * </pre>
+ * Mapped types must be serializable to and from JSON using the {@link ObjectMapper}. The default mapper is created by
+ * {@link JsonHelper#newDropwizardObjectMapper()}.
+ *
+ * @param <T> the Java type the column maps to
+ */
+@SuppressWarnings("java:S1130")
+public abstract class AbstractJacksonJSONBUserType<T> implements UserType<T> {
+
+    private static final ObjectMapper DEFAULT_OBJECT_MAPPER = JsonHelper.newDropwizardObjectMapper();
+
+    private final Class<T> javaType;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Create a new instance that maps to the given type using the default {@link ObjectMapper}.
+     *
+     * @param javaType the Java type the column maps to
+     */
+    protected AbstractJacksonJSONBUserType(Class<T> javaType) {
+        this(javaType, DEFAULT_OBJECT_MAPPER);
+    }
+
+    /**
+     * Create a new instance that maps to the given type using the given {@link ObjectMapper}.
+     *
+     * @param javaType     the Java type the column maps to
+     * @param objectMapper the mapper to use when reading and writing values
+     */
+    protected AbstractJacksonJSONBUserType(Class<T> javaType, ObjectMapper objectMapper) {
+        this.javaType = requireNotNull(javaType, "javaType must not be null");
+        this.objectMapper = requireNotNull(objectMapper, "objectMapper must not be null");
+    }
+
+    @Override
+    public int getSqlType() {
+        return SqlTypes.JAVA_OBJECT;
+    }
+
+    @Override
+    public Class<T> returnedClass() {
+        return javaType;
+    }
+
+    /**
+     * Compares the values as JSON trees, so that values which serialize to equivalent JSON are equal.
+     */
+    @Override
+    public boolean equals(T o1, T o2) throws HibernateException {
+        if (o1 == o2) {
+            return true;
+        }
+
+        if (isNull(o1) || isNull(o2)) {
+            return false;
+        }
+
+        return toTree(o1).equals(toTree(o2));
+    }
+
+    /**
+     * Computes the hash code of the value's JSON tree, which is consistent with {@link #equals(Object, Object)}.
+     */
+    @Override
+    public int hashCode(T obj) throws HibernateException {
+        checkArgumentNotNull(obj, "cannot compute hashCode on null object");
+        return toTree(obj).hashCode();
+    }
+
+    @Override
+    public T nullSafeGet(ResultSet rs, int position, SharedSessionContractImplementor session, Object owner)
+            throws HibernateException, SQLException {
+
+        var json = rs.getString(position);
+        return isNull(json) ? null : fromJson(json);
+    }
+
+    @Override
+    public void nullSafeSet(PreparedStatement st, T value, int index, SharedSessionContractImplementor session)
+            throws HibernateException, SQLException {
+
+        if (value == null) {
+            st.setNull(index, Types.OTHER);
+        } else {
+            st.setObject(index, toJson(value), Types.OTHER);
+        }
+    }
+
+    /**
+     * Copies {@link JsonNode} values using {@link JsonNode#deepCopy()}, and other values by converting them to and from
+     * a JSON tree, neither of which requires writing or parsing JSON text.
+     */
+    @Override
+    public T deepCopy(T value) throws HibernateException {
+        if (isNull(value)) {
+            return null;
+        }
+
+        if (value instanceof JsonNode node) {
+            return javaType.cast(node.deepCopy());
+        }
+
+        try {
+            return objectMapper.treeToValue(objectMapper.valueToTree(value), javaType);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new HibernateException(f("Unable to copy {} value", javaType.getName()), e);
+        }
+    }
+
+    @Override
+    public boolean isMutable() {
+        return true;
+    }
+
+    /**
+     * Disassembles the value to its JSON string, which is both immutable and serializable.
+     */
+    @Override
+    public Serializable disassemble(T value) throws HibernateException {
+        return isNull(value) ? null : toJson(value);
+    }
+
+    @Override
+    public T assemble(Serializable cached, Object owner) throws HibernateException {
+        return isNull(cached) ? null : fromJson((String) cached);
+    }
+
+    @Override
+    public T replace(T original, T target, Object owner) throws HibernateException {
+        return deepCopy(original);
+    }
+
+    private JsonNode toTree(T value) {
+        if (value instanceof JsonNode node) {
+            return node;
+        }
+
+        try {
+            return objectMapper.valueToTree(value);
+        } catch (IllegalArgumentException e) {
+            throw new HibernateException(f("Unable to convert {} value to JSON tree", javaType.getName()), e);
+        }
+    }
+
+    private T fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, javaType);
+        } catch (JsonProcessingException e) {
+            throw new HibernateException(f("Unable to read JSON as {}", javaType.getName()), e);
+        }
+    }
+
+    private String toJson(T value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new HibernateException(f("Unable to write {} value as JSON", javaType.getName()), e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.kiwiproject.hibernate.usertype;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A Hibernate user-defined type that maps Postgres {@code jsonb} columns to a Jackson {@link JsonNode}.
+ * <p>
+ * Unlike {@link JSONBUserType}, which maps to raw JSON strings, the JSON is parsed once when an entity is loaded.
+ * Snapshots for dirty checking are structural copies, and values are compared as JSON trees, so differences in
+ * whitespace or the order of object keys do not cause unnecessary updates.
+ * <p>
+ * Usage:
+ * <pre>
+ * &#64;Type(JacksonJSONBUserType.class)
+ * &#64;Column(name = "settings")
+ * private JsonNode settings;
+ * </pre>
+ * To map to another type, create a subclass of {@link AbstractJacksonJSONBUserType}.
+ */
+public class JacksonJSONBUserType extends AbstractJacksonJSONBUserType<JsonNode> {
+
+    /**
+     * Create a new instance that maps to {@link JsonNode}.
+     */
+    public JacksonJSONBUserType() {
+        super(JsonNode.class);
+    }
+}
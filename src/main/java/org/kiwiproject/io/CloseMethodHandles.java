@@ -0,0 +1,61 @@
+package org.kiwiproject.io;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches method handles for the no-argument "close" methods (e.g., {@code close}, {@code stop}, {@code shutdown})
+ * that {@link KiwiIO} uses to close arbitrary objects, so that closing many objects of the same type only looks up
+ * each method once.
+ * <p>
+ * The cache is keyed by class, using a {@link ClassValue}, and then by method name. Methods that do not exist or are
+ * not accessible are cached as an empty {@link Optional}, so they are not looked up again either.
+ */
+@UtilityClass
+@Slf4j
+class CloseMethodHandles {
+
+    private static final MethodType CLOSE_METHOD_TYPE = methodType(void.class);
+    private static final MethodType INVOCATION_TYPE = methodType(void.class, Object.class);
+
+    private static final ClassValue<ConcurrentMap<String, Optional<MethodHandle>>> HANDLES_BY_TYPE =
+            new ClassValue<>() {
+                @Override
+                protected ConcurrentMap<String, Optional<MethodHandle>> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>(4);
+                }
+            };
+
+    /**
+     * Find the public, no-argument, void method with the given name on the given type.
+     *
+     * @param type       the type of object to close
+     * @param methodName the name of the close method
+     * @return an Optional containing a method handle of type {@code (Object)void}, or an empty Optional if the type
+     * has no such accessible method
+     */
+    static Optional<MethodHandle> find(Class<?> type, String methodName) {
+        return HANDLES_BY_TYPE.get(type).computeIfAbsent(methodName, name -> lookup(type, name));
+    }
+
+    private static Optional<MethodHandle> lookup(Class<?> type, String methodName) {
+        try {
+            var methodHandle = MethodHandles.lookup()
+                    .findVirtual(type, methodName, CLOSE_METHOD_TYPE)
+                    .asType(INVOCATION_TYPE);
+            return Optional.of(methodHandle);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            LOG.trace("No accessible {} method found on {}", methodName, type.getName(), e);
+            return Optional.empty();
+        }
+    }
+}
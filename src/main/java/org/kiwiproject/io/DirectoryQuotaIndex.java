@@ -0,0 +1,308 @@
+package org.kiwiproject.io;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.kiwiproject.base.KiwiPreconditions.checkArgumentNotNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Maintains an index of the top-level entries in a directory, ordered from oldest to newest by last modified time,
+ * along with their count and total size. This lets {@link TimeBasedDirectoryCleaner} find the oldest entries without
+ * listing and sorting the entire directory on every run.
+ * <p>
+ * Without a {@link WatchService}, each {@link #refresh()} reconciles the index against a listing of the directory,
+ * only re-reading the sizes of entries whose attributes changed: files whose size or last modified time changed, and
+ * subdirectories whose last modified time changed. With a {@link WatchService}, the index is built once and then kept
+ * up to date using the create, modify, and delete events for the directory, falling back to a full rescan if events
+ * are lost.
+ * <p>
+ * The size of a directory entry is the total size of its contents.
+ *
+ * @implNote This is not thread-safe, and is intended to be used only by the thread running the cleaner. A
+ * subdirectory's last modified time only changes when entries are added to, removed from, or renamed directly inside
+ * it, and changes nested inside it do not generate events for the watched directory. So, the size of a subdirectory
+ * reflects its contents when its last modified time last changed, which avoids walking every subdirectory on every
+ * refresh. Processes that write into subdirectories should create new entries (e.g., write to a temporary file and
+ * rename it) or touch the subdirectory if its size must be re-read.
+ */
+@Slf4j
+class DirectoryQuotaIndex implements Closeable {
+
+    private static final Comparator<IndexEntry> OLDEST_FIRST =
+            Comparator.comparingLong(IndexEntry::lastModifiedMillis).thenComparing(IndexEntry::path);
+
+    private final Path directory;
+    private final boolean watchForChanges;
+    private final Map<Path, IndexEntry> entriesByPath = new HashMap<>();
+    private final NavigableSet<IndexEntry> entriesByAge = new TreeSet<>(OLDEST_FIRST);
+
+    private WatchService watchService;
+    private WatchKey watchKey;
+    private boolean rescanRequired = true;
+    private boolean closed;
+    private long totalSizeInBytes;
+
+    /**
+     * Value class representing an indexed directory entry.
+     */
+    record IndexEntry(Path path, long lastModifiedMillis, long sizeInBytes, boolean isDirectory) {
+    }
+
+    /**
+     * Create a new index for the given directory.
+     *
+     * @param directory       the directory to index
+     * @param watchForChanges if true, use a {@link WatchService} to keep the index up to date between refreshes
+     */
+    DirectoryQuotaIndex(Path directory, boolean watchForChanges) {
+        checkArgumentNotNull(directory, "directory is required");
+        this.directory = directory;
+        this.watchForChanges = watchForChanges;
+    }
+
+    /**
+     * Bring the index up to date with the contents of the directory.
+     */
+    void refresh() {
+        if (watchForChanges) {
+            registerWatchIfNecessary();
+            processWatchEvents();
+        }
+
+        if (rescanRequired || isNull(watchKey)) {
+            rescan();
+        }
+    }
+
+    private void registerWatchIfNecessary() {
+        if (closed || (nonNull(watchKey) && watchKey.isValid())) {
+            return;
+        }
+
+        if (!Files.isDirectory(directory)) {
+            LOG.trace("Not watching {} since it is not a directory (yet)", directory);
+            return;
+        }
+
+        try {
+            if (isNull(watchService)) {
+                watchService = directory.getFileSystem().newWatchService();
+            }
+
+            watchKey = directory.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+            rescanRequired = true;
+            LOG.debug("Watching {} for changes", directory);
+        } catch (IOException e) {
+            LOG.warn("Unable to watch {} for changes; will rescan on each refresh", directory, e);
+            watchKey = null;
+        }
+    }
+
+    private void processWatchEvents() {
+        if (isNull(watchKey)) {
+            return;
+        }
+
+        WatchKey key;
+        try {
+            while (nonNull(key = watchService.poll())) {
+                for (var event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        LOG.debug("Watch events for {} overflowed; a full rescan is required", directory);
+                        rescanRequired = true;
+                    } else if (!rescanRequired) {
+                        var path = directory.resolve((Path) event.context());
+                        updateEntry(path);
+                    }
+                }
+
+                if (!key.reset()) {
+                    LOG.debug("Watch on {} is no longer valid; a full rescan is required", directory);
+                    watchKey = null;
+                    rescanRequired = true;
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            LOG.debug("Watch service for {} was closed; a full rescan is required", directory);
+            watchKey = null;
+            rescanRequired = true;
+        }
+    }
+
+    private void updateEntry(Path path) {
+        try {
+            var attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            put(path, attributes);
+        } catch (NoSuchFileException e) {
+            remove(path);
+        } catch (IOException e) {
+            LOG.trace("Unable to read attributes of {}; removing from index", path, e);
+            remove(path);
+        }
+    }
+
+    @VisibleForTesting
+    void rescan() {
+        LOG.trace("Rescanning {}", directory);
+        var seenPaths = new HashSet<Path>();
+
+        if (Files.isDirectory(directory)) {
+            try {
+                Files.walkFileTree(directory, Set.of(), 1, new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult visitFile(Path path, BasicFileAttributes attributes) {
+                        seenPaths.add(path);
+                        put(path, attributes);
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path path, IOException e) {
+                        LOG.trace("Unable to read attributes of {} (it might have been deleted concurrently)", path, e);
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        Set.copyOf(entriesByPath.keySet()).stream()
+                .filter(path -> !seenPaths.contains(path))
+                .forEach(this::remove);
+
+        rescanRequired = false;
+    }
+
+    private void put(Path path, BasicFileAttributes attributes) {
+        var lastModifiedMillis = attributes.lastModifiedTime().toMillis();
+        var existing = entriesByPath.get(path);
+
+        if (nonNull(existing) && isUnchanged(existing, lastModifiedMillis, attributes)) {
+            return;
+        }
+
+        remove(path);
+
+        var entry = new IndexEntry(path, lastModifiedMillis, sizeOf(path, attributes), attributes.isDirectory());
+        entriesByPath.put(path, entry);
+        entriesByAge.add(entry);
+        totalSizeInBytes += entry.sizeInBytes();
+    }
+
+    private static boolean isUnchanged(IndexEntry entry, long lastModifiedMillis, BasicFileAttributes attributes) {
+        if (entry.isDirectory() != attributes.isDirectory() || entry.lastModifiedMillis() != lastModifiedMillis) {
+            return false;
+        }
+
+        // The size attribute of a directory is not the size of its contents, so only the last modified time is compared
+        return attributes.isDirectory() || entry.sizeInBytes() == attributes.size();
+    }
+
+    private static long sizeOf(Path path, BasicFileAttributes attributes) {
+        if (!attributes.isDirectory()) {
+            return attributes.size();
+        }
+
+        try {
+            return FileUtils.sizeOfDirectory(path.toFile());
+        } catch (RuntimeException e) {
+            LOG.trace("Unable to determine size of directory {}; using zero", path, e);
+            return 0;
+        }
+    }
+
+    /**
+     * Remove the given path from the index, e.g., after it has been deleted.
+     *
+     * @param path the path to remove
+     */
+    void remove(Path path) {
+        var entry = entriesByPath.remove(path);
+        if (nonNull(entry)) {
+            entriesByAge.remove(entry);
+            totalSizeInBytes -= entry.sizeInBytes();
+        }
+    }
+
+    /**
+     * @return the oldest entry in the index, or an empty Optional if the index is empty
+     */
+    Optional<IndexEntry> oldest() {
+        return entriesByAge.isEmpty() ? Optional.empty() : Optional.of(entriesByAge.first());
+    }
+
+    /**
+     * @param excludedPaths paths to skip
+     * @return the oldest entry in the index whose path is not excluded, or an empty Optional if there is none
+     */
+    Optional<IndexEntry> oldestExcluding(Set<Path> excludedPaths) {
+        return entriesByAge.stream()
+                .filter(entry -> !excludedPaths.contains(entry.path()))
+                .findFirst();
+    }
+
+    /**
+     * @return the number of entries in the index
+     */
+    int getEntryCount() {
+        return entriesByPath.size();
+    }
+
+    /**
+     * @return the total size of all entries in the index
+     */
+    long getTotalSizeInBytes() {
+        return totalSizeInBytes;
+    }
+
+    /**
+     * @return true if this index is currently using a {@link WatchService} to track changes
+     */
+    boolean isWatching() {
+        return nonNull(watchKey) && watchKey.isValid();
+    }
+
+    /**
+     * Stops watching the directory, if it is being watched. Subsequent refreshes will rescan the directory.
+     */
+    @Override
+    public void close() {
+        closed = true;
+
+        if (nonNull(watchService)) {
+            KiwiIO.closeQuietly(watchService);
+            watchService = null;
+            watchKey = null;
+        }
+    }
+}
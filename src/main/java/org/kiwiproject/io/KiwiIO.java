@@ -1,7 +1,6 @@
 package org.kiwiproject.io;
 
 import static com.google.common.base.Preconditions.checkArgument;
-import static java.lang.invoke.MethodType.methodType;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static java.util.stream.Collectors.joining;
@@ -26,13 +25,17 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.UncheckedIOException;
-import java.lang.invoke.MethodHandles;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Static I/O utilities.
@@ -413,11 +416,15 @@ public class KiwiIO {
     }
 
     private CloseResult tryClose(Object object, Class<?> objectType, String typeName, String closeMethodName) {
+        var closeMethod = CloseMethodHandles.find(objectType, closeMethodName);
+        if (closeMethod.isEmpty()) {
+            LOG.trace("Unable to close a {} using {} since it has no such accessible method", typeName, closeMethodName);
+            return new CloseResult(false, closeMethodName, null);
+        }
+
         try {
             LOG.trace("Attempting to close a {} using {}", typeName, closeMethodName);
-            var methodHandle = MethodHandles.lookup()
-                    .findVirtual(objectType, closeMethodName, methodType(Void.TYPE));
-            methodHandle.invoke(object);
+            closeMethod.get().invokeExact(object);
             return new CloseResult(true, closeMethodName, null);
         } catch (Throwable error) {
             LOG.trace("Unable to close a {} using {}", typeName, closeMethodName, error);
@@ -611,6 +618,69 @@ public class KiwiIO {
         return new BufferedReader(new InputStreamReader(stream, charset)).lines();
     }
 
+    /**
+     * Return a {@link Stream} of {@link String}s containing the lines of the given file, which is read by
+     * memory-mapping it.
+     * <p>
+     * The returned stream is sequential. Calling {@link Stream#parallel()} causes the file to be split into
+     * newline-aligned chunks which are decoded and processed in parallel, making this suitable for very large files.
+     * Lines are terminated the same as {@link BufferedReader#readLine()}, and malformed input is replaced rather
+     * than causing an error. The stream does not hold any open files, so it does not need to be closed.
+     *
+     * @param path    the file to read
+     * @param charset the charset of the file, which must encode line terminators as single bytes (e.g., UTF-8)
+     * @return the stream of lines in the file
+     * @throws IllegalArgumentException if the charset does not encode line terminators as single bytes
+     * @throws UncheckedIOException     if an I/O error occurs reading the file
+     */
+    public static Stream<String> streamLinesFrom(Path path, Charset charset) {
+        return StreamSupport.stream(MappedLineSpliterator.of(path, charset, CharBuffer::toString, true), false);
+    }
+
+    /**
+     * Perform the given action on each line of the given file, which is read by memory-mapping it.
+     * <p>
+     * The action receives a {@link CharSequence} view of each line instead of a {@link String}, which avoids
+     * allocating a new String per line. The view is re-used for subsequent lines, so it is only valid during the
+     * call to the action; use {@link CharSequence#toString()} to retain a line.
+     *
+     * @param path       the file to read
+     * @param charset    the charset of the file, which must encode line terminators as single bytes (e.g., UTF-8)
+     * @param lineAction the action to perform on each line
+     * @throws IllegalArgumentException if the charset does not encode line terminators as single bytes
+     * @throws UncheckedIOException     if an I/O error occurs reading the file
+     * @see #forEachLineInParallel(Path, Charset, Consumer)
+     */
+    public static void forEachLine(Path path, Charset charset, Consumer<CharSequence> lineAction) {
+        forEachLine(path, charset, lineAction, false);
+    }
+
+    /**
+     * Perform the given action on each line of the given file, which is read by memory-mapping it and splitting it
+     * into newline-aligned chunks that are processed in parallel using the common {@link ForkJoinPool}.
+     * <p>
+     * The action receives a {@link CharSequence} view of each line instead of a {@link String}, which avoids
+     * allocating a new String per line. Each view is re-used for subsequent lines, so it is only valid during the
+     * call to the action; use {@link CharSequence#toString()} to retain a line. The action is called concurrently
+     * from multiple threads and in no particular order, so it must be thread-safe.
+     *
+     * @param path       the file to read
+     * @param charset    the charset of the file, which must encode line terminators as single bytes (e.g., UTF-8)
+     * @param lineAction the thread-safe action to perform on each line
+     * @throws IllegalArgumentException if the charset does not encode line terminators as single bytes
+     * @throws UncheckedIOException     if an I/O error occurs reading the file
+     * @see #forEachLine(Path, Charset, Consumer)
+     */
+    public static void forEachLineInParallel(Path path, Charset charset, Consumer<CharSequence> lineAction) {
+        forEachLine(path, charset, lineAction, true);
+    }
+
+    private static void forEachLine(Path path, Charset charset, Consumer<CharSequence> lineAction, boolean parallel) {
+        checkArgumentNotNull(lineAction, "lineAction must not be null");
+        var spliterator = MappedLineSpliterator.<CharSequence>of(path, charset, line -> line, false);
+        StreamSupport.stream(spliterator, parallel).forEach(lineAction);
+    }
+
     /**
      * Read the input stream of the give {@link Process} as a String using {@code UTF-8} as the String encoding.
      * <p>
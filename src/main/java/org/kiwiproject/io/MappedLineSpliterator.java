@@ -0,0 +1,334 @@
+package org.kiwiproject.io;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.kiwiproject.base.KiwiPreconditions.checkArgumentNotNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A {@link Spliterator} over the lines of a file, which memory-maps the file in windows and splits it into
+ * newline-aligned byte ranges so that the lines can be processed in parallel.
+ * <p>
+ * Lines are terminated by a line feed, a carriage return, or a carriage return followed by a line feed, the same as
+ * {@link java.io.BufferedReader#readLine()}. Because split points are located by searching for line feed bytes, the
+ * charset must encode carriage return and line feed as single bytes, e.g. UTF-8, US-ASCII, or ISO-8859-1.
+ * <p>
+ * Each line is presented to the mapping function as a {@link CharBuffer} view over the decoded window. The same
+ * view instance is re-used for every line, so the mapping function must not retain it.
+ *
+ * @param <T> the type of element produced for each line
+ */
+class MappedLineSpliterator<T> implements Spliterator<T> {
+
+    private static final byte LINE_FEED = '\n';
+    private static final char LF = '\n';
+    private static final char CR = '\r';
+
+    @VisibleForTesting
+    static final int DEFAULT_WINDOW_SIZE = 8 * 1024 * 1024;
+
+    @VisibleForTesting
+    static final long DEFAULT_MIN_SPLIT_SIZE = 1024 * 1024;
+
+    private static final int MAX_WINDOW_SIZE = Integer.MAX_VALUE - 8;
+    private static final int SPLIT_SCAN_BUFFER_SIZE = 8 * 1024;
+
+    private final Path path;
+    private final Charset charset;
+    private final Function<CharBuffer, T> lineMapper;
+    private final int windowSize;
+    private final long minSplitSize;
+    private final int characteristics;
+
+    private long start;
+    private final long end;
+
+    private boolean traversalStarted;
+    private long nextWindowPosition;
+    private CharsetDecoder decoder;
+    private ByteBuffer bytes;
+    private CharBuffer chars;
+    private CharBuffer lineView;
+
+    /**
+     * Create a new instance covering the entire file.
+     *
+     * @param path           the file to read
+     * @param charset        the charset of the file
+     * @param lineMapper     converts the (re-used) view of each line into an element
+     * @param immutableLines whether the elements produced by the line mapper are immutable
+     * @return the new spliterator
+     * @throws IllegalArgumentException if the charset does not encode line terminators as single bytes
+     * @throws UncheckedIOException     if the file size cannot be determined
+     */
+    static <T> MappedLineSpliterator<T> of(Path path,
+                                           Charset charset,
+                                           Function<CharBuffer, T> lineMapper,
+                                           boolean immutableLines) {
+        return of(path, charset, lineMapper, immutableLines, DEFAULT_WINDOW_SIZE, DEFAULT_MIN_SPLIT_SIZE);
+    }
+
+    @VisibleForTesting
+    static <T> MappedLineSpliterator<T> of(Path path,
+                                           Charset charset,
+                                           Function<CharBuffer, T> lineMapper,
+                                           boolean immutableLines,
+                                           int windowSize,
+                                           long minSplitSize) {
+        checkArgumentNotNull(path, "path must not be null");
+        checkArgumentNotNull(charset, "charset must not be null");
+        checkArgumentNotNull(lineMapper, "lineMapper must not be null");
+        checkArgument(hasSingleByteLineTerminators(charset),
+                "charset %s must encode line terminators as single bytes", charset);
+        checkArgument(windowSize > 0, "windowSize must be positive");
+        checkArgument(minSplitSize > 0, "minSplitSize must be positive");
+
+        long size;
+        try {
+            size = Files.size(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to determine size of " + path, e);
+        }
+
+        var characteristics = ORDERED | NONNULL | (immutableLines ? IMMUTABLE : 0);
+        return new MappedLineSpliterator<>(path, charset, lineMapper, windowSize, minSplitSize, characteristics,
+                0, size);
+    }
+
+    private MappedLineSpliterator(Path path,
+                                  Charset charset,
+                                  Function<CharBuffer, T> lineMapper,
+                                  int windowSize,
+                                  long minSplitSize,
+                                  int characteristics,
+                                  long start,
+                                  long end) {
+        this.path = path;
+        this.charset = charset;
+        this.lineMapper = lineMapper;
+        this.windowSize = windowSize;
+        this.minSplitSize = minSplitSize;
+        this.characteristics = characteristics;
+        this.start = start;
+        this.end = end;
+    }
+
+    private static boolean hasSingleByteLineTerminators(Charset charset) {
+        return charset.canEncode() && Arrays.equals(new byte[] { CR, LF }, "\r\n".getBytes(charset));
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        checkArgumentNotNull(action, "action must not be null");
+
+        if (!traversalStarted) {
+            traversalStarted = true;
+            nextWindowPosition = start;
+        }
+
+        while (true) {
+            if (nonNull(chars) && chars.hasRemaining()) {
+                action.accept(lineMapper.apply(nextLine()));
+                return true;
+            }
+
+            if (nextWindowPosition >= end) {
+                chars = null;
+                lineView = null;
+                return false;
+            }
+
+            decodeNextWindow();
+        }
+    }
+
+    /**
+     * Advance past the next line in the current window, returning the (re-used) view of it.
+     */
+    private CharBuffer nextLine() {
+        var array = chars.array();
+        var lineStart = chars.position();
+        var limit = chars.limit();
+        var index = lineStart;
+        while (index < limit) {
+            var c = array[index];
+            if (c == LF || c == CR) {
+                break;
+            }
+            index++;
+        }
+
+        var lineEnd = index;
+        if (index < limit) {
+            var terminator = array[index++];
+            if (terminator == CR && index < limit && array[index] == LF) {
+                index++;
+            }
+        }
+        chars.position(index);
+
+        lineView.clear();
+        lineView.position(lineStart);
+        lineView.limit(lineEnd);
+        return lineView;
+    }
+
+    /**
+     * Map the next window of the file, ending it at the last line feed within the window unless the window reaches
+     * the end of this spliterator's range, then decode it.
+     */
+    private void decodeNextWindow() {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var length = (int) Math.min(end - nextWindowPosition, windowSize);
+
+            while (true) {
+                var mappedBytes = channel.map(FileChannel.MapMode.READ_ONLY, nextWindowPosition, length);
+                var reachesEnd = nextWindowPosition + length >= end;
+                var usable = reachesEnd ? length : lastLineFeedIndex(mappedBytes, length) + 1;
+
+                if (usable > 0) {
+                    decode(mappedBytes.limit(usable));
+                    nextWindowPosition += usable;
+                    return;
+                }
+
+                // no line feed in the window, so it is in the middle of a very long line; widen the window
+                if (length >= MAX_WINDOW_SIZE) {
+                    throw new IllegalStateException(
+                            "Line starting at byte " + nextWindowPosition + " in " + path + " is too long to map");
+                }
+                length = (int) Math.min(end - nextWindowPosition, Math.min(2L * length, MAX_WINDOW_SIZE));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading lines from " + path, e);
+        }
+    }
+
+    private static int lastLineFeedIndex(ByteBuffer bytes, int length) {
+        for (var i = length - 1; i >= 0; i--) {
+            if (bytes.get(i) == LINE_FEED) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Copy the mapped bytes to a heap buffer and decode them. Decoding from a heap buffer is considerably faster than
+     * decoding directly from the mapped buffer, since the JDK decoders only use their optimized paths for arrays.
+     */
+    private void decode(ByteBuffer mappedBytes) throws CharacterCodingException {
+        var length = mappedBytes.remaining();
+        if (isNull(bytes) || bytes.capacity() < length) {
+            bytes = ByteBuffer.allocate(length);
+        }
+        bytes.clear();
+        bytes.put(mappedBytes);
+        bytes.flip();
+
+        if (isNull(decoder)) {
+            decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+
+        var requiredCapacity = (int) Math.min(MAX_WINDOW_SIZE,
+                (long) Math.ceil(length * (double) decoder.maxCharsPerByte()));
+        if (isNull(chars) || chars.capacity() < requiredCapacity) {
+            chars = CharBuffer.allocate(requiredCapacity);
+            lineView = chars.duplicate();
+        }
+
+        chars.clear();
+        decoder.reset();
+        var result = decoder.decode(bytes, chars, true);
+        if (result.isError()) {
+            result.throwException();
+        }
+        decoder.flush(chars);
+        chars.flip();
+    }
+
+    /**
+     * Split off the first half of the remaining range, ending just after the first line feed at or beyond its
+     * midpoint. Splitting stops once traversal has begun, or when the range is smaller than twice the minimum
+     * split size.
+     */
+    @Override
+    public @Nullable Spliterator<T> trySplit() {
+        if (traversalStarted || end - start < 2 * minSplitSize) {
+            return null;
+        }
+
+        var splitPosition = findSplitPosition(start + (end - start) / 2);
+        if (splitPosition <= start || splitPosition >= end) {
+            return null;
+        }
+
+        var prefix = new MappedLineSpliterator<>(path, charset, lineMapper, windowSize, minSplitSize,
+                characteristics, start, splitPosition);
+        start = splitPosition;
+        return prefix;
+    }
+
+    /**
+     * Find the position immediately after the first line feed at or after the given position, or {@code end} if
+     * there is none.
+     */
+    private long findSplitPosition(long from) {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var buffer = ByteBuffer.allocate(SPLIT_SCAN_BUFFER_SIZE);
+            var position = from;
+            while (position < end) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), end - position));
+                var read = channel.read(buffer, position);
+                if (read <= 0) {
+                    break;
+                }
+                for (var i = 0; i < read; i++) {
+                    if (buffer.get(i) == LINE_FEED) {
+                        return position + i + 1;
+                    }
+                }
+                position += read;
+            }
+            return end;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error splitting lines of " + path, e);
+        }
+    }
+
+    /**
+     * Returns the number of bytes remaining, since the number of lines is unknown.
+     */
+    @Override
+    public long estimateSize() {
+        return end - (traversalStarted ? nextWindowPosition : start);
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+}
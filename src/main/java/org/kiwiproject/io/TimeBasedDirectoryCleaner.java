@@ -19,23 +19,59 @@ import lombok.With;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.time.DurationFormatUtils;
+import org.jspecify.annotations.Nullable;
+import org.kiwiproject.base.UncheckedInterruptedException;
 import org.kiwiproject.collect.KiwiEvictingQueues;
 import org.slf4j.event.Level;
 
+import java.io.Closeable;
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
  * A {@link Runnable} that cleans a given directory of files and/or directories that are older than a specified
  * retention threshold.
  * <p>
+ * By default, the directory is scanned using {@link File#listFiles(java.io.FileFilter)} and the files to clean are
+ * deleted serially. For directories containing a very large number of entries, use {@link ScanMode#STREAMING}, which
+ * walks the directory incrementally, reads the attributes of each entry in a single call, and can delete entries in
+ * parallel. When streaming, the number of deletes performed in a single run can also be limited.
+ * <p>
+ * A cleaner can also enforce a size quota, keeping the directory under a maximum total size and/or a maximum number
+ * of entries by deleting the oldest entries first. When a quota is configured, the cleaner maintains an index of
+ * the directory contents ordered by age, which is updated incrementally on each run (optionally using a
+ * {@link java.nio.file.WatchService}), and both the retention threshold and the quota are enforced by removing
+ * entries from the oldest end of the index. In this case the scan mode is not used. Cleaners that watch for changes
+ * should be closed when no longer needed.
+ * <p>
+ * Statistics about each cleanup run (duration, entries examined and deleted, bytes reclaimed, and the age of the
+ * oldest remaining entry) are available from {@link #getLastCleanupRunStats()}, and can also be delivered to a
+ * listener after each run, e.g., to update metrics.
+ * <p>
  * NOTE: This class relies on classes in commons-io, so you will need to add it as a dependency to your project!
  *
  * @implNote This is intended to be run in a single thread, e.g., using a {@link java.util.concurrent.ScheduledExecutorService}
@@ -43,12 +79,14 @@ import java.util.concurrent.atomic.AtomicLong;
  * class concurrently. Note also that accessing the delete error count, recent delete errors, etc. is thread-safe.
  */
 @Slf4j
-public class TimeBasedDirectoryCleaner implements Runnable {
+public class TimeBasedDirectoryCleaner implements Runnable, Closeable {
 
     private static final int MAX_RECENT_DELETE_ERRORS = 500;
     private static final boolean SUPPRESS_LEADING_ZERO_ELEMENTS = true;
     private static final boolean SUPPRESS_TRAILING_ZERO_ELEMENTS = true;
     private static final File[] EMPTY_FILE_ARRAY = new File[0];
+    private static final int DEFAULT_DELETE_PARALLELISM = 1;
+    private static final int MAX_PENDING_DELETES_PER_THREAD = 2;
 
     private final Queue<DeleteError> recentDeleteErrors = KiwiEvictingQueues.synchronizedEvictingQueue(MAX_RECENT_DELETE_ERRORS);
     private final AtomicLong deleteCount = new AtomicLong();
@@ -57,11 +95,86 @@ public class TimeBasedDirectoryCleaner implements Runnable {
     private final File directory;
     private final long retentionThresholdInMillis;
 
+    @Getter
+    private final ScanMode scanMode;
+
+    @Getter
+    private final int deleteParallelism;
+
+    @Getter
+    private final int maxDeletesPerRun;
+
+    private final Long maxTotalSizeInBytes;
+    private final Integer maxEntryCount;
+    private final DirectoryQuotaIndex quotaIndex;
+
+    private final Consumer<CleanupRunStats> cleanupRunListener;
+    private final AtomicReference<CleanupRunStats> lastCleanupRunStats = new AtomicReference<>();
+
     @VisibleForTesting final Level deleteErrorLogLevel;
 
     @Getter
     private final String retentionThresholdDescription;
 
+    /**
+     * Defines how a {@link TimeBasedDirectoryCleaner} scans its directory for entries to delete.
+     */
+    public enum ScanMode {
+
+        /**
+         * Lists the entire directory into memory using {@link File#listFiles(java.io.FileFilter)} and deletes the
+         * entries older than the retention threshold serially. This is the default.
+         */
+        LIST_FILES,
+
+        /**
+         * Walks the directory incrementally using {@link Files#walkFileTree}, reading the {@link BasicFileAttributes}
+         * of each entry in one call, and deletes entries older than the retention threshold as they are found, using
+         * the configured delete parallelism and maximum number of deletes per run.
+         */
+        STREAMING
+    }
+
+    /**
+     * Value class containing statistics about a single cleanup run.
+     * <p>
+     * The bytes reclaimed include the sizes of deleted files. The contents of deleted directories are only included
+     * when the cleaner has a quota, since only then are directory sizes already known; otherwise, computing them
+     * would require walking every deleted directory an additional time.
+     * <p>
+     * The oldest remaining entry is the oldest entry that was examined but not deleted, either because it was newer
+     * than the retention threshold and within any quota, because its deletion failed, or because the maximum number
+     * of deletes per run was reached.
+     *
+     * @param startedAtMillis                   when the run started, in milliseconds since the epoch; this is the
+     *                                          reference time used to determine the age of entries
+     * @param duration                          how long the run took
+     * @param entriesExamined                   the number of directory entries examined (when using a quota, the
+     *                                          number of entries in the index)
+     * @param entriesDeleted                    the number of entries deleted
+     * @param bytesReclaimed                    the number of bytes reclaimed by deleting entries
+     * @param oldestRemainingLastModifiedMillis the last modified time of the oldest remaining entry, or null if no
+     *                                          entries remain
+     */
+    public record CleanupRunStats(long startedAtMillis,
+                                  Duration duration,
+                                  long entriesExamined,
+                                  long entriesDeleted,
+                                  long bytesReclaimed,
+                                  @Nullable Long oldestRemainingLastModifiedMillis) {
+
+        /**
+         * Returns the age of the oldest remaining entry as of the start of the run.
+         *
+         * @return an Optional containing the age of the oldest remaining entry, or an empty Optional if no entries
+         * remained after the run
+         */
+        public Optional<Duration> oldestRemainingAge() {
+            return Optional.ofNullable(oldestRemainingLastModifiedMillis)
+                    .map(lastModified -> Duration.ofMillis(startedAtMillis - lastModified));
+        }
+    }
+
     /**
      * Value class representing a file delete error.
      */
@@ -111,8 +224,43 @@ public class TimeBasedDirectoryCleaner implements Runnable {
      * will exist at some point, e.g., if some other component creates it the first time it is written to, we don't want
      * to throw exceptions from here.
      */
-    @Builder
     public TimeBasedDirectoryCleaner(String directoryPath, Duration retentionThreshold, String deleteErrorLogLevel) {
+        this(directoryPath, retentionThreshold, deleteErrorLogLevel, null, null, null, null, null, null, null);
+    }
+
+    /**
+     * Create a new TimeBasedDirectoryCleaner instance.
+     *
+     * @param directoryPath       the directory to be cleaned
+     * @param retentionThreshold  how long the directory contents should be retained before deletion
+     * @param deleteErrorLogLevel the log level; should be a string corresponding to an SLF4J {@link Level}
+     * @param scanMode            how to scan the directory; defaults to {@link ScanMode#LIST_FILES} if null
+     * @param deleteParallelism   the number of threads used to delete entries when using {@link ScanMode#STREAMING};
+     *                            defaults to 1 if null
+     * @param maxDeletesPerRun    the maximum number of deletes to attempt in a single run when using
+     *                            {@link ScanMode#STREAMING}; unlimited if null
+     * @param maxTotalSizeInBytes the maximum total size of the directory contents; no size quota if null
+     * @param maxEntryCount       the maximum number of entries in the directory, where a subdirectory counts as one
+     *                            entry; no entry count quota if null
+     * @param watchForChanges     when a quota is configured, whether to use a {@link java.nio.file.WatchService} to
+     *                            track directory changes instead of rescanning on each run; defaults to false if null
+     * @param cleanupRunListener  called with the statistics of each completed cleanup run, e.g., to update metrics;
+     *                            may be null
+     * @implNote No validation on whether the directoryPath points to a valid directory at this point; we assume it
+     * will exist at some point, e.g., if some other component creates it the first time it is written to, we don't want
+     * to throw exceptions from here.
+     */
+    @Builder
+    public TimeBasedDirectoryCleaner(String directoryPath,
+                                     Duration retentionThreshold,
+                                     String deleteErrorLogLevel,
+                                     ScanMode scanMode,
+                                     Integer deleteParallelism,
+                                     Integer maxDeletesPerRun,
+                                     Long maxTotalSizeInBytes,
+                                     Integer maxEntryCount,
+                                     Boolean watchForChanges,
+                                     Consumer<CleanupRunStats> cleanupRunListener) {
         checkArgumentNotNull(directoryPath, "directoryPath is required");
         checkArgumentNotNull(retentionThreshold, "retentionThreshold is required");
 
@@ -124,6 +272,28 @@ public class TimeBasedDirectoryCleaner implements Runnable {
         retentionThresholdDescription = durationDescription(retentionThresholdInMillis);
 
         this.deleteErrorLogLevel = isNull(deleteErrorLogLevel) ? Level.WARN : resolveLevelOrDefaultToWarn(deleteErrorLogLevel);
+
+        this.scanMode = isNull(scanMode) ? ScanMode.LIST_FILES : scanMode;
+
+        this.deleteParallelism = isNull(deleteParallelism) ? DEFAULT_DELETE_PARALLELISM : deleteParallelism;
+        checkArgument(this.deleteParallelism > 0, "deleteParallelism must be positive");
+
+        this.maxDeletesPerRun = isNull(maxDeletesPerRun) ? Integer.MAX_VALUE : maxDeletesPerRun;
+        checkArgument(this.maxDeletesPerRun > 0, "maxDeletesPerRun must be positive");
+
+        if (nonNull(maxTotalSizeInBytes)) {
+            checkArgument(maxTotalSizeInBytes >= 0, "maxTotalSizeInBytes cannot be negative");
+        }
+        this.maxTotalSizeInBytes = maxTotalSizeInBytes;
+
+        if (nonNull(maxEntryCount)) {
+            checkArgument(maxEntryCount >= 0, "maxEntryCount cannot be negative");
+        }
+        this.maxEntryCount = maxEntryCount;
+
+        this.quotaIndex = hasQuota() ? new DirectoryQuotaIndex(directory.toPath(), Boolean.TRUE.equals(watchForChanges)) : null;
+
+        this.cleanupRunListener = cleanupRunListener;
     }
 
     private static Level resolveLevelOrDefaultToWarn(String deleteErrorLogLevel) {
@@ -166,6 +336,42 @@ public class TimeBasedDirectoryCleaner implements Runnable {
         return Duration.ofMillis(retentionThresholdInMillis);
     }
 
+    /**
+     * Returns the maximum total size of the directory contents, if a size quota is configured.
+     *
+     * @return an Optional containing the maximum total size in bytes, or an empty Optional
+     */
+    public Optional<Long> getMaxTotalSizeInBytes() {
+        return Optional.ofNullable(maxTotalSizeInBytes);
+    }
+
+    /**
+     * Returns the maximum number of entries in the directory, if an entry count quota is configured.
+     *
+     * @return an Optional containing the maximum entry count, or an empty Optional
+     */
+    public Optional<Integer> getMaxEntryCount() {
+        return Optional.ofNullable(maxEntryCount);
+    }
+
+    /**
+     * Whether this cleaner enforces a size or entry count quota in addition to the retention threshold.
+     *
+     * @return true if either quota is configured
+     */
+    public boolean hasQuota() {
+        return nonNull(maxTotalSizeInBytes) || nonNull(maxEntryCount);
+    }
+
+    /**
+     * Returns statistics about the most recent cleanup run that completed.
+     *
+     * @return an Optional containing the statistics of the last run, or an empty Optional if no run has completed
+     */
+    public Optional<CleanupRunStats> getLastCleanupRunStats() {
+        return Optional.ofNullable(lastCleanupRunStats.get());
+    }
+
     /**
      * Returns the total number of deletes this instance has counted.
      *
@@ -238,20 +444,50 @@ public class TimeBasedDirectoryCleaner implements Runnable {
     }
 
     @VisibleForTesting
-    @SuppressWarnings("java:S3864")
     void cleanDirectory() {
+        var runStats = new RunStatsCollector(System.currentTimeMillis());
+        LOG.trace("Reference current time for directory cleanup: {}", runStats.startedAtMillis);
+
+        if (hasQuota()) {
+            cleanDirectoryUsingQuotaIndex(runStats);
+        } else if (scanMode == ScanMode.STREAMING) {
+            cleanDirectoryStreaming(runStats);
+        } else {
+            cleanDirectoryListingFiles(runStats);
+        }
+
+        var stats = runStats.toCleanupRunStats();
+        lastCleanupRunStats.set(stats);
+        LOG.debug("Cleanup run statistics: {}", stats);
+
+        notifyCleanupRunListener(stats);
+    }
+
+    private void notifyCleanupRunListener(CleanupRunStats stats) {
+        if (isNull(cleanupRunListener)) {
+            return;
+        }
+
+        try {
+            cleanupRunListener.accept(stats);
+        } catch (Exception e) {
+            LOG.warn("Cleanup run listener threw exception for directory [{}]", directory.getAbsolutePath(), e);
+        }
+    }
+
+    @SuppressWarnings("java:S3864")
+    private void cleanDirectoryListingFiles(RunStatsCollector runStats) {
         LOG.debug("Cleaning directory [{}] with retention threshold {}",
                 directory.getAbsolutePath(), retentionThresholdDescription);
-        final long now = System.currentTimeMillis();
-        LOG.trace("Reference current time for directory cleanup: {}", now);
+        final long now = runStats.startedAtMillis;
 
         File[] filesToClean = Optional.ofNullable(
-                directory.listFiles(file -> olderThanRetentionThreshold(file, now)))
+                directory.listFiles(file -> olderThanRetentionThreshold(file, now, runStats)))
                 .orElse(EMPTY_FILE_ARRAY);
         LOG.debug("Found {} files to clean (that are older than retention threshold)", filesToClean.length);
 
         var attemptedDeletes = Arrays.stream(filesToClean)
-                .map(TimeBasedDirectoryCleaner::tryDeleteIfExists)
+                .map(file -> tryDeleteIfExists(file, runStats))
                 .filter(result -> result.deleteWasAttempted)
                 .toList();
 
@@ -266,6 +502,256 @@ public class TimeBasedDirectoryCleaner implements Runnable {
         updateFileDeletionMetadata(numExpectedDeletes, failedDeletes);
     }
 
+    private void cleanDirectoryStreaming(RunStatsCollector runStats) {
+        LOG.debug("Streaming clean of directory [{}] with retention threshold {} (parallelism: {}, max deletes: {})",
+                directory.getAbsolutePath(), retentionThresholdDescription, deleteParallelism, maxDeletesPerRun);
+        final long now = runStats.startedAtMillis;
+
+        var startPath = directory.toPath();
+        var deleter = new ParallelDeleter(deleteParallelism, runStats);
+
+        try {
+            Files.walkFileTree(startPath, Set.of(), 1, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path path, BasicFileAttributes attributes) {
+                    if (path.equals(startPath)) {
+                        LOG.warn("Not cleaning [{}] since it is not a directory", path);
+                        return FileVisitResult.TERMINATE;
+                    }
+
+                    runStats.recordExamined();
+                    var lastModifiedMillis = attributes.lastModifiedTime().toMillis();
+
+                    if (olderThanRetentionThreshold(path, lastModifiedMillis, now) &&
+                            deleter.getSubmittedCount() < maxDeletesPerRun) {
+                        var sizeInBytes = attributes.isDirectory() ? 0 : attributes.size();
+                        deleter.submit(path, attributes.isDirectory(), sizeInBytes, lastModifiedMillis);
+                    } else {
+                        runStats.recordRemaining(lastModifiedMillis);
+                    }
+
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path path, IOException e) {
+                    LOG.trace("Unable to read attributes of {} (it might have been deleted concurrently)", path, e);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deleter.awaitCompletion();
+        }
+
+        var failedDeletes = deleter.getFailedDeletes();
+        failedDeletes.forEach(this::logUnableToDelete);
+
+        updateFileDeletionMetadata(deleter.getAttemptedCount(), failedDeletes);
+    }
+
+    private void cleanDirectoryUsingQuotaIndex(RunStatsCollector runStats) {
+        LOG.debug("Cleaning directory [{}] with retention threshold {}, max size {} bytes, max entries {}",
+                directory.getAbsolutePath(), retentionThresholdDescription, maxTotalSizeInBytes, maxEntryCount);
+        final long now = runStats.startedAtMillis;
+
+        quotaIndex.refresh();
+        LOG.debug("Index contains {} entries totaling {} bytes (watching for changes? {})",
+                quotaIndex.getEntryCount(), quotaIndex.getTotalSizeInBytes(), quotaIndex.isWatching());
+        runStats.recordExamined(quotaIndex.getEntryCount());
+
+        var attemptedDeleteCount = 0;
+        var failedDeletes = new ArrayList<FileDeleteResult>();
+
+        // Entries that could not be deleted stay in the index (they still count toward the quota and will be
+        // retried on the next run) but are skipped for the rest of this run
+        var failedPaths = new HashSet<Path>();
+
+        Optional<DirectoryQuotaIndex.IndexEntry> oldest;
+        while ((oldest = quotaIndex.oldestExcluding(failedPaths)).isPresent() && shouldEvict(oldest.get(), now)) {
+            var entry = oldest.get();
+            var result = tryDeleteIfExists(entry.path(), entry.isDirectory());
+
+            if (result.deleteWasAttempted) {
+                ++attemptedDeleteCount;
+            }
+
+            if (result.deleteAttemptedAndFailed()) {
+                logUnableToDelete(result);
+                failedDeletes.add(result);
+                failedPaths.add(entry.path());
+            } else {
+                // the entry was deleted, or no longer exists
+                quotaIndex.remove(entry.path());
+
+                if (result.deleteWasSuccessful) {
+                    runStats.recordDeleted(entry.sizeInBytes());
+                }
+            }
+        }
+
+        quotaIndex.oldest().ifPresent(entry -> runStats.recordRemaining(entry.lastModifiedMillis()));
+
+        updateFileDeletionMetadata(attemptedDeleteCount, failedDeletes);
+    }
+
+    private boolean shouldEvict(DirectoryQuotaIndex.IndexEntry entry, long now) {
+        var ageInMillis = now - entry.lastModifiedMillis();
+
+        return ageInMillis > retentionThresholdInMillis ||
+                (nonNull(maxTotalSizeInBytes) && quotaIndex.getTotalSizeInBytes() > maxTotalSizeInBytes) ||
+                (nonNull(maxEntryCount) && quotaIndex.getEntryCount() > maxEntryCount);
+    }
+
+    /**
+     * Stops watching the directory for changes, if this cleaner is configured with a quota and watches for changes.
+     * Otherwise, this does nothing.
+     */
+    @Override
+    public void close() {
+        if (nonNull(quotaIndex)) {
+            quotaIndex.close();
+        }
+    }
+
+    /**
+     * Collects statistics during a single cleanup run. Counts may be updated from multiple threads when deleting
+     * in parallel.
+     */
+    private static class RunStatsCollector {
+
+        private final long startedAtMillis;
+        private final long startedAtNanos;
+        private final AtomicLong entriesExamined = new AtomicLong();
+        private final AtomicLong entriesDeleted = new AtomicLong();
+        private final AtomicLong bytesReclaimed = new AtomicLong();
+        private final AtomicLong oldestRemainingLastModifiedMillis = new AtomicLong(Long.MAX_VALUE);
+
+        RunStatsCollector(long startedAtMillis) {
+            this.startedAtMillis = startedAtMillis;
+            this.startedAtNanos = System.nanoTime();
+        }
+
+        void recordExamined() {
+            entriesExamined.incrementAndGet();
+        }
+
+        void recordExamined(long count) {
+            entriesExamined.addAndGet(count);
+        }
+
+        void recordDeleted(long sizeInBytes) {
+            entriesDeleted.incrementAndGet();
+            bytesReclaimed.addAndGet(sizeInBytes);
+        }
+
+        void recordRemaining(long lastModifiedMillis) {
+            oldestRemainingLastModifiedMillis.accumulateAndGet(lastModifiedMillis, Math::min);
+        }
+
+        CleanupRunStats toCleanupRunStats() {
+            var oldestRemaining = oldestRemainingLastModifiedMillis.get();
+
+            return new CleanupRunStats(startedAtMillis,
+                    Duration.ofNanos(System.nanoTime() - startedAtNanos),
+                    entriesExamined.get(),
+                    entriesDeleted.get(),
+                    bytesReclaimed.get(),
+                    oldestRemaining == Long.MAX_VALUE ? null : oldestRemaining);
+        }
+    }
+
+    /**
+     * Deletes entries on a fixed number of threads, blocking submitters once there are a small number of pending
+     * deletes per thread so that memory use stays bounded regardless of the directory size. When the parallelism is
+     * one, deletes happen on the calling thread.
+     */
+    private static class ParallelDeleter {
+
+        private final ExecutorService executor;
+        private final Semaphore pendingDeletePermits;
+        private final AtomicInteger attemptedCount = new AtomicInteger();
+        private final Queue<FileDeleteResult> failedDeletes = new ConcurrentLinkedQueue<>();
+        private final RunStatsCollector runStats;
+
+        @Getter
+        private int submittedCount;
+
+        ParallelDeleter(int parallelism, RunStatsCollector runStats) {
+            this.runStats = runStats;
+
+            if (parallelism == 1) {
+                executor = null;
+                pendingDeletePermits = null;
+            } else {
+                executor = Executors.newFixedThreadPool(parallelism);
+                pendingDeletePermits = new Semaphore(parallelism * MAX_PENDING_DELETES_PER_THREAD);
+            }
+        }
+
+        void submit(Path path, boolean isDirectory, long sizeInBytes, long lastModifiedMillis) {
+            ++submittedCount;
+
+            if (isNull(executor)) {
+                record(tryDeleteIfExists(path, isDirectory), sizeInBytes, lastModifiedMillis);
+                return;
+            }
+
+            pendingDeletePermits.acquireUninterruptibly();
+            try {
+                executor.execute(() -> {
+                    try {
+                        record(tryDeleteIfExists(path, isDirectory), sizeInBytes, lastModifiedMillis);
+                    } finally {
+                        pendingDeletePermits.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                pendingDeletePermits.release();
+                throw e;
+            }
+        }
+
+        private void record(FileDeleteResult result, long sizeInBytes, long lastModifiedMillis) {
+            if (result.deleteWasAttempted) {
+                attemptedCount.incrementAndGet();
+            }
+
+            if (result.deleteWasSuccessful) {
+                runStats.recordDeleted(sizeInBytes);
+            } else if (result.deleteAttemptedAndFailed()) {
+                failedDeletes.add(result);
+                runStats.recordRemaining(lastModifiedMillis);
+            }
+        }
+
+        void awaitCompletion() {
+            if (isNull(executor)) {
+                return;
+            }
+
+            executor.shutdown();
+            try {
+                while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    LOG.debug("Still waiting for pending deletes to complete");
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+                throw new UncheckedInterruptedException(e);
+            }
+        }
+
+        int getAttemptedCount() {
+            return attemptedCount.get();
+        }
+
+        List<FileDeleteResult> getFailedDeletes() {
+            return List.copyOf(failedDeletes);
+        }
+    }
+
     /**
      * Attempt to delete the file if it exists, which might not be the case if multiple cleaners in different JVMs are
      * executing concurrently against a shared directory.
@@ -290,6 +776,43 @@ public class TimeBasedDirectoryCleaner implements Runnable {
         return FileDeleteResult.skipped(absolutePath);
     }
 
+    private static FileDeleteResult tryDeleteIfExists(File file, RunStatsCollector runStats) {
+        var sizeInBytes = file.isDirectory() ? 0 : file.length();
+        var result = tryDeleteIfExists(file);
+
+        if (result.deleteWasSuccessful) {
+            runStats.recordDeleted(sizeInBytes);
+        } else if (result.deleteAttemptedAndFailed()) {
+            runStats.recordRemaining(file.lastModified());
+        }
+
+        return result;
+    }
+
+    /**
+     * Attempt to delete the file or directory at the given path, using the already-read knowledge of whether it is a
+     * directory to avoid additional file system calls. A path that no longer exists is considered to be skipped.
+     */
+    @VisibleForTesting
+    static FileDeleteResult tryDeleteIfExists(Path path, boolean isDirectory) {
+        var absolutePath = path.toAbsolutePath().toString();
+
+        if (isDirectory) {
+            return tryDeleteIfExists(path.toFile());
+        }
+
+        LOG.trace("Attempting to delete file {}", absolutePath);
+        try {
+            var wasDeleted = Files.deleteIfExists(path);
+            LOG.trace("Delete of file {} was attempted? {}", absolutePath, wasDeleted);
+
+            return wasDeleted ? FileDeleteResult.attempted(absolutePath, true) : FileDeleteResult.skipped(absolutePath);
+        } catch (IOException e) {
+            LOG.trace("Attempt to delete existing file {} failed", absolutePath, e);
+            return FileDeleteResult.attempted(absolutePath, false);
+        }
+    }
+
     @AllArgsConstructor
     @Getter
     public static class FileDeleteResult {
@@ -355,10 +878,16 @@ public class TimeBasedDirectoryCleaner implements Runnable {
         }
     }
 
-    private boolean olderThanRetentionThreshold(File file, long now) {
-        var ageInMillis = now - file.lastModified();
+    private boolean olderThanRetentionThreshold(File file, long now, RunStatsCollector runStats) {
+        runStats.recordExamined();
+        var lastModifiedMillis = file.lastModified();
+        var ageInMillis = now - lastModifiedMillis;
         var shouldDelete = ageInMillis > retentionThresholdInMillis;
 
+        if (!shouldDelete) {
+            runStats.recordRemaining(lastModifiedMillis);
+        }
+
         LOG.trace("Age of file {}: {} ms (retention threshold: {} ms); should delete? {}",
                 file.getAbsolutePath(),
                 ageInMillis,
@@ -366,4 +895,16 @@ public class TimeBasedDirectoryCleaner implements Runnable {
                 shouldDelete);
         return shouldDelete;
     }
+
+    private boolean olderThanRetentionThreshold(Path path, long lastModifiedMillis, long now) {
+        var ageInMillis = now - lastModifiedMillis;
+        var shouldDelete = ageInMillis > retentionThresholdInMillis;
+
+        LOG.trace("Age of file {}: {} ms (retention threshold: {} ms); should delete? {}",
+                path,
+                ageInMillis,
+                retentionThresholdInMillis,
+                shouldDelete);
+        return shouldDelete;
+    }
 }
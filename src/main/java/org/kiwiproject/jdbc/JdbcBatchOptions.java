@@ -0,0 +1,81 @@
+package org.kiwiproject.jdbc;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Controls how the methods in {@link KiwiJdbcBatches} split items into JDBC batches, check the update counts the
+ * driver reports, and use transactions. The defaults suit single-row inserts with auto-commit enabled: each batch of
+ * {@link #DEFAULT_BATCH_SIZE} items must update one row per item, and is committed on its own.
+ */
+@Builder
+@Getter
+public class JdbcBatchOptions {
+
+    /**
+     * The default number of items to execute in each batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1_000;
+
+    /**
+     * The number of items to add to each batch before executing it. Must be positive. Default is
+     * {@link #DEFAULT_BATCH_SIZE}.
+     */
+    @Builder.Default
+    private final int batchSize = DEFAULT_BATCH_SIZE;
+
+    /**
+     * The number of rows each statement in a batch is expected to update, or a negative number to skip checking
+     * update counts. Default is 1, which is appropriate for single-row inserts.
+     */
+    @Builder.Default
+    private final int expectedUpdateCount = 1;
+
+    /**
+     * Whether to accept {@link java.sql.Statement#SUCCESS_NO_INFO} as a successful update count. Default is true.
+     * <p>
+     * Some drivers report this when they execute a batch as a single statement, for example the PostgreSQL driver when
+     * its {@code reWriteBatchedInserts} connection property is enabled.
+     */
+    @Builder.Default
+    private final boolean allowSuccessNoInfo = true;
+
+    /**
+     * Whether to execute each batch in its own transaction, committing it if it succeeds and rolling it back if it
+     * fails. Default is true.
+     * <p>
+     * This only applies when auto-commit is enabled on the connection. If auto-commit is disabled, the caller is
+     * assumed to be managing the transaction, and batches are neither committed nor rolled back.
+     */
+    @Builder.Default
+    private final boolean transactionPerBatch = true;
+
+    // Called by the builder, which has already replaced unset options with their defaults
+    private JdbcBatchOptions(int batchSize,
+                             int expectedUpdateCount,
+                             boolean allowSuccessNoInfo,
+                             boolean transactionPerBatch) {
+        checkArgument(batchSize > 0, "batchSize must be positive");
+
+        this.batchSize = batchSize;
+        this.expectedUpdateCount = expectedUpdateCount;
+        this.allowSuccessNoInfo = allowSuccessNoInfo;
+        this.transactionPerBatch = transactionPerBatch;
+    }
+
+    /**
+     * @return options for single-row inserts, committing each batch when auto-commit is enabled
+     */
+    public static JdbcBatchOptions defaults() {
+        return builder().build();
+    }
+
+    /**
+     * @return true if update counts should be checked
+     */
+    boolean isCheckUpdateCounts() {
+        return expectedUpdateCount >= 0;
+    }
+}
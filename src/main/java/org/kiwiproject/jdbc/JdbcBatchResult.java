@@ -0,0 +1,24 @@
+package org.kiwiproject.jdbc;
+
+import java.util.List;
+
+/**
+ * Value class summarizing the execution of a batch of statements using {@link KiwiJdbcBatches}.
+ *
+ * @param itemCount     the number of items that were bound and executed
+ * @param batchCount    the number of batches that were executed
+ * @param updateCount   the total number of rows updated, not including statements whose update count was
+ *                      {@link java.sql.Statement#SUCCESS_NO_INFO}
+ * @param generatedKeys the generated keys, in the order returned by the driver, or an empty list if generated keys
+ *                      were not requested
+ * @param <K>           the type of generated key
+ */
+public record JdbcBatchResult<K>(long itemCount, int batchCount, long updateCount, List<K> generatedKeys) {
+
+    /**
+     * Create a new instance, making an unmodifiable copy of the generated keys.
+     */
+    public JdbcBatchResult {
+        generatedKeys = List.copyOf(generatedKeys);
+    }
+}
@@ -0,0 +1,53 @@
+package org.kiwiproject.jdbc;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Controls how {@link KiwiJdbc#stream(java.sql.PreparedStatement, JdbcStreamOptions, KiwiJdbc.RowMapper)} asks the
+ * JDBC driver to read a result set, so that large results can be processed without holding every row in memory.
+ */
+@Builder
+@Getter
+public class JdbcStreamOptions {
+
+    /**
+     * The default fetch size.
+     */
+    public static final int DEFAULT_FETCH_SIZE = 1_000;
+
+    /**
+     * The number of rows the driver should fetch from the database at a time. Zero means to use the driver's
+     * default, which for some drivers (e.g., PostgreSQL) is to fetch all rows at once. Default is
+     * {@link #DEFAULT_FETCH_SIZE}. Must not be negative.
+     */
+    @Builder.Default
+    private final int fetchSize = DEFAULT_FETCH_SIZE;
+
+    /**
+     * Whether to disable auto-commit on the statement's connection while the stream is open, if it is enabled.
+     * Auto-commit is re-enabled when the stream is closed. Default is true.
+     * <p>
+     * Some drivers only fetch rows incrementally inside a transaction. For example, PostgreSQL ignores the fetch size
+     * and reads the entire result into memory when auto-commit is enabled.
+     */
+    @Builder.Default
+    private final boolean disableAutoCommit = true;
+
+    // Called by the builder, which has already replaced unset options with their defaults
+    private JdbcStreamOptions(int fetchSize, boolean disableAutoCommit) {
+        checkArgument(fetchSize >= 0, "fetchSize must not be negative");
+
+        this.fetchSize = fetchSize;
+        this.disableAutoCommit = disableAutoCommit;
+    }
+
+    /**
+     * @return options that fetch {@link #DEFAULT_FETCH_SIZE} rows at a time with auto-commit disabled while streaming
+     */
+    public static JdbcStreamOptions defaults() {
+        return builder().build();
+    }
+}
@@ -2,6 +2,7 @@ package org.kiwiproject.jdbc;
 
 import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.kiwiproject.base.KiwiPreconditions.checkArgumentNotNull;
 import static org.kiwiproject.base.KiwiStrings.format;
@@ -12,6 +13,7 @@ import org.kiwiproject.base.KiwiPrimitives;
 import org.kiwiproject.base.KiwiPrimitives.BooleanConversionOption;
 import org.kiwiproject.base.KiwiStrings;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -25,12 +27,23 @@ import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.function.IntPredicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * JDBC utilities.
+ * <p>
+ * The methods that get values from a {@link ResultSet} by column name are convenient for reading a few rows. When
+ * reading many rows, consider using a {@link ResultSetReader}, which provides the same accessors but resolves each
+ * column name to an index only once per result set.
  */
 @UtilityClass
 public class KiwiJdbc {
@@ -820,4 +833,181 @@ public class KiwiJdbc {
             ps.setString(parameterIndex, value);
         }
     }
+
+    /**
+     * Maps the current row of a {@link ResultSet} to an object.
+     *
+     * @param <T> the type of object
+     */
+    @FunctionalInterface
+    public interface RowMapper<T> {
+
+        /**
+         * Map the current row of the result set. Implementations must not call {@link ResultSet#next()}.
+         *
+         * @param rs the ResultSet, positioned at the row to map
+         * @return the mapped object
+         * @throws SQLException if there is a database problem
+         */
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Prepare a statement that produces forward-only, read-only result sets, which is what drivers require to
+     * stream large results instead of loading them into memory.
+     *
+     * @param connection the Connection
+     * @param sql        the SQL query
+     * @return a new PreparedStatement
+     * @throws SQLException if there is a database problem
+     * @see #stream(PreparedStatement, JdbcStreamOptions, RowMapper)
+     */
+    public static PreparedStatement prepareStatementForStreaming(Connection connection, String sql)
+            throws SQLException {
+        checkArgumentNotNull(connection, "connection must not be null");
+        return connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    }
+
+    /**
+     * Return a lazily-populated {@link Stream} that maps each row in the given {@link ResultSet} using the
+     * given {@link RowMapper}. Rows are read only as the stream is consumed.
+     * <p>
+     * The stream should be closed, e.g. using try-with-resources, which closes the result set. If an error occurs
+     * reading a row, the stream throws an {@link UncheckedSQLException}.
+     *
+     * @param rs        the ResultSet, positioned before the first row to map
+     * @param rowMapper the RowMapper
+     * @param <T>       the type of object in the stream
+     * @return a sequential stream of mapped rows
+     */
+    public static <T> Stream<T> stream(ResultSet rs, RowMapper<T> rowMapper) {
+        checkArgumentNotNull(rs, "rs must not be null");
+        checkArgumentNotNull(rowMapper, "rowMapper must not be null");
+
+        return newResultSetStream(rs, rowMapper, List.of(rs::close));
+    }
+
+    /**
+     * Execute the given query and return a lazily-populated {@link Stream} that maps each row of the result using
+     * the given {@link RowMapper}, using the {@link JdbcStreamOptions#defaults() default options}.
+     *
+     * @param ps        the PreparedStatement containing the query
+     * @param rowMapper the RowMapper
+     * @param <T>       the type of object in the stream
+     * @return a sequential stream of mapped rows
+     * @throws SQLException if there is a database problem executing the query
+     * @see #stream(PreparedStatement, JdbcStreamOptions, RowMapper)
+     */
+    public static <T> Stream<T> stream(PreparedStatement ps, RowMapper<T> rowMapper) throws SQLException {
+        return stream(ps, JdbcStreamOptions.defaults(), rowMapper);
+    }
+
+    /**
+     * Execute the given query and return a lazily-populated {@link Stream} that maps each row of the result using
+     * the given {@link RowMapper}. Rows are fetched from the database in batches of the configured fetch size as the
+     * stream is consumed, so that very large results can be processed in constant memory.
+     * <p>
+     * The statement should have been prepared for forward-only, read-only result sets, which is the default for
+     * {@link Connection#prepareStatement(String)} and is what {@link #prepareStatementForStreaming(Connection, String)}
+     * does explicitly. If configured to do so, auto-commit is disabled on the statement's connection while the stream
+     * is open, since some drivers, notably PostgreSQL, only use a cursor to fetch rows incrementally inside a
+     * transaction.
+     * <p>
+     * The stream should be closed, e.g. using try-with-resources. Closing the stream closes the result set and the
+     * statement, and re-enables auto-commit if it was disabled. If an error occurs reading a row, the stream throws
+     * an {@link UncheckedSQLException}.
+     *
+     * @param ps        the PreparedStatement containing the query
+     * @param options   the stream options
+     * @param rowMapper the RowMapper
+     * @param <T>       the type of object in the stream
+     * @return a sequential stream of mapped rows
+     * @throws SQLException if there is a database problem executing the query
+     */
+    public static <T> Stream<T> stream(PreparedStatement ps, JdbcStreamOptions options, RowMapper<T> rowMapper)
+            throws SQLException {
+        checkArgumentNotNull(ps, "ps must not be null");
+        checkArgumentNotNull(options, "options must not be null");
+        checkArgumentNotNull(rowMapper, "rowMapper must not be null");
+
+        var closeActions = new ArrayList<SqlCloseAction>();
+        closeActions.add(ps::close);
+
+        try {
+            var connection = ps.getConnection();
+            if (options.isDisableAutoCommit() && connection.getAutoCommit()) {
+                connection.setAutoCommit(false);
+                closeActions.add(() -> connection.setAutoCommit(true));
+            }
+
+            ps.setFetchSize(options.getFetchSize());
+            var rs = ps.executeQuery();
+            closeActions.add(0, rs::close);
+
+            return newResultSetStream(rs, rowMapper, closeActions);
+        } catch (SQLException e) {
+            closeAll(closeActions, e);
+            throw e;
+        }
+    }
+
+    @FunctionalInterface
+    private interface SqlCloseAction {
+        void close() throws SQLException;
+    }
+
+    private static <T> Stream<T> newResultSetStream(ResultSet rs,
+                                                    RowMapper<T> rowMapper,
+                                                    List<SqlCloseAction> closeActions) {
+        var spliterator = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED) {
+            private boolean exhausted;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                if (exhausted) {
+                    return false;
+                }
+
+                try {
+                    if (!rs.next()) {
+                        exhausted = true;
+                        return false;
+                    }
+                    action.accept(rowMapper.map(rs));
+                    return true;
+                } catch (SQLException e) {
+                    throw new UncheckedSQLException("Error reading row from ResultSet", e);
+                }
+            }
+        };
+
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            var error = closeAll(closeActions, null);
+            if (nonNull(error)) {
+                throw new UncheckedSQLException("Error closing ResultSet stream", error);
+            }
+        });
+    }
+
+    /**
+     * Perform all the close actions in order, even if some fail, and return the first error (with any subsequent ones
+     * added as suppressed exceptions), or null if all succeeded. If an existing error is given, all errors are added
+     * to it as suppressed exceptions.
+     */
+    @Nullable
+    private static SQLException closeAll(List<SqlCloseAction> closeActions, @Nullable SQLException existingError) {
+        var error = existingError;
+        for (var closeAction : closeActions) {
+            try {
+                closeAction.close();
+            } catch (SQLException e) {
+                if (isNull(error)) {
+                    error = e;
+                } else {
+                    error.addSuppressed(e);
+                }
+            }
+        }
+        return existingError == error ? null : error;
+    }
 }
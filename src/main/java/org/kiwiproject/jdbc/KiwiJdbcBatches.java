@@ -0,0 +1,297 @@
+package org.kiwiproject.jdbc;
+
+import static java.util.Objects.isNull;
+import static org.kiwiproject.base.KiwiPreconditions.checkArgumentNotBlank;
+import static org.kiwiproject.base.KiwiPreconditions.checkArgumentNotNull;
+import static org.kiwiproject.base.KiwiStrings.format;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utilities for executing a statement, typically an insert, for many items using JDBC batches.
+ * <p>
+ * Items are bound to the statement using a {@link ParameterBinder} and executed in batches of a configurable size
+ * (see {@link JdbcBatchOptions}), which is much faster than executing one statement per item. By default, each batch
+ * runs in its own transaction and the update count of every statement is checked.
+ * <p>
+ * When using PostgreSQL, enabling the driver's {@code reWriteBatchedInserts} connection property makes the driver
+ * rewrite each batch of single-row inserts into multi-row inserts, which is faster still. The driver then reports
+ * update counts of {@link Statement#SUCCESS_NO_INFO}, which are accepted by default.
+ */
+@UtilityClass
+@Slf4j
+public class KiwiJdbcBatches {
+
+    /**
+     * Binds the parameters of a {@link PreparedStatement} for one item.
+     *
+     * @param <T> the type of item
+     */
+    @FunctionalInterface
+    public interface ParameterBinder<T> {
+
+        /**
+         * Set the statement parameters for the given item. Implementations must not call
+         * {@link PreparedStatement#addBatch()}.
+         *
+         * @param ps   the PreparedStatement
+         * @param item the item to bind
+         * @throws SQLException if there is a database problem
+         */
+        void bind(PreparedStatement ps, T item) throws SQLException;
+    }
+
+    /**
+     * Execute the given SQL for each item using batches, with the {@link JdbcBatchOptions#defaults() default options}.
+     *
+     * @param connection the Connection
+     * @param sql        the SQL to execute for each item
+     * @param items      the items
+     * @param binder     binds the parameters for each item
+     * @param <T>        the type of item
+     * @return the result, which does not contain any generated keys
+     * @throws SQLException          if there is a database problem
+     * @throws IllegalStateException if a statement does not update the expected number of rows
+     * @see #executeBatches(Connection, String, Iterable, ParameterBinder, JdbcBatchOptions)
+     */
+    public static <T> JdbcBatchResult<Void> executeBatches(Connection connection,
+                                                           String sql,
+                                                           Iterable<T> items,
+                                                           ParameterBinder<T> binder) throws SQLException {
+        return executeBatches(connection, sql, items, binder, JdbcBatchOptions.defaults());
+    }
+
+    /**
+     * Execute the given SQL for each item using batches.
+     *
+     * @param connection the Connection
+     * @param sql        the SQL to execute for each item
+     * @param items      the items
+     * @param binder     binds the parameters for each item
+     * @param options    the batch options
+     * @param <T>        the type of item
+     * @return the result, which does not contain any generated keys
+     * @throws SQLException          if there is a database problem
+     * @throws IllegalStateException if a statement does not update the expected number of rows
+     */
+    public static <T> JdbcBatchResult<Void> executeBatches(Connection connection,
+                                                           String sql,
+                                                           Iterable<T> items,
+                                                           ParameterBinder<T> binder,
+                                                           JdbcBatchOptions options) throws SQLException {
+        checkArgumentNotNull(connection, "connection must not be null");
+        checkArgumentNotBlank(sql, "sql must not be blank");
+
+        try (var ps = connection.prepareStatement(sql)) {
+            return executeBatches(connection, ps, items, binder, options, null, Void.class);
+        }
+    }
+
+    /**
+     * Execute the given SQL for each item using batches, with the {@link JdbcBatchOptions#defaults() default options},
+     * and collect the generated keys.
+     *
+     * @param connection    the Connection
+     * @param sql           the SQL to execute for each item
+     * @param items         the items
+     * @param binder        binds the parameters for each item
+     * @param keyColumnName the name of the generated key column
+     * @param keyType       the type of the generated key
+     * @param <T>           the type of item
+     * @param <K>           the type of generated key
+     * @return the result, containing the generated keys of all items
+     * @throws SQLException          if there is a database problem
+     * @throws IllegalStateException if a statement does not update the expected number of rows
+     * @see #executeBatchesReturningKeys(Connection, String, Iterable, ParameterBinder, String, Class, JdbcBatchOptions)
+     */
+    public static <T, K> JdbcBatchResult<K> executeBatchesReturningKeys(Connection connection,
+                                                                        String sql,
+                                                                        Iterable<T> items,
+                                                                        ParameterBinder<T> binder,
+                                                                        String keyColumnName,
+                                                                        Class<K> keyType) throws SQLException {
+        return executeBatchesReturningKeys(
+                connection, sql, items, binder, keyColumnName, keyType, JdbcBatchOptions.defaults());
+    }
+
+    /**
+     * Execute the given SQL for each item using batches, and collect the generated keys.
+     * <p>
+     * The statement is prepared by specifying the name of the key column, which is the most widely supported way to
+     * request generated keys (see {@link KiwiJdbcGeneratedKeys}). The keys are read after each batch executes, so they
+     * are in the same order as the items for drivers that return keys in execution order, such as PostgreSQL and H2.
+     *
+     * @param connection    the Connection
+     * @param sql           the SQL to execute for each item
+     * @param items         the items
+     * @param binder        binds the parameters for each item
+     * @param keyColumnName the name of the generated key column
+     * @param keyType       the type of the generated key
+     * @param options       the batch options
+     * @param <T>           the type of item
+     * @param <K>           the type of generated key
+     * @return the result, containing the generated keys of all items
+     * @throws SQLException          if there is a database problem
+     * @throws IllegalStateException if a statement does not update the expected number of rows
+     */
+    public static <T, K> JdbcBatchResult<K> executeBatchesReturningKeys(Connection connection,
+                                                                        String sql,
+                                                                        Iterable<T> items,
+                                                                        ParameterBinder<T> binder,
+                                                                        String keyColumnName,
+                                                                        Class<K> keyType,
+                                                                        JdbcBatchOptions options) throws SQLException {
+        checkArgumentNotNull(connection, "connection must not be null");
+        checkArgumentNotBlank(sql, "sql must not be blank");
+        checkArgumentNotBlank(keyColumnName, "keyColumnName must not be blank");
+        checkArgumentNotNull(keyType, "keyType must not be null");
+
+        try (var ps = connection.prepareStatement(sql, new String[] { keyColumnName })) {
+            return executeBatches(connection, ps, items, binder, options, keyColumnName, keyType);
+        }
+    }
+
+    private static <T, K> JdbcBatchResult<K> executeBatches(Connection connection,
+                                                            PreparedStatement ps,
+                                                            Iterable<T> items,
+                                                            ParameterBinder<T> binder,
+                                                            JdbcBatchOptions options,
+                                                            @Nullable String keyColumnName,
+                                                            Class<K> keyType) throws SQLException {
+        checkArgumentNotNull(items, "items must not be null");
+        checkArgumentNotNull(binder, "binder must not be null");
+        checkArgumentNotNull(options, "options must not be null");
+
+        var manageTransactions = options.isTransactionPerBatch() && connection.getAutoCommit();
+        if (manageTransactions) {
+            connection.setAutoCommit(false);
+        }
+
+        try {
+            var batch = new BatchExecution<>(ps, options, keyColumnName, keyType);
+            for (var item : items) {
+                binder.bind(ps, item);
+                ps.addBatch();
+                if (batch.added() == options.getBatchSize()) {
+                    batch.execute(connection, manageTransactions);
+                }
+            }
+            if (batch.hasPendingItems()) {
+                batch.execute(connection, manageTransactions);
+            }
+            return batch.result();
+        } finally {
+            if (manageTransactions) {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Keeps track of the batches executed on a statement.
+     */
+    private static class BatchExecution<K> {
+
+        private final PreparedStatement ps;
+        private final JdbcBatchOptions options;
+        private final @Nullable String keyColumnName;
+        private final Class<K> keyType;
+        private final List<K> generatedKeys = new ArrayList<>();
+
+        private int pendingItemCount;
+        private long itemCount;
+        private int batchCount;
+        private long updateCount;
+
+        BatchExecution(PreparedStatement ps,
+                       JdbcBatchOptions options,
+                       @Nullable String keyColumnName,
+                       Class<K> keyType) {
+            this.ps = ps;
+            this.options = options;
+            this.keyColumnName = keyColumnName;
+            this.keyType = keyType;
+        }
+
+        int added() {
+            return ++pendingItemCount;
+        }
+
+        boolean hasPendingItems() {
+            return pendingItemCount > 0;
+        }
+
+        void execute(Connection connection, boolean manageTransaction) throws SQLException {
+            try {
+                var updateCounts = ps.executeBatch();
+                checkAndAddUpdateCounts(updateCounts);
+                collectGeneratedKeys();
+                if (manageTransaction) {
+                    connection.commit();
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (manageTransaction) {
+                    rollback(connection, e);
+                }
+                throw e;
+            }
+
+            LOG.trace("Executed batch {} containing {} items", batchCount + 1, pendingItemCount);
+            itemCount += pendingItemCount;
+            batchCount++;
+            pendingItemCount = 0;
+        }
+
+        private void checkAndAddUpdateCounts(int[] updateCounts) {
+            for (var i = 0; i < updateCounts.length; i++) {
+                var count = updateCounts[i];
+                if (count == Statement.SUCCESS_NO_INFO && options.isAllowSuccessNoInfo()) {
+                    continue;
+                }
+
+                if (options.isCheckUpdateCounts() && count != options.getExpectedUpdateCount()) {
+                    throw new IllegalStateException(format(
+                            "Expected statement {} in batch {} to update {} row(s), but update count was {}",
+                            i + 1, batchCount + 1, options.getExpectedUpdateCount(), count));
+                }
+
+                if (count > 0) {
+                    updateCount += count;
+                }
+            }
+        }
+
+        private void collectGeneratedKeys() throws SQLException {
+            if (isNull(keyColumnName)) {
+                return;
+            }
+
+            try (var keys = ps.getGeneratedKeys()) {
+                while (keys.next()) {
+                    generatedKeys.add(keys.getObject(1, keyType));
+                }
+            }
+        }
+
+        private static void rollback(Connection connection, Exception cause) {
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackError) {
+                cause.addSuppressed(rollbackError);
+            }
+        }
+
+        JdbcBatchResult<K> result() {
+            return new JdbcBatchResult<>(itemCount, batchCount, updateCount, generatedKeys);
+        }
+    }
+}
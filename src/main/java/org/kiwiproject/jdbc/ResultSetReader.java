@@ -0,0 +1,400 @@
+package org.kiwiproject.jdbc;
+
+import static java.util.Objects.isNull;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+import static org.kiwiproject.base.KiwiPreconditions.checkArgumentNotNull;
+
+import com.google.common.collect.Maps;
+import org.jspecify.annotations.Nullable;
+import org.kiwiproject.base.KiwiPrimitives;
+import org.kiwiproject.base.KiwiPrimitives.BooleanConversionOption;
+import org.kiwiproject.jdbc.KiwiJdbc.StringTrimOption;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Wraps a {@link ResultSet} and provides the same null-safe, typed accessors as {@link KiwiJdbc}, but resolves each
+ * column name to a column index only once instead of once per row.
+ * <p>
+ * JDBC drivers resolve column names on every call to a {@code getXxx(String)} method, and some do this using a
+ * case-insensitive linear scan of the columns. When reading many rows, that cost adds up. A {@code ResultSetReader}
+ * reads the column labels from the {@link java.sql.ResultSetMetaData} the first time a column name is used, and then
+ * calls the index-based {@code getXxx(int)} methods on the result set. The typical usage is to create one reader
+ * per result set, outside the row loop:
+ * <pre>{@code
+ * try (var rs = ps.executeQuery()) {
+ *     var reader = ResultSetReader.of(rs);
+ *     while (rs.next()) {
+ *         var id = reader.longValueOrNull("id");
+ *         var createdAt = reader.instantFromTimestamp("created_at");
+ *         // ...
+ *     }
+ * }
+ * }</pre>
+ * Column names are matched case-insensitively, and if more than one column has the same label, the first one is
+ * used, which is the same as {@link ResultSet#findColumn(String)}. Names that do not match any label in the metadata
+ * are resolved using {@link ResultSet#findColumn(String)}, so a reader never fails to find a column that the
+ * result set itself can find.
+ * <p>
+ * Like {@link ResultSet}, instances are <em>not</em> thread-safe.
+ *
+ * @see KiwiJdbc
+ */
+public final class ResultSetReader {
+
+    private final ResultSet resultSet;
+    private final Map<String, Integer> columnIndexesByName;
+    private Map<String, Integer> columnIndexesByLowerCaseLabel;
+
+    private ResultSetReader(ResultSet resultSet) {
+        this.resultSet = resultSet;
+        this.columnIndexesByName = new HashMap<>();
+    }
+
+    /**
+     * Create a new reader for the given {@link ResultSet}.
+     *
+     * @param resultSet the ResultSet to read from
+     * @return a new instance
+     * @throws IllegalArgumentException if resultSet is null
+     */
+    public static ResultSetReader of(ResultSet resultSet) {
+        checkArgumentNotNull(resultSet, "resultSet must not be null");
+        return new ResultSetReader(resultSet);
+    }
+
+    /**
+     * @return the wrapped ResultSet
+     */
+    public ResultSet getResultSet() {
+        return resultSet;
+    }
+
+    /**
+     * Get the 1-based index of the column with the given name, resolving it only on the first call for each name.
+     *
+     * @param columnName the column name (label)
+     * @return the column index
+     * @throws SQLException if the column name is not valid, or there is a database problem
+     */
+    public int columnIndex(String columnName) throws SQLException {
+        var columnIndex = columnIndexesByName.get(columnName);
+        if (isNull(columnIndex)) {
+            columnIndex = resolveColumnIndex(columnName);
+            columnIndexesByName.put(columnName, columnIndex);
+        }
+        return columnIndex;
+    }
+
+    private int resolveColumnIndex(String columnName) throws SQLException {
+        if (isNull(columnIndexesByLowerCaseLabel)) {
+            columnIndexesByLowerCaseLabel = readColumnLabels();
+        }
+
+        var columnIndex = columnIndexesByLowerCaseLabel.get(columnName.toLowerCase(Locale.ROOT));
+        return isNull(columnIndex) ? resultSet.findColumn(columnName) : columnIndex;
+    }
+
+    private Map<String, Integer> readColumnLabels() throws SQLException {
+        var metaData = resultSet.getMetaData();
+        var columnCount = metaData.getColumnCount();
+        Map<String, Integer> labels = Maps.newHashMapWithExpectedSize(columnCount);
+        for (var i = 1; i <= columnCount; i++) {
+            labels.putIfAbsent(metaData.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+        }
+        return labels;
+    }
+
+    /**
+     * Convert the timestamp column given by {@code columnName} to milliseconds from the epoch.
+     *
+     * @param columnName the timestamp column name
+     * @return epoch milliseconds
+     * @throws SQLException             if there is a database problem
+     * @throws IllegalArgumentException if the timestamp returned from the ResultSet is null
+     * @see KiwiJdbc#epochMillisFromTimestamp(ResultSet, String)
+     */
+    public long epochMillisFromTimestamp(String columnName) throws SQLException {
+        return KiwiJdbc.epochMillisFromTimestamp(resultSet.getTimestamp(columnIndex(columnName)));
+    }
+
+    /**
+     * Returns a {@link Date} from the specified timestamp column.
+     *
+     * @param columnName the timestamp column name
+     * @return the converted Date or {@code null} if the column was {@code NULL}
+     * @throws SQLException if there is a database problem
+     * @see KiwiJdbc#dateFromTimestamp(ResultSet, String)
+     */
+    @Nullable
+    public Date dateFromTimestamp(String columnName) throws SQLException {
+        return KiwiJdbc.dateFromTimestamp(resultSet.getTimestamp(columnIndex(columnName)));
+    }
+
+    /**
+     * Returns an {@link Instant} from the specified timestamp column.
+     *
+     * @param columnName the timestamp column name
+     * @return the converted Instant or {@code null} if the column was {@code NULL}
+     * @throws SQLException if there is a database problem
+     * @see KiwiJdbc#instantFromTimestamp(ResultSet, String)
+     */
+    @Nullable
+    public Instant instantFromTimestamp(String columnName) throws SQLException {
+        return KiwiJdbc.instantFromTimestamp(resultSet.getTimestamp(columnIndex(columnName)));
+    }
+
+    /**
+     * Returns a {@link LocalDateTime} from the specified timestamp column.
+     *
+     * @param columnName the timestamp column name
+     * @return the converted LocalDateTime or {@code null} if the column was {@code NULL}
+     * @throws SQLException if there is a database problem
+     * @see KiwiJdbc#localDateTimeFromTimestamp(ResultSet, String)
+     */
+    @Nullable
+    public LocalDateTime localDateTimeFromTimestamp(String columnName) throws SQLException {
+        return KiwiJdbc.localDateTimeFromTimestamp(resultSet.getTimestamp(columnIndex(columnName)));
+    }
+
+    /**
+     * Returns a {@link LocalDate} from the specified date column.
+     *
+     * @param columnName the date column name
+     * @return the converted LocalDate or {@code null} if the column was {@code NULL}
+     * @throws SQLException if there is a database problem
+     * @see KiwiJdbc#localDateFromDateOrNull(ResultSet, String)
+     */
+    @Nullable
+    public LocalDate localDateFromDateOrNull(String columnName) throws SQLException {
+        return KiwiJdbc.localDateFromDateOrNull(resultSet.getDate(columnIndex(columnName)));
+    }
+
+    /**
+     * Returns a {@link LocalTime} from the specified time column.
+     *
+     * @param columnName the time column name
+     * @return the converted LocalTime or {@code null} if the column was {@code NULL}
+     * @throws SQLException if there is a database problem
+     * @see KiwiJdbc#localTimeFromTimeOrNull(ResultSet, String)
+     */
+    @Nullable
+    public LocalTime localTimeFromTimeOrNull(String columnName) throws SQLException {
+        return KiwiJdbc.localTimeFromTimeOrNull(resultSet.getTime(columnIndex(columnName)));
+    }
+
+    /**
+     * Returns a {@link ZonedDateTime} in UTC from the specified timestamp column.
+     *
+     * @param columnName the timestamp column name
+     * @return a UTC ZonedDateTime or {@code null} if the column was {@code NULL}
+     * @throws SQLException if there is a database problem
+     * @see KiwiJdbc#utcZonedDateTimeFromTimestamp(ResultSet, String)
+     */
+    @Nullable
+    public ZonedDateTime utcZonedDateTimeFromTimestamp(String columnName) throws SQLException {
+        return zonedDateTimeFromTimestamp(columnName, ZoneOffset.UTC);
+    }
+
+    /**
+     * Returns a {@link ZonedDateTime} in the specified time zone from the specified timestamp column.
+     *
+     * @param columnName the timestamp column name
+     * @param zoneId     the time zone ID
+     * @return a ZonedDateTime in the specified zone, or {@code null} if the column was {@code NULL}
+     * @throws SQLException if there is a database problem
+     * @see KiwiJdbc#zonedDateTimeFromTimestamp(ResultSet, String, ZoneId)
+     */
+    @Nullable
+    public ZonedDateTime zonedDateTimeFromTimestamp(String columnName, ZoneId zoneId) throws SQLException {
+        return KiwiJdbc.zonedDateTimeFromTimestamp(resultSet.getTimestamp(columnIndex(columnName)), zoneId);
+    }
+
+    /**
+     * Returns the long value in the specified column, or {@code null} if the column was {@code NULL}.
+     *
+     * @param columnName the column name
+     * @return a {@link Long} or {@code null}
+     * @throws SQLException if there is a database problem
+     * @see KiwiJdbc#longValueOrNull(ResultSet, String)
+     */
+    @Nullable
+    public Long longValueOrNull(String columnName) throws SQLException {
+        var value = resultSet.getLong(columnIndex(columnName));
+        return resultSet.wasNull() ? null : value;
+    }
+
+    /**
+     * Returns the int value in the specified column, or {@code null} if the column was {@code NULL}.
+     *
+     * @param columnName the column name
+     * @return an {@link Integer} or {@code null}
+     * @throws SQLException if there is a database problem
+     * @see KiwiJdbc#intValueOrNull(ResultSet, String)
+     */
+    @Nullable
+    public Integer intValueOrNull(String columnName) throws SQLException {
+        var value = resultSet.getInt(columnIndex(columnName));
+        return resultSet.wasNull() ? null : value;
+    }
+
+    /**
+     * Returns the double value in the specified column, or {@code null} if the column was {@code NULL}.
+     *
+     * @param columnName the column name
+     * @return a {@link Double} or {@code null}
+     * @throws SQLException if there is a database problem
+     * @see KiwiJdbc#doubleValueOrNull(ResultSet, String)
+     */
+    @Nullable
+    public Double doubleValueOrNull(String columnName) throws SQLException {
+        var value = resultSet.getDouble(columnIndex(columnName));
+        return resultSet.wasNull() ? null : value;
+    }
+
+    /**
+     * Returns an enum constant of the given type from the specified column.
+     *
+     * @param columnName the column name
+     * @param enumType   the enum class
+     * @param <T>        the enum type parameter
+     * @return an enum constant of type {@code enumType} or {@code null} if the database value was NULL
+     * @throws SQLException             if there is a database problem
+     * @throws IllegalArgumentException if the value from the ResultSet is an invalid enum constant
+     * @see KiwiJdbc#enumValueOrNull(ResultSet, String, Class)
+     */
+    @Nullable
+    public <T extends Enum<T>> T enumValueOrNull(String columnName, Class<T> enumType) throws SQLException {
+        return enumValueOrEmpty(columnName, enumType).orElse(null);
+    }
+
+    /**
+     * Returns an enum constant of the given type from the specified column.
+     *
+     * @param columnName the column name
+     * @param enumType   the enum class
+     * @param <T>        the enum type parameter
+     * @return an enum constant of type {@code enumType} or an empty {@link Optional} if the database value was NULL
+     * @throws SQLException             if there is a database problem
+     * @throws IllegalArgumentException if the value from the ResultSet is an invalid enum constant
+     * @see KiwiJdbc#enumValueOrEmpty(ResultSet, String, Class)
+     */
+    public <T extends Enum<T>> Optional<T> enumValueOrEmpty(String columnName, Class<T> enumType)
+            throws SQLException {
+        var enumName = resultSet.getString(columnIndex(columnName));
+        return isNull(enumName) ? Optional.empty() : Optional.of(Enum.valueOf(enumType, enumName));
+    }
+
+    /**
+     * Converts a long value in the specified column to a boolean. The database value must be zero, one or NULL.
+     *
+     * @param columnName the column name
+     * @return true if the database value is one, or false if it is zero or NULL
+     * @throws IllegalArgumentException if the value in the column is not zero, one, or NULL
+     * @throws SQLException             if there is any error getting the value from the database
+     * @see KiwiJdbc#booleanFromLong(ResultSet, String)
+     */
+    public boolean booleanFromLong(String columnName) throws SQLException {
+        return booleanFromLong(columnName, BooleanConversionOption.ZERO_OR_ONE);
+    }
+
+    /**
+     * Converts a long value in the specified column to a boolean using the given {@link BooleanConversionOption}.
+     *
+     * @param columnName the column name
+     * @param option     how to convert the long value into a boolean
+     * @return the converted value, which is determined using the conversion option
+     * @throws SQLException if there is any error getting the value from the database
+     * @see KiwiJdbc#booleanFromLong(ResultSet, String, BooleanConversionOption)
+     */
+    public boolean booleanFromLong(String columnName, BooleanConversionOption option) throws SQLException {
+        return KiwiPrimitives.booleanFromLong(resultSet.getLong(columnIndex(columnName)), option);
+    }
+
+    /**
+     * Converts an int value in the specified column to a boolean. The database value must be zero, one or NULL.
+     *
+     * @param columnName the column name
+     * @return true if the database value is one, or false if it is zero or NULL
+     * @throws IllegalArgumentException if the value in the column is not zero, one, or NULL
+     * @throws SQLException             if there is any error getting the value from the database
+     * @see KiwiJdbc#booleanFromInt(ResultSet, String)
+     */
+    public boolean booleanFromInt(String columnName) throws SQLException {
+        return booleanFromInt(columnName, BooleanConversionOption.ZERO_OR_ONE);
+    }
+
+    /**
+     * Converts an int value in the specified column to a boolean using the given {@link BooleanConversionOption}.
+     *
+     * @param columnName the column name
+     * @param option     how to convert the int value into a boolean
+     * @return the converted value, which is determined using the conversion option
+     * @throws SQLException if there is any error getting the value from the database
+     * @see KiwiJdbc#booleanFromInt(ResultSet, String, BooleanConversionOption)
+     */
+    public boolean booleanFromInt(String columnName, BooleanConversionOption option) throws SQLException {
+        return KiwiPrimitives.booleanFromInt(resultSet.getInt(columnIndex(columnName)), option);
+    }
+
+    /**
+     * Returns a String from the specified column. When the database value is {@code NULL} or contains only
+     * whitespace, returns {@code null}.
+     *
+     * @param columnName the column name
+     * @return the String value, or {@code null} if the column was blank or {@code NULL}
+     * @throws SQLException if there is any error getting the value from the database
+     * @see KiwiJdbc#stringOrNullIfBlank(ResultSet, String)
+     */
+    @Nullable
+    public String stringOrNullIfBlank(String columnName) throws SQLException {
+        return stringOrNullIfBlank(columnName, StringTrimOption.PRESERVE);
+    }
+
+    /**
+     * Returns a String from the specified column, trimming leading and trailing whitespace. When the database value
+     * is {@code NULL} or contains only whitespace, returns {@code null}.
+     *
+     * @param columnName the column name
+     * @return the String with leading and trailing whitespace removed, or {@code null} if the
+     * column was blank or {@code NULL}
+     * @throws SQLException if there is any error getting the value from the database
+     * @see KiwiJdbc#trimmedStringOrNullIfBlank(ResultSet, String)
+     */
+    @Nullable
+    public String trimmedStringOrNullIfBlank(String columnName) throws SQLException {
+        return stringOrNullIfBlank(columnName, StringTrimOption.REMOVE);
+    }
+
+    /**
+     * Returns a String from the specified column using the given {@link StringTrimOption}. When the database value
+     * is {@code NULL} or contains only whitespace, returns {@code null}.
+     *
+     * @param columnName the column name
+     * @param option     how to handle leading and trailing whitespace
+     * @return the String with the specified trim option applied, or {@code null} if the column was blank or {@code NULL}
+     * @throws SQLException if there is any error getting the value from the database
+     * @see KiwiJdbc#stringOrNullIfBlank(ResultSet, String, StringTrimOption)
+     */
+    @Nullable
+    public String stringOrNullIfBlank(String columnName, StringTrimOption option) throws SQLException {
+        var s = resultSet.getString(columnIndex(columnName));
+        return isBlank(s) ? null : switch (option) {
+            case PRESERVE -> s;
+            case REMOVE -> s.strip();
+        };
+    }
+}
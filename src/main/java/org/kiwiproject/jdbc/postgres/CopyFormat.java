@@ -0,0 +1,33 @@
+package org.kiwiproject.jdbc.postgres;
+
+/**
+ * The data formats supported by {@link KiwiPostgresCopy} for loading data using {@code COPY ... FROM STDIN}.
+ */
+public enum CopyFormat {
+
+    /**
+     * Comma-separated values, where {@code NULL} is an unquoted empty value. This works with any column type that
+     * accepts its text representation, at the cost of the server having to parse each value.
+     */
+    CSV("csv"),
+
+    /**
+     * The Postgres binary format, which is faster for the server to load but requires each value to be written using
+     * the exact binary representation of the column's type, e.g. {@link CopyRow#addInt(int)} for {@code integer} and
+     * {@link CopyRow#addLong(long)} for {@code bigint} columns.
+     */
+    BINARY("binary");
+
+    private final String sqlName;
+
+    CopyFormat(String sqlName) {
+        this.sqlName = sqlName;
+    }
+
+    /**
+     * @return the name of the format as used in the {@code FORMAT} option of a {@code COPY} statement
+     */
+    public String sqlName() {
+        return sqlName;
+    }
+}
@@ -0,0 +1,86 @@
+package org.kiwiproject.jdbc.postgres;
+
+import org.jspecify.annotations.Nullable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Accepts the values of one row being loaded using {@link KiwiPostgresCopy}. Values must be added in the same order
+ * as the columns given to the load method, and there must be exactly one value per column.
+ * <p>
+ * Methods that accept an object add {@code NULL} when the given value is null.
+ */
+public interface CopyRow {
+
+    /**
+     * Add a {@code NULL} value.
+     *
+     * @return this instance
+     */
+    CopyRow addNull();
+
+    /**
+     * Add a value for a {@code text}, {@code varchar}, or {@code json} column.
+     *
+     * @param value the value
+     * @return this instance
+     */
+    CopyRow addText(@Nullable String value);
+
+    /**
+     * Add a value for an {@code integer} column.
+     *
+     * @param value the value
+     * @return this instance
+     */
+    CopyRow addInt(int value);
+
+    /**
+     * Add a value for a {@code bigint} column.
+     *
+     * @param value the value
+     * @return this instance
+     */
+    CopyRow addLong(long value);
+
+    /**
+     * Add a value for a {@code double precision} column.
+     *
+     * @param value the value
+     * @return this instance
+     */
+    CopyRow addDouble(double value);
+
+    /**
+     * Add a value for a {@code boolean} column.
+     *
+     * @param value the value
+     * @return this instance
+     */
+    CopyRow addBoolean(boolean value);
+
+    /**
+     * Add a value for a {@code timestamp with time zone} column.
+     *
+     * @param value the value
+     * @return this instance
+     */
+    CopyRow addTimestamp(@Nullable Instant value);
+
+    /**
+     * Add a value for a {@code uuid} column.
+     *
+     * @param value the value
+     * @return this instance
+     */
+    CopyRow addUuid(@Nullable UUID value);
+
+    /**
+     * Add a value for a {@code bytea} column.
+     *
+     * @param value the value
+     * @return this instance
+     */
+    CopyRow addBytes(byte @Nullable [] value);
+}
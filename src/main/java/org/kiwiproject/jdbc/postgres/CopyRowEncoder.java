@@ -0,0 +1,398 @@
+package org.kiwiproject.jdbc.postgres;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.isNull;
+
+import org.jspecify.annotations.Nullable;
+import org.postgresql.copy.CopyIn;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Encodes rows in one of the {@link CopyFormat}s into a reusable buffer, which is periodically written to a
+ * {@link CopyIn} so that the whole payload is never held in memory.
+ */
+abstract class CopyRowEncoder implements CopyRow {
+
+    protected final EncodingBuffer buffer = new EncodingBuffer();
+    private final int columnCount;
+    private int fieldCount;
+
+    CopyRowEncoder(int columnCount) {
+        this.columnCount = columnCount;
+    }
+
+    static CopyRowEncoder of(CopyFormat format, int columnCount) {
+        return switch (format) {
+            case CSV -> new CsvEncoder(columnCount);
+            case BINARY -> new BinaryEncoder(columnCount);
+        };
+    }
+
+    /**
+     * Write anything that must precede the first row.
+     */
+    void start() {
+    }
+
+    void beginRow() {
+        fieldCount = 0;
+        beginRowInternal(columnCount);
+    }
+
+    protected abstract void beginRowInternal(int columnCount);
+
+    void endRow() {
+        checkState(fieldCount == columnCount, "Expected %s values in row but %s were added", columnCount, fieldCount);
+        endRowInternal();
+    }
+
+    protected abstract void endRowInternal();
+
+    /**
+     * Write anything that must follow the last row.
+     */
+    void finish() {
+    }
+
+    /**
+     * @return the number of bytes currently buffered
+     */
+    int bufferedSize() {
+        return buffer.size();
+    }
+
+    /**
+     * Write the buffered bytes to the given {@link CopyIn} and clear the buffer.
+     */
+    void flushTo(CopyIn copyIn) throws SQLException {
+        if (buffer.size() > 0) {
+            copyIn.writeToCopy(buffer.bytes(), 0, buffer.size());
+            buffer.reset();
+        }
+    }
+
+    private void nextField() {
+        checkState(fieldCount < columnCount, "Only %s values may be added to each row", columnCount);
+        fieldCount++;
+    }
+
+    @Override
+    public CopyRow addNull() {
+        nextField();
+        writeNull();
+        return this;
+    }
+
+    @Override
+    public CopyRow addText(@Nullable String value) {
+        if (isNull(value)) {
+            return addNull();
+        }
+        nextField();
+        writeText(value);
+        return this;
+    }
+
+    @Override
+    public CopyRow addInt(int value) {
+        nextField();
+        writeInt(value);
+        return this;
+    }
+
+    @Override
+    public CopyRow addLong(long value) {
+        nextField();
+        writeLong(value);
+        return this;
+    }
+
+    @Override
+    public CopyRow addDouble(double value) {
+        nextField();
+        writeDouble(value);
+        return this;
+    }
+
+    @Override
+    public CopyRow addBoolean(boolean value) {
+        nextField();
+        writeBoolean(value);
+        return this;
+    }
+
+    @Override
+    public CopyRow addTimestamp(@Nullable Instant value) {
+        if (isNull(value)) {
+            return addNull();
+        }
+        nextField();
+        writeTimestamp(value);
+        return this;
+    }
+
+    @Override
+    public CopyRow addUuid(@Nullable UUID value) {
+        if (isNull(value)) {
+            return addNull();
+        }
+        nextField();
+        writeUuid(value);
+        return this;
+    }
+
+    @Override
+    public CopyRow addBytes(byte @Nullable [] value) {
+        if (isNull(value)) {
+            return addNull();
+        }
+        nextField();
+        writeBytes(value);
+        return this;
+    }
+
+    protected abstract void writeNull();
+
+    protected abstract void writeText(String value);
+
+    protected abstract void writeInt(int value);
+
+    protected abstract void writeLong(long value);
+
+    protected abstract void writeDouble(double value);
+
+    protected abstract void writeBoolean(boolean value);
+
+    protected abstract void writeTimestamp(Instant value);
+
+    protected abstract void writeUuid(UUID value);
+
+    protected abstract void writeBytes(byte[] value);
+
+    /**
+     * A {@link ByteArrayOutputStream} that provides access to its internal array to avoid copying it, and can write
+     * big-endian integers.
+     */
+    static class EncodingBuffer extends ByteArrayOutputStream {
+
+        EncodingBuffer() {
+            super(8192);
+        }
+
+        byte[] bytes() {
+            return buf;
+        }
+
+        void writeShort(int value) {
+            write(value >>> 8);
+            write(value);
+        }
+
+        void writeInt(int value) {
+            write(value >>> 24);
+            write(value >>> 16);
+            write(value >>> 8);
+            write(value);
+        }
+
+        void writeLong(long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+
+        void writeAscii(String value) {
+            for (var i = 0; i < value.length(); i++) {
+                write(value.charAt(i));
+            }
+        }
+    }
+
+    /**
+     * Encodes rows using the CSV format with the default {@code COPY} settings: comma delimiter, double-quote quote
+     * and escape characters, and {@code NULL} as an unquoted empty value. Text values are always quoted so that empty
+     * strings are distinguished from {@code NULL}.
+     */
+    static class CsvEncoder extends CopyRowEncoder {
+
+        private static final HexFormat HEX_FORMAT = HexFormat.of();
+
+        private boolean firstField;
+
+        CsvEncoder(int columnCount) {
+            super(columnCount);
+        }
+
+        @Override
+        protected void beginRowInternal(int columnCount) {
+            firstField = true;
+        }
+
+        @Override
+        protected void endRowInternal() {
+            buffer.write('\n');
+        }
+
+        private void delimit() {
+            if (firstField) {
+                firstField = false;
+            } else {
+                buffer.write(',');
+            }
+        }
+
+        @Override
+        protected void writeNull() {
+            delimit();
+        }
+
+        @Override
+        protected void writeText(String value) {
+            delimit();
+            buffer.write('"');
+            for (var b : value.getBytes(StandardCharsets.UTF_8)) {
+                if (b == '"') {
+                    buffer.write('"');
+                }
+                buffer.write(b);
+            }
+            buffer.write('"');
+        }
+
+        @Override
+        protected void writeInt(int value) {
+            writeUnquoted(Integer.toString(value));
+        }
+
+        @Override
+        protected void writeLong(long value) {
+            writeUnquoted(Long.toString(value));
+        }
+
+        @Override
+        protected void writeDouble(double value) {
+            writeUnquoted(Double.toString(value));
+        }
+
+        @Override
+        protected void writeBoolean(boolean value) {
+            writeUnquoted(value ? "t" : "f");
+        }
+
+        @Override
+        protected void writeTimestamp(Instant value) {
+            writeUnquoted(value.toString());
+        }
+
+        @Override
+        protected void writeUuid(UUID value) {
+            writeUnquoted(value.toString());
+        }
+
+        @Override
+        protected void writeBytes(byte[] value) {
+            writeUnquoted("\\x" + HEX_FORMAT.formatHex(value));
+        }
+
+        private void writeUnquoted(String asciiValue) {
+            delimit();
+            buffer.writeAscii(asciiValue);
+        }
+    }
+
+    /**
+     * Encodes rows using the Postgres binary {@code COPY} format.
+     *
+     * @see <a href="https://www.postgresql.org/docs/current/sql-copy.html#id-1.9.3.55.9.4">Binary Format</a>
+     */
+    static class BinaryEncoder extends CopyRowEncoder {
+
+        private static final byte[] SIGNATURE = { 'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0 };
+        private static final Instant POSTGRES_EPOCH = Instant.parse("2000-01-01T00:00:00Z");
+
+        BinaryEncoder(int columnCount) {
+            super(columnCount);
+        }
+
+        @Override
+        void start() {
+            buffer.writeBytes(SIGNATURE);
+            buffer.writeInt(0);  // flags
+            buffer.writeInt(0);  // header extension length
+        }
+
+        @Override
+        protected void beginRowInternal(int columnCount) {
+            buffer.writeShort(columnCount);
+        }
+
+        @Override
+        protected void endRowInternal() {
+            // nothing to do; the field count precedes the row
+        }
+
+        @Override
+        void finish() {
+            buffer.writeShort(-1);
+        }
+
+        @Override
+        protected void writeNull() {
+            buffer.writeInt(-1);
+        }
+
+        @Override
+        protected void writeText(String value) {
+            writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        protected void writeInt(int value) {
+            buffer.writeInt(Integer.BYTES);
+            buffer.writeInt(value);
+        }
+
+        @Override
+        protected void writeLong(long value) {
+            buffer.writeInt(Long.BYTES);
+            buffer.writeLong(value);
+        }
+
+        @Override
+        protected void writeDouble(double value) {
+            writeLong(Double.doubleToLongBits(value));
+        }
+
+        @Override
+        protected void writeBoolean(boolean value) {
+            buffer.writeInt(1);
+            buffer.write(value ? 1 : 0);
+        }
+
+        @Override
+        protected void writeTimestamp(Instant value) {
+            var sinceEpoch = Duration.between(POSTGRES_EPOCH, value);
+            writeLong(Math.addExact(Math.multiplyExact(sinceEpoch.getSeconds(), 1_000_000L),
+                    sinceEpoch.getNano() / 1_000));
+        }
+
+        @Override
+        protected void writeUuid(UUID value) {
+            buffer.writeInt(16);
+            buffer.writeLong(value.getMostSignificantBits());
+            buffer.writeLong(value.getLeastSignificantBits());
+        }
+
+        @Override
+        protected void writeBytes(byte[] value) {
+            buffer.writeInt(value.length);
+            buffer.writeBytes(value);
+        }
+    }
+}
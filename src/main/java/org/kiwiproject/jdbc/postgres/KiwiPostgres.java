@@ -7,6 +7,8 @@ import java.sql.SQLException;
 
 /**
  * Utility functions related to Postgres DBs.
+ * <p>
+ * For bulk loading and exporting using {@code COPY}, see {@link KiwiPostgresCopy}.
  */
 @UtilityClass
 public class KiwiPostgres {
@@ -0,0 +1,249 @@
+package org.kiwiproject.jdbc.postgres;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.kiwiproject.base.KiwiPreconditions.checkArgumentNotBlank;
+import static org.kiwiproject.base.KiwiPreconditions.checkArgumentNotEmpty;
+import static org.kiwiproject.base.KiwiPreconditions.checkArgumentNotNull;
+import static org.kiwiproject.base.KiwiStrings.f;
+
+import com.google.common.annotations.VisibleForTesting;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.copy.CopyOperation;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Bulk loading and exporting of data using the Postgres {@code COPY} command, via the driver's {@link CopyManager}.
+ * <p>
+ * Loading rows using {@code COPY ... FROM STDIN} is much faster than inserting them, even using JDBC batches. Rows are
+ * pulled from an {@link Iterator} and encoded into a fixed-size buffer which is sent to the server whenever it fills
+ * up, so the rows never need to be held in memory at the same time. Since writing to the server blocks when the
+ * server is not keeping up, rows are only pulled from the iterator as fast as the server consumes them.
+ * <p>
+ * Exporting rows using {@code COPY ... TO STDOUT} streams each row to a consumer as it is received, and the next row
+ * is not read until the consumer returns.
+ * <p>
+ * Table, column, and query arguments are included in the {@code COPY} statement as-is, so they must come from trusted
+ * sources.
+ */
+@UtilityClass
+@Slf4j
+public class KiwiPostgresCopy {
+
+    /**
+     * The default number of bytes to buffer before sending them to the server.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Writes the values of one item to a {@link CopyRow}.
+     *
+     * @param <T> the type of item
+     */
+    @FunctionalInterface
+    public interface CopyRowMapper<T> {
+
+        /**
+         * Add the column values of the given item to the row, in the same order as the columns being loaded.
+         *
+         * @param item the item
+         * @param row  the row to add values to
+         */
+        void map(T item, CopyRow row);
+    }
+
+    /**
+     * Load rows into the given table and columns using {@code COPY ... FROM STDIN}, using the default buffer size.
+     *
+     * @param connection the Connection, which must be (or wrap) a Postgres connection
+     * @param table      the table to load, optionally qualified by schema
+     * @param columns    the columns to load
+     * @param rows       the items to load
+     * @param rowMapper  writes the column values of each item
+     * @param format     the data format to use
+     * @param <T>        the type of item
+     * @return the number of rows loaded
+     * @throws SQLException          if there is a database problem, in which case the {@code COPY} is cancelled and no
+     *                               rows are loaded
+     * @throws IllegalStateException if the row mapper does not add exactly one value per column
+     * @see #copyIn(Connection, String, List, Iterator, CopyRowMapper, CopyFormat, int)
+     */
+    public static <T> long copyIn(Connection connection,
+                                  String table,
+                                  List<String> columns,
+                                  Iterator<T> rows,
+                                  CopyRowMapper<T> rowMapper,
+                                  CopyFormat format) throws SQLException {
+        return copyIn(connection, table, columns, rows, rowMapper, format, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Load rows into the given table and columns using {@code COPY ... FROM STDIN}.
+     * <p>
+     * If an error occurs, the {@code COPY} is cancelled and no rows are loaded, since {@code COPY} is a single
+     * statement. Note that this also aborts the current transaction when auto-commit is disabled.
+     *
+     * @param connection the Connection, which must be (or wrap) a Postgres connection
+     * @param table      the table to load, optionally qualified by schema
+     * @param columns    the columns to load
+     * @param rows       the items to load
+     * @param rowMapper  writes the column values of each item
+     * @param format     the data format to use
+     * @param bufferSize the number of bytes to buffer before sending them to the server
+     * @param <T>        the type of item
+     * @return the number of rows loaded
+     * @throws SQLException          if there is a database problem, in which case the {@code COPY} is cancelled and no
+     *                               rows are loaded
+     * @throws IllegalStateException if the row mapper does not add exactly one value per column
+     */
+    public static <T> long copyIn(Connection connection,
+                                  String table,
+                                  List<String> columns,
+                                  Iterator<T> rows,
+                                  CopyRowMapper<T> rowMapper,
+                                  CopyFormat format,
+                                  int bufferSize) throws SQLException {
+        checkArgumentNotNull(connection, "connection must not be null");
+        checkArgumentNotBlank(table, "table must not be blank");
+        checkArgumentNotEmpty(columns, "columns must not be empty");
+        checkArgumentNotNull(rows, "rows must not be null");
+        checkArgumentNotNull(rowMapper, "rowMapper must not be null");
+        checkArgumentNotNull(format, "format must not be null");
+        checkArgument(bufferSize > 0, "bufferSize must be positive");
+
+        var sql = copyInSql(table, columns, format);
+        LOG.trace("Starting copy: {}", sql);
+        var copyIn = copyManager(connection).copyIn(sql);
+
+        try {
+            var encoder = CopyRowEncoder.of(format, columns.size());
+            encoder.start();
+            while (rows.hasNext()) {
+                var item = rows.next();
+                encoder.beginRow();
+                rowMapper.map(item, encoder);
+                encoder.endRow();
+
+                if (encoder.bufferedSize() >= bufferSize) {
+                    encoder.flushTo(copyIn);
+                }
+            }
+            encoder.finish();
+            encoder.flushTo(copyIn);
+
+            var rowCount = copyIn.endCopy();
+            LOG.debug("Copied {} rows into {}", rowCount, table);
+            return rowCount;
+        } catch (SQLException | RuntimeException e) {
+            cancelQuietly(copyIn, e);
+            throw e;
+        }
+    }
+
+    @VisibleForTesting
+    static String copyInSql(String table, List<String> columns, CopyFormat format) {
+        return f("COPY {} ({}) FROM STDIN WITH (FORMAT {})", table, String.join(", ", columns), format.sqlName());
+    }
+
+    /**
+     * Export the rows returned by the given query using {@code COPY (query) TO STDOUT} in CSV format, passing the
+     * values of each row to the given consumer as they are received.
+     * <p>
+     * Each row is provided as a list of the column values in their text representation, in which {@code NULL}
+     * values are null elements.
+     *
+     * @param connection  the Connection, which must be (or wrap) a Postgres connection
+     * @param query       the query whose results to export, e.g., {@code SELECT id, name FROM people}
+     * @param rowConsumer receives the column values of each row
+     * @return the number of rows exported
+     * @throws SQLException if there is a database problem
+     */
+    public static long copyOut(Connection connection,
+                               String query,
+                               Consumer<List<@Nullable String>> rowConsumer) throws SQLException {
+        checkArgumentNotNull(connection, "connection must not be null");
+        checkArgumentNotBlank(query, "query must not be blank");
+        checkArgumentNotNull(rowConsumer, "rowConsumer must not be null");
+
+        var sql = f("COPY ({}) TO STDOUT WITH (FORMAT csv)", query);
+        LOG.trace("Starting copy: {}", sql);
+        var copyOut = copyManager(connection).copyOut(sql);
+
+        try {
+            byte[] row;
+            while ((row = copyOut.readFromCopy()) != null) {
+                rowConsumer.accept(parseCsvRow(new String(row, StandardCharsets.UTF_8)));
+            }
+
+            var rowCount = copyOut.getHandledRowCount();
+            LOG.debug("Copied {} rows from query", rowCount);
+            return rowCount;
+        } catch (SQLException | RuntimeException e) {
+            cancelQuietly(copyOut, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Parse one row in the CSV format produced by {@code COPY ... TO STDOUT WITH (FORMAT csv)}, in which unquoted
+     * empty values are {@code NULL}.
+     */
+    @VisibleForTesting
+    static List<@Nullable String> parseCsvRow(String row) {
+        var end = row.endsWith("\n") ? row.length() - 1 : row.length();
+        var values = new ArrayList<@Nullable String>();
+        var value = new StringBuilder();
+        var quoted = false;
+        var inQuotes = false;
+
+        for (var i = 0; i < end; i++) {
+            var c = row.charAt(i);
+            if (inQuotes) {
+                if (c == '"' && i + 1 < end && row.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    inQuotes = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                inQuotes = true;
+            } else if (c == ',') {
+                values.add(quoted || !value.isEmpty() ? value.toString() : null);
+                value.setLength(0);
+                quoted = false;
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(quoted || !value.isEmpty() ? value.toString() : null);
+
+        return values;
+    }
+
+    private static CopyManager copyManager(Connection connection) throws SQLException {
+        return connection.unwrap(PGConnection.class).getCopyAPI();
+    }
+
+    private static void cancelQuietly(CopyOperation operation, Exception cause) {
+        try {
+            if (operation.isActive()) {
+                operation.cancelCopy();
+            }
+        } catch (SQLException cancelError) {
+            cause.addSuppressed(cancelError);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.kiwiproject.jdbi;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.kiwiproject.base.KiwiPreconditions.checkArgumentNotNull;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.function.Consumer;
+
+/**
+ * Controls how the batch methods in {@link Jdbi3GeneratedKeys} divide their items into chunks, and where the time
+ * taken by each chunk is reported. Smaller chunks limit the size of each batch and of the generated keys read back
+ * for it, at the cost of more round trips to the database.
+ */
+@Builder
+@Getter
+public class Jdbi3BatchOptions {
+
+    /**
+     * The default number of items to execute in each chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1_000;
+
+    /**
+     * The number of items to add to each {@link org.jdbi.v3.core.statement.PreparedBatch} before executing it.
+     * Must be positive. Default is {@link #DEFAULT_CHUNK_SIZE}.
+     */
+    @Builder.Default
+    private final int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    /**
+     * Receives the timing of each executed chunk, e.g., to record it in a metrics registry. Default does nothing.
+     * Chunk timings are also logged at DEBUG level.
+     */
+    @Builder.Default
+    private final Consumer<Jdbi3GeneratedKeys.ChunkTiming> chunkTimingListener = timing -> { };
+
+    // Called by the builder, which has already replaced unset options with their defaults
+    private Jdbi3BatchOptions(int chunkSize, Consumer<Jdbi3GeneratedKeys.ChunkTiming> chunkTimingListener) {
+        checkArgument(chunkSize > 0, "chunkSize must be positive");
+        checkArgumentNotNull(chunkTimingListener, "chunkTimingListener must not be null");
+
+        this.chunkSize = chunkSize;
+        this.chunkTimingListener = chunkTimingListener;
+    }
+
+    /**
+     * @return options that execute chunks of {@link #DEFAULT_CHUNK_SIZE} items and only log their timings
+     */
+    public static Jdbi3BatchOptions defaults() {
+        return builder().build();
+    }
+}
@@ -1,14 +1,38 @@
 package org.kiwiproject.jdbi;
 
+import static com.google.common.base.Preconditions.checkState;
+import static org.kiwiproject.base.KiwiPreconditions.checkArgumentNotBlank;
+import static org.kiwiproject.base.KiwiPreconditions.checkArgumentNotNull;
+
 import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.statement.PreparedBatch;
 import org.jdbi.v3.core.statement.Update;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
 /**
- * Utilities for executing statements and extracting generated keys from JDBI 3 {@link Update} objects.
+ * Utilities for executing statements and extracting generated keys from JDBI 3 {@link Update} and
+ * {@link PreparedBatch} objects.
  */
 @UtilityClass
+@Slf4j
 public class Jdbi3GeneratedKeys {
 
+    /**
+     * The timing of one executed chunk of a batch.
+     *
+     * @param chunkNumber the one-based number of the chunk
+     * @param itemCount   the number of items in the chunk
+     * @param elapsed     the time taken to execute the chunk and read its generated keys
+     */
+    public record ChunkTiming(int chunkNumber, int itemCount, Duration elapsed) {
+    }
+
     /**
      * Execute the given {@link Update} and extract the value of the generated key named "id" as a {@code Long}.
      *
@@ -48,4 +72,135 @@ public class Jdbi3GeneratedKeys {
                 .mapTo(clazz)
                 .one();
     }
+
+    /**
+     * Insert the given items using a {@link PreparedBatch} created from the given SQL, using the default options,
+     * and extract the values of the generated key named "id" in the same order as the items.
+     *
+     * @param handle the {@link Handle} to use
+     * @param sql    the SQL statement, e.g., {@code INSERT INTO users (name) VALUES (:name)}
+     * @param items  the items to insert
+     * @param binder binds the values of one item to the batch, e.g., {@code PreparedBatch::bindBean}
+     * @param <T>    the item type
+     * @return the generated ids, in the same order as the items
+     * @see #executeBatchAndGenerateKeys(Handle, String, Iterable, BiConsumer, String, Class, Jdbi3BatchOptions)
+     */
+    public static <T> long[] executeBatchAndGenerateIds(Handle handle,
+                                                        String sql,
+                                                        Iterable<T> items,
+                                                        BiConsumer<PreparedBatch, T> binder) {
+        return executeBatchAndGenerateIds(handle, sql, items, binder, "id", Jdbi3BatchOptions.defaults());
+    }
+
+    /**
+     * Insert the given items using a {@link PreparedBatch} created from the given SQL, and extract the values of the
+     * generated key with the given {@code fieldName} in the same order as the items.
+     *
+     * @param handle    the {@link Handle} to use
+     * @param sql       the SQL statement, e.g., {@code INSERT INTO users (name) VALUES (:name)}
+     * @param items     the items to insert
+     * @param binder    binds the values of one item to the batch, e.g., {@code PreparedBatch::bindBean}
+     * @param fieldName the name of the generated key field
+     * @param options   the batch options
+     * @param <T>       the item type
+     * @return the generated ids, in the same order as the items
+     * @see #executeBatchAndGenerateKeys(Handle, String, Iterable, BiConsumer, String, Class, Jdbi3BatchOptions)
+     */
+    public static <T> long[] executeBatchAndGenerateIds(Handle handle,
+                                                        String sql,
+                                                        Iterable<T> items,
+                                                        BiConsumer<PreparedBatch, T> binder,
+                                                        String fieldName,
+                                                        Jdbi3BatchOptions options) {
+        return executeBatchAndGenerateKeys(handle, sql, items, binder, fieldName, Long.class, options)
+                .stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    /**
+     * Insert the given items using a {@link PreparedBatch} created from the given SQL, and extract the values of the
+     * generated key with the given {@code fieldName} as instances of the given class, in the same order as the items.
+     * <p>
+     * Items are added to the batch and executed in chunks of {@link Jdbi3BatchOptions#getChunkSize()} items, so that
+     * very large inputs do not create very large batches. The time taken by each chunk is logged at DEBUG level and
+     * passed to {@link Jdbi3BatchOptions#getChunkTimingListener()}.
+     * <p>
+     * No transaction is started, so unless the handle is already in a transaction, chunks that were executed before a
+     * failing chunk remain in the database.
+     *
+     * @param handle    the {@link Handle} to use
+     * @param sql       the SQL statement, e.g., {@code INSERT INTO users (name) VALUES (:name)}
+     * @param items     the items to insert
+     * @param binder    binds the values of one item to the batch, e.g., {@code PreparedBatch::bindBean}
+     * @param fieldName the name of the generated key field
+     * @param clazz     the target class of the generated keys
+     * @param options   the batch options
+     * @param <T>       the item type
+     * @param <K>       the key type
+     * @return the generated keys, in the same order as the items
+     * @throws IllegalStateException if the number of generated keys for a chunk is not the number of items in it
+     */
+    public static <T, K> List<K> executeBatchAndGenerateKeys(Handle handle,
+                                                             String sql,
+                                                             Iterable<T> items,
+                                                             BiConsumer<PreparedBatch, T> binder,
+                                                             String fieldName,
+                                                             Class<K> clazz,
+                                                             Jdbi3BatchOptions options) {
+        checkArgumentNotNull(handle, "handle must not be null");
+        checkArgumentNotBlank(sql, "sql must not be blank");
+        checkArgumentNotNull(items, "items must not be null");
+        checkArgumentNotNull(binder, "binder must not be null");
+        checkArgumentNotBlank(fieldName, "fieldName must not be blank");
+        checkArgumentNotNull(clazz, "clazz must not be null");
+        checkArgumentNotNull(options, "options must not be null");
+
+        var keys = new ArrayList<K>();
+        var chunkNumber = 0;
+        PreparedBatch batch = null;
+
+        for (var item : items) {
+            if (batch == null) {
+                batch = handle.prepareBatch(sql);
+            }
+
+            binder.accept(batch, item);
+            batch.add();
+
+            if (batch.size() == options.getChunkSize()) {
+                keys.addAll(executeChunk(batch, ++chunkNumber, fieldName, clazz, options));
+                batch = null;
+            }
+        }
+
+        if (batch != null) {
+            keys.addAll(executeChunk(batch, ++chunkNumber, fieldName, clazz, options));
+        }
+
+        return keys;
+    }
+
+    private static <K> List<K> executeChunk(PreparedBatch batch,
+                                            int chunkNumber,
+                                            String fieldName,
+                                            Class<K> clazz,
+                                            Jdbi3BatchOptions options) {
+        var itemCount = batch.size();
+        var startNanos = System.nanoTime();
+
+        var keys = batch.executePreparedBatch(fieldName)
+                .mapTo(clazz)
+                .list();
+
+        var timing = new ChunkTiming(chunkNumber, itemCount, Duration.ofNanos(System.nanoTime() - startNanos));
+        LOG.debug("Executed chunk {} with {} items in {} ms",
+                chunkNumber, itemCount, timing.elapsed().toMillis());
+        options.getChunkTimingListener().accept(timing);
+
+        checkState(keys.size() == itemCount,
+                "Expected %s generated keys for chunk %s, but got %s", itemCount, chunkNumber, keys.size());
+
+        return keys;
+    }
 }
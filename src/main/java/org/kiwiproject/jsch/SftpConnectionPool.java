@@ -0,0 +1,854 @@
+package org.kiwiproject.jsch;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNullElse;
+import static org.kiwiproject.base.KiwiPreconditions.checkArgumentNotNull;
+import static org.kiwiproject.base.KiwiStrings.f;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.JSch;
+import com.jcraft.jsch.Session;
+import com.jcraft.jsch.SftpException;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.kiwiproject.base.UncheckedInterruptedException;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * A pool of SFTP sessions and channels, so that concurrent SFTP operations do not each need to perform a full SSH
+ * handshake, and do not need to be serialized through a single channel.
+ * <p>
+ * Sessions are keyed by all the properties of an {@link SftpConfig} that affect how a session is created and
+ * authenticated, i.e., the host, port, user, password, private key file, preferred authentications, key exchange type,
+ * known hosts file, strict host checking, and timeout. So, sessions are only shared by configurations that would
+ * authenticate the same way. Each session can have up to {@code maxChannelsPerSession} open SFTP channels, and there
+ * can be up to {@code maxSessionsPerHost} sessions for each host and port, across all keys. When all channels are in
+ * use and no more can be opened, {@link #borrow(SftpConfig)} first closes a session for another key to the same host
+ * and port if all its channels are idle, and otherwise waits up to {@code borrowTimeout} for a channel to be
+ * returned.
+ * <p>
+ * Before lending an idle channel, the pool checks that it and its session are still connected and, if
+ * {@code validateOnBorrow} is true, changes the channel's working directory to the remote home directory. This both
+ * verifies that the server responds and ensures that borrowers do not inherit the working directory of the previous
+ * borrower. Channels that fail the check are discarded. Channels idle for longer than {@code maxIdleTime} are closed,
+ * as are sessions that no longer have any channels.
+ * <p>
+ * If a {@link MetricRegistry} is supplied, the following metrics are recorded, using the given metric name prefix:
+ * <ul>
+ *     <li>{@code [prefix].borrowWait} - a timer of the time taken to borrow a channel</li>
+ *     <li>{@code [prefix].borrowTimeouts} - a counter of borrow attempts that timed out</li>
+ *     <li>{@code [prefix].sessionsCreated} - a counter of sessions that were created</li>
+ *     <li>{@code [prefix].channelsCreated} - a counter of channels that were created</li>
+ *     <li>{@code [prefix].channelsEvicted} - a counter of channels closed because they were idle too long</li>
+ *     <li>{@code [prefix].channelsInvalidated} - a counter of channels discarded because they were not usable</li>
+ *     <li>{@code [prefix].sessions} - a gauge of the number of open sessions</li>
+ *     <li>{@code [prefix].activeChannels} - a gauge of the number of borrowed channels</li>
+ *     <li>{@code [prefix].idleChannels} - a gauge of the number of idle channels</li>
+ * </ul>
+ * <p>
+ * Instances should be {@link #close() closed} when they are no longer needed.
+ *
+ * @implNote This requires JSch being available at runtime.
+ * @see SftpTransfers#SftpTransfers(SftpConnectionPool, SftpConfig)
+ */
+@Slf4j
+public class SftpConnectionPool implements Closeable {
+
+    /**
+     * The default maximum number of sessions for each host and port.
+     */
+    public static final int DEFAULT_MAX_SESSIONS_PER_HOST = 2;
+
+    /**
+     * The default maximum number of channels for each session.
+     *
+     * @implNote OpenSSH's default {@code MaxSessions} is 10 channels per connection.
+     */
+    public static final int DEFAULT_MAX_CHANNELS_PER_SESSION = 8;
+
+    /**
+     * The default time after which idle channels are closed.
+     */
+    public static final Duration DEFAULT_MAX_IDLE_TIME = Duration.ofMinutes(5);
+
+    /**
+     * The default maximum time to wait to borrow a channel.
+     */
+    public static final Duration DEFAULT_BORROW_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * The default interval at which idle channels are evicted.
+     */
+    public static final Duration DEFAULT_EVICTION_INTERVAL = Duration.ofMinutes(1);
+
+    /**
+     * The default prefix for metric names.
+     */
+    public static final String DEFAULT_METRIC_NAME_PREFIX = MetricRegistry.name(SftpConnectionPool.class);
+
+    @Getter
+    private final int maxSessionsPerHost;
+
+    @Getter
+    private final int maxChannelsPerSession;
+
+    @Getter
+    private final Duration maxIdleTime;
+
+    @Getter
+    private final Duration borrowTimeout;
+
+    @Getter
+    private final boolean validateOnBorrow;
+
+    private final Supplier<JSch> jschSupplier;
+    private final Map<ConnectionKey, HostPool> hostPools = new HashMap<>();
+    private final Map<HostAndPort, Integer> sessionCountsByHost = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition channelAvailable = lock.newCondition();
+    private boolean closed;
+
+    @Nullable
+    private final ScheduledExecutorService evictionExecutor;
+
+    @Nullable
+    private final Timer borrowWaitTimer;
+
+    @Nullable
+    private final Counter borrowTimeoutsCounter;
+
+    @Nullable
+    private final Counter sessionsCreatedCounter;
+
+    @Nullable
+    private final Counter channelsCreatedCounter;
+
+    @Nullable
+    private final Counter channelsEvictedCounter;
+
+    @Nullable
+    private final Counter channelsInvalidatedCounter;
+
+    /**
+     * Value class containing a snapshot of the state of the pool.
+     *
+     * @param sessions       the number of open sessions
+     * @param activeChannels the number of borrowed channels
+     * @param idleChannels   the number of idle channels
+     */
+    public record PoolStats(int sessions, int activeChannels, int idleChannels) {
+    }
+
+    /**
+     * The connection properties that identify which sessions can be shared. This includes every property that
+     * affects how sessions are authenticated, so that sessions are never shared by configurations with different
+     * credentials.
+     */
+    @VisibleForTesting
+    record ConnectionKey(String host,
+                         int port,
+                         String user,
+                         @Nullable String password,
+                         @Nullable String privateKeyFilePath,
+                         @Nullable String preferredAuthentications,
+                         @Nullable String keyExchangeType,
+                         @Nullable String knownHostsFile,
+                         boolean disableStrictHostChecking,
+                         @Nullable Long timeoutMillis) {
+
+        static ConnectionKey of(SftpConfig config) {
+            var timeout = config.getTimeout();
+            return new ConnectionKey(config.getHost(), config.getPort(), config.getUser(), config.getPassword(),
+                    config.getPrivateKeyFilePath(), config.getPreferredAuthentications(),
+                    config.getKeyExchangeType(), config.getKnownHostsFile(), config.isDisableStrictHostChecking(),
+                    isNull(timeout) ? null : timeout.toMilliseconds());
+        }
+
+        HostAndPort hostAndPort() {
+            return new HostAndPort(host, port);
+        }
+
+        /**
+         * @implNote Overridden so that the password is never logged or included in exception messages.
+         */
+        @Override
+        public String toString() {
+            return f("{}@{}:{}", user, host, port);
+        }
+    }
+
+    private record HostAndPort(String host, int port) {
+    }
+
+    private static final class PooledSession {
+        final Session session;
+        int channelCount;
+
+        PooledSession(Session session) {
+            this.session = session;
+        }
+
+        boolean isConnected() {
+            return session.isConnected();
+        }
+    }
+
+    private record IdleChannel(ChannelSftp channel, PooledSession owner, long idleSinceNanos) {
+    }
+
+    private static final class HostPool {
+        final ConnectionKey key;
+        final SftpConnector connector;
+        final List<PooledSession> sessions = new ArrayList<>();
+        final Deque<IdleChannel> idleChannels = new ArrayDeque<>();
+        int pendingSessions;
+
+        HostPool(ConnectionKey key, SftpConnector connector) {
+            this.key = key;
+            this.connector = connector;
+        }
+
+        @Nullable
+        PooledSession sessionWithCapacity(int maxChannelsPerSession) {
+            return sessions.stream()
+                    .filter(pooledSession -> pooledSession.channelCount < maxChannelsPerSession)
+                    .filter(PooledSession::isConnected)
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        int channelCount() {
+            return sessions.stream().mapToInt(pooledSession -> pooledSession.channelCount).sum();
+        }
+
+        boolean isEmpty() {
+            return sessions.isEmpty() && pendingSessions == 0;
+        }
+
+        @Nullable
+        PooledSession sessionWithOnlyIdleChannels() {
+            return sessions.stream()
+                    .filter(pooledSession -> pooledSession.channelCount == idleChannelCount(pooledSession))
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        private long idleChannelCount(PooledSession pooledSession) {
+            return idleChannels.stream().filter(idleChannel -> idleChannel.owner() == pooledSession).count();
+        }
+    }
+
+    private record Reservation(HostPool hostPool,
+                               @Nullable IdleChannel idleChannel,
+                               @Nullable PooledSession sessionForNewChannel) {
+    }
+
+    /**
+     * A channel borrowed from the pool. Closing it returns the channel to the pool.
+     */
+    public final class BorrowedChannel implements Closeable {
+
+        private final HostPool hostPool;
+        private final PooledSession owner;
+
+        /**
+         * The borrowed channel.
+         */
+        @Getter
+        private final ChannelSftp channel;
+
+        private boolean released;
+
+        private BorrowedChannel(HostPool hostPool, PooledSession owner, ChannelSftp channel) {
+            this.hostPool = hostPool;
+            this.owner = owner;
+            this.channel = channel;
+        }
+
+        /**
+         * Return the channel to the pool. The channel is discarded instead if it is no longer connected. Does nothing
+         * if the channel was already returned or invalidated.
+         */
+        @Override
+        public void close() {
+            release(this, false);
+        }
+
+        /**
+         * Discard the channel instead of returning it to the pool, e.g., because an error left it in an unknown
+         * state. Does nothing if the channel was already returned or invalidated.
+         */
+        public void invalidate() {
+            release(this, true);
+        }
+    }
+
+    /**
+     * Create a new pool using all default values and no metrics.
+     */
+    public SftpConnectionPool() {
+        this(null, null, null, null, null, null, null, null, null);
+    }
+
+    /**
+     * Create a new pool. Any null arguments use the defaults.
+     *
+     * @param maxSessionsPerHost    the maximum number of sessions for each host and port (default
+     *                              {@link #DEFAULT_MAX_SESSIONS_PER_HOST})
+     * @param maxChannelsPerSession the maximum number of channels for each session (default
+     *                              {@link #DEFAULT_MAX_CHANNELS_PER_SESSION})
+     * @param maxIdleTime           how long a channel can be idle before it is closed (default
+     *                              {@link #DEFAULT_MAX_IDLE_TIME})
+     * @param borrowTimeout         the maximum time to wait to borrow a channel (default
+     *                              {@link #DEFAULT_BORROW_TIMEOUT})
+     * @param evictionInterval      how often to close idle channels, or zero to disable background eviction (default
+     *                              {@link #DEFAULT_EVICTION_INTERVAL})
+     * @param validateOnBorrow      whether to check that idle channels respond before lending them (default true)
+     * @param jschSupplier          supplies the {@link JSch} instance for each distinct connection configuration
+     *                              (default creates a new instance)
+     * @param metricRegistry        the registry in which to record metrics; if null, no metrics are recorded
+     * @param metricNamePrefix      the prefix for metric names (default {@link #DEFAULT_METRIC_NAME_PREFIX})
+     */
+    // Suppress Sonar's "Methods should not have too many parameters". This is used by the builder.
+    @SuppressWarnings({"java:S107"})
+    @lombok.Builder
+    public SftpConnectionPool(@Nullable Integer maxSessionsPerHost,
+                              @Nullable Integer maxChannelsPerSession,
+                              @Nullable Duration maxIdleTime,
+                              @Nullable Duration borrowTimeout,
+                              @Nullable Duration evictionInterval,
+                              @Nullable Boolean validateOnBorrow,
+                              @Nullable Supplier<JSch> jschSupplier,
+                              @Nullable MetricRegistry metricRegistry,
+                              @Nullable String metricNamePrefix) {
+        this.maxSessionsPerHost = requireNonNullElse(maxSessionsPerHost, DEFAULT_MAX_SESSIONS_PER_HOST);
+        this.maxChannelsPerSession = requireNonNullElse(maxChannelsPerSession, DEFAULT_MAX_CHANNELS_PER_SESSION);
+        this.maxIdleTime = requireNonNullElse(maxIdleTime, DEFAULT_MAX_IDLE_TIME);
+        this.borrowTimeout = requireNonNullElse(borrowTimeout, DEFAULT_BORROW_TIMEOUT);
+        var theEvictionInterval = requireNonNullElse(evictionInterval, DEFAULT_EVICTION_INTERVAL);
+        this.validateOnBorrow = requireNonNullElse(validateOnBorrow, true);
+        this.jschSupplier = requireNonNullElse(jschSupplier, JSch::new);
+
+        checkArgument(this.maxSessionsPerHost > 0, "maxSessionsPerHost must be positive");
+        checkArgument(this.maxChannelsPerSession > 0, "maxChannelsPerSession must be positive");
+        checkArgument(this.maxIdleTime.toMillis() >= 0, "maxIdleTime cannot be negative");
+        checkArgument(this.borrowTimeout.toMillis() > 0, "borrowTimeout must be positive");
+        checkArgument(theEvictionInterval.toMillis() >= 0, "evictionInterval cannot be negative");
+
+        if (theEvictionInterval.isZero()) {
+            this.evictionExecutor = null;
+        } else {
+            var threadFactory = new ThreadFactoryBuilder()
+                    .setNameFormat("sftp-connection-pool-evictor-%d")
+                    .setDaemon(true)
+                    .build();
+            this.evictionExecutor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+            var intervalMillis = theEvictionInterval.toMillis();
+            this.evictionExecutor.scheduleWithFixedDelay(this::evictIdleSafely,
+                    intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+
+        if (isNull(metricRegistry)) {
+            this.borrowWaitTimer = null;
+            this.borrowTimeoutsCounter = null;
+            this.sessionsCreatedCounter = null;
+            this.channelsCreatedCounter = null;
+            this.channelsEvictedCounter = null;
+            this.channelsInvalidatedCounter = null;
+        } else {
+            var prefix = requireNonNullElse(metricNamePrefix, DEFAULT_METRIC_NAME_PREFIX);
+            this.borrowWaitTimer = metricRegistry.timer(MetricRegistry.name(prefix, "borrowWait"));
+            this.borrowTimeoutsCounter = metricRegistry.counter(MetricRegistry.name(prefix, "borrowTimeouts"));
+            this.sessionsCreatedCounter = metricRegistry.counter(MetricRegistry.name(prefix, "sessionsCreated"));
+            this.channelsCreatedCounter = metricRegistry.counter(MetricRegistry.name(prefix, "channelsCreated"));
+            this.channelsEvictedCounter = metricRegistry.counter(MetricRegistry.name(prefix, "channelsEvicted"));
+            this.channelsInvalidatedCounter =
+                    metricRegistry.counter(MetricRegistry.name(prefix, "channelsInvalidated"));
+            metricRegistry.gauge(MetricRegistry.name(prefix, "sessions"),
+                    () -> (Gauge<Integer>) () -> getStats().sessions());
+            metricRegistry.gauge(MetricRegistry.name(prefix, "activeChannels"),
+                    () -> (Gauge<Integer>) () -> getStats().activeChannels());
+            metricRegistry.gauge(MetricRegistry.name(prefix, "idleChannels"),
+                    () -> (Gauge<Integer>) () -> getStats().idleChannels());
+        }
+    }
+
+    /**
+     * Borrow a channel for the given configuration, creating a session and/or channel if necessary. The caller must
+     * {@link BorrowedChannel#close() close} the returned channel to return it to the pool, preferably using
+     * try-with-resources.
+     *
+     * @param config the SFTP configuration
+     * @return the borrowed channel
+     * @throws SftpTransfersException        if no channel is available before the borrow timeout, or if a session
+     *                                       or channel cannot be created
+     * @throws IllegalStateException         if the pool is closed
+     * @throws UncheckedInterruptedException if the current thread is interrupted while waiting
+     */
+    public BorrowedChannel borrow(SftpConfig config) {
+        checkArgumentNotNull(config, "config must not be null");
+
+        var startNanos = System.nanoTime();
+        var deadlineNanos = startNanos + borrowTimeout.toNanos();
+        var key = ConnectionKey.of(config);
+
+        BorrowedChannel borrowedChannel = null;
+        while (isNull(borrowedChannel)) {
+            var disconnects = new ArrayList<Runnable>();
+            Reservation reservation;
+            try {
+                reservation = reserve(key, config, deadlineNanos, disconnects);
+            } finally {
+                runAll(disconnects);
+            }
+            borrowedChannel = fulfill(reservation);
+        }
+
+        if (nonNull(borrowWaitTimer)) {
+            borrowWaitTimer.update(Duration.ofNanos(System.nanoTime() - startNanos));
+        }
+        return borrowedChannel;
+    }
+
+    private Reservation reserve(ConnectionKey key,
+                                SftpConfig config,
+                                long deadlineNanos,
+                                List<Runnable> disconnects) {
+        lock.lock();
+        try {
+            while (true) {
+                checkState(!closed, "SftpConnectionPool is closed");
+
+                var hostPool = hostPools.computeIfAbsent(key,
+                        ignored -> new HostPool(key, new SftpConnector(jschSupplier.get(), config)));
+
+                var idleChannel = hostPool.idleChannels.pollFirst();
+                if (nonNull(idleChannel)) {
+                    return new Reservation(hostPool, idleChannel, null);
+                }
+
+                var session = hostPool.sessionWithCapacity(maxChannelsPerSession);
+                if (nonNull(session)) {
+                    session.channelCount++;
+                    return new Reservation(hostPool, null, session);
+                }
+
+                var hostAndPort = key.hostAndPort();
+                if (sessionCount(hostAndPort) >= maxSessionsPerHost) {
+                    closeIdleSessionForOtherKey(hostPool, disconnects);
+                }
+
+                if (sessionCount(hostAndPort) < maxSessionsPerHost) {
+                    hostPool.pendingSessions++;
+                    adjustSessionCount(hostAndPort, 1);
+                    return new Reservation(hostPool, null, null);
+                }
+
+                awaitChannel(key, deadlineNanos);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Must be called while holding the lock
+    private int sessionCount(HostAndPort hostAndPort) {
+        return sessionCountsByHost.getOrDefault(hostAndPort, 0);
+    }
+
+    // Must be called while holding the lock. The count includes sessions that are being created.
+    private void adjustSessionCount(HostAndPort hostAndPort, int delta) {
+        sessionCountsByHost.merge(hostAndPort, delta, (count, theDelta) -> {
+            var newCount = count + theDelta;
+            return newCount == 0 ? null : newCount;
+        });
+    }
+
+    // Must be called while holding the lock. Disconnects are run later, after releasing the lock.
+    private void closeIdleSessionForOtherKey(HostPool hostPool, List<Runnable> disconnects) {
+        var hostAndPort = hostPool.key.hostAndPort();
+        for (var otherHostPool : hostPools.values()) {
+            if (otherHostPool == hostPool || !otherHostPool.key.hostAndPort().equals(hostAndPort)) {
+                continue;
+            }
+
+            var idleSession = otherHostPool.sessionWithOnlyIdleChannels();
+            if (nonNull(idleSession)) {
+                LOG.debug("Closing idle SFTP session to {} to make room for a session to {}",
+                        otherHostPool.key, hostPool.key);
+                var iterator = otherHostPool.idleChannels.iterator();
+                while (iterator.hasNext()) {
+                    var idleChannel = iterator.next();
+                    if (idleChannel.owner() == idleSession) {
+                        iterator.remove();
+                        removeChannel(otherHostPool, idleSession, idleChannel.channel(), disconnects);
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    private void awaitChannel(ConnectionKey key, long deadlineNanos) {
+        var remainingNanos = deadlineNanos - System.nanoTime();
+        if (remainingNanos <= 0) {
+            increment(borrowTimeoutsCounter);
+            throw new SftpTransfersException(
+                    f("Timed out after {} waiting for an SFTP channel to {}", borrowTimeout, key));
+        }
+
+        try {
+            var ignored = channelAvailable.awaitNanos(remainingNanos);
+            LOG.trace("Woke up waiting for channel to {} with {} nanos remaining", key, ignored);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedInterruptedException(e);
+        }
+    }
+
+    @Nullable
+    private BorrowedChannel fulfill(Reservation reservation) {
+        var hostPool = reservation.hostPool();
+
+        if (nonNull(reservation.idleChannel())) {
+            var idleChannel = reservation.idleChannel();
+            if (isUsable(idleChannel)) {
+                return new BorrowedChannel(hostPool, idleChannel.owner(), idleChannel.channel());
+            }
+
+            LOG.debug("Discarding idle SFTP channel that is no longer usable");
+            increment(channelsInvalidatedCounter);
+            discard(hostPool, idleChannel.owner(), idleChannel.channel());
+            return null;
+        }
+
+        if (nonNull(reservation.sessionForNewChannel())) {
+            return openChannel(hostPool, reservation.sessionForNewChannel());
+        }
+
+        return openSessionAndChannel(hostPool);
+    }
+
+    private boolean isUsable(IdleChannel idleChannel) {
+        var channel = idleChannel.channel();
+        if (!channel.isConnected() || !idleChannel.owner().isConnected()) {
+            return false;
+        }
+
+        if (!validateOnBorrow) {
+            return true;
+        }
+
+        try {
+            channel.cd(channel.getHome());
+            return true;
+        } catch (SftpException | RuntimeException e) {
+            LOG.debug("Idle SFTP channel failed validation", e);
+            return false;
+        }
+    }
+
+    private BorrowedChannel openChannel(HostPool hostPool, PooledSession session) {
+        try {
+            var channel = hostPool.connector.openSftpChannel(session.session);
+            increment(channelsCreatedCounter);
+            return new BorrowedChannel(hostPool, session, channel);
+        } catch (RuntimeException e) {
+            var disconnects = new ArrayList<Runnable>();
+            lock.lock();
+            try {
+                session.channelCount--;
+                removeSessionIfUnused(hostPool, session, disconnects);
+                channelAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            runAll(disconnects);
+            throw e;
+        }
+    }
+
+    private BorrowedChannel openSessionAndChannel(HostPool hostPool) {
+        Session session = null;
+        ChannelSftp channel;
+        try {
+            session = hostPool.connector.openSession();
+            increment(sessionsCreatedCounter);
+            channel = hostPool.connector.openSftpChannel(session);
+            increment(channelsCreatedCounter);
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                hostPool.pendingSessions--;
+                adjustSessionCount(hostPool.key.hostAndPort(), -1);
+                channelAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            if (nonNull(session)) {
+                session.disconnect();
+            }
+            throw e;
+        }
+
+        var pooledSession = new PooledSession(session);
+        pooledSession.channelCount = 1;
+        lock.lock();
+        try {
+            hostPool.pendingSessions--;
+            hostPool.sessions.add(pooledSession);
+        } finally {
+            lock.unlock();
+        }
+        return new BorrowedChannel(hostPool, pooledSession, channel);
+    }
+
+    private void release(BorrowedChannel borrowedChannel, boolean invalidate) {
+        var disconnects = new ArrayList<Runnable>();
+        lock.lock();
+        try {
+            if (borrowedChannel.released) {
+                return;
+            }
+            borrowedChannel.released = true;
+
+            var hostPool = borrowedChannel.hostPool;
+            var owner = borrowedChannel.owner;
+            var channel = borrowedChannel.channel;
+            if (invalidate || closed || !channel.isConnected() || !owner.isConnected()) {
+                if (!closed) {
+                    increment(channelsInvalidatedCounter);
+                }
+                removeChannel(hostPool, owner, channel, disconnects);
+            } else {
+                hostPool.idleChannels.addFirst(new IdleChannel(channel, owner, System.nanoTime()));
+            }
+            channelAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        runAll(disconnects);
+    }
+
+    private void discard(HostPool hostPool, PooledSession owner, ChannelSftp channel) {
+        var disconnects = new ArrayList<Runnable>();
+        lock.lock();
+        try {
+            removeChannel(hostPool, owner, channel, disconnects);
+            channelAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        runAll(disconnects);
+    }
+
+    // Must be called while holding the lock. Disconnects are run later, after releasing the lock.
+    private void removeChannel(HostPool hostPool,
+                               PooledSession owner,
+                               ChannelSftp channel,
+                               List<Runnable> disconnects) {
+        owner.channelCount--;
+        disconnects.add(channel::disconnect);
+        removeSessionIfUnused(hostPool, owner, disconnects);
+    }
+
+    // Must be called while holding the lock. Disconnects are run later, after releasing the lock.
+    private void removeSessionIfUnused(HostPool hostPool, PooledSession session, List<Runnable> disconnects) {
+        if (session.channelCount == 0 && hostPool.sessions.remove(session)) {
+            adjustSessionCount(hostPool.key.hostAndPort(), -1);
+            disconnects.add(session.session::disconnect);
+        }
+    }
+
+    /**
+     * Close channels that have been idle for longer than the maximum idle time, and sessions that no longer have any
+     * channels. This is called periodically unless the eviction interval is zero.
+     *
+     * @return the number of channels that were closed
+     */
+    public int evictIdle() {
+        var disconnects = new ArrayList<Runnable>();
+        var evictedCount = 0;
+        lock.lock();
+        try {
+            var now = System.nanoTime();
+            var maxIdleNanos = maxIdleTime.toNanos();
+            for (var hostPool : hostPools.values()) {
+                var iterator = hostPool.idleChannels.iterator();
+                while (iterator.hasNext()) {
+                    var idleChannel = iterator.next();
+                    if (now - idleChannel.idleSinceNanos() >= maxIdleNanos) {
+                        iterator.remove();
+                        removeChannel(hostPool, idleChannel.owner(), idleChannel.channel(), disconnects);
+                        evictedCount++;
+                    }
+                }
+            }
+            hostPools.values().removeIf(HostPool::isEmpty);
+        } finally {
+            lock.unlock();
+        }
+
+        if (evictedCount > 0) {
+            LOG.debug("Evicted {} idle SFTP channels", evictedCount);
+            if (nonNull(channelsEvictedCounter)) {
+                channelsEvictedCounter.inc(evictedCount);
+            }
+        }
+        runAll(disconnects);
+        return evictedCount;
+    }
+
+    private void evictIdleSafely() {
+        try {
+            evictIdle();
+        } catch (RuntimeException e) {
+            LOG.warn("Error evicting idle SFTP channels", e);
+        }
+    }
+
+    /**
+     * @return a snapshot of the current state of the pool
+     */
+    public PoolStats getStats() {
+        lock.lock();
+        try {
+            var sessions = 0;
+            var channels = 0;
+            var idleChannels = 0;
+            for (var hostPool : hostPools.values()) {
+                sessions += hostPool.sessions.size();
+                channels += hostPool.channelCount();
+                idleChannels += hostPool.idleChannels.size();
+            }
+            return new PoolStats(sessions, channels - idleChannels, idleChannels);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Borrow a channel, pass it to the given consumer, and return it to the pool.
+     */
+    void runCommand(SftpConfig config, ThrowingConsumer<ChannelSftp, Exception> consumer) {
+        runCommandWithResponse(config, channel -> {
+            consumer.accept(channel);
+            return null;
+        });
+    }
+
+    /**
+     * Borrow a channel, pass it to the given function, return it to the pool, and return the function's result.
+     */
+    <T> T runCommandWithResponse(SftpConfig config, ThrowingFunction<ChannelSftp, T, Exception> function) {
+        try (var borrowedChannel = borrow(config)) {
+            return function.apply(borrowedChannel.getChannel());
+        } catch (SftpTransfersException | IllegalStateException | UncheckedInterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new SftpTransfersException(e);
+        }
+    }
+
+    /**
+     * Borrow a channel and pass it to the given function, returning a stream that returns the channel to the pool
+     * when it is closed. The stream must be read before it is closed, since the channel cannot be used by anyone else
+     * until then.
+     */
+    InputStream openInputStream(SftpConfig config, ThrowingFunction<ChannelSftp, InputStream, Exception> function) {
+        var borrowedChannel = borrow(config);
+        try {
+            var inputStream = function.apply(borrowedChannel.getChannel());
+            return new FilterInputStream(inputStream) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        borrowedChannel.close();
+                    }
+                }
+            };
+        } catch (Exception e) {
+            borrowedChannel.close();
+            throw new SftpTransfersException(e);
+        }
+    }
+
+    /**
+     * Close the pool. Idle channels, and sessions that have no borrowed channels, are closed immediately. Borrowed
+     * channels are closed, along with their sessions, when they are returned.
+     */
+    @Override
+    public void close() {
+        var disconnects = new ArrayList<Runnable>();
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+
+            for (var hostPool : hostPools.values()) {
+                hostPool.idleChannels.forEach(idleChannel ->
+                        removeChannel(hostPool, idleChannel.owner(), idleChannel.channel(), disconnects));
+                hostPool.idleChannels.clear();
+                for (var session : List.copyOf(hostPool.sessions)) {
+                    removeSessionIfUnused(hostPool, session, disconnects);
+                }
+            }
+            hostPools.values().removeIf(HostPool::isEmpty);
+            channelAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        if (nonNull(evictionExecutor)) {
+            evictionExecutor.shutdownNow();
+        }
+        runAll(disconnects);
+    }
+
+    private static void runAll(List<Runnable> disconnects) {
+        disconnects.forEach(disconnect -> {
+            try {
+                disconnect.run();
+            } catch (RuntimeException e) {
+                LOG.warn("Error disconnecting SFTP channel or session", e);
+            }
+        });
+    }
+
+    private static void increment(@Nullable Counter counter) {
+        if (nonNull(counter)) {
+            counter.inc();
+        }
+    }
+}
@@ -100,33 +100,61 @@ public class SftpConnector {
      * </ul>
      */
     public void connect() {
-        try {
-            LOG.trace("Entering connect()");
+        LOG.trace("Entering connect()");
+
+        session = openSession();
+        sftpChannel = openSftpChannel(session);
+    }
 
+    /**
+     * Creates and connects a new {@link Session} using the configuration in this connector. The new session is
+     * <em>not</em> managed by this connector.
+     *
+     * @return the connected session
+     * @see #connect()
+     */
+    Session openSession() {
+        try {
             LOG.trace("Setting known hosts to {}", config.getKnownHostsFile());
             jsch.setKnownHosts(config.getKnownHostsFile());
 
             LOG.trace("Creating JSch session; connecting to: {}@{}:{}",
                     config.getUser(), config.getHost(), config.getPort());
-            session = jsch.getSession(config.getUser(), config.getHost(), config.getPort());
+            var newSession = jsch.getSession(config.getUser(), config.getHost(), config.getPort());
 
             LOG.trace("Setting timeout to {} milliseconds", config.getTimeout().toMilliseconds());
-            session.setTimeout(Ints.checkedCast(config.getTimeout().toMilliseconds()));
+            newSession.setTimeout(Ints.checkedCast(config.getTimeout().toMilliseconds()));
 
             LOG.trace("Setting preferred authentications to: {}", config.getPreferredAuthentications());
-            session.setConfig("PreferredAuthentications", config.getPreferredAuthentications());
+            newSession.setConfig("PreferredAuthentications", config.getPreferredAuthentications());
+
+            setKeyExchangeTypeIfConfiguredOrDetected(newSession);
 
-            setKeyExchangeTypeIfConfiguredOrDetected();
+            addAuthToSession(config, jsch, newSession);
 
-            addAuthToSession();
+            disableStrictHostKeyCheckingIfConfigured(config, newSession);
 
-            disableStrictHostKeyCheckingIfConfigured();
+            LOG.debug("Attempt session connect using timeout: {} millis", newSession.getTimeout());
+            newSession.connect();
 
-            LOG.debug("Attempt session connect using timeout: {} millis", session.getTimeout());
-            session.connect();
+            LOG.debug("Session connected: {}", newSession.isConnected());
+            return newSession;
+        } catch (JSchException ex) {
+            throw new SftpTransfersException("Error occurred connecting to " + config.getHost(), ex);
+        }
+    }
 
-            LOG.debug("Session connected: {}", session.isConnected());
-            var channel = session.openChannel("sftp");
+    /**
+     * Opens and connects a new SFTP channel on the given session, using the timeout in the configuration of this
+     * connector. The new channel is <em>not</em> managed by this connector.
+     *
+     * @param theSession the connected session
+     * @return the connected channel
+     * @see #connect()
+     */
+    ChannelSftp openSftpChannel(Session theSession) {
+        try {
+            var channel = theSession.openChannel("sftp");
 
             LOG.debug("Attempt openChannel using timeout: {} millis", config.getTimeout().toMilliseconds());
             channel.connect(Ints.checkedCast(config.getTimeout().toMilliseconds()));
@@ -135,17 +163,14 @@ public class SftpConnector {
 
             checkState(channel instanceof ChannelSftp,
                     "Expected channel to be a ChannelSftp, but was a: %s", channel.getClass());
-            sftpChannel = (ChannelSftp) channel;
-            LOG.trace("Ready sftpChannel: {}", sftpChannel);
+            var newSftpChannel = (ChannelSftp) channel;
+            LOG.trace("Ready sftpChannel: {}", newSftpChannel);
+            return newSftpChannel;
         } catch (JSchException ex) {
             throw new SftpTransfersException("Error occurred connecting to " + config.getHost(), ex);
         }
     }
 
-    private void setKeyExchangeTypeIfConfiguredOrDetected() {
-        setKeyExchangeTypeIfConfiguredOrDetected(session);
-    }
-
     @VisibleForTesting
     void setKeyExchangeTypeIfConfiguredOrDetected(Session theSession) {
         getOrDetectKeyExchangeType().ifPresent(keyExchangeType -> setSessionKeyExchangeType(theSession, keyExchangeType));
@@ -174,10 +199,6 @@ public class SftpConnector {
         LOG.debug("Set key exchange type [{}] for host {}", keyExchangeType, config.getHost());
     }
 
-    private void addAuthToSession() throws JSchException {
-        addAuthToSession(config, jsch, session);
-    }
-
     @VisibleForTesting
     static void addAuthToSession(SftpConfig config, JSch jsch, Session session) throws JSchException {
         if (isNotBlank(config.getPrivateKeyFilePath())) {
@@ -193,10 +214,6 @@ public class SftpConnector {
         }
     }
 
-    private void disableStrictHostKeyCheckingIfConfigured() {
-        disableStrictHostKeyCheckingIfConfigured(config, session);
-    }
-
     @VisibleForTesting
     static void disableStrictHostKeyCheckingIfConfigured(SftpConfig config, Session session) {
         if (config.isDisableStrictHostChecking()) {
@@ -0,0 +1,21 @@
+package org.kiwiproject.jsch;
+
+/**
+ * Value class containing the result of a single-file transfer.
+ *
+ * @param fileSize         the size of the transferred file
+ * @param resumedAt        the offset at which the transfer was resumed, or zero if it started from the beginning
+ * @param bytesTransferred the number of bytes transferred by this call, which is zero if the destination file was
+ *                         already complete
+ * @see SftpTransfers#downloadFile(java.nio.file.Path, String, java.nio.file.Path, SftpTransferOptions)
+ * @see SftpTransfers#uploadFile(java.nio.file.Path, java.nio.file.Path, String, SftpTransferOptions)
+ */
+public record SftpFileTransferResult(long fileSize, long resumedAt, long bytesTransferred) {
+
+    /**
+     * @return true if the transfer continued from a partial destination file
+     */
+    public boolean isResumed() {
+        return resumedAt > 0;
+    }
+}
@@ -0,0 +1,51 @@
+package org.kiwiproject.jsch;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Controls what {@link SftpTransfers#syncToLocal(java.nio.file.Path, java.nio.file.Path, SftpSyncOptions)} is allowed
+ * to change in the local directory, and how much work it does at once. The defaults only add and update local files,
+ * one at a time, and never delete anything.
+ */
+@Builder
+@Getter
+public class SftpSyncOptions {
+
+    /**
+     * Whether to delete local files and directories that no longer exist on the remote server. Default is false.
+     */
+    @Builder.Default
+    private final boolean deleteMissing = false;
+
+    /**
+     * Whether to only determine what would be transferred and deleted, without changing anything. Default is false.
+     */
+    @Builder.Default
+    private final boolean dryRun = false;
+
+    /**
+     * The maximum number of directories to list, or files to transfer, at the same time. Must be positive. Default
+     * is 1. Values greater than 1 only have an effect when the {@link SftpTransfers} instance is pooled.
+     */
+    @Builder.Default
+    private final int maxConcurrency = 1;
+
+    // Called by the builder, which has already replaced unset options with their defaults
+    private SftpSyncOptions(boolean deleteMissing, boolean dryRun, int maxConcurrency) {
+        checkArgument(maxConcurrency > 0, "maxConcurrency must be positive");
+
+        this.deleteMissing = deleteMissing;
+        this.dryRun = dryRun;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * @return options that transfer new and changed files one at a time, without deleting any local files
+     */
+    public static SftpSyncOptions defaults() {
+        return builder().build();
+    }
+}
@@ -0,0 +1,22 @@
+package org.kiwiproject.jsch;
+
+/**
+ * Value class summarizing a synchronization of a remote directory tree to a local directory.
+ * <p>
+ * For a dry run, the counts are what would have been transferred or deleted.
+ *
+ * @param directoryCount   the number of remote directories that were visited, including the top-level directory
+ * @param filesTransferred the number of new or changed files that were transferred
+ * @param bytesTransferred the total number of bytes that were transferred
+ * @param filesUnchanged   the number of files that were already up to date
+ * @param filesDeleted     the number of local files that were deleted because they no longer exist remotely
+ * @param dryRun           whether this was a dry run, in which case nothing was actually changed
+ * @see SftpTransfers#syncToLocal(java.nio.file.Path, java.nio.file.Path, SftpSyncOptions)
+ */
+public record SftpSyncSummary(long directoryCount,
+                              long filesTransferred,
+                              long bytesTransferred,
+                              long filesUnchanged,
+                              long filesDeleted,
+                              boolean dryRun) {
+}
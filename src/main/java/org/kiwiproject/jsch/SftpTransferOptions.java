@@ -0,0 +1,102 @@
+package org.kiwiproject.jsch;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Optional;
+
+/**
+ * Controls how {@link SftpTransfers#downloadFile} and {@link SftpTransfers#uploadFile} copy a single file: whether
+ * an interrupted transfer is resumed, the size of the copy buffer, how the result is verified, and who is notified of
+ * progress. By default, partial transfers are resumed and the size of the destination file is verified.
+ */
+@Builder
+@Getter
+public class SftpTransferOptions {
+
+    /**
+     * The default size of the buffer used to copy data, 1 MiB.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * Whether to resume a partial transfer from the size of the existing destination file. Default is true.
+     * <p>
+     * If the existing destination file is larger than the source file, it is overwritten instead.
+     */
+    @Builder.Default
+    private final boolean resume = true;
+
+    /**
+     * The size of the buffer used to copy data. Must be positive. Default is {@link #DEFAULT_BUFFER_SIZE}.
+     */
+    @Builder.Default
+    private final int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    /**
+     * Whether to verify that the size of the destination file matches the size of the source file after the
+     * transfer. Default is true.
+     */
+    @Builder.Default
+    private final boolean verifySize = true;
+
+    @Nullable
+    private final String expectedSha256;
+
+    @Nullable
+    private final SftpTransferProgressListener progressListener;
+
+    // Called by the builder, which has already replaced unset options with their defaults
+    private SftpTransferOptions(boolean resume,
+                                int bufferSize,
+                                boolean verifySize,
+                                @Nullable String expectedSha256,
+                                @Nullable SftpTransferProgressListener progressListener) {
+        checkArgument(bufferSize > 0, "bufferSize must be positive");
+        checkArgument(isNull(expectedSha256) || expectedSha256.matches("\\p{XDigit}{64}"),
+                "expectedSha256 must be 64 hexadecimal characters");
+
+        this.resume = resume;
+        this.bufferSize = bufferSize;
+        this.verifySize = verifySize;
+        this.expectedSha256 = expectedSha256;
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * @return options that resume partial transfers and verify only the size of the destination file, without
+     * reporting progress
+     */
+    public static SftpTransferOptions defaults() {
+        return builder().build();
+    }
+
+    /**
+     * The expected SHA-256 digest of the file, as hexadecimal, if the destination file should be verified against
+     * it after the transfer. For downloads, the local file is hashed; for uploads, the remote file is read back and
+     * hashed, which requires reading the entire file again.
+     *
+     * @return an Optional containing the expected digest, or an empty Optional if it should not be verified
+     */
+    public Optional<String> getExpectedSha256() {
+        return Optional.ofNullable(expectedSha256);
+    }
+
+    /**
+     * @return an Optional containing the listener to notify of progress, or an empty Optional if there is none
+     */
+    public Optional<SftpTransferProgressListener> getProgressListener() {
+        return Optional.ofNullable(progressListener);
+    }
+
+    void notifyProgress(long bytesTransferred, long totalBytes) {
+        if (nonNull(progressListener)) {
+            progressListener.onProgress(bytesTransferred, totalBytes);
+        }
+    }
+}
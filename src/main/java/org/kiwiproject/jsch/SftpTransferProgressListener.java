@@ -0,0 +1,19 @@
+package org.kiwiproject.jsch;
+
+/**
+ * Receives progress updates during a single-file transfer.
+ *
+ * @see SftpTransferOptions
+ */
+@FunctionalInterface
+public interface SftpTransferProgressListener {
+
+    /**
+     * Called each time a chunk of the file has been transferred. When a transfer is resumed, the first call includes
+     * the bytes that had already been transferred.
+     *
+     * @param bytesTransferred the number of bytes of the file transferred so far
+     * @param totalBytes       the size of the file being transferred
+     */
+    void onProgress(long bytesTransferred, long totalBytes);
+}
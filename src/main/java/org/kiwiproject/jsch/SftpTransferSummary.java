@@ -0,0 +1,13 @@
+package org.kiwiproject.jsch;
+
+/**
+ * Value class summarizing a transfer of a directory tree to or from a remote SFTP server.
+ *
+ * @param directoryCount the number of directories that were visited, including the top-level directory
+ * @param fileCount      the number of files that were transferred
+ * @param byteCount      the total number of bytes that were transferred
+ * @see SftpTransfers#getAll(java.nio.file.Path, java.nio.file.Path, int)
+ * @see SftpTransfers#putAll(java.nio.file.Path, java.nio.file.Path, int)
+ */
+public record SftpTransferSummary(long directoryCount, long fileCount, long byteCount) {
+}
@@ -1,56 +1,135 @@
 package org.kiwiproject.jsch;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.stream.Collectors.toSet;
+import static org.kiwiproject.base.KiwiPreconditions.checkArgumentNotBlank;
+import static org.kiwiproject.base.KiwiPreconditions.checkArgumentNotNull;
+import static org.kiwiproject.base.KiwiStrings.f;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.jcraft.jsch.ChannelSftp;
 import com.jcraft.jsch.JSch;
+import com.jcraft.jsch.SftpATTRS;
 import com.jcraft.jsch.SftpException;
 import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.kiwiproject.base.UncheckedInterruptedException;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
 
 /**
  * A simple wrapper around a {@link JSch} instance that handles some basic SFTP operations.
+ * <p>
+ * Instances created with an {@link SftpConnector} use that connector's single session and channel, and must be
+ * connected before use. Instances created with an {@link SftpConnectionPool} borrow a channel from the pool for each
+ * operation, so they do not need to be connected or disconnected and can safely be used by multiple threads.
  *
  * @implNote This requires JSch being available at runtime.
  */
 @Slf4j
 public class SftpTransfers {
 
+    @Nullable
     private final SftpConnector connector;
 
+    @Nullable
+    private final SftpConnectionPool connectionPool;
+
+    @Nullable
+    private final SftpConfig config;
+
+    private static final String SYNC_TEMP_FILE_SUFFIX = ".sftp-sync-tmp";
+
     static {
         JSch.setLogger(new JSchSlf4jLogger(LOG));
     }
 
     public SftpTransfers(SftpConnector connector) {
         this.connector = connector;
+        this.connectionPool = null;
+        this.config = null;
     }
 
     /**
-     * Connects to the remote SFTP server.
+     * Create a new instance that borrows channels from the given pool.
+     *
+     * @param connectionPool the pool from which to borrow channels
+     * @param config         the configuration of the remote SFTP server
+     */
+    public SftpTransfers(SftpConnectionPool connectionPool, SftpConfig config) {
+        checkArgumentNotNull(connectionPool, "connectionPool must not be null");
+        checkArgumentNotNull(config, "config must not be null");
+
+        this.connector = null;
+        this.connectionPool = connectionPool;
+        this.config = config;
+    }
+
+    /**
+     * @return true if this instance borrows channels from an {@link SftpConnectionPool}
+     */
+    public boolean isPooled() {
+        return nonNull(connectionPool);
+    }
+
+    /**
+     * Connects to the remote SFTP server. Does nothing if this instance {@link #isPooled() is pooled}.
      *
      * @apiNote This is a convenience method that delegates to the internal {@link SftpConnector#connect()}
      */
     public void connect() {
+        if (isPooled()) {
+            LOG.trace("Ignoring connect since channels are borrowed from a pool");
+            return;
+        }
         connector.connect();
     }
 
     /**
-     * Disconnects from the remote SFTP server.
+     * Disconnects from the remote SFTP server. Does nothing if this instance {@link #isPooled() is pooled}.
      *
      * @apiNote This is a convenience method that delegates to the internal {@link SftpConnector#disconnect()}
      */
     public void disconnect() {
+        if (isPooled()) {
+            LOG.trace("Ignoring disconnect since channels are borrowed from a pool");
+            return;
+        }
         connector.disconnect();
     }
 
@@ -62,7 +141,7 @@ public class SftpTransfers {
      * @param data       the stream of data to write to the remote server
      */
     public void putFile(Path remotePath, String filename, InputStream data) {
-        connector.runCommand(channel -> {
+        runCommand(channel -> {
             changeOrCreateRemoteDirectory(channel, remotePath);
             channel.put(data, filename);
         });
@@ -94,6 +173,7 @@ public class SftpTransfers {
      * @param remotePath            path on the remote server where the file is located
      * @param localPathSupplier     supplier that calculates the path on the local machine where the file will be written
      * @param localFilenameSupplier supplier that calculates the name of the file that will be written locally
+     * @see #getAndStoreAllFiles(Path, BiFunction, BiFunction, int)
      */
     public void getAndStoreAllFiles(Path remotePath,
                                     BiFunction<Path, String, Path> localPathSupplier,
@@ -107,6 +187,430 @@ public class SftpTransfers {
                 getAndStoreAllFiles(remotePath.resolve(directory), localPathSupplier, localFilenameSupplier));
     }
 
+    /**
+     * Recursively gets files off of a remote server starting in the given path, and stores them locally under the
+     * given local path, using the same relative directory structure and filenames.
+     *
+     * @param remotePath     path on the remote server where the files are located
+     * @param localPath      path on the local machine where the files will be written
+     * @param maxConcurrency the maximum number of directories to list, or files to transfer, at the same time
+     * @return a summary of the transfer
+     * @see #getAndStoreAllFiles(Path, BiFunction, BiFunction, int)
+     */
+    public SftpTransferSummary getAll(Path remotePath, Path localPath, int maxConcurrency) {
+        checkArgumentNotNull(remotePath, "remotePath must not be null");
+        checkArgumentNotNull(localPath, "localPath must not be null");
+
+        return getAndStoreAllFiles(remotePath,
+                (rPath, rFile) -> localPath.resolve(remotePath.relativize(rPath).toString()),
+                (rPath, rFile) -> rFile,
+                maxConcurrency);
+    }
+
+    /**
+     * Recursively gets files off of a remote server starting in the given path and stores the files locally, in the
+     * same way as {@link #getAndStoreAllFiles(Path, BiFunction, BiFunction)}, but listing and transferring files
+     * concurrently.
+     * <p>
+     * Each remote directory is listed once, and its entries are classified as files or directories using their
+     * attributes. Each directory listing and each file transfer is a separate task, and up to
+     * {@code maxConcurrency} tasks run at the same time. If any task fails, no new tasks are started, and an
+     * {@link SftpTransfersException} is thrown once the running tasks have finished.
+     * <p>
+     * Tasks only run concurrently when this instance {@link #isPooled() is pooled}, in which case each task borrows
+     * its own channel from the pool. Otherwise, they all share the connector's single channel and run one at a time.
+     *
+     * @param remotePath            path on the remote server where the files are located
+     * @param localPathSupplier     supplier that calculates the path on the local machine where the file will be written
+     * @param localFilenameSupplier supplier that calculates the name of the file that will be written locally
+     * @param maxConcurrency        the maximum number of directories to list, or files to transfer, at the same time
+     * @return a summary of the transfer
+     * @throws IllegalArgumentException if maxConcurrency is not positive
+     */
+    public SftpTransferSummary getAndStoreAllFiles(Path remotePath,
+                                                   BiFunction<Path, String, Path> localPathSupplier,
+                                                   BiFunction<Path, String, String> localFilenameSupplier,
+                                                   int maxConcurrency) {
+        checkArgumentNotNull(remotePath, "remotePath must not be null");
+        checkArgumentNotNull(localPathSupplier, "localPathSupplier must not be null");
+        checkArgumentNotNull(localFilenameSupplier, "localFilenameSupplier must not be null");
+        checkArgument(maxConcurrency > 0, "maxConcurrency must be positive");
+
+        var treeTransfer = new TreeTransfer(maxConcurrency);
+        treeTransfer.submit(() ->
+                getDirectory(treeTransfer, remotePath, localPathSupplier, localFilenameSupplier));
+        return treeTransfer.awaitSummary();
+    }
+
+    private void getDirectory(TreeTransfer treeTransfer,
+                              Path remoteDirectory,
+                              BiFunction<Path, String, Path> localPathSupplier,
+                              BiFunction<Path, String, String> localFilenameSupplier) {
+
+        var entries = runCommandWithResponse(channel -> ls(channel, remoteDirectory));
+        treeTransfer.directoryVisited();
+
+        for (var entry : entries) {
+            var name = entry.getFilename();
+            if (isCurrentOrParentDirectory(name)) {
+                continue;
+            }
+
+            if (entry.getAttrs().isDir()) {
+                var remoteSubdirectory = remoteDirectory.resolve(name);
+                treeTransfer.submit(() ->
+                        getDirectory(treeTransfer, remoteSubdirectory, localPathSupplier, localFilenameSupplier));
+            } else {
+                treeTransfer.submit(() ->
+                        getFile(treeTransfer, remoteDirectory, name, localPathSupplier, localFilenameSupplier));
+            }
+        }
+    }
+
+    private static boolean isCurrentOrParentDirectory(String filename) {
+        return ".".equals(filename) || "..".equals(filename);
+    }
+
+    private void getFile(TreeTransfer treeTransfer,
+                         Path remoteDirectory,
+                         String remoteFilename,
+                         BiFunction<Path, String, Path> localPathSupplier,
+                         BiFunction<Path, String, String> localFilenameSupplier) {
+
+        long byteCount = runCommandWithResponse(channel -> {
+            var localPath = localPathSupplier.apply(remoteDirectory, remoteFilename);
+            ensureLocalDirectoryExists(localPath);
+
+            try (var inputStream = channel.get(remoteDirectory.resolve(remoteFilename).toString())) {
+                var resolvedLocalPath = localPath.resolve(localFilenameSupplier.apply(remoteDirectory, remoteFilename));
+                return Files.copy(inputStream, resolvedLocalPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        });
+        treeTransfer.fileTransferred(byteCount);
+    }
+
+    /**
+     * Recursively pushes the files in the given local directory to the remote server, using the same relative
+     * directory structure and filenames under the given remote path. Remote directories are created as needed, and
+     * existing remote files are overwritten. Only regular files and directories are transferred.
+     * <p>
+     * Each local directory and each file transfer is a separate task, and up to {@code maxConcurrency} tasks run at
+     * the same time. If any task fails, no new tasks are started, and an {@link SftpTransfersException} is thrown once
+     * the running tasks have finished.
+     * <p>
+     * Tasks only run concurrently when this instance {@link #isPooled() is pooled}, in which case each task borrows
+     * its own channel from the pool. Otherwise, they all share the connector's single channel and run one at a time.
+     *
+     * @param localPath      the local directory containing the files to push
+     * @param remotePath     path on the remote server where the files will be created
+     * @param maxConcurrency the maximum number of directories to create, or files to transfer, at the same time
+     * @return a summary of the transfer
+     * @throws IllegalArgumentException if localPath is not a directory, or maxConcurrency is not positive
+     */
+    public SftpTransferSummary putAll(Path localPath, Path remotePath, int maxConcurrency) {
+        checkArgumentNotNull(localPath, "localPath must not be null");
+        checkArgument(Files.isDirectory(localPath), "localPath must be a directory");
+        checkArgumentNotNull(remotePath, "remotePath must not be null");
+        checkArgument(maxConcurrency > 0, "maxConcurrency must be positive");
+
+        var treeTransfer = new TreeTransfer(maxConcurrency);
+        treeTransfer.submit(() -> putDirectory(treeTransfer, localPath, remotePath));
+        return treeTransfer.awaitSummary();
+    }
+
+    private void putDirectory(TreeTransfer treeTransfer, Path localDirectory, Path remoteDirectory) {
+        runCommand(channel -> createRemoteDirectoryIfMissing(channel, remoteDirectory));
+        treeTransfer.directoryVisited();
+
+        List<Path> children;
+        try (var paths = Files.list(localDirectory)) {
+            children = paths.toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        for (var child : children) {
+            var remoteChild = remoteDirectory.resolve(child.getFileName().toString());
+            if (Files.isDirectory(child)) {
+                treeTransfer.submit(() -> putDirectory(treeTransfer, child, remoteChild));
+            } else if (Files.isRegularFile(child)) {
+                treeTransfer.submit(() -> putLocalFile(treeTransfer, child, remoteChild));
+            } else {
+                LOG.debug("Skipping {} since it is not a regular file or directory", child);
+            }
+        }
+    }
+
+    private static void createRemoteDirectoryIfMissing(ChannelSftp channel, Path path) throws SftpException {
+        try {
+            var attrs = channel.stat(path.toString());
+            if (!attrs.isDir()) {
+                throw new SftpException(ChannelSftp.SSH_FX_FAILURE, path + " exists but is not a directory");
+            }
+        } catch (SftpException e) {
+            if (e.id != ChannelSftp.SSH_FX_NO_SUCH_FILE) {
+                throw e;
+            }
+
+            LOG.debug("Directory {} did not exist. Will create it", path);
+            channel.mkdir(path.toString());
+        }
+    }
+
+    private void putLocalFile(TreeTransfer treeTransfer, Path localFile, Path remoteFile) {
+        long byteCount = runCommandWithResponse(channel -> {
+            var size = Files.size(localFile);
+            try (var inputStream = Files.newInputStream(localFile)) {
+                channel.put(inputStream, remoteFile.toString());
+            }
+            return size;
+        });
+        treeTransfer.fileTransferred(byteCount);
+    }
+
+    /**
+     * Synchronizes the given local directory with the given remote directory, recursively, transferring only files
+     * that are new or have changed since the last synchronization.
+     * <p>
+     * A remote file is considered unchanged if a local regular file with the same relative path exists and has the
+     * same size and (to the second) the same modification time. Transferred files are given the remote modification
+     * time, so that they are seen as unchanged by later synchronizations. Each file is first written to a temporary
+     * file in the same directory, which is then moved into place, so that a failed transfer never leaves a partial
+     * file under the real name.
+     * <p>
+     * If {@link SftpSyncOptions#isDeleteMissing() deleteMissing} is enabled, local files and directories that no
+     * longer exist in the remote directory are deleted. If {@link SftpSyncOptions#isDryRun() dryRun} is enabled,
+     * nothing is transferred or deleted, and the returned summary describes what would have been done.
+     * <p>
+     * As with {@link #getAndStoreAllFiles(Path, BiFunction, BiFunction, int)}, remote directories are listed once
+     * each, and tasks only run concurrently when this instance {@link #isPooled() is pooled}.
+     *
+     * @param remotePath path on the remote server of the directory to synchronize from
+     * @param localPath  path on the local machine of the directory to synchronize to
+     * @param options    the synchronization options
+     * @return a summary of the synchronization
+     * @throws SftpTransfersException if listing, transferring, or deleting fails
+     */
+    public SftpSyncSummary syncToLocal(Path remotePath, Path localPath, SftpSyncOptions options) {
+        checkArgumentNotNull(remotePath, "remotePath must not be null");
+        checkArgumentNotNull(localPath, "localPath must not be null");
+        checkArgumentNotNull(options, "options must not be null");
+
+        var treeTransfer = new TreeTransfer(options.getMaxConcurrency());
+        var unchangedCount = new LongAdder();
+        var deletedCount = new LongAdder();
+        treeTransfer.submit(() -> syncDirectory(treeTransfer, unchangedCount, deletedCount,
+                remotePath, localPath, options));
+        treeTransfer.awaitCompletion();
+
+        var summary = new SftpSyncSummary(treeTransfer.directoryCount.sum(),
+                treeTransfer.fileCount.sum(),
+                treeTransfer.byteCount.sum(),
+                unchangedCount.sum(),
+                deletedCount.sum(),
+                options.isDryRun());
+        LOG.debug("Synchronized {} to {}: {}", remotePath, localPath, summary);
+        return summary;
+    }
+
+    // Suppress Sonar's "Methods should not have too many parameters". This is a private helper.
+    @SuppressWarnings({"java:S107"})
+    private void syncDirectory(TreeTransfer treeTransfer,
+                               LongAdder unchangedCount,
+                               LongAdder deletedCount,
+                               Path remoteDirectory,
+                               Path localDirectory,
+                               SftpSyncOptions options) {
+
+        var entries = runCommandWithResponse(channel -> ls(channel, remoteDirectory));
+        treeTransfer.directoryVisited();
+
+        var remoteNames = entries.stream()
+                .map(ChannelSftp.LsEntry::getFilename)
+                .filter(name -> !isCurrentOrParentDirectory(name))
+                .collect(toSet());
+
+        // Delete before submitting any file tasks, so that their temporary files cannot be mistaken for deleted ones
+        if (options.isDeleteMissing()) {
+            deleteLocalEntriesMissingRemotely(localDirectory, remoteNames, deletedCount, options.isDryRun());
+        }
+
+        for (var entry : entries) {
+            var name = entry.getFilename();
+            if (isCurrentOrParentDirectory(name)) {
+                continue;
+            }
+
+            var attrs = entry.getAttrs();
+            var remoteChild = remoteDirectory.resolve(name);
+            var localChild = localDirectory.resolve(name);
+            if (attrs.isDir()) {
+                treeTransfer.submit(() -> syncDirectory(treeTransfer, unchangedCount, deletedCount,
+                        remoteChild, localChild, options));
+            } else if (isUnchanged(localChild, attrs)) {
+                unchangedCount.increment();
+            } else if (options.isDryRun()) {
+                LOG.debug("Dry run: would transfer {} to {}", remoteChild, localChild);
+                treeTransfer.fileTransferred(attrs.getSize());
+            } else {
+                treeTransfer.submit(() -> syncFile(treeTransfer, remoteChild, localChild, attrs));
+            }
+        }
+    }
+
+    private static boolean isUnchanged(Path localFile, SftpATTRS remoteAttrs) {
+        try {
+            var localAttrs = Files.readAttributes(localFile, BasicFileAttributes.class);
+            return localAttrs.isRegularFile()
+                    && localAttrs.size() == remoteAttrs.getSize()
+                    && localAttrs.lastModifiedTime().to(TimeUnit.SECONDS) == remoteAttrs.getMTime();
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void syncFile(TreeTransfer treeTransfer, Path remoteFile, Path localFile, SftpATTRS remoteAttrs) {
+        long byteCount = runCommandWithResponse(channel -> {
+            ensureLocalDirectoryExists(localFile.toAbsolutePath().getParent());
+
+            var tempFile = localFile.resolveSibling(localFile.getFileName() + SYNC_TEMP_FILE_SUFFIX);
+            try (var inputStream = channel.get(remoteFile.toString())) {
+                var bytesCopied = Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+                Files.setLastModifiedTime(tempFile, FileTime.from(remoteAttrs.getMTime(), TimeUnit.SECONDS));
+                Files.move(tempFile, localFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                return bytesCopied;
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        });
+
+        LOG.debug("Transferred {} to {} ({} bytes)", remoteFile, localFile, byteCount);
+        treeTransfer.fileTransferred(byteCount);
+    }
+
+    private static void deleteLocalEntriesMissingRemotely(Path localDirectory,
+                                                          Set<String> remoteNames,
+                                                          LongAdder deletedCount,
+                                                          boolean dryRun) {
+        if (!Files.isDirectory(localDirectory)) {
+            return;
+        }
+
+        try (var localChildren = Files.list(localDirectory)) {
+            var missingChildren = localChildren
+                    .filter(localChild -> !remoteNames.contains(localChild.getFileName().toString()))
+                    .toList();
+
+            for (var missingChild : missingChildren) {
+                deletedCount.add(deleteRecursively(missingChild, dryRun));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Delete the given file, or directory and its contents, returning the number of files (not directories) deleted.
+     */
+    private static long deleteRecursively(Path path, boolean dryRun) throws IOException {
+        List<Path> paths;
+        try (var pathStream = Files.walk(path)) {
+            paths = pathStream.sorted(Comparator.reverseOrder()).toList();
+        }
+
+        long fileCount = 0;
+        for (var pathToDelete : paths) {
+            var isDirectory = Files.isDirectory(pathToDelete, LinkOption.NOFOLLOW_LINKS);
+            if (dryRun) {
+                LOG.debug("Dry run: would delete {}", pathToDelete);
+            } else {
+                LOG.debug("Deleting {} since it no longer exists remotely", pathToDelete);
+                Files.delete(pathToDelete);
+            }
+
+            if (!isDirectory) {
+                fileCount++;
+            }
+        }
+        return fileCount;
+    }
+
+    /**
+     * Runs the directory and file tasks of a tree transfer on a dedicated executor, and keeps track of when all of
+     * them, including the ones they submit, have finished.
+     */
+    private final class TreeTransfer {
+
+        private final ExecutorService executor;
+        private final AtomicInteger pendingTaskCount = new AtomicInteger();
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+        private final AtomicReference<RuntimeException> firstError = new AtomicReference<>();
+        private final LongAdder directoryCount = new LongAdder();
+        private final LongAdder fileCount = new LongAdder();
+        private final LongAdder byteCount = new LongAdder();
+
+        TreeTransfer(int maxConcurrency) {
+            var threadCount = isPooled() ? maxConcurrency : 1;
+            var threadFactory = new ThreadFactoryBuilder().setNameFormat("sftp-transfer-%d").setDaemon(true).build();
+            this.executor = Executors.newFixedThreadPool(threadCount, threadFactory);
+        }
+
+        void submit(Runnable task) {
+            pendingTaskCount.incrementAndGet();
+            executor.execute(() -> {
+                try {
+                    if (isNull(firstError.get())) {
+                        task.run();
+                    }
+                } catch (RuntimeException e) {
+                    if (!firstError.compareAndSet(null, e)) {
+                        LOG.debug("Ignoring additional error after the first failure", e);
+                    }
+                } finally {
+                    if (pendingTaskCount.decrementAndGet() == 0) {
+                        completion.complete(null);
+                    }
+                }
+            });
+        }
+
+        void directoryVisited() {
+            directoryCount.increment();
+        }
+
+        void fileTransferred(long bytes) {
+            fileCount.increment();
+            byteCount.add(bytes);
+        }
+
+        SftpTransferSummary awaitSummary() {
+            awaitCompletion();
+            return new SftpTransferSummary(directoryCount.sum(), fileCount.sum(), byteCount.sum());
+        }
+
+        void awaitCompletion() {
+            try {
+                completion.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new UncheckedInterruptedException(e);
+            } catch (ExecutionException e) {
+                throw new SftpTransfersException(e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+
+            var error = firstError.get();
+            if (error instanceof SftpTransfersException sftpTransfersException) {
+                throw sftpTransfersException;
+            } else if (nonNull(error)) {
+                throw new SftpTransfersException(error);
+            }
+        }
+    }
+
     /**
      * Gets a file off of a remote server in the given path and with the given filename and stores the file locally in
      * a given path and the original (remote) filename.
@@ -148,7 +652,7 @@ public class SftpTransfers {
                                 String remoteFilename,
                                 BiFunction<Path, String, String> localFilenameSupplier) {
 
-        connector.runCommand(channel -> {
+        runCommand(channel -> {
             changeToRemoteDirectory(channel, remotePath);
 
             var localPath = localPathSupplier.apply(remotePath, remoteFilename);
@@ -168,6 +672,238 @@ public class SftpTransfers {
         }
     }
 
+    /**
+     * Gets a file off of a remote server and streams it directly into the given local file, using the given options.
+     * <p>
+     * If {@link SftpTransferOptions#isResume() resume} is enabled and the local file already exists and is smaller
+     * than the remote file, only the remaining bytes are transferred and appended to it. If it is the same size, it is
+     * assumed to be complete and nothing is transferred. If the transfer fails part way, the partial local file is
+     * kept, so that calling this method again continues where it stopped.
+     *
+     * @param remotePath     path on the remote server where the file is located
+     * @param remoteFilename name of the file to pull from the remote server
+     * @param localFile      the local file to write
+     * @param options        the transfer options
+     * @return the result of the transfer
+     * @throws SftpTransfersException if the transfer fails, or the local file fails verification
+     */
+    public SftpFileTransferResult downloadFile(Path remotePath,
+                                               String remoteFilename,
+                                               Path localFile,
+                                               SftpTransferOptions options) {
+        checkArgumentNotNull(remotePath, "remotePath must not be null");
+        checkArgumentNotBlank(remoteFilename, "remoteFilename must not be blank");
+        checkArgumentNotNull(localFile, "localFile must not be null");
+        checkArgumentNotNull(options, "options must not be null");
+
+        var remoteFile = remotePath.resolve(remoteFilename).toString();
+        var result = runCommandWithResponse(channel -> {
+            var remoteSize = channel.stat(remoteFile).getSize();
+            var localSize = Files.exists(localFile) ? Files.size(localFile) : 0;
+            var resumeAt = resumeOffset(options, localSize, remoteSize);
+            if (resumeAt > 0 && resumeAt == remoteSize) {
+                LOG.debug("Local file {} is already complete; not transferring {}", localFile, remoteFile);
+                return new SftpFileTransferResult(remoteSize, resumeAt, 0);
+            }
+
+            var localDirectory = localFile.toAbsolutePath().getParent();
+            if (nonNull(localDirectory)) {
+                ensureLocalDirectoryExists(localDirectory);
+            }
+
+            try (var fileChannel = FileChannel.open(localFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                fileChannel.truncate(resumeAt);
+                fileChannel.position(resumeAt);
+
+                LOG.debug("Getting {} to {} starting at offset {}", remoteFile, localFile, resumeAt);
+                try (var inputStream = channel.get(remoteFile, null, resumeAt)) {
+                    var bytesTransferred = copy(inputStream, fileChannel, resumeAt, remoteSize, options);
+                    return new SftpFileTransferResult(remoteSize, resumeAt, bytesTransferred);
+                }
+            }
+        });
+
+        if (options.isVerifySize()) {
+            verifySize(localFile.toString(), result.fileSize(), sizeOf(localFile));
+        }
+        options.getExpectedSha256().ifPresent(expectedSha256 ->
+                verifySha256(localFile.toString(), expectedSha256, sha256Of(localFile, options.getBufferSize())));
+
+        return result;
+    }
+
+    /**
+     * Pushes the given local file to a remote SFTP server, streaming it directly from the file, using the given
+     * options. The remote directory must already exist.
+     * <p>
+     * If {@link SftpTransferOptions#isResume() resume} is enabled and the remote file already exists and is smaller
+     * than the local file, only the remaining bytes are transferred and appended to it (using JSch's
+     * {@link ChannelSftp#RESUME} mode). If it is the same size, it is assumed to be complete and nothing is
+     * transferred. If the transfer fails part way, calling this method again continues where it stopped.
+     *
+     * @param localFile      the local file to push
+     * @param remotePath     path on the remote server where the file will be created
+     * @param remoteFilename the filename to give the file on the remote server
+     * @param options        the transfer options
+     * @return the result of the transfer
+     * @throws SftpTransfersException if the transfer fails, or the remote file fails verification
+     */
+    public SftpFileTransferResult uploadFile(Path localFile,
+                                             Path remotePath,
+                                             String remoteFilename,
+                                             SftpTransferOptions options) {
+        checkArgumentNotNull(localFile, "localFile must not be null");
+        checkArgument(Files.isRegularFile(localFile), "localFile must be a regular file");
+        checkArgumentNotNull(remotePath, "remotePath must not be null");
+        checkArgumentNotBlank(remoteFilename, "remoteFilename must not be blank");
+        checkArgumentNotNull(options, "options must not be null");
+
+        var remoteFile = remotePath.resolve(remoteFilename).toString();
+        var result = runCommandWithResponse(channel -> {
+            var localSize = Files.size(localFile);
+            var remoteSize = remoteSizeOrZero(channel, remoteFile);
+            var resumeAt = resumeOffset(options, remoteSize, localSize);
+            if (resumeAt > 0 && resumeAt == localSize) {
+                LOG.debug("Remote file {} is already complete; not transferring {}", remoteFile, localFile);
+                return new SftpFileTransferResult(localSize, resumeAt, 0);
+            }
+
+            var mode = resumeAt > 0 ? ChannelSftp.RESUME : ChannelSftp.OVERWRITE;
+            LOG.debug("Putting {} to {} starting at offset {}", localFile, remoteFile, resumeAt);
+            try (var fileChannel = FileChannel.open(localFile, StandardOpenOption.READ);
+                 var outputStream = channel.put(remoteFile, null, mode, 0)) {
+                fileChannel.position(resumeAt);
+                var bytesTransferred = copy(fileChannel, outputStream, resumeAt, localSize, options);
+                return new SftpFileTransferResult(localSize, resumeAt, bytesTransferred);
+            }
+        });
+
+        if (options.isVerifySize()) {
+            var remoteSize = runCommandWithResponse(channel -> channel.stat(remoteFile).getSize());
+            verifySize(remoteFile, result.fileSize(), remoteSize);
+        }
+        options.getExpectedSha256().ifPresent(expectedSha256 -> {
+            var remoteSha256 = runCommandWithResponse(channel -> {
+                try (var inputStream = channel.get(remoteFile)) {
+                    return sha256Of(inputStream, options.getBufferSize());
+                }
+            });
+            verifySha256(remoteFile, expectedSha256, remoteSha256);
+        });
+
+        return result;
+    }
+
+    /**
+     * Determine where to resume a transfer, given the size of the (possibly partial) destination file and the size
+     * of the source file. Returns zero if the transfer must start from the beginning.
+     */
+    private static long resumeOffset(SftpTransferOptions options, long destinationSize, long sourceSize) {
+        if (!options.isResume() || destinationSize > sourceSize) {
+            return 0;
+        }
+
+        return destinationSize;
+    }
+
+    private static long remoteSizeOrZero(ChannelSftp channel, String remoteFile) throws SftpException {
+        try {
+            return channel.stat(remoteFile).getSize();
+        } catch (SftpException e) {
+            if (e.id != ChannelSftp.SSH_FX_NO_SUCH_FILE) {
+                throw e;
+            }
+            return 0;
+        }
+    }
+
+    private static long copy(InputStream inputStream,
+                             FileChannel fileChannel,
+                             long startOffset,
+                             long totalBytes,
+                             SftpTransferOptions options) throws IOException {
+
+        var buffer = new byte[options.getBufferSize()];
+        var byteBuffer = ByteBuffer.wrap(buffer);
+        long bytesTransferred = 0;
+        int bytesRead;
+        while ((bytesRead = inputStream.readNBytes(buffer, 0, buffer.length)) > 0) {
+            byteBuffer.clear().limit(bytesRead);
+            while (byteBuffer.hasRemaining()) {
+                fileChannel.write(byteBuffer);
+            }
+            bytesTransferred += bytesRead;
+            options.notifyProgress(startOffset + bytesTransferred, totalBytes);
+        }
+        return bytesTransferred;
+    }
+
+    private static long copy(FileChannel fileChannel,
+                             OutputStream outputStream,
+                             long startOffset,
+                             long totalBytes,
+                             SftpTransferOptions options) throws IOException {
+
+        var buffer = new byte[options.getBufferSize()];
+        var byteBuffer = ByteBuffer.wrap(buffer);
+        long bytesTransferred = 0;
+        int bytesRead;
+        while ((bytesRead = fileChannel.read(byteBuffer.clear())) != -1) {
+            outputStream.write(buffer, 0, bytesRead);
+            bytesTransferred += bytesRead;
+            options.notifyProgress(startOffset + bytesTransferred, totalBytes);
+        }
+        return bytesTransferred;
+    }
+
+    private static void verifySize(String file, long expectedSize, long actualSize) {
+        if (actualSize != expectedSize) {
+            throw new SftpTransfersException(
+                    f("Size verification failed for {}: expected {} bytes but was {} bytes",
+                            file, expectedSize, actualSize));
+        }
+    }
+
+    private static void verifySha256(String file, String expectedSha256, String actualSha256) {
+        if (!expectedSha256.equalsIgnoreCase(actualSha256)) {
+            throw new SftpTransfersException(
+                    f("SHA-256 verification failed for {}: expected {} but was {}",
+                            file, expectedSha256, actualSha256));
+        }
+    }
+
+    private static long sizeOf(Path localFile) {
+        try {
+            return Files.size(localFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String sha256Of(Path localFile, int bufferSize) {
+        try (var inputStream = Files.newInputStream(localFile)) {
+            return sha256Of(inputStream, bufferSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String sha256Of(InputStream inputStream, int bufferSize) throws IOException {
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+
+        var buffer = new byte[bufferSize];
+        int bytesRead;
+        while ((bytesRead = inputStream.read(buffer)) != -1) {
+            messageDigest.update(buffer, 0, bytesRead);
+        }
+        return HexFormat.of().formatHex(messageDigest.digest());
+    }
+
     /**
      * Gets a file off of a remote server with the given path and given filename and returns the contents of the file
      * as a {@code String}.
@@ -177,7 +913,7 @@ public class SftpTransfers {
      * @return contents of the retrieved file as a {@code String}
      */
     public String getFileContent(Path remotePath, String remoteFilename) {
-        return connector.runCommandWithResponse(channel -> {
+        return runCommandWithResponse(channel -> {
             changeToRemoteDirectory(channel, remotePath);
 
             try (var inputStream = channel.get(remoteFilename);
@@ -193,18 +929,24 @@ public class SftpTransfers {
      * Gets a file off of a remote server with the given path and given filename and returns an {@link InputStream}. This
      * is useful if the remote file is binary and not a text-based file.
      * <p>
-     * Note: The caller of this method is responsible for closing the stream.
+     * Note: The caller of this method is responsible for closing the stream. When this instance
+     * {@link #isPooled() is pooled}, the channel is not returned to the pool until the stream is closed.
      *
      * @param remotePath        path on the remote server where the file is located
      * @param remoteFilename    name of the file to pull from the remote server
      * @return an {@link InputStream} to read the file
      */
     public InputStream getFileContentAsInputStream(Path remotePath, String remoteFilename) {
-        return connector.runCommandWithResponse(channel -> {
+        ThrowingFunction<ChannelSftp, InputStream, Exception> getFunction = channel -> {
             changeToRemoteDirectory(channel, remotePath);
 
             return channel.get(remoteFilename);
-        });
+        };
+
+        if (isPooled()) {
+            return connectionPool.openInputStream(config, getFunction);
+        }
+        return connector.runCommandWithResponse(getFunction);
     }
 
     /**
@@ -255,7 +997,7 @@ public class SftpTransfers {
     }
 
     private List<String> listRemoteItems(Path remotePath, Predicate<ChannelSftp.LsEntry> filterFunction) {
-        return connector.runCommandWithResponse(channel -> ls(channel, remotePath)
+        return runCommandWithResponse(channel -> ls(channel, remotePath)
                 .stream()
                 .filter(filterFunction)
                 .map(ChannelSftp.LsEntry::getFilename)
@@ -276,12 +1018,27 @@ public class SftpTransfers {
      * @param remoteFilename name of the file to delete from the remote server
      */
     public void deleteRemoteFile(Path remotePath, String remoteFilename) {
-        connector.runCommand(channel -> {
+        runCommand(channel -> {
             changeToRemoteDirectory(channel, remotePath);
             channel.rm(remoteFilename);
         });
     }
 
+    private void runCommand(ThrowingConsumer<ChannelSftp, Exception> consumer) {
+        if (isPooled()) {
+            connectionPool.runCommand(config, consumer);
+        } else {
+            connector.runCommand(consumer);
+        }
+    }
+
+    private <T> T runCommandWithResponse(ThrowingFunction<ChannelSftp, T, Exception> function) {
+        if (isPooled()) {
+            return connectionPool.runCommandWithResponse(config, function);
+        }
+        return connector.runCommandWithResponse(function);
+    }
+
     private static void changeToRemoteDirectory(ChannelSftp channel, Path path) throws SftpException {
         LOG.debug("Attempting to change to {} on the remote host", path);
         channel.cd(path.toString());
@@ -0,0 +1,32 @@
+package org.kiwiproject.spring.data;
+
+import static java.util.Objects.nonNull;
+import static org.kiwiproject.base.KiwiPreconditions.checkArgumentNotNull;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Page;
+
+/**
+ * One page of results from keyset (seek) pagination, along with the continuation token to use to get the next page.
+ *
+ * @param page              the page of results; its total is not a count of all results, but it does indicate
+ *                          correctly whether there is a next page
+ * @param continuationToken an opaque token to pass to get the next page, or null if this is the last page
+ * @param <T>               the result type
+ * @see PagingQuery#findKeysetPage(Class, String)
+ * @see KiwiSpringMongoQueries#paginateByKeyset(org.springframework.data.mongodb.core.MongoTemplate, PagingParams,
+ * Class, String)
+ */
+public record KeysetPage<T>(Page<T> page, @Nullable String continuationToken) {
+
+    public KeysetPage {
+        checkArgumentNotNull(page, "page must not be null");
+    }
+
+    /**
+     * @return true if there is a next page, i.e., if the continuation token is not null
+     */
+    public boolean hasNext() {
+        return nonNull(continuationToken);
+    }
+}
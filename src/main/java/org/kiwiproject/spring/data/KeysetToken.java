@@ -0,0 +1,94 @@
+package org.kiwiproject.spring.data;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * The position of the last document of a page in keyset pagination, i.e., the sort orders and the values of the sort
+ * properties of that document. Encoded as Base64 (URL-safe) extended JSON, so that values keep their BSON types.
+ * <p>
+ * The encoding is opaque to clients but not tamper-proof. Decoded values are only ever used as comparison values in
+ * query criteria.
+ */
+record KeysetToken(List<Sort.Order> orders, List<Object> values) {
+
+    private static final JsonWriterSettings JSON_SETTINGS = JsonWriterSettings.builder()
+            .outputMode(JsonMode.EXTENDED)
+            .build();
+
+    private static final String ORDERS_FIELD = "o";
+    private static final String PROPERTY_FIELD = "p";
+    private static final String DIRECTION_FIELD = "d";
+    private static final String VALUES_FIELD = "v";
+
+    KeysetToken {
+        checkArgument(orders.size() == values.size(), "orders and values must have the same size");
+        orders = List.copyOf(orders);
+        values = List.copyOf(values);
+    }
+
+    String encode() {
+        var orderDocuments = orders.stream()
+                .map(order -> new Document(PROPERTY_FIELD, order.getProperty())
+                        .append(DIRECTION_FIELD, order.getDirection().name()))
+                .toList();
+
+        var json = new Document(ORDERS_FIELD, orderDocuments)
+                .append(VALUES_FIELD, values)
+                .toJson(JSON_SETTINGS);
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token is not a valid encoded token
+     */
+    static KeysetToken decode(String token) {
+        try {
+            var json = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var document = Document.parse(json);
+
+            var orders = new ArrayList<Sort.Order>();
+            for (var orderDocument : document.getList(ORDERS_FIELD, Document.class)) {
+                var direction = Sort.Direction.valueOf(orderDocument.getString(DIRECTION_FIELD));
+                orders.add(new Sort.Order(direction, orderDocument.getString(PROPERTY_FIELD)));
+            }
+
+            var values = document.getList(VALUES_FIELD, Object.class);
+            checkArgument(!values.contains(null), "null sort values are not supported");
+
+            return new KeysetToken(orders, values);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid continuation token", e);
+        }
+    }
+
+    /**
+     * @return true if this token was created for the given sort orders
+     */
+    boolean hasOrders(List<Sort.Order> otherOrders) {
+        if (orders.size() != otherOrders.size()) {
+            return false;
+        }
+
+        for (var i = 0; i < orders.size(); i++) {
+            var order = orders.get(i);
+            var otherOrder = otherOrders.get(i);
+            if (!order.getProperty().equals(otherOrder.getProperty()) ||
+                    order.getDirection() != otherOrder.getDirection()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
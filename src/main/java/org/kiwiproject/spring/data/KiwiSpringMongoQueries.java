@@ -19,7 +19,9 @@ import org.springframework.data.mongodb.core.query.Query;
 import java.util.Collection;
 import java.util.Date;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Static utilities for performing MongoDB queries using Spring Data.
@@ -69,11 +71,128 @@ public class KiwiSpringMongoQueries {
                                                                Class<T> clazz,
                                                                BiConsumer<PagingQuery, P> criteriaBuilder) {
 
+        return paginate(mongoTemplate, pagingParams, clazz, criteriaBuilder, PagingCountOptions.defaults());
+    }
+
+    /**
+     * Paginate objects of the given class, which are assumed to be mapped to a Mongo collection, using the given
+     * paging parameters and options that determine how the total number of elements is counted.
+     *
+     * @param mongoTemplate the {@link MongoTemplate} that is used to perform the MongoDB operations
+     * @param pagingParams  the parameters describing the desired pagination
+     * @param clazz         the domain/model class mapped to a Mongo collection
+     * @param countOptions  the options that determine how to count the total number of elements
+     * @param <T>           the result type
+     * @param <P>           the pagination parameter type
+     * @return a {@link Page} containing the paginated results
+     * @see PagingQuery#findPage(Class, PagingCountOptions)
+     */
+    public static <T, P extends PagingParams> Page<T> paginate(MongoTemplate mongoTemplate,
+                                                               P pagingParams,
+                                                               Class<T> clazz,
+                                                               PagingCountOptions countOptions) {
+
+        return paginate(mongoTemplate, pagingParams, clazz, KiwiBiConsumers.noOp(), countOptions);
+    }
+
+    /**
+     * Paginate objects of the given class, which are assumed to be mapped to a Mongo collection, using the given
+     * paging parameters and options that determine how the total number of elements is counted.
+     * <p>
+     * The {@code criteriaBuilder} is a {@link BiConsumer} that can be used to specify restriction criteria and/or
+     * to access or change the pagination parameters.
+     *
+     * @param mongoTemplate   the {@link MongoTemplate} that is used to perform the MongoDB operations
+     * @param pagingParams    the parameters describing the desired pagination
+     * @param clazz           the domain/model class mapped to a Mongo collection
+     * @param criteriaBuilder a {@link BiConsumer} that can be used to add additional pagination and query criteria
+     * @param countOptions    the options that determine how to count the total number of elements
+     * @param <T>             the result type
+     * @param <P>             the pagination parameter type
+     * @return a {@link Page} containing the paginated results, optionally filtered by criteria
+     * @see PagingQuery#findPage(Class, PagingCountOptions)
+     */
+    public static <T, P extends PagingParams> Page<T> paginate(MongoTemplate mongoTemplate,
+                                                               P pagingParams,
+                                                               Class<T> clazz,
+                                                               BiConsumer<PagingQuery, P> criteriaBuilder,
+                                                               PagingCountOptions countOptions) {
+
+        checkArgumentNotNull(mongoTemplate);
+        checkArgumentNotNull(pagingParams);
+        checkArgumentNotNull(clazz);
+        checkArgumentNotNull(criteriaBuilder);
+        checkArgumentNotNull(countOptions);
+
+        var query = newPagingQuery(mongoTemplate, pagingParams, criteriaBuilder);
+
+        LOG.debug("Executing query: {}", query);
+        return query.findPage(clazz, countOptions);
+    }
+
+    /**
+     * Paginate objects of the given class, which are assumed to be mapped to a Mongo collection, using keyset (seek)
+     * pagination with the limit and sort of the given paging parameters.
+     * <p>
+     * The page number in the paging parameters is ignored. Pass null as the {@code continuationToken} to get the
+     * first page, and the continuation token from the returned {@link KeysetPage} to get the next page.
+     *
+     * @param mongoTemplate     the {@link MongoTemplate} that is used to perform the MongoDB operations
+     * @param pagingParams      the parameters describing the desired pagination
+     * @param clazz             the domain/model class mapped to a Mongo collection
+     * @param continuationToken the token from the previous page, or null to get the first page
+     * @param <T>               the result type
+     * @param <P>               the pagination parameter type
+     * @return a {@link KeysetPage} containing the paginated results and the token for the next page
+     * @see PagingQuery#findKeysetPage(Class, String)
+     */
+    public static <T, P extends PagingParams> KeysetPage<T> paginateByKeyset(MongoTemplate mongoTemplate,
+                                                                             P pagingParams,
+                                                                             Class<T> clazz,
+                                                                             @Nullable String continuationToken) {
+
+        return paginateByKeyset(mongoTemplate, pagingParams, clazz, continuationToken, KiwiBiConsumers.noOp());
+    }
+
+    /**
+     * Paginate objects of the given class, which are assumed to be mapped to a Mongo collection, using keyset (seek)
+     * pagination with the limit and sort of the given paging parameters.
+     * <p>
+     * The page number in the paging parameters is ignored. Pass null as the {@code continuationToken} to get the
+     * first page, and the continuation token from the returned {@link KeysetPage} to get the next page. The
+     * {@code criteriaBuilder} should add the same criteria for every page.
+     *
+     * @param mongoTemplate     the {@link MongoTemplate} that is used to perform the MongoDB operations
+     * @param pagingParams      the parameters describing the desired pagination
+     * @param clazz             the domain/model class mapped to a Mongo collection
+     * @param continuationToken the token from the previous page, or null to get the first page
+     * @param criteriaBuilder   a {@link BiConsumer} that can be used to add additional pagination and query criteria
+     * @param <T>               the result type
+     * @param <P>               the pagination parameter type
+     * @return a {@link KeysetPage} containing the paginated results and the token for the next page
+     * @see PagingQuery#findKeysetPage(Class, String)
+     */
+    public static <T, P extends PagingParams> KeysetPage<T> paginateByKeyset(MongoTemplate mongoTemplate,
+                                                                             P pagingParams,
+                                                                             Class<T> clazz,
+                                                                             @Nullable String continuationToken,
+                                                                             BiConsumer<PagingQuery, P> criteriaBuilder) {
+
         checkArgumentNotNull(mongoTemplate);
         checkArgumentNotNull(pagingParams);
         checkArgumentNotNull(clazz);
         checkArgumentNotNull(criteriaBuilder);
 
+        var query = newPagingQuery(mongoTemplate, pagingParams, criteriaBuilder);
+
+        LOG.debug("Executing keyset query: {}", query);
+        return query.findKeysetPage(clazz, continuationToken);
+    }
+
+    private static <P extends PagingParams> PagingQuery newPagingQuery(MongoTemplate mongoTemplate,
+                                                                       P pagingParams,
+                                                                       BiConsumer<PagingQuery, P> criteriaBuilder) {
+
         if (isNull(pagingParams.getLimit()) || pagingParams.getLimit() < 1) {
             LOG.warn("No limit was supplied; setting it to 1. Supply a limit to avoid this warning");
             pagingParams.setLimit(1);
@@ -88,9 +207,62 @@ public class KiwiSpringMongoQueries {
         var pageable = KiwiPaging.createPageable(pagingParams);
         var query = new PagingQuery(mongoTemplate).with(pageable);
         criteriaBuilder.accept(query, pagingParams);
+        return query;
+    }
 
-        LOG.debug("Executing query: {}", query);
-        return query.findPage(clazz);
+    /**
+     * Stream all objects of the given class, which are assumed to be mapped to a Mongo collection, that match the
+     * criteria added by the given {@code criteriaBuilder}, using the default {@link StreamQueryOptions}.
+     *
+     * @param mongoTemplate   the {@link MongoTemplate} that is used to perform the MongoDB operations
+     * @param clazz           the domain/model class mapped to a Mongo collection
+     * @param criteriaBuilder a {@link Consumer} that adds criteria to the query
+     * @param <T>             the result type
+     * @return a {@link Stream} of the matching objects, which <em>must</em> be closed
+     * @see #stream(MongoTemplate, Class, Consumer, StreamQueryOptions)
+     */
+    public static <T> Stream<T> stream(MongoTemplate mongoTemplate,
+                                       Class<T> clazz,
+                                       Consumer<Query> criteriaBuilder) {
+
+        return stream(mongoTemplate, clazz, criteriaBuilder, StreamQueryOptions.defaults());
+    }
+
+    /**
+     * Stream all objects of the given class, which are assumed to be mapped to a Mongo collection, that match the
+     * criteria added by the given {@code criteriaBuilder}.
+     * <p>
+     * Unlike the {@code paginate} methods, this does not materialize results into a list. Objects are read from a
+     * MongoDB cursor in batches as the stream is consumed, so this is suitable for reading entire collections,
+     * e.g., for exports. The {@code criteriaBuilder} can use the other methods in this class, such as
+     * {@link #addDateBounds(Query, String, Long, Long)}, to add criteria.
+     * <p>
+     * The returned stream holds an open cursor, so it <em>must</em> be closed, e.g., using try-with-resources.
+     *
+     * @param mongoTemplate   the {@link MongoTemplate} that is used to perform the MongoDB operations
+     * @param clazz           the domain/model class mapped to a Mongo collection
+     * @param criteriaBuilder a {@link Consumer} that adds criteria to the query
+     * @param options         the options that control the cursor batch size, projection, time limit, and sort
+     * @param <T>             the result type
+     * @return a {@link Stream} of the matching objects, which <em>must</em> be closed
+     * @see MongoTemplate#stream(Query, Class)
+     */
+    public static <T> Stream<T> stream(MongoTemplate mongoTemplate,
+                                       Class<T> clazz,
+                                       Consumer<Query> criteriaBuilder,
+                                       StreamQueryOptions options) {
+
+        checkArgumentNotNull(mongoTemplate);
+        checkArgumentNotNull(clazz);
+        checkArgumentNotNull(criteriaBuilder);
+        checkArgumentNotNull(options);
+
+        var query = new Query();
+        criteriaBuilder.accept(query);
+        options.applyTo(query);
+
+        LOG.debug("Streaming query: {}", query);
+        return mongoTemplate.stream(query, clazz);
     }
 
     /**
@@ -0,0 +1,190 @@
+package org.kiwiproject.spring.data;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.kiwiproject.base.KiwiPreconditions.checkArgumentNotNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.codecs.configuration.CodecConfigurationException;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+
+/**
+ * A cache of document counts for use by {@link PagingQuery#findPage(Class, PagingCountOptions)}, so that paging
+ * through a large result set does not re-count it for every page.
+ * <p>
+ * Counts are keyed by collection name and the extended JSON of a canonical form of the query's filter, in which the
+ * order of fields and operators in query documents does not matter. The order of fields in embedded documents matched
+ * by equality is kept, since it is significant to MongoDB. Counts for filters containing values that cannot be encoded
+ * as BSON are not cached. Cached counts expire after a fixed time, so they may be stale by up to that long; use a
+ * short time-to-live if pages must reflect recent inserts and deletes.
+ * <p>
+ * Instances are thread-safe and are meant to be shared, e.g., one per application or per collection.
+ */
+@Slf4j
+public class PagingCountCache {
+
+    /**
+     * The default maximum number of cached counts.
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 1_000;
+
+    private static final Set<String> LOGICAL_OPERATORS = Set.of("$and", "$or", "$nor");
+
+    private static final JsonWriterSettings JSON_SETTINGS = JsonWriterSettings.builder()
+            .outputMode(JsonMode.EXTENDED)
+            .build();
+
+    private static final String COLLECTION_FIELD = "collection";
+    private static final String QUERY_FIELD = "query";
+
+    private final Cache<String, Long> counts;
+
+    /**
+     * Create a new cache with the given time-to-live and {@link #DEFAULT_MAXIMUM_SIZE}.
+     *
+     * @param timeToLive how long counts are cached after they are computed
+     */
+    public PagingCountCache(Duration timeToLive) {
+        this(timeToLive, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Create a new cache with the given time-to-live and maximum size.
+     *
+     * @param timeToLive  how long counts are cached after they are computed
+     * @param maximumSize the maximum number of counts to cache
+     */
+    public PagingCountCache(Duration timeToLive, long maximumSize) {
+        checkArgumentNotNull(timeToLive, "timeToLive must not be null");
+        checkArgument(timeToLive.compareTo(Duration.ZERO) > 0, "timeToLive must be positive");
+        checkArgument(maximumSize > 0, "maximumSize must be positive");
+
+        this.counts = CacheBuilder.newBuilder()
+                .expireAfterWrite(timeToLive)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    /**
+     * Get the cached count for the given collection and query, computing and caching it if absent.
+     * <p>
+     * Concurrent requests for the same absent count may compute it more than once; this avoids holding a lock while
+     * a slow count runs.
+     */
+    long getCount(String collectionName, Document queryObject, LongSupplier counter) {
+        var key = cacheKey(collectionName, queryObject);
+        if (isNull(key)) {
+            return counter.getAsLong();
+        }
+
+        var cachedCount = counts.getIfPresent(key);
+        if (nonNull(cachedCount)) {
+            return cachedCount;
+        }
+
+        var count = counter.getAsLong();
+        counts.put(key, count);
+        return count;
+    }
+
+    /**
+     * Discard all cached counts, e.g., after bulk inserts or deletes.
+     */
+    public void invalidateAll() {
+        counts.invalidateAll();
+    }
+
+    /**
+     * @return the approximate number of cached counts
+     */
+    public long size() {
+        return counts.size();
+    }
+
+    /**
+     * Create a cache key for the given collection and query, or return null if the query contains values that cannot
+     * be encoded as BSON.
+     * <p>
+     * The key is the extended JSON of a canonical form of the query, so strings are escaped, and values keep their
+     * BSON types and full precision, e.g., dates are represented to the millisecond.
+     */
+    @VisibleForTesting
+    @Nullable
+    static String cacheKey(String collectionName, Document queryObject) {
+        try {
+            return new Document(COLLECTION_FIELD, collectionName)
+                    .append(QUERY_FIELD, canonicalQuery(queryObject))
+                    .toJson(JSON_SETTINGS);
+        } catch (CodecConfigurationException e) {
+            LOG.debug("Not caching count for query on {} since it cannot be converted to JSON", collectionName, e);
+            return null;
+        }
+    }
+
+    /**
+     * The order of fields and top-level operators in a query document does not matter, so sort them. The query
+     * documents in $and, $or, and $nor are canonicalized the same way.
+     */
+    private static Document canonicalQuery(Map<?, ?> query) {
+        var canonical = new Document();
+        sortedEntries(query).forEach((key, value) -> {
+            if (LOGICAL_OPERATORS.contains(key) && value instanceof Collection<?> subQueries) {
+                canonical.append(key, subQueries.stream()
+                        .map(subQuery -> subQuery instanceof Map<?, ?> map ? canonicalQuery(map) : subQuery)
+                        .toList());
+            } else {
+                canonical.append(key, key.startsWith("$") ? value : canonicalCondition(value));
+            }
+        });
+        return canonical;
+    }
+
+    /**
+     * The order of operators in a field's operator document, e.g. {$gt: 1, $lt: 10}, does not matter, so sort them.
+     * Any other value is matched by equality, so must be kept as-is, since the order of fields in an embedded
+     * document matters when comparing for equality.
+     */
+    private static Object canonicalCondition(Object condition) {
+        if (!isOperatorDocument(condition)) {
+            return condition;
+        }
+
+        var canonical = new Document();
+        sortedEntries((Map<?, ?>) condition).forEach((key, value) -> {
+            if ("$elemMatch".equals(key) && value instanceof Map<?, ?> map) {
+                canonical.append(key, canonicalQuery(map));
+            } else if ("$not".equals(key)) {
+                canonical.append(key, canonicalCondition(value));
+            } else {
+                canonical.append(key, value);
+            }
+        });
+        return canonical;
+    }
+
+    private static boolean isOperatorDocument(Object value) {
+        return value instanceof Map<?, ?> map &&
+                !map.isEmpty() &&
+                map.keySet().stream().allMatch(key -> String.valueOf(key).startsWith("$"));
+    }
+
+    private static Map<String, Object> sortedEntries(Map<?, ?> map) {
+        var sorted = new TreeMap<String, Object>();
+        map.forEach((key, value) -> sorted.put(String.valueOf(key), value));
+        return sorted;
+    }
+}
@@ -0,0 +1,72 @@
+package org.kiwiproject.spring.data;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Controls how {@link PagingQuery#findPage(Class, PagingCountOptions)} determines the total number of elements, which
+ * for large collections can cost more than finding the page itself. Counts can be estimated or skipped, run
+ * concurrently with the page query, and cached between pages.
+ */
+@Builder
+@Getter
+public class PagingCountOptions {
+
+    /**
+     * How to determine the total number of elements.
+     */
+    public enum CountMode {
+
+        /**
+         * Count the documents matching the query. This is the default.
+         */
+        EXACT,
+
+        /**
+         * Use the collection's estimated document count when the query has no filter criteria, and otherwise count
+         * the documents matching the query. The estimated count uses collection metadata instead of scanning, but may
+         * be inaccurate, e.g., after an unclean shutdown or in sharded clusters with orphaned documents.
+         */
+        ESTIMATED_WHEN_UNFILTERED,
+
+        /**
+         * Don't count at all. Instead, fetch one more document than the page size to determine whether there is a
+         * next page. The total of the returned page is exact on the last page; otherwise it is one more than the
+         * number of elements up to and including the current page, so that {@link org.springframework.data.domain.Page#hasNext()
+         * hasNext} is correct but {@link org.springframework.data.domain.Page#getTotalPages() getTotalPages} is only a
+         * lower bound.
+         */
+        NONE
+    }
+
+    /**
+     * How to determine the total number of elements. Default is {@link CountMode#EXACT}.
+     */
+    @NonNull
+    @Builder.Default
+    private final CountMode countMode = CountMode.EXACT;
+
+    /**
+     * If set, the count is executed using this executor concurrently with the query for the page, instead of
+     * before it. Default is null.
+     */
+    @Nullable
+    private final Executor countExecutor;
+
+    /**
+     * If set, counts are cached in and retrieved from this cache. Default is null.
+     */
+    @Nullable
+    private final PagingCountCache countCache;
+
+    /**
+     * @return options that count exactly before finding the page, the same as {@link PagingQuery#findPage(Class)}
+     */
+    public static PagingCountOptions defaults() {
+        return builder().build();
+    }
+}
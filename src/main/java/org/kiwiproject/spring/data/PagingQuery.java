@@ -1,5 +1,6 @@
 package org.kiwiproject.spring.data;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.Lists.newArrayList;
 import static java.util.Objects.isNull;
@@ -10,9 +11,14 @@ import static org.kiwiproject.collect.KiwiLists.isNotNullOrEmpty;
 import com.google.common.annotations.VisibleForTesting;
 import org.kiwiproject.base.KiwiDeprecated;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.jspecify.annotations.Nullable;
+import org.kiwiproject.collect.KiwiLists;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
@@ -20,12 +26,15 @@ import org.springframework.data.mongodb.core.aggregation.AggregationResults;
 import org.springframework.data.mongodb.core.aggregation.FacetOperation;
 import org.springframework.data.mongodb.core.aggregation.ProjectionOperation;
 import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.BasicQuery;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -42,6 +51,8 @@ public class PagingQuery extends Query {
     private final MongoTemplate mongoTemplate;
     private Pageable pageable;
 
+    private static final String ID_FIELD = "_id";
+
     private static final ConcurrentMap<Class<?>, AggregateResult<?>> CLASS_WRAPPERS = new ConcurrentHashMap<>();
 
     /**
@@ -80,15 +91,243 @@ public class PagingQuery extends Query {
      * can get an incorrect result always limited to the specified count.
      */
     public <T> Page<T> findPage(Class<T> clazz) {
+        return findPage(clazz, PagingCountOptions.defaults());
+    }
+
+    /**
+     * Finds a specific page for the given type of object, which is assumed to be mapped to a MongoDB collection,
+     * using the given options to determine the total number of elements.
+     * <p>
+     * On large collections, counting the matching documents can take longer than finding the page itself. The
+     * options can run the count concurrently with the query for the page, use the collection's estimated count when
+     * there are no filter criteria, cache counts for a short time, or skip the count entirely. See
+     * {@link PagingCountOptions} for details.
+     *
+     * @param clazz        the domain/model class mapped to a Mongo collection
+     * @param countOptions the options that determine how to count
+     * @param <T>          the result type
+     * @return a {@link Page} of results
+     * @see #findPage(Class)
+     */
+    public <T> Page<T> findPage(Class<T> clazz, PagingCountOptions countOptions) {
         checkArgumentNotNull(clazz);
+        checkArgumentNotNull(countOptions);
         checkPageableNotNull();
 
+        if (countOptions.getCountMode() == PagingCountOptions.CountMode.NONE) {
+            return findPageWithoutCount(clazz);
+        }
+
         var unlimitedPageable = KiwiPaging.createPageable(0, Integer.MAX_VALUE);
         var unpagedQuery = Query.of(this).with(unlimitedPageable);
-        long count = mongoTemplate.count(unpagedQuery, clazz);
+        var countExecutor = countOptions.getCountExecutor();
+
+        if (isNull(countExecutor)) {
+            long count = count(unpagedQuery, clazz, countOptions);
+            List<T> results = mongoTemplate.find(this, clazz);
+            return new PageImpl<>(results, this.pageable, count);
+        }
+
+        var countFuture = CompletableFuture.supplyAsync(() -> count(unpagedQuery, clazz, countOptions), countExecutor);
+        List<T> results;
+        try {
+            results = mongoTemplate.find(this, clazz);
+        } catch (RuntimeException e) {
+            countFuture.cancel(true);
+            throw e;
+        }
+
+        return new PageImpl<>(results, this.pageable, joinCount(countFuture));
+    }
+
+    private long count(Query unpagedQuery, Class<?> clazz, PagingCountOptions countOptions) {
+        var countCache = countOptions.getCountCache();
+        if (isNull(countCache)) {
+            return countUncached(unpagedQuery, clazz, countOptions);
+        }
+
+        var collectionName = mongoTemplate.getCollectionName(clazz);
+        return countCache.getCount(collectionName, unpagedQuery.getQueryObject(),
+                () -> countUncached(unpagedQuery, clazz, countOptions));
+    }
+
+    private long countUncached(Query unpagedQuery, Class<?> clazz, PagingCountOptions countOptions) {
+        if (countOptions.getCountMode() == PagingCountOptions.CountMode.ESTIMATED_WHEN_UNFILTERED &&
+                unpagedQuery.getQueryObject().isEmpty()) {
+            LOG.debug("Query has no criteria; using estimated count for {}", clazz);
+            return mongoTemplate.estimatedCount(clazz);
+        }
+
+        return mongoTemplate.count(unpagedQuery, clazz);
+    }
+
+    private static long joinCount(CompletableFuture<Long> countFuture) {
+        try {
+            return countFuture.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private <T> Page<T> findPageWithoutCount(Class<T> clazz) {
+        var pageSize = this.pageable.getPageSize();
+        var probeLimit = pageSize < Integer.MAX_VALUE ? pageSize + 1 : pageSize;
+        var probeQuery = Query.of(this).limit(probeLimit);
+
+        List<T> results = mongoTemplate.find(probeQuery, clazz);
+        var hasNext = results.size() > pageSize;
+        if (hasNext) {
+            results = new ArrayList<>(results.subList(0, pageSize));
+        }
+
+        // PageImpl derives hasNext from the total, so report one more element than we have when there is a next page
+        var total = this.pageable.getOffset() + results.size() + (hasNext ? 1 : 0);
+        return new PageImpl<>(results, this.pageable, total);
+    }
+
+    /**
+     * Finds a page for the given type of object using keyset (seek) pagination instead of skipping documents.
+     * <p>
+     * Results are sorted by the sort of the {@link Pageable} given to {@link #with(Pageable)}, followed by the
+     * document id (ascending) as a tie-breaker unless the sort already includes it. Instead of a page number, the
+     * position is given by a continuation token from the previous page. The query for the next page selects only
+     * documents that sort after the last document of the previous page, so its cost does not grow with the number of
+     * pages already read, unlike skip-based paging which must scan and discard every skipped document. For best
+     * performance, there should be an index on the sort properties followed by the id.
+     * <p>
+     * The page number of the {@link Pageable} is ignored, and no count is performed. The returned page reports one
+     * more element than it contains when there is a next page (see {@link PagingCountOptions.CountMode#NONE}).
+     * <p>
+     * The sort properties should not be null or missing in any matching document, since documents with null
+     * values will not be selected correctly by the range criteria. Also, the values of the sort properties are
+     * compared as stored, so case-insensitive sorts are not supported.
+     *
+     * @param clazz             the domain/model class mapped to a Mongo collection
+     * @param continuationToken the token from the previous {@link KeysetPage}, or null to get the first page
+     * @param <T>               the result type
+     * @return a {@link KeysetPage} containing the results and the token for the next page, if there is one
+     * @throws IllegalArgumentException if the continuation token is invalid or was created for a different sort
+     */
+    public <T> KeysetPage<T> findKeysetPage(Class<T> clazz, @Nullable String continuationToken) {
+        checkArgumentNotNull(clazz);
+        checkPageableNotNull();
+
+        var mappingContext = mongoTemplate.getConverter().getMappingContext();
+        var persistentEntity = mappingContext.getRequiredPersistentEntity(clazz);
+        var idProperty = persistentEntity.getRequiredIdProperty().getName();
+        var orders = keysetOrders(idProperty);
+
+        var pageSize = this.pageable.getPageSize();
+        var probeLimit = pageSize < Integer.MAX_VALUE ? pageSize + 1 : pageSize;
+        Query keysetQuery = Query.of(this).skip(0).limit(probeLimit);
+        if (!hasIdOrder(this.pageable.getSort(), idProperty)) {
+            keysetQuery.with(Sort.by(Sort.Order.asc(idProperty)));
+        }
+
+        if (nonNull(continuationToken)) {
+            var token = KeysetToken.decode(continuationToken);
+            checkArgument(token.hasOrders(orders), "continuationToken was not created for this query's sort");
+            keysetQuery = withKeysetCriteria(keysetQuery, orders, token.values());
+        }
+
+        List<T> results = mongoTemplate.find(keysetQuery, clazz);
+        var hasNext = results.size() > pageSize;
+        if (hasNext) {
+            results = new ArrayList<>(results.subList(0, pageSize));
+        }
+
+        var firstPageable = PageRequest.of(0, pageSize, Sort.by(orders));
+        var page = new PageImpl<>(results, firstPageable, results.size() + (hasNext ? 1L : 0L));
+        if (!hasNext) {
+            return new KeysetPage<>(page, null);
+        }
+
+        var last = KiwiLists.last(results);
+        var accessor = persistentEntity.getPropertyPathAccessor(last);
+        var converter = mongoTemplate.getConverter();
+        var values = orders.stream()
+                .map(order -> {
+                    var path = mappingContext.getPersistentPropertyPath(order.getProperty(), clazz);
+                    var value = converter.convertToMongoType(accessor.getProperty(path));
+                    checkState(nonNull(value), "sort property %s must not be null for keyset pagination",
+                            order.getProperty());
+                    return value;
+                })
+                .toList();
+
+        return new KeysetPage<>(page, new KeysetToken(orders, values).encode());
+    }
+
+    private List<Sort.Order> keysetOrders(String idProperty) {
+        var sort = this.pageable.getSort();
+        var orders = new ArrayList<Sort.Order>();
+        for (var order : sort) {
+            var property = ID_FIELD.equals(order.getProperty()) ? idProperty : order.getProperty();
+            orders.add(new Sort.Order(order.getDirection(), property));
+        }
+
+        if (!hasIdOrder(sort, idProperty)) {
+            orders.add(Sort.Order.asc(idProperty));
+        }
+
+        return orders;
+    }
+
+    private static boolean hasIdOrder(Sort sort, String idProperty) {
+        return nonNull(sort.getOrderFor(ID_FIELD)) || nonNull(sort.getOrderFor(idProperty));
+    }
+
+    /**
+     * Creates a copy of the given query that also selects only documents after the given sort values. For sort
+     * properties p1..pn with values v1..vn, that is: (p1 after v1) OR (p1 = v1 AND p2 after v2) OR ... OR
+     * (p1 = v1 AND ... AND pn after vn), where "after" is $gt for ascending and $lt for descending properties.
+     * <p>
+     * The existing query document and the keyset criteria are combined using $and, instead of adding the keyset
+     * criteria to the query, since a query cannot contain more than one top-level $or (or $and) criteria.
+     */
+    @VisibleForTesting
+    static Query withKeysetCriteria(Query query, List<Sort.Order> orders, List<Object> values) {
+        var alternatives = new ArrayList<Criteria>();
+        for (var i = 0; i < orders.size(); i++) {
+            var clauses = new ArrayList<Criteria>();
+            for (var j = 0; j < i; j++) {
+                clauses.add(Criteria.where(orders.get(j).getProperty()).is(values.get(j)));
+            }
+
+            var order = orders.get(i);
+            var criteria = Criteria.where(order.getProperty());
+            clauses.add(order.isAscending() ? criteria.gt(values.get(i)) : criteria.lt(values.get(i)));
+
+            alternatives.add(clauses.size() == 1 ? clauses.get(0) : new Criteria().andOperator(clauses));
+        }
+
+        var keysetObject = new Criteria().orOperator(alternatives).getCriteriaObject();
+        var queryObject = query.getQueryObject();
+        var combinedObject = queryObject.isEmpty() ?
+                keysetObject : new Document("$and", List.of(queryObject, keysetObject));
+
+        var keysetQuery = new BasicQuery(combinedObject, query.getFieldsObject());
+        keysetQuery.setSortObject(query.getSortObject());
+        keysetQuery.setMeta(query.getMeta());
+        keysetQuery.skip(query.getSkip());
+        if (query.isLimited()) {
+            keysetQuery.limit(query.getLimit());
+        }
+        query.getCollation().ifPresent(keysetQuery::collation);
+        if (nonNull(query.getHint())) {
+            keysetQuery.withHint(query.getHint());
+        }
+        if (query.hasReadConcern()) {
+            keysetQuery.withReadConcern(query.getReadConcern());
+        }
+        if (query.hasReadPreference()) {
+            keysetQuery.withReadPreference(query.getReadPreference());
+        }
 
-        List<T> results = mongoTemplate.find(this, clazz);
-        return new PageImpl<>(results, this.pageable, count);
+        return keysetQuery;
     }
 
     /**
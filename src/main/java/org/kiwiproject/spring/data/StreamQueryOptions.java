@@ -0,0 +1,121 @@
+package org.kiwiproject.spring.data;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.kiwiproject.base.KiwiPreconditions.checkArgumentNotNull;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Controls the cursor that {@link KiwiSpringMongoQueries#stream(org.springframework.data.mongodb.core.MongoTemplate,
+ * Class, java.util.function.Consumer, StreamQueryOptions) KiwiSpringMongoQueries.stream} opens: how many documents it
+ * fetches per batch, which fields and in what order documents are returned, and how long the server keeps it alive.
+ * Unset options leave the query unchanged, so the driver's and server's defaults apply.
+ */
+@Builder
+@Getter
+public class StreamQueryOptions {
+
+    /**
+     * The number of documents the cursor fetches from the server in each batch. Default is null, which uses the
+     * driver's default.
+     */
+    @Nullable
+    private final Integer cursorBatchSize;
+
+    /**
+     * The fields to include in the results. Default is empty, which includes all fields.
+     */
+    @Builder.Default
+    private final List<String> includedFields = List.of();
+
+    /**
+     * The fields to exclude from the results. Default is empty.
+     */
+    @Builder.Default
+    private final List<String> excludedFields = List.of();
+
+    /**
+     * The maximum time the server may spend processing the query, including all cursor batches. Default is null,
+     * which has no limit.
+     */
+    @Nullable
+    private final Duration maxTime;
+
+    /**
+     * The sort order of the results. Default is unsorted.
+     */
+    @Builder.Default
+    private final Sort sort = Sort.unsorted();
+
+    /**
+     * Whether to prevent the server from timing out the cursor when it is idle, e.g., while a slow consumer
+     * processes a batch. Default is false. If true, make sure to close the stream so the server releases the cursor.
+     */
+    @Builder.Default
+    private final boolean noCursorTimeout = false;
+
+    // Called by the builder, which has already replaced unset options with their defaults
+    private StreamQueryOptions(@Nullable Integer cursorBatchSize,
+                               List<String> includedFields,
+                               List<String> excludedFields,
+                               @Nullable Duration maxTime,
+                               Sort sort,
+                               boolean noCursorTimeout) {
+        checkArgument(isNull(cursorBatchSize) || cursorBatchSize > 0, "cursorBatchSize must be positive");
+        checkArgumentNotNull(includedFields, "includedFields must not be null");
+        checkArgumentNotNull(excludedFields, "excludedFields must not be null");
+        checkArgument(isNull(maxTime) || maxTime.compareTo(Duration.ZERO) > 0, "maxTime must be positive");
+        checkArgumentNotNull(sort, "sort must not be null");
+
+        this.cursorBatchSize = cursorBatchSize;
+        this.includedFields = List.copyOf(includedFields);
+        this.excludedFields = List.copyOf(excludedFields);
+        this.maxTime = maxTime;
+        this.sort = sort;
+        this.noCursorTimeout = noCursorTimeout;
+    }
+
+    /**
+     * @return options that stream every field of every matching document, in natural order, using the driver's
+     * batch size and the server's cursor timeout
+     */
+    public static StreamQueryOptions defaults() {
+        return builder().build();
+    }
+
+    /**
+     * Apply these options to the given query.
+     */
+    void applyTo(Query query) {
+        if (nonNull(cursorBatchSize)) {
+            query.cursorBatchSize(cursorBatchSize);
+        }
+
+        if (!includedFields.isEmpty()) {
+            query.fields().include(includedFields.toArray(String[]::new));
+        }
+
+        if (!excludedFields.isEmpty()) {
+            query.fields().exclude(excludedFields.toArray(String[]::new));
+        }
+
+        if (nonNull(maxTime)) {
+            query.maxTime(maxTime);
+        }
+
+        query.with(sort);
+
+        if (noCursorTimeout) {
+            query.noCursorTimeout();
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package org.kiwiproject.ansible.vault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.kiwiproject.internal.Fixtures;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+
+/**
+ * The fixtures in {@code src/test/resources/ansible-vault} were created by {@code ansible-vault} using the password
+ * {@code password100}, so decrypting them verifies compatibility with {@code ansible-vault}.
+ */
+@DisplayName("AnsibleVaultCodec")
+class AnsibleVaultCodecTest {
+
+    private static final String PASSWORD = "password100";
+
+    private AnsibleVaultCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        codec = new AnsibleVaultCodec(PASSWORD.toCharArray());
+    }
+
+    @Nested
+    class Construction {
+
+        @Test
+        void shouldNotAllowEmptyPassword() {
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> new AnsibleVaultCodec(new char[0]))
+                    .withMessage("password must not be empty");
+        }
+
+        @Test
+        void shouldReadPasswordFile_IgnoringSurroundingWhitespace(@TempDir Path folder) throws IOException {
+            var passwordFile = Files.writeString(folder.resolve(".vault_pass"), "  " + PASSWORD + "\n");
+
+            var codecFromFile = AnsibleVaultCodec.fromPasswordFile(passwordFile);
+
+            assertThat(decryptFixtureToString(codecFromFile, "ansible-vault/secret.txt"))
+                    .isEqualTo("Remember to drink your Ovaltine\n");
+        }
+
+        @Test
+        void shouldNotAllowBlankPasswordFile(@TempDir Path folder) throws IOException {
+            var passwordFile = Files.writeString(folder.resolve(".vault_pass"), " \n");
+
+            assertThatThrownBy(() -> AnsibleVaultCodec.fromPasswordFile(passwordFile))
+                    .isExactlyInstanceOf(VaultEncryptionException.class)
+                    .hasMessageEndingWith("does not contain a password");
+        }
+
+        @Test
+        void shouldNotAllowExecutablePasswordFile(@TempDir Path folder) throws IOException {
+            assumeTrue(SystemUtils.IS_OS_UNIX, "This test should only run on UNIX or UNIX-like systems");
+
+            var passwordFile = Files.writeString(folder.resolve("vault_pass.sh"), "#!/bin/sh\necho " + PASSWORD);
+            Files.setPosixFilePermissions(passwordFile, PosixFilePermissions.fromString("rwx------"));
+
+            assertThatThrownBy(() -> AnsibleVaultCodec.fromPasswordFile(passwordFile))
+                    .isExactlyInstanceOf(VaultEncryptionException.class)
+                    .hasMessageEndingWith("is executable; password scripts are not supported");
+        }
+    }
+
+    @Nested
+    class Decrypt {
+
+        @Test
+        void shouldDecryptFileEncryptedByAnsibleVault() {
+            assertThat(decryptFixtureToString(codec, "ansible-vault/secret.txt"))
+                    .isEqualTo("Remember to drink your Ovaltine\n");
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+                "ansible-vault/encrypt_string_1.1.txt, test",
+                "ansible-vault/encrypt_string_1.2.txt, Very_strong-passworD-00%"
+        })
+        void shouldDecryptVariablesEncryptedByAnsibleVault(String fixture, String expectedPlainText) {
+            var variable = new VaultEncryptedVariable(Fixtures.fixture(fixture));
+
+            var plainText = codec.decrypt(variable);
+
+            assertThat(new String(plainText, StandardCharsets.UTF_8)).isEqualTo(expectedPlainText);
+        }
+
+        @Test
+        void shouldRejectIncorrectPassword() {
+            var otherCodec = new AnsibleVaultCodec("password200".toCharArray());
+            var vaultText = Fixtures.fixture("ansible-vault/secret.txt");
+
+            assertThatThrownBy(() -> otherCodec.decrypt(vaultText))
+                    .isExactlyInstanceOf(VaultEncryptionException.class)
+                    .hasMessageStartingWith("HMAC verification failed");
+        }
+
+        @Test
+        void shouldRejectTamperedCipherText() {
+            var vaultText = codec.encrypt("some secret".getBytes(StandardCharsets.UTF_8), null);
+            var lines = vaultText.split("\n");
+            var lastLine = lines[lines.length - 1];
+            var lastChar = lastLine.charAt(lastLine.length() - 1);
+            lines[lines.length - 1] = lastLine.substring(0, lastLine.length() - 1) + (lastChar == '0' ? '1' : '0');
+            var tamperedText = String.join("\n", lines);
+
+            assertThatThrownBy(() -> codec.decrypt(tamperedText))
+                    .isExactlyInstanceOf(VaultEncryptionException.class);
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {
+                "some plain text",
+                "$ANSIBLE_VAULT;1.1;AES256",
+                "$ANSIBLE_VAULT;1.0;AES256\n3132",
+                "$ANSIBLE_VAULT;1.1;AES\n3132",
+                "$ANSIBLE_VAULT;1.1;AES256\nnot-hex",
+                "$ANSIBLE_VAULT;1.1;AES256\n3132"
+        })
+        void shouldRejectInvalidContent(String vaultText) {
+            assertThatThrownBy(() -> codec.decrypt(vaultText))
+                    .isExactlyInstanceOf(VaultEncryptionException.class);
+        }
+    }
+
+    @Nested
+    class Encrypt {
+
+        @Test
+        void shouldRoundTrip_UsingFormatVersion1_1() {
+            var plainText = "line 1\nline 2 with unicode: éè\n".getBytes(StandardCharsets.UTF_8);
+
+            var vaultText = codec.encrypt(plainText, null);
+
+            assertThat(vaultText).startsWith("$ANSIBLE_VAULT;1.1;AES256\n").endsWith("\n");
+            assertThat(vaultText.lines().skip(1)).allMatch(line -> line.length() <= 80);
+            assertThat(codec.decrypt(vaultText)).isEqualTo(plainText);
+        }
+
+        @Test
+        void shouldRoundTrip_UsingFormatVersion1_2() {
+            var plainText = "secret".getBytes(StandardCharsets.UTF_8);
+
+            var vaultText = codec.encrypt(plainText, "prod");
+
+            assertThat(vaultText).startsWith("$ANSIBLE_VAULT;1.2;AES256;prod\n");
+            assertThat(codec.decrypt(vaultText)).isEqualTo(plainText);
+        }
+
+        @Test
+        void shouldUseRandomSalt() {
+            var plainText = "secret".getBytes(StandardCharsets.UTF_8);
+
+            assertThat(codec.encrypt(plainText, null)).isNotEqualTo(codec.encrypt(plainText, null));
+        }
+
+        @Test
+        void shouldEncryptEmptyContent() {
+            var vaultText = codec.encrypt(new byte[0], null);
+
+            assertThat(codec.decrypt(vaultText)).isEmpty();
+        }
+
+        @Test
+        void shouldEncryptStrings_InEncryptStringFormat() {
+            var encryptedString = codec.encryptString("my secret", "db_password", "dev");
+
+            var variable = new VaultEncryptedVariable(encryptedString);
+            assertThat(variable.getVariableName()).isEqualTo("db_password");
+            assertThat(variable.getFormatVersion()).isEqualTo("1.2");
+            assertThat(variable.getCipher()).isEqualTo(AnsibleVaultCodec.CIPHER_NAME);
+            assertThat(variable.getVaultIdLabel()).hasValue("dev");
+            assertThat(new String(codec.decrypt(variable), StandardCharsets.UTF_8)).isEqualTo("my secret");
+        }
+
+        @Test
+        void shouldNotAllowVaultIdLabelContainingSemicolon() {
+            var plainText = "secret".getBytes(StandardCharsets.UTF_8);
+
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> codec.encrypt(plainText, "dev;prod"));
+        }
+    }
+
+    @Nested
+    class Padding {
+
+        @ParameterizedTest
+        @ValueSource(ints = {0, 1, 15, 16, 17, 32})
+        void shouldPadToBlockSize_AndUnpad(int length) {
+            var input = new byte[length];
+
+            var padded = AnsibleVaultCodec.pad(input);
+
+            assertThat(padded.length % 16).isZero();
+            assertThat(padded.length).isGreaterThan(length);
+            assertThat(AnsibleVaultCodec.unpad(padded)).isEqualTo(input);
+        }
+
+        @Test
+        void shouldRejectInvalidPadding() {
+            var padded = AnsibleVaultCodec.pad(new byte[5]);
+            padded[padded.length - 2] = 0;
+
+            assertThatThrownBy(() -> AnsibleVaultCodec.unpad(padded))
+                    .isExactlyInstanceOf(VaultEncryptionException.class)
+                    .hasMessage("Decrypted data has invalid padding");
+        }
+    }
+
+    private static String decryptFixtureToString(AnsibleVaultCodec codec, String fixture) {
+        return new String(codec.decrypt(Fixtures.fixture(fixture)), StandardCharsets.UTF_8);
+    }
+}
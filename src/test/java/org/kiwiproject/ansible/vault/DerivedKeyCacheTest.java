@@ -0,0 +1,124 @@
+package org.kiwiproject.ansible.vault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@DisplayName("DerivedKeyCache")
+class DerivedKeyCacheTest {
+
+    private static final char[] PASSWORD = "password100".toCharArray();
+    private static final byte[] SALT = {1, 2, 3, 4};
+
+    private AnsibleVaultCodec codec;
+    private AtomicLong nanos;
+    private DerivedKeyCache cache;
+    private AtomicInteger derivations;
+
+    @BeforeEach
+    void setUp() {
+        codec = new AnsibleVaultCodec(PASSWORD);
+        nanos = new AtomicLong();
+        Ticker ticker = new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        };
+        cache = new DerivedKeyCache(Duration.ofMinutes(1), 100, ticker);
+        derivations = new AtomicInteger();
+    }
+
+    @Test
+    void shouldUseDefaultTimeToLive() {
+        assertThat(new DerivedKeyCache().getTimeToLive()).isEqualTo(DerivedKeyCache.DEFAULT_TIME_TO_LIVE);
+    }
+
+    @Test
+    void shouldRequirePositiveTimeToLive() {
+        var ticker = Ticker.systemTicker();
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new DerivedKeyCache(Duration.ZERO, 100, ticker))
+                .withMessage("timeToLive must be positive");
+    }
+
+    @Test
+    void shouldDeriveKeysOnce_ForSamePasswordAndSalt() {
+        var keys1 = cache.get(PASSWORD, SALT, this::deriveKeys);
+        var keys2 = cache.get("password100".toCharArray(), SALT.clone(), this::deriveKeys);
+
+        assertThat(keys2).isSameAs(keys1);
+        assertThat(derivations).hasValue(1);
+        assertThat(cache.size()).isOne();
+    }
+
+    @Test
+    void shouldDeriveKeysAgain_ForDifferentPasswordOrSalt() {
+        cache.get(PASSWORD, SALT, this::deriveKeys);
+        cache.get("password200".toCharArray(), SALT, this::deriveKeys);
+        cache.get(PASSWORD, new byte[] {4, 3, 2, 1}, this::deriveKeys);
+
+        assertThat(derivations).hasValue(3);
+        assertThat(cache.size()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldExpireKeys_AfterTimeToLive() {
+        cache.get(PASSWORD, SALT, this::deriveKeys);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        cache.get(PASSWORD, SALT, this::deriveKeys);
+        assertThat(derivations).hasValue(1);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        cache.get(PASSWORD, SALT, this::deriveKeys);
+        assertThat(derivations).hasValue(2);
+    }
+
+    @Test
+    void shouldRethrowVaultEncryptionException_FromKeyDeriver() {
+        var error = new VaultEncryptionException("derivation failed");
+
+        assertThatThrownBy(() -> cache.get(PASSWORD, SALT, () -> {
+            throw error;
+        })).isSameAs(error);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void shouldWrapOtherExceptions_FromKeyDeriver() {
+        var error = new IllegalStateException("derivation failed");
+
+        assertThatThrownBy(() -> cache.get(PASSWORD, SALT, () -> {
+            throw error;
+        }))
+                .isExactlyInstanceOf(VaultEncryptionException.class)
+                .hasMessage("Unable to derive keys")
+                .hasCause(error);
+    }
+
+    @Test
+    void shouldClear() {
+        cache.get(PASSWORD, SALT, this::deriveKeys);
+
+        cache.clear();
+
+        assertThat(cache.size()).isZero();
+    }
+
+    private AnsibleVaultCodec.DerivedKeys deriveKeys() {
+        derivations.incrementAndGet();
+        return codec.deriveKeys(SALT);
+    }
+}
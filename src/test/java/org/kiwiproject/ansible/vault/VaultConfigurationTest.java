@@ -48,6 +48,27 @@ class VaultConfigurationTest {
             assertTempDirectoryIsJavaTempDir(config);
         }
 
+        @Test
+        void shouldUseAnsibleVaultCommandEncryptionStrategyIfNotSupplied() {
+            var config = VaultConfiguration.builder()
+                    .ansibleVaultPath("/usr/bin/ansible-vault")
+                    .vaultPasswordFilePath("/data/vault/.vault_pass")
+                    .build();
+
+            assertThat(config.getEncryptionStrategy()).isEqualTo(VaultEncryptionStrategy.ANSIBLE_VAULT_COMMAND);
+        }
+
+        @Test
+        void shouldUseEncryptionStrategyIfSupplied() {
+            var config = VaultConfiguration.builder()
+                    .ansibleVaultPath("/usr/bin/ansible-vault")
+                    .vaultPasswordFilePath("/data/vault/.vault_pass")
+                    .encryptionStrategy(VaultEncryptionStrategy.IN_JVM)
+                    .build();
+
+            assertThat(config.getEncryptionStrategy()).isEqualTo(VaultEncryptionStrategy.IN_JVM);
+        }
+
         @Test
         void shouldNotAllowBlankAnsibleVaultPath() {
             assertThatIllegalArgumentException()
@@ -74,6 +95,13 @@ class VaultConfigurationTest {
 
             assertTempDirectoryIsJavaTempDir(config);
         }
+
+        @Test
+        void shouldUseAnsibleVaultCommandEncryptionStrategy() {
+            var config = new VaultConfiguration();
+
+            assertThat(config.getEncryptionStrategy()).isEqualTo(VaultEncryptionStrategy.ANSIBLE_VAULT_COMMAND);
+        }
     }
 
     @Nested
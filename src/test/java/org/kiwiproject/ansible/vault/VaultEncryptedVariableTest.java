@@ -1,5 +1,6 @@
 package org.kiwiproject.ansible.vault;
 
+import static java.util.stream.Collectors.joining;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.junit.jupiter.api.condition.OS.LINUX;
@@ -196,4 +197,55 @@ class VaultEncryptedVariableTest {
             assertThat(nameParts[2]).isEqualTo("txt");
         }
     }
+
+    @Nested
+    class FindAllIn {
+
+        @Test
+        void shouldFindNestedVariables_InOrder() {
+            var encryptString1 = Fixtures.fixture("ansible-vault/encrypt_string_1.1.txt");
+            var encryptString2 = Fixtures.fixture("ansible-vault/encrypt_string_1.2.txt");
+            var yaml = String.join("\n",
+                    "database:",
+                    "  host: db.example.com",
+                    indent(encryptString1, 2),
+                    "  port: 5432",
+                    "users:",
+                    "  - name: alice",
+                    indent(encryptString2, 4),
+                    "plain: value");
+
+            var variables = VaultEncryptedVariable.findAllIn(yaml).stream()
+                    .map(VaultEncryptedVariable::new)
+                    .toList();
+
+            assertThat(variables).hasSize(2);
+            assertThat(variables.get(0).getVariableName()).isEqualTo("db_password");
+            assertThat(variables.get(0).getEncryptedFileContent())
+                    .isEqualTo(new VaultEncryptedVariable(encryptString1).getEncryptedFileContent());
+            assertThat(variables.get(1).getVariableName()).isEqualTo("some_password");
+            assertThat(variables.get(1).getVaultIdLabel()).hasValue("dev");
+            assertThat(variables.get(1).getEncryptedFileContent())
+                    .isEqualTo(new VaultEncryptedVariable(encryptString2).getEncryptedFileContent());
+        }
+
+        @Test
+        void shouldReturnEmptyList_WhenNoVariablesAreEncrypted() {
+            assertThat(VaultEncryptedVariable.findAllIn("name: value\nother: !!str 42\n")).isEmpty();
+        }
+
+        /**
+         * Re-indents encrypt_string output so that the variable is at the given indent, and its encrypted content is
+         * indented two more spaces.
+         */
+        private static String indent(String encryptString, int indent) {
+            var lines = encryptString.lines().toList();
+            var variableIndent = " ".repeat(indent);
+            var contentIndent = " ".repeat(indent + 2);
+            return variableIndent + lines.get(0) + "\n" + lines.stream()
+                    .skip(1)
+                    .map(line -> contentIndent + line.strip())
+                    .collect(joining("\n"));
+        }
+    }
 }
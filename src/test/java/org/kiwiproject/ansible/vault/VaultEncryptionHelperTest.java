@@ -1,6 +1,7 @@
 package org.kiwiproject.ansible.vault;
 
 import static java.util.Objects.isNull;
+import static java.util.stream.Collectors.joining;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -39,6 +40,7 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 /**
  * This test mocks out the actual ansible-vault invocations. It therefore tests everything except the
@@ -526,6 +528,207 @@ class VaultEncryptionHelperTest {
         }
     }
 
+    @Nested
+    class InJvmStrategy {
+
+        private static final String SECRET_FILE = "ansible-vault/secret.txt";
+
+        private VaultConfiguration inJvmConfiguration;
+
+        @BeforeEach
+        void setUp() {
+            inJvmConfiguration = configuration.copyOf();
+            inJvmConfiguration.setEncryptionStrategy(VaultEncryptionStrategy.IN_JVM);
+            helper = new VaultEncryptionHelper(inJvmConfiguration, processHelper);
+        }
+
+        @Test
+        void shouldDecryptString_WithoutLaunchingAnsibleVault() {
+            var encryptedString = Fixtures.fixture(ENCRYPT_STRING_1_1_FORMAT);
+
+            assertThat(helper.decryptString(encryptedString)).isEqualTo("test");
+
+            verifyNoInteractions(processHelper);
+            assertThat(folder)
+                    .isDirectoryNotContaining(path -> path.getFileName().toString().startsWith(VARIABLE_NAME));
+        }
+
+        @Test
+        void shouldEncryptAndDecryptStrings_WithoutLaunchingAnsibleVault() {
+            var encryptedString = helper.encryptString("this is the plain text", "some_variable");
+            var encryptedStringWithLabel = helper.encryptString("dev", "more plain text", "other_variable");
+
+            var variable = new VaultEncryptedVariable(encryptedString);
+            assertThat(variable.getVariableName()).isEqualTo("some_variable");
+            assertThat(variable.getFormatVersion()).isEqualTo("1.1");
+            assertThat(variable.getVaultIdLabel()).isEmpty();
+
+            var variableWithLabel = new VaultEncryptedVariable(encryptedStringWithLabel);
+            assertThat(variableWithLabel.getFormatVersion()).isEqualTo("1.2");
+            assertThat(variableWithLabel.getVaultIdLabel()).hasValue("dev");
+
+            assertThat(helper.decryptString(encryptedString)).isEqualTo("this is the plain text");
+            assertThat(helper.decryptString(encryptedStringWithLabel)).isEqualTo("more plain text");
+
+            verifyNoInteractions(processHelper);
+        }
+
+        @Test
+        void shouldViewFile_WithoutLaunchingAnsibleVault() {
+            var encryptedFile = Fixtures.fixturePath(SECRET_FILE);
+
+            assertThat(helper.viewFile(encryptedFile)).isEqualTo("Remember to drink your Ovaltine\n");
+
+            verifyNoInteractions(processHelper);
+        }
+
+        @Test
+        void shouldFallBackToAnsibleVault_WhenFileCannotBeDecrypted() throws IOException {
+            var plainTextFile = Files.writeString(folder.resolve("plain.txt"), "not encrypted");
+            var errorOutput = "ERROR! input is not vault encrypted data";
+            mockOsProcess(processHelper, process, 1, null, errorOutput);
+
+            assertThatThrownBy(() -> helper.viewFile(plainTextFile))
+                    .isExactlyInstanceOf(VaultEncryptionException.class)
+                    .hasMessage("ansible-vault returned non-zero exit code 1. Stderr: %s", errorOutput);
+
+            var command = VaultViewCommand.from(inJvmConfiguration, plainTextFile.toString());
+            verify(processHelper).launch(command.parts());
+        }
+
+        @Test
+        void shouldFallBackToAnsibleVault_WhenPasswordIsIncorrect() throws IOException {
+            Files.writeString(Path.of(inJvmConfiguration.getVaultPasswordFilePath()), "wrong-password");
+            mockOsProcess(processHelper, process, 0, "secret sauce", null);
+
+            var encryptedString = Fixtures.fixture(ENCRYPT_STRING_1_1_FORMAT);
+
+            assertThat(helper.decryptString(encryptedString)).isEqualTo("secret sauce");
+
+            verify(processHelper).launch(anyList());
+        }
+    }
+
+    @Nested
+    class DecryptStrings {
+
+        private DerivedKeyCache derivedKeyCache;
+
+        @BeforeEach
+        void setUp() {
+            var inJvmConfiguration = configuration.copyOf();
+            inJvmConfiguration.setEncryptionStrategy(VaultEncryptionStrategy.IN_JVM);
+            derivedKeyCache = new DerivedKeyCache();
+            helper = new VaultEncryptionHelper(inJvmConfiguration, processHelper, derivedKeyCache);
+        }
+
+        @Test
+        void shouldNotAllowNonPositiveMaxConcurrency() {
+            var encryptedStrings = List.of(Fixtures.fixture(ENCRYPT_STRING_1_1_FORMAT));
+
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> helper.decryptStrings(encryptedStrings, 0))
+                    .withMessage("maxConcurrency must be positive");
+        }
+
+        @Test
+        void shouldReturnEmptyList_WhenGivenNoStrings() {
+            assertThat(helper.decryptStrings(List.of())).isEmpty();
+        }
+
+        @Test
+        void shouldDecryptStrings_InInputOrder() {
+            var encryptedStrings = IntStream.rangeClosed(1, 20)
+                    .mapToObj(i -> helper.encryptString("value " + i, "variable_" + i))
+                    .toList();
+
+            var results = helper.decryptStrings(encryptedStrings, 4);
+
+            assertThat(results).hasSize(20).allMatch(VaultDecryptionResult::isSuccessful);
+            assertThat(results).extracting(VaultDecryptionResult::variableName)
+                    .containsExactlyElementsOf(IntStream.rangeClosed(1, 20).mapToObj(i -> "variable_" + i).toList());
+            assertThat(results).extracting(VaultDecryptionResult::plainText)
+                    .containsExactlyElementsOf(IntStream.rangeClosed(1, 20).mapToObj(i -> "value " + i).toList());
+
+            verifyNoInteractions(processHelper);
+        }
+
+        @Test
+        void shouldCacheDerivedKeys() {
+            var encryptedStrings = List.of(
+                    Fixtures.fixture(ENCRYPT_STRING_1_1_FORMAT),
+                    Fixtures.fixture("ansible-vault/encrypt_string_1.2.txt"));
+
+            var firstResults = helper.decryptStrings(encryptedStrings);
+            var secondResults = helper.decryptStrings(encryptedStrings);
+
+            assertThat(derivedKeyCache.size()).isEqualTo(2);
+            assertThat(secondResults).isEqualTo(firstResults);
+            assertThat(firstResults).extracting(VaultDecryptionResult::plainText)
+                    .containsExactly("test", "Very_strong-passworD-00%");
+        }
+
+        @Test
+        void shouldReportErrorsForEachString() {
+            mockOsProcess(processHelper, process, 1, null, "ERROR! Decryption failed");
+            var tamperedString = Fixtures.fixture(ENCRYPT_STRING_1_1_FORMAT).replace("3339", "3338");
+            var encryptedStrings = List.of(
+                    "not an encrypted variable",
+                    Fixtures.fixture(ENCRYPT_STRING_1_1_FORMAT),
+                    tamperedString);
+
+            var results = helper.decryptStrings(encryptedStrings);
+
+            assertThat(results).hasSize(3);
+
+            var first = results.get(0);
+            assertThat(first.isFailed()).isTrue();
+            assertThat(first.variableName()).isNull();
+            assertThat(first.error()).isExactlyInstanceOf(IllegalArgumentException.class);
+
+            var second = results.get(1);
+            assertThat(second.isSuccessful()).isTrue();
+            assertThat(second.plainTextOrThrow()).isEqualTo("test");
+
+            var third = results.get(2);
+            assertThat(third.isFailed()).isTrue();
+            assertThat(third.variableName()).isEqualTo(VARIABLE_NAME);
+            assertThat(third.error())
+                    .isExactlyInstanceOf(VaultEncryptionException.class)
+                    .hasMessage("ansible-vault returned non-zero exit code 1. Stderr: ERROR! Decryption failed");
+            assertThatThrownBy(third::plainTextOrThrow)
+                    .isExactlyInstanceOf(VaultEncryptionException.class)
+                    .hasMessage("Error decrypting variable %s", VARIABLE_NAME)
+                    .hasCause(third.error());
+        }
+
+        @Test
+        void shouldDecryptStringsInFile() throws IOException {
+            var yaml = String.join("\n",
+                    "app:",
+                    "  name: test-app",
+                    "  credentials:",
+                    indent(helper.encryptString("s3cr3t", "password"), 4),
+                    indent(helper.encryptString("dev", "abc123", "api_key"), 4),
+                    "  port: 8080");
+            var yamlFile = Files.writeString(folder.resolve("vars.yml"), yaml);
+
+            var results = helper.decryptStringsInFile(yamlFile);
+
+            assertThat(results).containsExactly(
+                    VaultDecryptionResult.ofSuccess("password", "s3cr3t"),
+                    VaultDecryptionResult.ofSuccess("api_key", "abc123"));
+        }
+
+        private static String indent(String encryptString, int indent) {
+            var variableIndent = " ".repeat(indent);
+            var contentIndent = " ".repeat(indent + 2);
+            return encryptString.lines()
+                    .map(line -> line.startsWith(" ") ? contentIndent + line.strip() : variableIndent + line)
+                    .collect(joining("\n"));
+        }
+    }
+
     // Things this method mocks:
     //
     // mockProcessHelper:
@@ -0,0 +1,207 @@
+package org.kiwiproject.base.process;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.google.common.base.StandardSystemProperty;
+import org.apache.commons.lang3.SystemUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+@DisplayName("InJvmProcessDiscovery")
+class InJvmProcessDiscoveryTest {
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(SystemUtils.IS_OS_UNIX, "This test should only run on UNIX or UNIX-like systems");
+    }
+
+    @Nested
+    class FindProcesses {
+
+        @BeforeEach
+        void setUp() {
+            assumeTrue(InJvmProcessDiscovery.isProcFileSystemAvailable(), "This test requires the /proc file system");
+        }
+
+        @Test
+        void shouldFindProcessesMatchingCommandLine_OrderedByPid() {
+            var processes = launchSleepProcesses("77", "78");
+
+            try {
+                var results = InJvmProcessDiscovery.findProcesses(null, "sleep 7[78]");
+
+                assertThat(results).containsExactly(
+                        Pair.of(processes.get(0).pid(), "sleep 77"),
+                        Pair.of(processes.get(1).pid(), "sleep 78")
+                );
+            } finally {
+                processes.forEach(Process::destroy);
+            }
+        }
+
+        @Test
+        void shouldFindProcessesForSpecificUser() {
+            var osUser = System.getProperty(StandardSystemProperty.USER_NAME.key());
+            var processes = launchSleepProcesses("79");
+
+            try {
+                assertThat(InJvmProcessDiscovery.findProcesses(osUser, "sleep 79"))
+                        .extracting(Pair::getLeft)
+                        .containsExactly(processes.get(0).pid());
+
+                assertThat(InJvmProcessDiscovery.findProcesses("not-a-user-" + System.nanoTime(), "sleep 79"))
+                        .isEmpty();
+            } finally {
+                processes.forEach(Process::destroy);
+            }
+        }
+
+        @Test
+        void shouldReturnEmptyList_WhenNothingMatches() {
+            var commandLine = "this-does-not-match-any-process-" + System.nanoTime();
+
+            assertThat(InJvmProcessDiscovery.findProcesses(null, commandLine)).isEmpty();
+        }
+    }
+
+    @Nested
+    class ReadCommandLine {
+
+        @Test
+        void shouldReadCommandLine() {
+            assumeTrue(InJvmProcessDiscovery.isProcFileSystemAvailable(), "This test requires the /proc file system");
+
+            var process = Processes.launch("sleep", "80");
+            try {
+                assertThat(InJvmProcessDiscovery.readCommandLine(process.pid())).contains("sleep 80");
+            } finally {
+                process.destroy();
+            }
+        }
+
+        @Test
+        void shouldReturnEmptyOptional_WhenProcessDoesNotExist() {
+            assertThat(InJvmProcessDiscovery.readCommandLine(-1L)).isEmpty();
+        }
+    }
+
+    @Nested
+    class FindChildProcessIds {
+
+        @Test
+        void shouldFindChildProcesses() {
+            var processes = launchSleepProcesses("81", "82");
+
+            try {
+                var currentPid = ProcessHandle.current().pid();
+
+                assertThat(InJvmProcessDiscovery.findChildProcessIds(currentPid))
+                        .contains(processes.get(0).pid(), processes.get(1).pid())
+                        .isSorted();
+            } finally {
+                processes.forEach(Process::destroy);
+            }
+        }
+
+        @Test
+        void shouldReturnEmptyList_WhenParentProcessDoesNotExist() {
+            assertThat(InJvmProcessDiscovery.findChildProcessIds(-1L)).isEmpty();
+        }
+    }
+
+    @Nested
+    class Which {
+
+        @TempDir
+        Path temporaryPath;
+
+        @Test
+        void shouldReturnFirstExecutableInPath() throws IOException {
+            var dir1 = Files.createDirectory(temporaryPath.resolve("dir1"));
+            var dir2 = Files.createDirectory(temporaryPath.resolve("dir2"));
+            var dir3 = Files.createDirectory(temporaryPath.resolve("dir3"));
+            Files.createFile(dir1.resolve("my-program"));
+            createExecutable(dir2.resolve("my-program"));
+            createExecutable(dir3.resolve("my-program"));
+
+            var pathVariable = String.join(File.pathSeparator, dir1.toString(), dir2.toString(), dir3.toString());
+
+            assertThat(InJvmProcessDiscovery.which("my-program", pathVariable))
+                    .contains(dir2.resolve("my-program").toString());
+        }
+
+        @Test
+        void shouldIgnoreDirectories() throws IOException {
+            var dir1 = Files.createDirectory(temporaryPath.resolve("dir1"));
+            Files.createDirectory(dir1.resolve("my-program"));
+
+            assertThat(InJvmProcessDiscovery.which("my-program", dir1.toString())).isEmpty();
+        }
+
+        @Test
+        void shouldCheckProgramDirectly_WhenItContainsPathSeparator() throws IOException {
+            var program = createExecutable(temporaryPath.resolve("my-program"));
+
+            assertThat(InJvmProcessDiscovery.which(program.toString(), null)).contains(program.toString());
+            assertThat(InJvmProcessDiscovery.which(temporaryPath.resolve("other").toString(), null)).isEmpty();
+        }
+
+        @ParameterizedTest
+        @NullAndEmptySource
+        @ValueSource(strings = " ")
+        void shouldReturnEmptyOptional_WhenProgramIsBlank(String program) {
+            assertThat(InJvmProcessDiscovery.which(program, temporaryPath.toString())).isEmpty();
+        }
+
+        @Test
+        void shouldReturnEmptyOptional_WhenPathVariableIsNull() {
+            assertThat(InJvmProcessDiscovery.which("ls", null)).isEmpty();
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"cp", "ls", "mv"})
+        void shouldFindSameProgramsAsWhichCommand(String program) {
+            var whichProcess = Processes.launch("which", program);
+            var expected = new String(readAllBytes(whichProcess)).strip();
+
+            assertThat(InJvmProcessDiscovery.which(program)).contains(expected);
+        }
+
+        private static Path createExecutable(Path path) throws IOException {
+            var file = Files.createFile(path);
+            assertThat(file.toFile().setExecutable(true)).isTrue();
+            return file;
+        }
+
+        private static byte[] readAllBytes(Process process) {
+            try (var inputStream = process.getInputStream()) {
+                return inputStream.readAllBytes();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static List<Process> launchSleepProcesses(String... seconds) {
+        var processes = new ArrayList<Process>();
+        for (var value : seconds) {
+            processes.add(Processes.launch("sleep", value));
+        }
+        return processes;
+    }
+}
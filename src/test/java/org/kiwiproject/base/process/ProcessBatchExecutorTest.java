@@ -0,0 +1,278 @@
+package org.kiwiproject.base.process;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.MetricRegistry;
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.kiwiproject.base.DefaultEnvironment;
+import org.kiwiproject.base.UncheckedInterruptedException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@DisplayName("ProcessBatchExecutor")
+class ProcessBatchExecutorTest {
+
+    private ProcessBatchExecutor batchExecutor;
+
+    @AfterEach
+    void tearDown() {
+        if (nonNull(batchExecutor)) {
+            batchExecutor.close();
+        }
+    }
+
+    @Nested
+    class Construction {
+
+        @Test
+        void shouldUseDefaults() {
+            batchExecutor = ProcessBatchExecutor.builder().build();
+
+            assertThat(batchExecutor.getMaxConcurrency()).isEqualTo(Runtime.getRuntime().availableProcessors());
+            assertThat(batchExecutor.getCommandTimeout()).isEqualTo(ProcessBatchExecutor.DEFAULT_COMMAND_TIMEOUT);
+        }
+
+        @Test
+        void shouldRequirePositiveMaxConcurrency() {
+            var builder = ProcessBatchExecutor.builder().maxConcurrency(0);
+
+            assertThatIllegalArgumentException()
+                    .isThrownBy(builder::build)
+                    .withMessage("maxConcurrency must be positive");
+        }
+
+        @Test
+        void shouldRequirePositiveCommandTimeout() {
+            var builder = ProcessBatchExecutor.builder().commandTimeout(Duration.ZERO);
+
+            assertThatIllegalArgumentException()
+                    .isThrownBy(builder::build)
+                    .withMessage("commandTimeout must be positive");
+        }
+    }
+
+    @Nested
+    class ExecuteAll {
+
+        private MetricRegistry metrics;
+
+        @BeforeEach
+        void setUp() {
+            assumeTrue(SystemUtils.IS_OS_UNIX, "This test should only run on UNIX or UNIX-like systems");
+            metrics = new MetricRegistry();
+        }
+
+        @Test
+        void shouldCaptureResults() {
+            batchExecutor = ProcessBatchExecutor.builder().maxConcurrency(2).metricRegistry(metrics).build();
+
+            var results = batchExecutor.executeAll(List.of(
+                    command("echo", "hello"),
+                    command("sh", "-c", "echo oops 1>&2; exit 2")
+            ));
+
+            assertThat(results).hasSize(2);
+            assertThat(results).anySatisfy(result -> {
+                assertThat(result.isSuccessful()).isTrue();
+                assertThat(result.exitCode()).contains(0);
+                assertThat(result.stdout().lines()).containsExactly("hello");
+                assertThat(result.runTime()).isPositive();
+            });
+            assertThat(results).anySatisfy(result -> {
+                assertThat(result.isSuccessful()).isFalse();
+                assertThat(result.exitCode()).contains(2);
+                assertThat(result.stderr().lines()).containsExactly("oops");
+            });
+
+            var prefix = ProcessBatchExecutor.DEFAULT_METRIC_NAME_PREFIX;
+            assertThat(metrics.timer(prefix + ".queueWait").getCount()).isEqualTo(2);
+            assertThat(metrics.timer(prefix + ".runTime").getCount()).isEqualTo(2);
+            assertThat(metrics.counter(prefix + ".timedOut").getCount()).isZero();
+            assertThat(metrics.counter(prefix + ".launchFailed").getCount()).isZero();
+        }
+
+        @Test
+        void shouldLimitConcurrency_AndRecordQueueWait() {
+            batchExecutor = ProcessBatchExecutor.builder().maxConcurrency(1).build();
+
+            var results = batchExecutor.executeAll(List.of(
+                    command("sleep", "0.3"),
+                    command("sleep", "0.3"),
+                    command("sleep", "0.3")
+            ));
+
+            assertThat(results).allMatch(ProcessBatchExecutor.CommandResult::isSuccessful);
+            assertThat(results.get(2).queueWait()).isGreaterThanOrEqualTo(Duration.ofMillis(500));
+        }
+
+        @Test
+        void shouldKillCommandsThatTimeOut() {
+            batchExecutor = ProcessBatchExecutor.builder()
+                    .commandTimeout(Duration.ofMillis(250))
+                    .metricRegistry(metrics)
+                    .metricNamePrefix("test")
+                    .build();
+
+            var results = batchExecutor.executeAll(List.of(command("sleep", "30")));
+
+            var result = results.get(0);
+            assertThat(result.timedOut()).isTrue();
+            assertThat(result.isSuccessful()).isFalse();
+            assertThat(result.exitCode()).isEmpty();
+            assertThat(result.runTime()).isLessThan(Duration.ofSeconds(10));
+            assertThat(result.outputIncomplete()).isFalse();
+            assertThat(metrics.counter("test.timedOut").getCount()).isOne();
+        }
+
+        @Test
+        void shouldKeepExitCode_AndNotKill_WhenCommandExitsButOutputIsDrainedSlowly() throws InterruptedException {
+            var processHelper = spy(new ProcessHelper());
+            var environment = new DefaultEnvironment();
+            var slowOutputCollector = ProcessOutputCollector.builder()
+                    .stdoutLineConsumer(line -> environment.sleepQuietly(200))
+                    .build();
+            batchExecutor = ProcessBatchExecutor.builder()
+                    .commandTimeout(Duration.ofMillis(250))
+                    .processHelper(processHelper)
+                    .outputCollector(slowOutputCollector)
+                    .metricRegistry(metrics)
+                    .metricNamePrefix("test")
+                    .build();
+
+            var results = batchExecutor.executeAll(List.of(command("sh", "-c", "seq 1 10; exit 3")));
+
+            var result = results.get(0);
+            assertThat(result.timedOut()).isFalse();
+            assertThat(result.outputIncomplete()).isTrue();
+            assertThat(result.exitCode()).contains(3);
+            assertThat(result.stdout().lineCount()).isLessThan(10);
+            assertThat(metrics.counter("test.timedOut").getCount()).isZero();
+            verify(processHelper, never()).killForcibly(any(Process.class), anyLong(), any(TimeUnit.class));
+        }
+
+        @Test
+        void shouldReportCommandsThatCannotBeLaunched() {
+            var processHelper = mock(ProcessHelper.class);
+            var launchError = new UncheckedIOException(new IOException("no such file"));
+            when(processHelper.launch(anyList())).thenThrow(launchError);
+
+            batchExecutor = ProcessBatchExecutor.builder()
+                    .processHelper(processHelper)
+                    .metricRegistry(metrics)
+                    .build();
+
+            var results = batchExecutor.executeAll(List.of(command("does-not-exist")));
+
+            var result = results.get(0);
+            assertThat(result.isLaunchFailed()).isTrue();
+            assertThat(result.launchError()).isSameAs(launchError);
+            assertThat(result.isSuccessful()).isFalse();
+            assertThat(result.stdout().lineCount()).isZero();
+            assertThat(metrics.counter(ProcessBatchExecutor.DEFAULT_METRIC_NAME_PREFIX + ".launchFailed").getCount())
+                    .isOne();
+        }
+
+        @Test
+        void shouldReportCommandsThatFail_AfterLaunch() throws InterruptedException {
+            var processHelper = mock(ProcessHelper.class);
+            var process = mock(Process.class);
+            when(processHelper.launch(anyList())).thenReturn(process);
+            when(processHelper.killForcibly(process, 5, TimeUnit.SECONDS)).thenReturn(true);
+
+            var outputCollector = mock(ProcessOutputCollector.class);
+            var collectError = new UncheckedInterruptedException(new InterruptedException("interrupted"));
+            when(outputCollector.collect(any(Process.class), anyLong(), any(TimeUnit.class))).thenThrow(collectError);
+
+            batchExecutor = ProcessBatchExecutor.builder()
+                    .processHelper(processHelper)
+                    .outputCollector(outputCollector)
+                    .build();
+
+            var results = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                    () -> batchExecutor.executeAll(List.of(command("echo", "1"), command("echo", "2"))));
+
+            assertThat(results).hasSize(2).allSatisfy(result -> {
+                assertThat(result.isRunFailed()).isTrue();
+                assertThat(result.runError()).isSameAs(collectError);
+                assertThat(result.isLaunchFailed()).isFalse();
+                assertThat(result.isSuccessful()).isFalse();
+                assertThat(result.exitCode()).isEmpty();
+            });
+            verify(processHelper, times(2)).killForcibly(process, 5, TimeUnit.SECONDS);
+        }
+
+        @Test
+        void shouldReportCommandsWhoseFuturesCompleteExceptionally() {
+            var processHelper = mock(ProcessHelper.class);
+            when(processHelper.launch(anyList())).thenReturn(mock(Process.class));
+
+            var outputCollector = mock(ProcessOutputCollector.class);
+            var error = new AssertionError("unexpected error");
+            when(outputCollector.collect(any(Process.class), anyLong(), any(TimeUnit.class))).thenThrow(error);
+
+            batchExecutor = ProcessBatchExecutor.builder()
+                    .processHelper(processHelper)
+                    .outputCollector(outputCollector)
+                    .build();
+
+            var results = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                    () -> batchExecutor.executeAll(List.of(command("echo", "1"))));
+
+            var result = results.get(0);
+            assertThat(result.isRunFailed()).isTrue();
+            assertThat(result.runError()).isSameAs(error);
+            assertThat(result.isSuccessful()).isFalse();
+        }
+
+        @Test
+        void shouldPassResultsToConsumer_AsTheyComplete() {
+            batchExecutor = ProcessBatchExecutor.builder().maxConcurrency(2).build();
+            var consumed = new ArrayList<ProcessBatchExecutor.CommandResult>();
+
+            var results = batchExecutor.executeAll(List.of(
+                    command("sleep", "0.5"),
+                    command("echo", "fast")
+            ), consumed::add);
+
+            assertThat(consumed).isEqualTo(results);
+            assertThat(results.get(0).command().parts()).containsExactly("echo", "fast");
+        }
+
+        @Test
+        void shouldReturnFutures_InCommandOrder() throws Exception {
+            batchExecutor = ProcessBatchExecutor.builder().build();
+
+            var futures = batchExecutor.submitAll(List.of(command("echo", "1"), command("echo", "2")));
+
+            assertThat(futures.get(0).get(5, TimeUnit.SECONDS).stdout().lines()).containsExactly("1");
+            assertThat(futures.get(1).get(5, TimeUnit.SECONDS).stdout().lines()).containsExactly("2");
+        }
+    }
+
+    private static OsCommand command(String... parts) {
+        return () -> List.of(parts);
+    }
+}
@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
 import static org.kiwiproject.collect.KiwiLists.first;
 import static org.kiwiproject.collect.KiwiLists.nth;
 import static org.kiwiproject.collect.KiwiLists.second;
@@ -20,11 +21,14 @@ import static org.mockito.Mockito.when;
 
 import com.google.common.base.StandardSystemProperty;
 import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
 import java.io.File;
 import java.io.IOException;
@@ -411,6 +415,47 @@ class ProcessHelperTest {
         assertThat(process.isAlive()).isTrue();
     }
 
+    @Nested
+    class FindChildProcessIds {
+
+        @AfterEach
+        void tearDown() {
+            Processes.setDiscoveryStrategy(ProcessDiscoveryStrategy.PROCESS_HANDLE);
+        }
+
+        @ParameterizedTest
+        @EnumSource(ProcessDiscoveryStrategy.class)
+        void shouldFindChildProcesses_UsingEitherStrategy(ProcessDiscoveryStrategy strategy) throws IOException {
+            Processes.setDiscoveryStrategy(strategy);
+            var parentProcess = new ProcessBuilder("sh", "-c", "sleep 88; echo done").start();
+
+            try {
+                await().atMost(5, TimeUnit.SECONDS)
+                        .until(() -> processes.findChildProcessIds(parentProcess.pid()).size() == 1);
+
+                var childProcessIds = processes.findChildProcessIds(parentProcess.pid());
+                var childProcessId = processes.findChildProcessId(parentProcess.pid());
+                assertThat(childProcessId).isPresent();
+                assertThat(childProcessIds).containsExactly(childProcessId.orElseThrow());
+            } finally {
+                parentProcess.descendants().forEach(ProcessHandle::destroy);
+                parentProcess.destroy();
+            }
+        }
+
+        @ParameterizedTest
+        @EnumSource(ProcessDiscoveryStrategy.class)
+        void shouldThrowIllegalState_WhenMultipleChildren_UsingEitherStrategy(ProcessDiscoveryStrategy strategy) {
+            Processes.setDiscoveryStrategy(strategy);
+            var currentProcessId = ProcessHandle.current().pid();
+            var pids = List.of(createSleepingProcess(), createSleepingProcess());
+
+            runTestWithPids(pids, pids1 -> assertThatIllegalStateException()
+                    .isThrownBy(() -> processes.findChildProcessId(currentProcessId))
+                    .withMessage("More than one child process found for process ID " + currentProcessId));
+        }
+    }
+
     @Test
     void testFindChildProcessId_WhenNoChildFound() {
         Optional<Long> childProcessId = processes.findChildProcessId(-1L);
@@ -0,0 +1,239 @@
+package org.kiwiproject.base.process;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@DisplayName("ProcessOutputCollector")
+class ProcessOutputCollectorTest {
+
+    @Nested
+    class Construction {
+
+        @Test
+        void shouldUseDefaults() {
+            var collector = new ProcessOutputCollector();
+
+            assertThat(collector.getHeadLines()).isEqualTo(ProcessOutputCollector.DEFAULT_HEAD_LINES);
+            assertThat(collector.getTailLines()).isEqualTo(ProcessOutputCollector.DEFAULT_TAIL_LINES);
+            assertThat(collector.getMaxLineLength()).isEqualTo(ProcessOutputCollector.DEFAULT_MAX_LINE_LENGTH);
+            assertThat(collector.getCharset()).hasToString("UTF-8");
+        }
+
+        @Test
+        void shouldAllowZeroHeadAndTailLines() {
+            var collector = ProcessOutputCollector.builder().headLines(0).tailLines(0).build();
+
+            assertThat(collector.getHeadLines()).isZero();
+            assertThat(collector.getTailLines()).isZero();
+        }
+
+        @Test
+        void shouldNotAllowNegativeHeadLines() {
+            var builder = ProcessOutputCollector.builder().headLines(-1);
+
+            assertThatIllegalArgumentException()
+                    .isThrownBy(builder::build)
+                    .withMessage("headLines cannot be negative");
+        }
+
+        @Test
+        void shouldNotAllowNegativeTailLines() {
+            var builder = ProcessOutputCollector.builder().tailLines(-1);
+
+            assertThatIllegalArgumentException()
+                    .isThrownBy(builder::build)
+                    .withMessage("tailLines cannot be negative");
+        }
+
+        @Test
+        void shouldRequirePositiveMaxLineLength() {
+            var builder = ProcessOutputCollector.builder().maxLineLength(0);
+
+            assertThatIllegalArgumentException()
+                    .isThrownBy(builder::build)
+                    .withMessage("maxLineLength must be positive");
+        }
+    }
+
+    @Nested
+    class Collect {
+
+        @BeforeEach
+        void setUp() {
+            assumeTrue(SystemUtils.IS_OS_UNIX, "This test should only run on UNIX or UNIX-like systems");
+        }
+
+        @Test
+        void shouldCaptureStdoutAndStderr() {
+            var process = Processes.launch("sh", "-c", "echo out1; echo err1 1>&2; echo out2; exit 3");
+
+            var output = new ProcessOutputCollector().collect(process, 5, TimeUnit.SECONDS);
+
+            assertThat(output.exitCode()).contains(3);
+            assertThat(output.isSuccessful()).isFalse();
+            assertThat(output.timedOut()).isFalse();
+            assertThat(output.stdout().lines()).containsExactly("out1", "out2");
+            assertThat(output.stderr().lines()).containsExactly("err1");
+        }
+
+        @Test
+        void shouldNotStall_WhenProcessWritesLotsToStderr() {
+            var command = "for i in $(seq 1 50000); do echo error-line-$i 1>&2; done; echo done";
+            var process = Processes.launch("sh", "-c", command);
+
+            var output = ProcessOutputCollector.builder()
+                    .headLines(2)
+                    .tailLines(3)
+                    .build()
+                    .collect(process, 30, TimeUnit.SECONDS);
+
+            assertThat(output.isSuccessful()).isTrue();
+            assertThat(output.timedOut()).isFalse();
+            assertThat(output.stdout().lines()).containsExactly("done");
+
+            var stderr = output.stderr();
+            assertThat(stderr.lineCount()).isEqualTo(50_000);
+            assertThat(stderr.head()).containsExactly("error-line-1", "error-line-2");
+            assertThat(stderr.tail()).containsExactly("error-line-49998", "error-line-49999", "error-line-50000");
+            assertThat(stderr.isTruncated()).isTrue();
+            assertThat(stderr.omittedLineCount()).isEqualTo(49_995);
+        }
+
+        @Test
+        void shouldSendEveryLineToLineConsumers() {
+            var stdoutLines = Collections.synchronizedList(new ArrayList<String>());
+            var stderrLines = Collections.synchronizedList(new ArrayList<String>());
+            var collector = ProcessOutputCollector.builder()
+                    .headLines(1)
+                    .tailLines(0)
+                    .stdoutLineConsumer(stdoutLines::add)
+                    .stderrLineConsumer(stderrLines::add)
+                    .build();
+
+            var process = Processes.launch("sh", "-c", "echo a; echo b; echo c; echo x 1>&2");
+            var output = collector.collect(process, 5, TimeUnit.SECONDS);
+
+            assertThat(output.stdout().lines()).containsExactly("a");
+            assertThat(stdoutLines).containsExactly("a", "b", "c");
+            assertThat(stderrLines).containsExactly("x");
+        }
+
+        @Test
+        void shouldContinueDraining_WhenLineConsumerThrows() {
+            var collector = ProcessOutputCollector.builder()
+                    .stdoutLineConsumer(line -> {
+                        throw new IllegalStateException("oops");
+                    })
+                    .build();
+
+            var process = Processes.launch("sh", "-c", "echo a; echo b");
+            var output = collector.collect(process, 5, TimeUnit.SECONDS);
+
+            assertThat(output.isSuccessful()).isTrue();
+            assertThat(output.stdout().lines()).containsExactly("a", "b");
+        }
+
+        @Test
+        void shouldTimeOut_WhenProcessDoesNotExitInTime() {
+            var process = Processes.launch("sh", "-c", "echo started; sleep 30");
+
+            try {
+                var output = new ProcessOutputCollector().collect(process, 250, TimeUnit.MILLISECONDS);
+
+                assertThat(output.timedOut()).isTrue();
+                assertThat(output.exitCode()).isEmpty();
+                assertThat(output.isSuccessful()).isFalse();
+                assertThat(process.isAlive()).isTrue();
+            } finally {
+                process.descendants().forEach(ProcessHandle::destroyForcibly);
+                process.destroyForcibly();
+            }
+        }
+
+        @Test
+        void shouldCollect_UsingProcessesAndProcessHelper() {
+            var collector = new ProcessOutputCollector();
+            var command = List.of("echo", "hello");
+
+            var output1 = Processes.launchAndCollectOutput(command, collector, 5, TimeUnit.SECONDS);
+            var output2 = new ProcessHelper().launchAndCollectOutput(command, collector, 5, TimeUnit.SECONDS);
+
+            assertThat(output1.stdout().lines()).containsExactly("hello");
+            assertThat(output2.stdout().lines()).containsExactly("hello");
+        }
+    }
+
+    @Nested
+    class CapturedOutput {
+
+        @Test
+        void shouldReturnAllLines_WhenNotTruncated() {
+            var captured = new ProcessOutputCollector.CapturedOutput(List.of("a", "b"), List.of("c"), 3);
+
+            assertThat(captured.isTruncated()).isFalse();
+            assertThat(captured.lines()).containsExactly("a", "b", "c");
+            assertThat(captured.asString()).isEqualTo(String.join(System.lineSeparator(), "a", "b", "c"));
+        }
+
+        @Test
+        void shouldIndicateOmittedLines_WhenTruncated() {
+            var captured = new ProcessOutputCollector.CapturedOutput(List.of("a"), List.of("z"), 26);
+
+            assertThat(captured.isTruncated()).isTrue();
+            assertThat(captured.omittedLineCount()).isEqualTo(24);
+            assertThat(captured.asString())
+                    .isEqualTo(String.join(System.lineSeparator(), "a", "[... 24 lines omitted ...]", "z"));
+        }
+    }
+
+    @Nested
+    class ReadLines {
+
+        @ParameterizedTest
+        @CsvSource(textBlock = """
+                'abc',               10, 'abc'
+                'abc\\n',            10, 'abc'
+                'abc\\r\\ndef',      10, 'abc|def'
+                'abc\\n\\ndef\\n',   10, 'abc||def'
+                'abcdef\\nghi',       3, 'abc|ghi'
+                'abc\\r\\ndef',       3, 'abc|def'
+                'ab\\r\\n',           3, 'ab'
+                """)
+        void shouldSplitAndTruncateLines(String input, int maxLineLength, String expected) throws IOException {
+            var lines = new ArrayList<String>();
+
+            ProcessOutputCollector.readLines(new StringReader(unescape(input)), maxLineLength, lines::add);
+
+            assertThat(String.join("|", lines)).isEqualTo(expected);
+        }
+
+        @Test
+        void shouldReadNothing_FromEmptyInput() throws IOException {
+            var lines = new ArrayList<String>();
+
+            ProcessOutputCollector.readLines(new StringReader(""), 10, lines::add);
+
+            assertThat(lines).isEmpty();
+        }
+
+        private static String unescape(String value) {
+            return value.replace("\\r", "\r").replace("\\n", "\n");
+        }
+    }
+}
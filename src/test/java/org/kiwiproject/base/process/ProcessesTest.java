@@ -3,7 +3,10 @@ package org.kiwiproject.base.process;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -11,17 +14,22 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.apache.commons.lang3.SystemUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
 
 @DisplayName("Processes")
 class ProcessesTest {
@@ -43,6 +51,251 @@ class ProcessesTest {
                 .isTrue();
     }
 
+    @Nested
+    class DiscoveryStrategy {
+
+        @AfterEach
+        void tearDown() {
+            Processes.setDiscoveryStrategy(ProcessDiscoveryStrategy.PROCESS_HANDLE);
+        }
+
+        @Test
+        void shouldDefaultToProcessHandle() {
+            assertThat(Processes.getDiscoveryStrategy()).isEqualTo(ProcessDiscoveryStrategy.PROCESS_HANDLE);
+        }
+
+        @Test
+        void shouldNotAllowNullStrategy() {
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> Processes.setDiscoveryStrategy(null))
+                    .withMessage("strategy must not be null");
+        }
+
+        @Test
+        void shouldNotFindProcessesInJvm_WhenUsingExternalCommands() {
+            Processes.setDiscoveryStrategy(ProcessDiscoveryStrategy.EXTERNAL_COMMAND);
+
+            assertThat(Processes.getDiscoveryStrategy()).isEqualTo(ProcessDiscoveryStrategy.EXTERNAL_COMMAND);
+            assertThat(Processes.isUsingProcessHandleStrategy()).isFalse();
+            assertThat(Processes.isFindingProcessesInJvm()).isFalse();
+        }
+
+        @Test
+        void shouldFindProcessesInJvm_OnlyWhenProcFileSystemIsAvailable() {
+            assertThat(Processes.isUsingProcessHandleStrategy()).isTrue();
+            assertThat(Processes.isFindingProcessesInJvm())
+                    .isEqualTo(InJvmProcessDiscovery.isProcFileSystemAvailable());
+        }
+
+        @ParameterizedTest
+        @EnumSource(ProcessDiscoveryStrategy.class)
+        void shouldFindSameProcesses_UsingEitherStrategy(ProcessDiscoveryStrategy strategy) {
+            Processes.setDiscoveryStrategy(strategy);
+            var process = Processes.launch("sleep", "87");
+
+            try {
+                assertThat(Processes.pgrep("sleep 87")).containsExactly(process.pid());
+                assertThat(Processes.pgrepList("sleep 87")).containsExactly(process.pid() + " sleep 87");
+                assertThat(Processes.pgrepParsedList("sleep 87")).containsExactly(Pair.of(process.pid(), "sleep 87"));
+            } finally {
+                process.destroy();
+            }
+        }
+
+        @ParameterizedTest
+        @EnumSource(ProcessDiscoveryStrategy.class)
+        void shouldFindSamePrograms_UsingEitherStrategy(ProcessDiscoveryStrategy strategy) {
+            Processes.setDiscoveryStrategy(ProcessDiscoveryStrategy.EXTERNAL_COMMAND);
+            var expected = Processes.which("ls").orElseThrow();
+
+            Processes.setDiscoveryStrategy(strategy);
+            assertThat(Processes.which("ls")).contains(expected);
+        }
+    }
+
+    @Nested
+    class DestroySignalFor {
+
+        @ParameterizedTest
+        @ValueSource(strings = {"15", "-15", "TERM", "-TERM", "SIGTERM", "-SIGTERM", "sigterm", "term"})
+        void shouldReturnSigterm(String signal) {
+            assertThat(Processes.destroySignalFor(signal)).contains(KillSignal.SIGTERM);
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"9", "-9", "KILL", "-KILL", "SIGKILL", "-SIGKILL", "sigkill", "kill"})
+        void shouldReturnSigkill(String signal) {
+            assertThat(Processes.destroySignalFor(signal)).contains(KillSignal.SIGKILL);
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"1", "-1", "HUP", "SIGHUP", "2", "SIGINT", "3", "SIGQUIT", "SIGUSR1", "150", "99"})
+        void shouldReturnEmptyOptional_ForOtherSignals(String signal) {
+            assertThat(Processes.destroySignalFor(signal)).isEmpty();
+        }
+    }
+
+    @Nested
+    class Kill {
+
+        @AfterEach
+        void tearDown() {
+            Processes.setDiscoveryStrategy(ProcessDiscoveryStrategy.PROCESS_HANDLE);
+        }
+
+        @ParameterizedTest
+        @EnumSource(ProcessDiscoveryStrategy.class)
+        void shouldReturnOne_WhenProcessDoesNotExist(ProcessDiscoveryStrategy strategy) {
+            Processes.setDiscoveryStrategy(strategy);
+            var processId = findUnusedProcessId();
+
+            assertThat(Processes.kill(processId, KillSignal.SIGTERM, KillTimeoutAction.THROW_EXCEPTION)).isOne();
+        }
+
+        @ParameterizedTest
+        @EnumSource(ProcessDiscoveryStrategy.class)
+        void shouldSendOtherSignals_UsingKillCommand(ProcessDiscoveryStrategy strategy) throws InterruptedException {
+            Processes.setDiscoveryStrategy(strategy);
+            var process = Processes.launch("sleep", "89");
+
+            try {
+                var exitCode = Processes.kill(process.pid(), KillSignal.SIGHUP, KillTimeoutAction.THROW_EXCEPTION);
+
+                assertThat(exitCode).isZero();
+                assertThat(process.waitFor(5, TimeUnit.SECONDS)).isTrue();
+            } finally {
+                process.destroyForcibly();
+            }
+        }
+
+        @Test
+        void shouldWaitForProcessToExit_WhenUsingProcessHandle() {
+            var process = launchProcessIgnoringSigterm();
+
+            try {
+                var processId = process.pid();
+                assertThatIllegalStateException()
+                        .isThrownBy(() -> Processes.kill(processId, KillSignal.SIGTERM,
+                                250, TimeUnit.MILLISECONDS, KillTimeoutAction.THROW_EXCEPTION))
+                        .withMessage("Process %d did not end before timeout (and exception was requested)", processId);
+
+                assertThat(Processes.kill(processId, "TERM", 250, TimeUnit.MILLISECONDS, KillTimeoutAction.NO_OP))
+                        .isEqualTo(-1);
+                assertThat(process.isAlive()).isTrue();
+
+                assertThat(Processes.kill(processId, "15", 250, TimeUnit.MILLISECONDS, KillTimeoutAction.FORCE_KILL))
+                        .isZero();
+                assertThat(process.isAlive()).isFalse();
+            } finally {
+                destroyForciblyWithDescendants(process);
+            }
+        }
+    }
+
+    @Nested
+    class KillAll {
+
+        @AfterEach
+        void tearDown() {
+            Processes.setDiscoveryStrategy(ProcessDiscoveryStrategy.PROCESS_HANDLE);
+        }
+
+        @ParameterizedTest
+        @EnumSource(ProcessDiscoveryStrategy.class)
+        void shouldKillAllProcesses(ProcessDiscoveryStrategy strategy) {
+            Processes.setDiscoveryStrategy(strategy);
+            var processes = List.of(
+                    Processes.launch("sleep", "90"),
+                    Processes.launch("sleep", "91"),
+                    Processes.launch("sleep", "92")
+            );
+            var processIds = processes.stream().map(Process::pid).toList();
+            var unusedProcessId = findUnusedProcessId();
+
+            try {
+                var allProcessIds = new ArrayList<>(processIds);
+                allProcessIds.add(unusedProcessId);
+                var results = Processes.killAll(allProcessIds, KillSignal.SIGTERM, KillTimeoutAction.THROW_EXCEPTION);
+
+                assertThat(results).containsExactly(
+                        entry(processIds.get(0), 0),
+                        entry(processIds.get(1), 0),
+                        entry(processIds.get(2), 0),
+                        entry(unusedProcessId, 1)
+                );
+                await().atMost(5, TimeUnit.SECONDS).until(() -> processes.stream().noneMatch(Process::isAlive));
+            } finally {
+                processes.forEach(Process::destroyForcibly);
+            }
+        }
+
+        @Test
+        void shouldReturnEmptyMap_WhenGivenNoProcessIds() {
+            assertThat(Processes.killAll(List.of(), KillSignal.SIGTERM, KillTimeoutAction.THROW_EXCEPTION)).isEmpty();
+        }
+
+        @Test
+        void shouldThrowIllegalState_ListingProcessesThatDidNotEnd_WhenUsingProcessHandle() {
+            var stubborn1 = launchProcessIgnoringSigterm();
+            var stubborn2 = launchProcessIgnoringSigterm();
+            var compliant = Processes.launch("sleep", "93");
+            var processIds = List.of(stubborn1.pid(), compliant.pid(), stubborn2.pid());
+
+            try {
+                assertThatIllegalStateException()
+                        .isThrownBy(() -> Processes.killAll(processIds, KillSignal.SIGTERM,
+                                250, TimeUnit.MILLISECONDS, KillTimeoutAction.THROW_EXCEPTION))
+                        .withMessage("Processes %s did not end before timeout (and exception was requested)",
+                                List.of(stubborn1.pid(), stubborn2.pid()));
+            } finally {
+                List.of(stubborn1, stubborn2, compliant).forEach(ProcessesTest::destroyForciblyWithDescendants);
+            }
+        }
+
+        @Test
+        void shouldApplyTimeoutActionToProcessesThatDidNotEnd_WhenUsingProcessHandle() {
+            var stubborn = launchProcessIgnoringSigterm();
+            var compliant = Processes.launch("sleep", "94");
+            var processIds = List.of(stubborn.pid(), compliant.pid());
+
+            try {
+                var noOpResults = Processes.killAll(processIds, "SIGTERM",
+                        250, TimeUnit.MILLISECONDS, KillTimeoutAction.NO_OP);
+                assertThat(noOpResults).containsExactly(entry(stubborn.pid(), -1), entry(compliant.pid(), 0));
+                assertThat(stubborn.isAlive()).isTrue();
+
+                var forceKillResults = Processes.killAll(List.of(stubborn.pid()), KillSignal.SIGTERM,
+                        250, TimeUnit.MILLISECONDS, KillTimeoutAction.FORCE_KILL);
+                assertThat(forceKillResults).containsExactly(entry(stubborn.pid(), 0));
+                assertThat(stubborn.isAlive()).isFalse();
+            } finally {
+                List.of(stubborn, compliant).forEach(ProcessesTest::destroyForciblyWithDescendants);
+            }
+        }
+    }
+
+    /**
+     * Launch a shell that ignores SIGTERM (as does its child sleep process), and wait until the shell
+     * has installed the trap.
+     */
+    private static Process launchProcessIgnoringSigterm() {
+        var process = Processes.launch("sh", "-c", "trap '' TERM; sleep 95");
+        await().atMost(5, TimeUnit.SECONDS).until(() -> process.children().findAny().isPresent());
+        return process;
+    }
+
+    private static void destroyForciblyWithDescendants(Process process) {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+
+    private static long findUnusedProcessId() {
+        return LongStream.iterate(999_999L, pid -> pid - 1)
+                .filter(pid -> ProcessHandle.of(pid).isEmpty())
+                .findFirst()
+                .orElseThrow();
+    }
+
     @Nested
     class ChoosePgrepFlags {
 
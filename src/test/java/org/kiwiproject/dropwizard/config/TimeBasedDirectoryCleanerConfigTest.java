@@ -21,6 +21,7 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.health.HealthCheckRegistry;
 import io.dropwizard.core.setup.Environment;
 import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
+import io.dropwizard.util.DataSize;
 import io.dropwizard.util.Duration;
 import lombok.extern.slf4j.Slf4j;
 import org.assertj.core.api.SoftAssertions;
@@ -30,8 +31,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.kiwiproject.dropwizard.lifecycle.ManagedCloseable;
 import org.kiwiproject.dropwizard.metrics.health.TimeBasedDirectoryCleanerHealthCheck;
 import org.kiwiproject.io.TimeBasedDirectoryCleaner;
+import org.kiwiproject.io.TimeBasedDirectoryCleaner.ScanMode;
 import org.kiwiproject.io.TimeBasedDirectoryCleanerTestHelper;
 
 import java.io.IOException;
@@ -77,6 +80,101 @@ class TimeBasedDirectoryCleanerConfigTest {
         assertNoViolations(validator, config);
     }
 
+    @Test
+    void testValidations_ForStreamingOptions() {
+        var validator = newValidator();
+        var config = new TimeBasedDirectoryCleanerConfig();
+
+        assertNoPropertyViolations(validator, config, "scanMode");
+        assertNoPropertyViolations(validator, config, "deleteParallelism");
+        assertNoPropertyViolations(validator, config, "maxDeletesPerRun");
+
+        config.setScanMode(null);
+        config.setDeleteParallelism(0);
+        config.setMaxDeletesPerRun(0);
+
+        assertOnePropertyViolation(validator, config, "scanMode");
+        assertOnePropertyViolation(validator, config, "deleteParallelism");
+        assertOnePropertyViolation(validator, config, "maxDeletesPerRun");
+    }
+
+    @Test
+    void testValidations_ForQuotaOptions() {
+        var validator = newValidator();
+        var config = new TimeBasedDirectoryCleanerConfig();
+
+        assertNoPropertyViolations(validator, config, "maxDirectorySize");
+        assertNoPropertyViolations(validator, config, "maxDirectoryEntryCount");
+
+        config.setMaxDirectoryEntryCount(-1);
+        assertOnePropertyViolation(validator, config, "maxDirectoryEntryCount");
+    }
+
+    @Test
+    void testScheduleCleanup_WithQuota_IntegrationTest() throws InterruptedException {
+        var executorService = Executors.newScheduledThreadPool(1);
+
+        try {
+            var cleanerConfig = new TimeBasedDirectoryCleanerConfig();
+            cleanerConfig.setDirectoryPath(temporaryPath.toString());
+            cleanerConfig.setCleanupInterval(Duration.milliseconds(250));
+            cleanerConfig.setRetentionThreshold(Duration.days(1));
+            cleanerConfig.setMaxDirectorySize(DataSize.megabytes(10));
+            cleanerConfig.setMaxDirectoryEntryCount(5);
+            cleanerConfig.setWatchForChanges(true);
+
+            testHelper.createDirectoriesWithFiles(1, 20);
+
+            try (var cleaner = cleanerConfig.scheduleCleanupUsing(executorService)) {
+                assertSoftly(softly -> {
+                    softly.assertThat(cleaner.hasQuota()).isTrue();
+                    softly.assertThat(cleaner.getMaxTotalSizeInBytes()).contains(DataSize.megabytes(10).toBytes());
+                    softly.assertThat(cleaner.getMaxEntryCount()).contains(5);
+                });
+
+                await().atMost(10, TimeUnit.SECONDS).until(() -> numFilesInTempFolder() == 5);
+
+                assertThat(cleaner.getDeleteCount()).isEqualTo(15);
+            }
+        } finally {
+            shutdownAndAwaitTermination(executorService);
+        }
+    }
+
+    @Test
+    void testScheduleCleanup_WithStreamingScanMode_IntegrationTest() throws InterruptedException {
+        var executorService = Executors.newScheduledThreadPool(1);
+
+        try {
+            var cleanerConfig = new TimeBasedDirectoryCleanerConfig();
+            cleanerConfig.setDirectoryPath(temporaryPath.toString());
+            cleanerConfig.setCleanupInterval(Duration.seconds(1));
+            cleanerConfig.setRetentionThreshold(Duration.seconds(3));
+            cleanerConfig.setScanMode(ScanMode.STREAMING);
+            cleanerConfig.setDeleteParallelism(4);
+            cleanerConfig.setMaxDeletesPerRun(15);
+
+            testHelper.createDirectoriesWithFiles(1, 40);
+
+            var cleaner = cleanerConfig.scheduleCleanupUsing(executorService);
+
+            assertSoftly(softly -> {
+                softly.assertThat(cleaner.getScanMode()).isEqualTo(ScanMode.STREAMING);
+                softly.assertThat(cleaner.getDeleteParallelism()).isEqualTo(4);
+                softly.assertThat(cleaner.getMaxDeletesPerRun()).isEqualTo(15);
+            });
+
+            waitUntilNoFilesInTempFolder();
+
+            assertSoftly(softly -> {
+                softly.assertThat(cleaner.getDeleteCount()).isEqualTo(40);
+                softly.assertThat(cleaner.getDeleteErrorCount()).isZero();
+            });
+        } finally {
+            shutdownAndAwaitTermination(executorService);
+        }
+    }
+
     @Test
     void testScheduleCleanup_WithScheduleExecutor_IntegrationTest() throws InterruptedException {
         var executorService = Executors.newScheduledThreadPool(1);
@@ -291,6 +389,7 @@ class TimeBasedDirectoryCleanerConfigTest {
             var environment = mock(Environment.class);
             var lifecycleSpy = spyLifecycleEnvironment(environment);
             var healthChecks = mockHealthCheckRegistry(environment);
+            var metrics = newMetricRegistry(environment);
 
             testHelper.createDirectoriesWithFiles(1, 20);
 
@@ -319,6 +418,23 @@ class TimeBasedDirectoryCleanerConfigTest {
             verify(lifecycleSpy).scheduledExecutorService(
                     "timeBasedDirectoryCleaner(" + temporaryPath + ")-%d",
                     true);
+
+            verify(lifecycleSpy).manage(isA(ManagedCloseable.class));
+
+            var metricPrefix = "timeBasedDirectoryCleaner(" + temporaryPath + ")";
+            assertThat(metrics.getNames()).contains(
+                    metricPrefix + ".scanDuration",
+                    metricPrefix + ".entriesExamined",
+                    metricPrefix + ".entriesDeleted",
+                    metricPrefix + ".bytesReclaimed",
+                    metricPrefix + ".oldestRemainingAgeMillis");
+
+            var scanDurationTimer = metrics.timer(metricPrefix + ".scanDuration");
+            assertThat(scanDurationTimer.getCount()).isPositive();
+
+            var entriesDeletedHistogram = metrics.histogram(metricPrefix + ".entriesDeleted");
+            assertThat(entriesDeletedHistogram.getCount()).isEqualTo(scanDurationTimer.getCount());
+            assertThat(cleaner.getLastCleanupRunStats()).isPresent();
         } finally {
             shutdownAndAwaitTermination(executorService);
         }
@@ -353,6 +469,12 @@ class TimeBasedDirectoryCleanerConfigTest {
         return spy;
     }
 
+    private static MetricRegistry newMetricRegistry(Environment mockEnv) {
+        var metrics = new MetricRegistry();
+        when(mockEnv.metrics()).thenReturn(metrics);
+        return metrics;
+    }
+
     private static HealthCheckRegistry mockHealthCheckRegistry(Environment mockEnv) {
         var healthChecks = mock(HealthCheckRegistry.class);
         when(mockEnv.healthChecks()).thenReturn(healthChecks);
@@ -0,0 +1,300 @@
+package org.kiwiproject.dropwizard.jdbi3;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.codahale.metrics.MetricRegistry;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.statement.SqlLogger;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.core.statement.UnableToExecuteStatementException;
+import org.jdbi.v3.sqlobject.SqlObjectPlugin;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+
+@SuppressWarnings("SqlNoDataSourceInspection")
+@DisplayName("SqlTimingPlugin")
+class SqlTimingPluginTest {
+
+    private MetricRegistry metricRegistry;
+    private Jdbi jdbi;
+
+    @BeforeEach
+    void setUp() {
+        metricRegistry = new MetricRegistry();
+        jdbi = Jdbi.create("jdbc:h2:mem:SqlTimingPluginTest;DB_CLOSE_DELAY=-1");
+        jdbi.installPlugin(new SqlObjectPlugin());
+        jdbi.useHandle(handle -> {
+            handle.execute("DROP TABLE IF EXISTS people");
+            handle.execute("CREATE TABLE people (id INT PRIMARY KEY, name VARCHAR(255))");
+            handle.execute("INSERT INTO people VALUES (1, 'Alice'), (2, 'Bob')");
+        });
+    }
+
+    interface PersonDao {
+
+        @SqlQuery("SELECT name FROM people WHERE id = :id")
+        String findName(int id);
+    }
+
+    @Nested
+    class Timers {
+
+        @Test
+        void shouldRecordTimer_ByNormalizedSql() {
+            jdbi.installPlugin(SqlTimingPlugin.builder().metricRegistry(metricRegistry).build());
+
+            jdbi.useHandle(handle -> {
+                handle.createQuery("SELECT name FROM people WHERE id = 1").mapTo(String.class).one();
+                handle.createQuery("SELECT name\n  FROM people WHERE id = 2").mapTo(String.class).one();
+            });
+
+            var timerName = MetricRegistry.name(SqlTimingPlugin.DEFAULT_METRIC_NAME_PREFIX,
+                    "SELECT name FROM people WHERE id = ?");
+            assertThat(metricRegistry.getTimers()).containsKey(timerName);
+            assertThat(metricRegistry.timer(timerName).getCount()).isEqualTo(2);
+        }
+
+        @Test
+        void shouldRecordTimer_BySqlObjectMethod() {
+            jdbi.installPlugin(SqlTimingPlugin.builder()
+                    .metricRegistry(metricRegistry)
+                    .metricNamePrefix("sql")
+                    .build());
+
+            var name = jdbi.withExtension(PersonDao.class, dao -> dao.findName(1));
+
+            assertThat(name).isEqualTo("Alice");
+            var timerName = MetricRegistry.name("sql", PersonDao.class.getName(), "findName");
+            assertThat(metricRegistry.timer(timerName).getCount()).isOne();
+        }
+
+        @Test
+        void shouldRecordTimer_WhenStatementFails() {
+            jdbi.installPlugin(SqlTimingPlugin.builder()
+                    .metricRegistry(metricRegistry)
+                    .slowStatementThreshold(Duration.ZERO)
+                    .build());
+
+            assertThatThrownBy(() -> jdbi.useHandle(handle -> handle.execute("INSERT INTO people VALUES (1, 'Carlos')")))
+                    .isInstanceOf(UnableToExecuteStatementException.class);
+
+            var timerName = MetricRegistry.name(SqlTimingPlugin.DEFAULT_METRIC_NAME_PREFIX,
+                    "INSERT INTO people VALUES (?, ?)");
+            assertThat(metricRegistry.timer(timerName).getCount()).isOne();
+        }
+
+        @Test
+        void shouldRecordTimer_ForBoundListsOfDifferentSizes() {
+            jdbi.installPlugin(SqlTimingPlugin.builder().metricRegistry(metricRegistry).build());
+
+            jdbi.useHandle(handle -> {
+                handle.createQuery("SELECT name FROM people WHERE id IN (<ids>)")
+                        .bindList("ids", List.of(1))
+                        .mapTo(String.class)
+                        .list();
+                handle.createQuery("SELECT name FROM people WHERE id IN (<ids>)")
+                        .bindList("ids", List.of(1, 2))
+                        .mapTo(String.class)
+                        .list();
+            });
+
+            var timerName = MetricRegistry.name(SqlTimingPlugin.DEFAULT_METRIC_NAME_PREFIX,
+                    "SELECT name FROM people WHERE id IN (<ids>)");
+            assertThat(metricRegistry.getTimers()).containsOnlyKeys(timerName);
+            assertThat(metricRegistry.timer(timerName).getCount()).isEqualTo(2);
+        }
+
+        @Test
+        void shouldRecordTimer_ForOtherStatements_WhenMaxStatementTimersIsReached() {
+            jdbi.installPlugin(SqlTimingPlugin.builder()
+                    .metricRegistry(metricRegistry)
+                    .metricNamePrefix("sql")
+                    .maxStatementTimers(1)
+                    .build());
+
+            jdbi.useHandle(handle -> {
+                handle.createQuery("SELECT name FROM people WHERE id = 1").mapTo(String.class).one();
+                handle.createQuery("SELECT id FROM people WHERE name = 'Bob'").mapTo(Integer.class).one();
+                handle.createQuery("SELECT COUNT(*) FROM people").mapTo(Integer.class).one();
+                handle.createQuery("SELECT name FROM people WHERE id = 2").mapTo(String.class).one();
+            });
+
+            assertThat(metricRegistry.timer(MetricRegistry.name("sql", "SELECT name FROM people WHERE id = ?"))
+                    .getCount()).isEqualTo(2);
+            assertThat(metricRegistry.timer(MetricRegistry.name("sql", SqlTimingPlugin.OTHER_STATEMENTS_TIMER_NAME))
+                    .getCount()).isEqualTo(2);
+            assertThat(metricRegistry.getTimers()).hasSize(2);
+        }
+    }
+
+    @Test
+    void shouldDelegateToExistingSqlLogger() {
+        var existingLogger = mock(SqlLogger.class);
+        jdbi.setSqlLogger(existingLogger);
+        jdbi.installPlugin(SqlTimingPlugin.builder().metricRegistry(metricRegistry).build());
+
+        jdbi.useHandle(handle -> handle.createQuery("SELECT COUNT(*) FROM people").mapTo(Integer.class).one());
+
+        verify(existingLogger).logBeforeExecution(any(StatementContext.class));
+        verify(existingLogger).logAfterExecution(any(StatementContext.class));
+        assertThat(metricRegistry.getTimers()).hasSize(1);
+    }
+
+    @Nested
+    class SlowStatementLogging {
+
+        private ListAppender<ILoggingEvent> logAppender;
+
+        @BeforeEach
+        void setUp() {
+            logAppender = new ListAppender<>();
+            logAppender.start();
+            getLogbackLogger().addAppender(logAppender);
+        }
+
+        @AfterEach
+        void tearDown() {
+            getLogbackLogger().detachAppender(logAppender);
+        }
+
+        private static Logger getLogbackLogger() {
+            return (Logger) LoggerFactory.getLogger(SqlTimingPlugin.class);
+        }
+
+        @Test
+        void shouldRedactParameterValues_ByDefault() {
+            jdbi.installPlugin(SqlTimingPlugin.builder()
+                    .metricRegistry(metricRegistry)
+                    .slowStatementThreshold(Duration.ZERO)
+                    .build());
+
+            var name = findNameById(2);
+
+            assertThat(name).isEqualTo("Bob");
+            assertThat(logAppender.list)
+                    .singleElement()
+                    .satisfies(event -> {
+                        assertThat(event.getLevel()).isEqualTo(Level.WARN);
+                        assertThat(event.getFormattedMessage())
+                                .startsWith("Slow SQL statement SELECT name FROM people WHERE id = :id took ")
+                                .endsWith("SQL: [SELECT name FROM people WHERE id = :id]; " +
+                                        "parameters: [id] (values redacted)");
+                    });
+        }
+
+        @Test
+        void shouldLogParameterValues_WhenEnabled() {
+            jdbi.installPlugin(SqlTimingPlugin.builder()
+                    .metricRegistry(metricRegistry)
+                    .slowStatementThreshold(Duration.ZERO)
+                    .logParameterValues(true)
+                    .build());
+
+            var name = findNameById(2);
+
+            assertThat(name).isEqualTo("Bob");
+            assertThat(logAppender.list)
+                    .singleElement()
+                    .satisfies(event -> {
+                        assertThat(event.getLevel()).isEqualTo(Level.WARN);
+                        assertThat(event.getFormattedMessage())
+                                .startsWith("Slow SQL statement SELECT name FROM people WHERE id = :id took ")
+                                .contains("SQL: [SELECT name FROM people WHERE id = :id]; parameters: ")
+                                .containsPattern("named:\\{id.*2")
+                                .doesNotContain("redacted");
+                    });
+        }
+
+        @Test
+        void shouldNotLogStatements_FasterThanThreshold() {
+            jdbi.installPlugin(SqlTimingPlugin.builder()
+                    .metricRegistry(metricRegistry)
+                    .slowStatementThreshold(Duration.ofMinutes(1))
+                    .build());
+
+            findNameById(1);
+
+            assertThat(logAppender.list).isEmpty();
+        }
+
+        private String findNameById(int id) {
+            return jdbi.withHandle(handle -> handle.createQuery("SELECT name FROM people WHERE id = :id")
+                    .bind("id", id)
+                    .mapTo(String.class)
+                    .one());
+        }
+    }
+
+    @Test
+    void shouldHaveDefaults() {
+        var plugin = SqlTimingPlugin.builder().metricRegistry(metricRegistry).build();
+
+        assertThat(plugin.getMetricRegistry()).isSameAs(metricRegistry);
+        assertThat(plugin.getMetricNamePrefix()).isEqualTo(SqlTimingPlugin.DEFAULT_METRIC_NAME_PREFIX);
+        assertThat(plugin.getSlowStatementThreshold()).isEqualTo(SqlTimingPlugin.DEFAULT_SLOW_STATEMENT_THRESHOLD);
+        assertThat(plugin.isLogParameterValues()).isFalse();
+        assertThat(plugin.getMaxStatementTimers()).isEqualTo(SqlTimingPlugin.DEFAULT_MAX_STATEMENT_TIMERS);
+    }
+
+    @Test
+    void shouldRequireMetricRegistry() {
+        var builder = SqlTimingPlugin.builder();
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(builder::build)
+                .withMessage("metricRegistry must not be null");
+    }
+
+    @Test
+    void shouldRequirePositiveMaxStatementTimers() {
+        var builder = SqlTimingPlugin.builder().metricRegistry(metricRegistry).maxStatementTimers(0);
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(builder::build)
+                .withMessage("maxStatementTimers must be positive");
+    }
+
+    @Nested
+    class NormalizeSql {
+
+        @Test
+        void shouldReplaceLiteralsAndCollapseWhitespace() {
+            var sql = "SELECT *\n  FROM users WHERE id = 42 AND name = 'O''Brien' AND t1.score > -3.5";
+
+            assertThat(SqlTimingPlugin.normalizeSql(sql))
+                    .isEqualTo("SELECT * FROM users WHERE id = ? AND name = ? AND t1.score > ?");
+        }
+
+        @Test
+        void shouldNotChangePlaceholders() {
+            assertThat(SqlTimingPlugin.normalizeSql("INSERT INTO t2 (a, b) VALUES (?, :b)"))
+                    .isEqualTo("INSERT INTO t2 (a, b) VALUES (?, :b)");
+        }
+
+        @Test
+        void shouldReplaceBoundListPlaceholders_WithListName() {
+            var sql = "SELECT * FROM t WHERE id IN (:__ids_0,:__ids_1,:__ids_2)" +
+                    " AND code IN (:__user_codes_0, :__user_codes_1)";
+
+            assertThat(SqlTimingPlugin.normalizeSql(sql))
+                    .isEqualTo("SELECT * FROM t WHERE id IN (<ids>) AND code IN (<user_codes>)");
+        }
+    }
+}
@@ -8,10 +8,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.kiwiproject.io.TimeBasedDirectoryCleaner;
+import org.kiwiproject.io.TimeBasedDirectoryCleaner.CleanupRunStats;
 import org.kiwiproject.io.TimeBasedDirectoryCleaner.DeleteError;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
 @DisplayName("TimeBasedDirectoryCleanerHealthCheck")
@@ -69,4 +71,46 @@ class TimeBasedDirectoryCleanerHealthCheckTest {
         assertThat(result.isHealthy()).isFalse();
         assertThat(result.getMessage()).startsWith("1 delete error(s) in last 1 hour (35 total errors since");
     }
+
+    @Test
+    void testCheck_WhenOldestRemainingEntry_IsWithinRetentionThreshold() {
+        healthCheck = new TimeBasedDirectoryCleanerHealthCheck(cleaner);
+
+        var now = System.currentTimeMillis();
+        var stats = newCleanupRunStats(now, now - TimeUnit.MINUTES.toMillis(50));
+
+        when(cleaner.getRecentDeleteErrors()).thenReturn(List.of());
+        when(cleaner.getRetentionThreshold()).thenReturn(Duration.ofHours(1));
+        when(cleaner.getLastCleanupRunStats()).thenReturn(Optional.of(stats));
+
+        var result = healthCheck.check();
+
+        assertThat(result.isHealthy()).isTrue();
+        assertThat(result.getMessage()).startsWith("No delete errors in last 1 hour (0 total errors since");
+    }
+
+    @Test
+    void testCheck_WhenOldestRemainingEntry_IsOlderThanRetentionThreshold() {
+        healthCheck = new TimeBasedDirectoryCleanerHealthCheck(cleaner);
+
+        var now = System.currentTimeMillis();
+        var stats = newCleanupRunStats(now, now - TimeUnit.MINUTES.toMillis(90));
+
+        when(cleaner.getRecentDeleteErrors()).thenReturn(List.of());
+        when(cleaner.getRetentionThreshold()).thenReturn(Duration.ofHours(1));
+        when(cleaner.getRetentionThresholdDescription()).thenReturn("1 hour");
+        when(cleaner.getLastCleanupRunStats()).thenReturn(Optional.of(stats));
+
+        var result = healthCheck.check();
+
+        assertThat(result.isHealthy()).isFalse();
+        assertThat(result.getMessage()).startsWith(
+                "Cleanup is behind: oldest remaining entry was 1 hour 30 minutes old after last run," +
+                        " exceeding retention threshold of 1 hour (0 total errors since");
+    }
+
+    private static CleanupRunStats newCleanupRunStats(long startedAtMillis, long oldestRemainingLastModifiedMillis) {
+        return new CleanupRunStats(startedAtMillis, Duration.ofMillis(250), 100, 10, 2048,
+                oldestRemainingLastModifiedMillis);
+    }
 }
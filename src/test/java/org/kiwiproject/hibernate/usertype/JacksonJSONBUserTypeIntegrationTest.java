@@ -0,0 +1,122 @@
+package org.kiwiproject.hibernate.usertype;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kiwiproject.hibernate.usertype.UserTypeTestHelpers.buildHibernateConfiguration;
+import static org.kiwiproject.hibernate.usertype.UserTypeTestHelpers.preparedDbExtensionFor;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.zonky.test.db.postgres.junit5.PreparedDbExtension;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.kiwiproject.internal.Fixtures;
+
+@DisplayName("JacksonJSONBUserType (Integration)")
+class JacksonJSONBUserTypeIntegrationTest {
+
+    @RegisterExtension
+    static final PreparedDbExtension POSTGRES =
+            preparedDbExtensionFor("hibernate/UserTypeTests/jsonb-usertype-migration.xml");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static SessionFactory sessionFactory;
+
+    private Session session;
+    private Transaction transaction;
+
+    @BeforeAll
+    static void beforeAll() {
+        var config = buildHibernateConfiguration(POSTGRES.getConnectionInfo(), SampleJacksonJsonbEntity.class);
+        sessionFactory = config.buildSessionFactory();
+    }
+
+    @BeforeEach
+    void setUp() {
+        session = sessionFactory.openSession();
+        transaction = session.beginTransaction();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transaction.rollback();
+        session.close();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void shouldMapJsonbColumns() throws JsonProcessingException {
+        var json = readTree(Fixtures.fixture("hibernate/UserTypeTests/sample.json"));
+        var entity = newEntity(json);
+
+        var id = saveAndClearSession(entity);
+
+        var foundEntity = session.get(SampleJacksonJsonbEntity.class, id);
+        assertThat(foundEntity.getJsonbCol()).isEqualTo(json);
+    }
+
+    @Test
+    void shouldPermitNullValues() {
+        var entity = newEntity(null);
+
+        var id = saveAndClearSession(entity);
+
+        var foundEntity = session.get(SampleJacksonJsonbEntity.class, id);
+        assertThat(foundEntity.getJsonbCol()).isNull();
+    }
+
+    @Test
+    void shouldNotBeDirty_WhenJsonIsOnlyFormattedDifferently() throws JsonProcessingException {
+        var id = saveAndClearSession(newEntity(readTree("{\"name\": \"Alice\", \"age\": 42}")));
+
+        var foundEntity = session.get(SampleJacksonJsonbEntity.class, id);
+        foundEntity.setJsonbCol(readTree("{ \"age\":42,\n \"name\":\"Alice\" }"));
+
+        assertThat(session.isDirty()).isFalse();
+    }
+
+    @Test
+    void shouldBeDirty_WhenJsonTreeIsModified() throws JsonProcessingException {
+        var id = saveAndClearSession(newEntity(readTree("{\"name\": \"Alice\", \"age\": 42}")));
+
+        var foundEntity = session.get(SampleJacksonJsonbEntity.class, id);
+        ((ObjectNode) foundEntity.getJsonbCol()).put("age", 43);
+
+        assertThat(session.isDirty()).isTrue();
+
+        session.flush();
+        session.clear();
+
+        var updatedEntity = session.get(SampleJacksonJsonbEntity.class, id);
+        assertThat(updatedEntity.getJsonbCol().get("age").asInt()).isEqualTo(43);
+    }
+
+    private static SampleJacksonJsonbEntity newEntity(JsonNode json) {
+        var entity = new SampleJacksonJsonbEntity();
+        entity.setTextCol("some text");
+        entity.setJsonbCol(json);
+        return entity;
+    }
+
+    private static JsonNode readTree(String json) throws JsonProcessingException {
+        return MAPPER.readTree(json);
+    }
+
+    private Object saveAndClearSession(SampleJacksonJsonbEntity entity) {
+        return UserTypeTestHelpers.saveAndClearSession(session, entity);
+    }
+}
@@ -0,0 +1,256 @@
+package org.kiwiproject.hibernate.usertype;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.hibernate.HibernateException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+@DisplayName("JacksonJSONBUserType (Unit)")
+class JacksonJSONBUserTypeUnitTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Person {
+        private String name;
+        private List<String> languages;
+    }
+
+    public static class PersonJSONBUserType extends AbstractJacksonJSONBUserType<Person> {
+        public PersonJSONBUserType() {
+            super(Person.class);
+        }
+    }
+
+    private JacksonJSONBUserType jsonNodeUserType;
+    private PersonJSONBUserType personUserType;
+
+    @BeforeEach
+    void setUp() {
+        jsonNodeUserType = new JacksonJSONBUserType();
+        personUserType = new PersonJSONBUserType();
+    }
+
+    @Nested
+    class ReturnedClass {
+
+        @Test
+        void shouldBeJsonNode() {
+            assertThat(jsonNodeUserType.returnedClass()).isEqualTo(JsonNode.class);
+        }
+
+        @Test
+        void shouldBeJavaTypeGivenToSubclass() {
+            assertThat(personUserType.returnedClass()).isEqualTo(Person.class);
+        }
+
+        @Test
+        void shouldRequireJavaTypeAndObjectMapper() {
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> new AbstractJacksonJSONBUserType<>(null) {
+                    })
+                    .withMessage("javaType must not be null");
+
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> new AbstractJacksonJSONBUserType<>(Person.class, null) {
+                    })
+                    .withMessage("objectMapper must not be null");
+        }
+    }
+
+    @Nested
+    @ExtendWith(SoftAssertionsExtension.class)
+    class EqualsAndHashCode {
+
+        @Test
+        void shouldIgnoreFormattingAndKeyOrder(SoftAssertions softly) throws JsonProcessingException {
+            var json1 = readTree("{\"name\": \"Alice\", \"languages\": [\"French\", \"English\"]}");
+            var json2 = readTree("{ \"languages\":[\"French\",\"English\"],\n\"name\":\"Alice\" }");
+            var json3 = readTree("{\"name\": \"Alice\", \"languages\": [\"English\", \"French\"]}");
+
+            softly.assertThat(jsonNodeUserType.equals(json1, json1)).isTrue();
+            softly.assertThat(jsonNodeUserType.equals(json1, json2)).isTrue();
+            softly.assertThat(jsonNodeUserType.hashCode(json1)).isEqualTo(jsonNodeUserType.hashCode(json2));
+            softly.assertThat(jsonNodeUserType.equals(json1, json3)).isFalse();
+            softly.assertThat(jsonNodeUserType.equals(json1, null)).isFalse();
+            softly.assertThat(jsonNodeUserType.equals(null, json1)).isFalse();
+            softly.assertThat(jsonNodeUserType.equals(null, null)).isTrue();
+        }
+
+        @Test
+        void shouldCompareJavaTypesAsJson(SoftAssertions softly) {
+            var alice1 = new Person("Alice", List.of("French"));
+            var alice2 = new Person("Alice", List.of("French"));
+            var bob = new Person("Bob", List.of("French"));
+
+            softly.assertThat(personUserType.equals(alice1, alice2)).isTrue();
+            softly.assertThat(personUserType.hashCode(alice1)).isEqualTo(personUserType.hashCode(alice2));
+            softly.assertThat(personUserType.equals(alice1, bob)).isFalse();
+        }
+
+        @Test
+        void shouldThrowIllegalArgumentException_GivenNullObject() {
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> jsonNodeUserType.hashCode(null));
+        }
+    }
+
+    @Nested
+    class NullSafeGet {
+
+        @Test
+        void shouldParseJson() throws SQLException {
+            var rs = mock(ResultSet.class);
+            when(rs.getString(1)).thenReturn("{\"name\": \"Alice\", \"languages\": [\"French\"]}");
+
+            var person = personUserType.nullSafeGet(rs, 1, null, null);
+
+            assertThat(person.getName()).isEqualTo("Alice");
+            assertThat(person.getLanguages()).containsExactly("French");
+        }
+
+        @Test
+        void shouldReturnNull_WhenColumnIsNull() throws SQLException {
+            var rs = mock(ResultSet.class);
+
+            assertThat(jsonNodeUserType.nullSafeGet(rs, 1, null, null)).isNull();
+        }
+
+        @Test
+        void shouldThrowHibernateException_WhenJsonIsInvalid() throws SQLException {
+            var rs = mock(ResultSet.class);
+            when(rs.getString(1)).thenReturn("{ not json");
+
+            assertThatThrownBy(() -> jsonNodeUserType.nullSafeGet(rs, 1, null, null))
+                    .isExactlyInstanceOf(HibernateException.class)
+                    .hasCauseInstanceOf(JsonProcessingException.class);
+        }
+    }
+
+    @Nested
+    class NullSafeSet {
+
+        @Test
+        void shouldSetJson() throws SQLException, JsonProcessingException {
+            var ps = mock(PreparedStatement.class);
+
+            jsonNodeUserType.nullSafeSet(ps, readTree("{\"name\": \"Alice\"}"), 1, null);
+
+            verify(ps).setObject(1, "{\"name\":\"Alice\"}", Types.OTHER);
+        }
+
+        @Test
+        void shouldSetNull() throws SQLException {
+            var ps = mock(PreparedStatement.class);
+
+            jsonNodeUserType.nullSafeSet(ps, null, 1, null);
+
+            verify(ps).setNull(1, Types.OTHER);
+        }
+    }
+
+    @Nested
+    class DeepCopy {
+
+        @Test
+        void shouldCopyJsonNodes() throws JsonProcessingException {
+            var json = (ObjectNode) readTree("{\"name\": \"Alice\"}");
+
+            var copy = (ObjectNode) jsonNodeUserType.deepCopy(json);
+            assertThat(copy).isNotSameAs(json).isEqualTo(json);
+
+            json.put("name", "Bob");
+            assertThat(copy.get("name").asText()).isEqualTo("Alice");
+        }
+
+        @Test
+        void shouldCopyJavaTypes() {
+            var person = new Person("Alice", new ArrayList<>(List.of("French")));
+
+            var copy = personUserType.deepCopy(person);
+            assertThat(copy).isNotSameAs(person);
+            assertThat(personUserType.equals(person, copy)).isTrue();
+
+            person.getLanguages().add("English");
+            assertThat(copy.getLanguages()).containsExactly("French");
+        }
+
+        @Test
+        void shouldReturnNull_GivenNull() {
+            assertThat(jsonNodeUserType.deepCopy(null)).isNull();
+        }
+    }
+
+    @Nested
+    class DisassembleAndAssemble {
+
+        @Test
+        void shouldDisassembleToJsonString() throws JsonProcessingException {
+            var json = readTree("{\"name\": \"Alice\"}");
+
+            assertThat(jsonNodeUserType.disassemble(json)).isEqualTo("{\"name\":\"Alice\"}");
+        }
+
+        @Test
+        void shouldAssembleDisassembledValue() {
+            var person = new Person("Alice", List.of("French", "English"));
+
+            var assembled = personUserType.assemble(personUserType.disassemble(person), null);
+
+            assertThat(assembled).isNotSameAs(person);
+            assertThat(personUserType.equals(person, assembled)).isTrue();
+        }
+
+        @Test
+        void shouldHandleNull() {
+            assertThat(jsonNodeUserType.disassemble(null)).isNull();
+            assertThat(jsonNodeUserType.assemble(null, null)).isNull();
+        }
+    }
+
+    @Nested
+    class Replace {
+
+        @Test
+        void shouldReturnCopyOfOriginal() throws JsonProcessingException {
+            var original = readTree("{}");
+
+            assertThat(jsonNodeUserType.replace(original, null, null))
+                    .isNotSameAs(original)
+                    .isEqualTo(original);
+        }
+    }
+
+    private static JsonNode readTree(String json) throws JsonProcessingException {
+        return MAPPER.readTree(json);
+    }
+}
@@ -0,0 +1,66 @@
+package org.kiwiproject.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CloseMethodHandles")
+class CloseMethodHandlesTest {
+
+    @Test
+    void shouldFindPublicNoArgMethod() {
+        var closeMethod = CloseMethodHandles.find(Stoppable.class, "stop");
+
+        assertThat(closeMethod).isPresent();
+    }
+
+    @Test
+    void shouldReturnSameHandle_OnSubsequentCalls() {
+        var first = CloseMethodHandles.find(Stoppable.class, "stop");
+        var second = CloseMethodHandles.find(Stoppable.class, "stop");
+
+        assertThat(second.orElseThrow()).isSameAs(first.orElseThrow());
+    }
+
+    @Test
+    void shouldReturnEmpty_WhenMethodDoesNotExist() {
+        assertThat(CloseMethodHandles.find(Stoppable.class, "close")).isEmpty();
+        assertThat(CloseMethodHandles.find(Stoppable.class, "close")).isEmpty();
+    }
+
+    @Test
+    void shouldReturnEmpty_WhenMethodRequiresArguments() {
+        assertThat(CloseMethodHandles.find(Stoppable.class, "shutdown")).isEmpty();
+    }
+
+    @Test
+    void shouldReturnHandle_ThatInvokesTheMethod() throws Throwable {
+        var stoppable = new Stoppable();
+        var closeMethod = CloseMethodHandles.find(Stoppable.class, "stop").orElseThrow();
+
+        closeMethod.invokeExact((Object) stoppable);
+        closeMethod.invokeExact((Object) stoppable);
+
+        assertThat(stoppable.stopCount).isEqualTo(2);
+    }
+
+    @Test
+    void shouldCacheSeparately_ForEachType() {
+        assertThat(CloseMethodHandles.find(Stoppable.class, "stop")).isPresent();
+        assertThat(CloseMethodHandles.find(Object.class, "stop")).isEmpty();
+    }
+
+    public static class Stoppable {
+        int stopCount;
+
+        public void stop() {
+            stopCount++;
+        }
+
+        @SuppressWarnings("unused")
+        public void shutdown(long timeoutMillis) {
+            stopCount++;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package org.kiwiproject.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@DisplayName("DirectoryQuotaIndex")
+class DirectoryQuotaIndexTest {
+
+    @TempDir
+    Path temporaryPath;
+
+    @Test
+    void shouldRequireDirectory() {
+        assertThatThrownBy(() -> new DirectoryQuotaIndex(null, false))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("directory is required");
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void shouldIndexEntriesOldestFirst(boolean watchForChanges) throws IOException {
+        var now = System.currentTimeMillis();
+        createFile("newest.txt", 10, now);
+        createFile("oldest.txt", 20, now - 60_000);
+        createFile("middle.txt", 30, now - 30_000);
+
+        try (var index = new DirectoryQuotaIndex(temporaryPath, watchForChanges)) {
+            index.refresh();
+
+            assertThat(index.getEntryCount()).isEqualTo(3);
+            assertThat(index.getTotalSizeInBytes()).isEqualTo(60);
+            assertThat(index.oldest()).hasValueSatisfying(entry ->
+                    assertThat(entry.path()).isEqualTo(temporaryPath.resolve("oldest.txt")));
+            assertThat(index.isWatching()).isEqualTo(watchForChanges);
+        }
+    }
+
+    @Test
+    void shouldIncludeContentsInSizeOfDirectories() throws IOException {
+        var subdirectory = Files.createDirectory(temporaryPath.resolve("subdir"));
+        Files.write(subdirectory.resolve("file1.txt"), new byte[100]);
+        Files.write(subdirectory.resolve("file2.txt"), new byte[50]);
+
+        try (var index = new DirectoryQuotaIndex(temporaryPath, false)) {
+            index.refresh();
+
+            assertThat(index.getEntryCount()).isOne();
+            assertThat(index.getTotalSizeInBytes()).isEqualTo(150);
+            assertThat(index.oldest()).hasValueSatisfying(entry -> assertThat(entry.isDirectory()).isTrue());
+        }
+    }
+
+    @Test
+    void shouldNotResizeDirectoriesOnRescan_WhenTheirLastModifiedTimeIsUnchanged() throws IOException {
+        var subdirectory = Files.createDirectory(temporaryPath.resolve("subdir"));
+        var nestedDirectory = Files.createDirectory(subdirectory.resolve("nested"));
+        Files.write(nestedDirectory.resolve("file1.txt"), new byte[100]);
+        var subdirectoryLastModified = Files.getLastModifiedTime(subdirectory);
+
+        try (var index = new DirectoryQuotaIndex(temporaryPath, false)) {
+            index.refresh();
+            assertThat(index.getTotalSizeInBytes()).isEqualTo(100);
+
+            Files.write(nestedDirectory.resolve("file2.txt"), new byte[50]);
+            Files.setLastModifiedTime(subdirectory, subdirectoryLastModified);
+            index.refresh();
+
+            assertThat(index.getEntryCount()).isOne();
+            assertThat(index.getTotalSizeInBytes()).isEqualTo(100);
+        }
+    }
+
+    @Test
+    void shouldResizeDirectoriesOnRescan_WhenTheirLastModifiedTimeChanges() throws IOException {
+        var subdirectory = Files.createDirectory(temporaryPath.resolve("subdir"));
+        var nestedDirectory = Files.createDirectory(subdirectory.resolve("nested"));
+        Files.write(nestedDirectory.resolve("file1.txt"), new byte[100]);
+        var subdirectoryLastModified = Files.getLastModifiedTime(subdirectory);
+
+        try (var index = new DirectoryQuotaIndex(temporaryPath, false)) {
+            index.refresh();
+            assertThat(index.getTotalSizeInBytes()).isEqualTo(100);
+
+            Files.write(nestedDirectory.resolve("file2.txt"), new byte[50]);
+            Files.setLastModifiedTime(subdirectory,
+                    FileTime.fromMillis(subdirectoryLastModified.toMillis() + 5_000));
+            index.refresh();
+
+            assertThat(index.getEntryCount()).isOne();
+            assertThat(index.getTotalSizeInBytes()).isEqualTo(150);
+        }
+    }
+
+    @Test
+    void shouldReconcileWithDirectoryOnRefresh_WhenNotWatching() throws IOException {
+        var now = System.currentTimeMillis();
+        createFile("file1.txt", 10, now - 10_000);
+        createFile("file2.txt", 10, now);
+
+        try (var index = new DirectoryQuotaIndex(temporaryPath, false)) {
+            index.refresh();
+            assertThat(index.getEntryCount()).isEqualTo(2);
+
+            Files.delete(temporaryPath.resolve("file1.txt"));
+            createFile("file3.txt", 25, now);
+            index.refresh();
+
+            assertThat(index.getEntryCount()).isEqualTo(2);
+            assertThat(index.getTotalSizeInBytes()).isEqualTo(35);
+            assertThat(index.oldest()).hasValueSatisfying(entry ->
+                    assertThat(entry.path()).isEqualTo(temporaryPath.resolve("file2.txt")));
+        }
+    }
+
+    @Test
+    void shouldTrackChangesUsingWatchEvents_WhenWatching() throws IOException {
+        var now = System.currentTimeMillis();
+        createFile("file1.txt", 10, now - 10_000);
+
+        try (var index = new DirectoryQuotaIndex(temporaryPath, true)) {
+            index.refresh();
+            assertThat(index.getEntryCount()).isOne();
+
+            createFile("file2.txt", 20, now);
+            Files.delete(temporaryPath.resolve("file1.txt"));
+
+            await().atMost(15, TimeUnit.SECONDS).until(() -> {
+                index.refresh();
+                return index.getEntryCount() == 1 && index.getTotalSizeInBytes() == 20;
+            });
+        }
+    }
+
+    @Test
+    void shouldRemoveEntries() throws IOException {
+        createFile("file1.txt", 10, System.currentTimeMillis());
+
+        try (var index = new DirectoryQuotaIndex(temporaryPath, false)) {
+            index.refresh();
+            index.remove(temporaryPath.resolve("file1.txt"));
+            index.remove(temporaryPath.resolve("not-indexed.txt"));
+
+            assertThat(index.getEntryCount()).isZero();
+            assertThat(index.getTotalSizeInBytes()).isZero();
+            assertThat(index.oldest()).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldFindOldestEntry_ExcludingPaths() throws IOException {
+        var now = System.currentTimeMillis();
+        createFile("oldest.txt", 10, now - 60_000);
+        createFile("middle.txt", 10, now - 30_000);
+        createFile("newest.txt", 10, now);
+
+        try (var index = new DirectoryQuotaIndex(temporaryPath, false)) {
+            index.refresh();
+
+            assertThat(index.oldestExcluding(Set.of())).hasValueSatisfying(entry ->
+                    assertThat(entry.path()).isEqualTo(temporaryPath.resolve("oldest.txt")));
+            assertThat(index.oldestExcluding(Set.of(temporaryPath.resolve("oldest.txt")))).hasValueSatisfying(entry ->
+                    assertThat(entry.path()).isEqualTo(temporaryPath.resolve("middle.txt")));
+
+            var allPaths = Set.of(temporaryPath.resolve("oldest.txt"),
+                    temporaryPath.resolve("middle.txt"),
+                    temporaryPath.resolve("newest.txt"));
+            assertThat(index.oldestExcluding(allPaths)).isEmpty();
+            assertThat(index.getEntryCount()).isEqualTo(3);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void shouldBeEmpty_WhenDirectoryDoesNotExist(boolean watchForChanges) {
+        try (var index = new DirectoryQuotaIndex(temporaryPath.resolve("does-not-exist"), watchForChanges)) {
+            index.refresh();
+
+            assertThat(index.getEntryCount()).isZero();
+            assertThat(index.isWatching()).isFalse();
+        }
+    }
+
+    private void createFile(String fileName, int size, long lastModifiedMillis) throws IOException {
+        var file = Files.write(temporaryPath.resolve(fileName), new byte[size]);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(lastModifiedMillis));
+    }
+}
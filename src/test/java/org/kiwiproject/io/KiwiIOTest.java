@@ -17,6 +17,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -44,9 +45,14 @@ import java.net.Socket;
 import java.nio.channels.Selector;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
 
 @DisplayName("KiwiIO")
 class KiwiIOTest {
@@ -906,6 +912,83 @@ class KiwiIOTest {
         }
     }
 
+    @Nested
+    class LinesFromPath {
+
+        @TempDir
+        Path tempDir;
+
+        private Path file;
+
+        @BeforeEach
+        void setUp() throws IOException {
+            file = Files.writeString(tempDir.resolve("lines.txt"), "first\nsecond\r\nthird\rfourth", StandardCharsets.UTF_8);
+        }
+
+        @Test
+        void shouldStreamLines() {
+            assertThat(KiwiIO.streamLinesFrom(file, StandardCharsets.UTF_8))
+                    .containsExactly("first", "second", "third", "fourth");
+        }
+
+        @Test
+        void shouldStreamLinesInParallel() throws IOException {
+            var lines = IntStream.rangeClosed(1, 10_000).mapToObj(i -> "line " + i).toList();
+            Files.write(file, lines, StandardCharsets.UTF_8);
+
+            assertThat(KiwiIO.streamLinesFrom(file, StandardCharsets.UTF_8).parallel().toList())
+                    .containsExactlyElementsOf(lines);
+        }
+
+        @Test
+        void shouldReturnEmptyStream_ForEmptyFile() throws IOException {
+            Files.writeString(file, "");
+
+            assertThat(KiwiIO.streamLinesFrom(file, StandardCharsets.UTF_8)).isEmpty();
+        }
+
+        @Test
+        void shouldNotAllowCharsetsWithMultiByteLineTerminators() {
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> KiwiIO.streamLinesFrom(file, StandardCharsets.UTF_16))
+                    .withMessageContaining("must encode line terminators as single bytes");
+        }
+
+        @Test
+        void shouldThrowUncheckedIOException_WhenFileDoesNotExist() {
+            var missingFile = tempDir.resolve("missing.txt");
+
+            assertThatThrownBy(() -> KiwiIO.streamLinesFrom(missingFile, StandardCharsets.UTF_8))
+                    .isExactlyInstanceOf(UncheckedIOException.class);
+        }
+
+        @Test
+        void shouldPerformActionOnEachLine() {
+            var lines = new ArrayList<String>();
+
+            KiwiIO.forEachLine(file, StandardCharsets.UTF_8, line -> lines.add(line.toString()));
+
+            assertThat(lines).containsExactly("first", "second", "third", "fourth");
+        }
+
+        @Test
+        void shouldPerformActionOnEachLineInParallel() throws IOException {
+            var lines = IntStream.rangeClosed(1, 10_000).mapToObj(i -> "line " + i).toList();
+            Files.write(file, lines, StandardCharsets.UTF_8);
+            var seen = new ConcurrentLinkedQueue<String>();
+
+            KiwiIO.forEachLineInParallel(file, StandardCharsets.UTF_8, line -> seen.add(line.toString()));
+
+            assertThat(seen).containsExactlyInAnyOrderElementsOf(lines);
+        }
+
+        @Test
+        void shouldNotAllowNullLineAction() {
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> KiwiIO.forEachLine(file, StandardCharsets.UTF_8, null));
+        }
+    }
+
     private static final class LocalProcess extends Process {
 
         InputStream inputStream;
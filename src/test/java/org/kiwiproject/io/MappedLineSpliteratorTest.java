@@ -0,0 +1,137 @@
+package org.kiwiproject.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+@DisplayName("MappedLineSpliterator")
+class MappedLineSpliteratorTest {
+
+    private static final String MIXED_CONTENT =
+            "héllo\nwörld\r\n\r\n日本語\rlast line without terminator";
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 2, 3, 7, 16, 1024 })
+    void shouldReadSameLinesAsBufferedReader_ForAnyWindowSize(int windowSize) throws IOException {
+        var file = Files.writeString(tempDir.resolve("mixed.txt"), MIXED_CONTENT, StandardCharsets.UTF_8);
+
+        var spliterator = MappedLineSpliterator.of(file, StandardCharsets.UTF_8, CharBuffer::toString, true,
+                windowSize, 1);
+
+        assertThat(StreamSupport.stream(spliterator, false))
+                .containsExactlyElementsOf(expectedLines(MIXED_CONTENT));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 5, 64 })
+    void shouldReadSameLinesAsBufferedReader_WhenSplitInParallel(int minSplitSize) throws IOException {
+        var content = String.join("\n", IntStream.range(0, 2_000).mapToObj(i -> "line " + i).toList()) + "\r\n";
+        var file = Files.writeString(tempDir.resolve("lines.txt"), content, StandardCharsets.UTF_8);
+
+        var spliterator = MappedLineSpliterator.of(file, StandardCharsets.UTF_8, CharBuffer::toString, true,
+                37, minSplitSize);
+
+        assertThat(StreamSupport.stream(spliterator, true).toList())
+                .containsExactlyElementsOf(expectedLines(content));
+    }
+
+    @Test
+    void shouldSplitAtLineBoundaries() throws IOException {
+        var file = Files.writeString(tempDir.resolve("lines.txt"), "aaaa\nbbbb\ncccc\ndddd\n", StandardCharsets.UTF_8);
+        var suffix = MappedLineSpliterator.of(file, StandardCharsets.UTF_8, CharBuffer::toString, true, 4, 2);
+
+        var prefix = suffix.trySplit();
+
+        assertThat(prefix).isNotNull();
+        var prefixLines = new ArrayList<String>();
+        prefix.forEachRemaining(prefixLines::add);
+        var suffixLines = new ArrayList<String>();
+        suffix.forEachRemaining(suffixLines::add);
+
+        assertThat(prefixLines).containsExactly("aaaa", "bbbb", "cccc");
+        assertThat(suffixLines).containsExactly("dddd");
+    }
+
+    @Test
+    void shouldNotSplit_WhenSmallerThanMinimumSplitSize() throws IOException {
+        var file = Files.writeString(tempDir.resolve("lines.txt"), "a\nb\nc\n", StandardCharsets.UTF_8);
+        var spliterator = MappedLineSpliterator.of(file, StandardCharsets.UTF_8, CharBuffer::toString, true, 4, 4);
+
+        assertThat(spliterator.trySplit()).isNull();
+    }
+
+    @Test
+    void shouldNotSplit_AfterTraversalHasStarted() throws IOException {
+        var file = Files.writeString(tempDir.resolve("lines.txt"), "aaaa\nbbbb\ncccc\ndddd\n", StandardCharsets.UTF_8);
+        var spliterator = MappedLineSpliterator.of(file, StandardCharsets.UTF_8, CharBuffer::toString, true, 4, 1);
+
+        assertThat(spliterator.tryAdvance(line -> assertThat(line).isEqualTo("aaaa"))).isTrue();
+        assertThat(spliterator.trySplit()).isNull();
+    }
+
+    @Test
+    void shouldReuseLineView() throws IOException {
+        var file = Files.writeString(tempDir.resolve("lines.txt"), "one\ntwo\n", StandardCharsets.UTF_8);
+        var spliterator = MappedLineSpliterator.<CharSequence>of(file, StandardCharsets.UTF_8, line -> line, false);
+        var views = new ArrayList<CharSequence>();
+        var contents = new ArrayList<String>();
+
+        spliterator.forEachRemaining(line -> {
+            views.add(line);
+            contents.add(line.toString());
+        });
+
+        assertThat(contents).containsExactly("one", "two");
+        assertThat(views.get(1)).isSameAs(views.get(0));
+    }
+
+    @Test
+    void shouldReportCharacteristics() throws IOException {
+        var file = Files.writeString(tempDir.resolve("lines.txt"), "one\n", StandardCharsets.UTF_8);
+
+        var immutable = MappedLineSpliterator.of(file, StandardCharsets.UTF_8, CharBuffer::toString, true);
+        assertThat(immutable.hasCharacteristics(Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE))
+                .isTrue();
+        assertThat(immutable.estimateSize()).isEqualTo(4);
+
+        var mutable = MappedLineSpliterator.of(file, StandardCharsets.UTF_8, CharBuffer::toString, false);
+        assertThat(mutable.hasCharacteristics(Spliterator.IMMUTABLE)).isFalse();
+    }
+
+    @Test
+    void shouldNotAllowInvalidArguments() {
+        var file = tempDir.resolve("lines.txt");
+
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                MappedLineSpliterator.of(file, StandardCharsets.UTF_16LE, CharBuffer::toString, true));
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                MappedLineSpliterator.of(file, StandardCharsets.UTF_8, CharBuffer::toString, true, 0, 1));
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                MappedLineSpliterator.of(file, StandardCharsets.UTF_8, CharBuffer::toString, true, 1, 0));
+    }
+
+    private static List<String> expectedLines(String content) {
+        return new BufferedReader(new StringReader(content)).lines().toList();
+    }
+}
@@ -17,8 +17,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.kiwiproject.io.TimeBasedDirectoryCleaner.CleanupRunStats;
 import org.kiwiproject.io.TimeBasedDirectoryCleaner.DeleteError;
 import org.kiwiproject.io.TimeBasedDirectoryCleaner.FileDeleteResult;
+import org.kiwiproject.io.TimeBasedDirectoryCleaner.ScanMode;
 import org.slf4j.event.Level;
 
 import java.io.File;
@@ -26,7 +29,9 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
@@ -58,6 +63,56 @@ class TimeBasedDirectoryCleanerTest {
         assertThat(cleaner.getDeleteCount()).isZero();
         assertThat(cleaner.getDeleteErrorCount()).isZero();
         assertThat(TimeBasedDirectoryCleaner.capacityOfRecentDeleteErrors()).isEqualTo(500);
+        assertThat(cleaner.getScanMode()).isEqualTo(ScanMode.LIST_FILES);
+        assertThat(cleaner.getDeleteParallelism()).isOne();
+        assertThat(cleaner.getMaxDeletesPerRun()).isEqualTo(Integer.MAX_VALUE);
+        assertThat(cleaner.hasQuota()).isFalse();
+        assertThat(cleaner.getMaxTotalSizeInBytes()).isEmpty();
+        assertThat(cleaner.getMaxEntryCount()).isEmpty();
+    }
+
+    @Test
+    void testCreateCleaner_WithNegativeMaxEntryCount_ThrowsException() {
+        assertThatThrownBy(() -> TimeBasedDirectoryCleaner.builder()
+                .directoryPath(temporaryPath.toString())
+                .retentionThreshold(Duration.ofHours(1))
+                .maxEntryCount(-1)
+                .build())
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("maxEntryCount cannot be negative");
+    }
+
+    @Test
+    void testCreateCleaner_WithNegativeMaxTotalSize_ThrowsException() {
+        assertThatThrownBy(() -> TimeBasedDirectoryCleaner.builder()
+                .directoryPath(temporaryPath.toString())
+                .retentionThreshold(Duration.ofHours(1))
+                .maxTotalSizeInBytes(-1L)
+                .build())
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("maxTotalSizeInBytes cannot be negative");
+    }
+
+    @Test
+    void testCreateCleaner_WithNonPositiveDeleteParallelism_ThrowsException() {
+        assertThatThrownBy(() -> TimeBasedDirectoryCleaner.builder()
+                .directoryPath(temporaryPath.toString())
+                .retentionThreshold(Duration.ofHours(1))
+                .deleteParallelism(0)
+                .build())
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("deleteParallelism must be positive");
+    }
+
+    @Test
+    void testCreateCleaner_WithNonPositiveMaxDeletesPerRun_ThrowsException() {
+        assertThatThrownBy(() -> TimeBasedDirectoryCleaner.builder()
+                .directoryPath(temporaryPath.toString())
+                .retentionThreshold(Duration.ofHours(1))
+                .maxDeletesPerRun(-1)
+                .build())
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("maxDeletesPerRun must be positive");
     }
 
     @Test
@@ -351,6 +406,300 @@ class TimeBasedDirectoryCleanerTest {
         });
     }
 
+    @Nested
+    class CleanupRunStatistics {
+
+        @Test
+        void shouldNotHaveStats_BeforeFirstRun() {
+            var cleaner = newCleanerWithRetentionThreshold(Duration.ofMinutes(5));
+
+            assertThat(cleaner.getLastCleanupRunStats()).isEmpty();
+        }
+
+        @ParameterizedTest
+        @EnumSource(ScanMode.class)
+        void shouldRecordStatsOfEachRun(ScanMode scanMode) throws IOException {
+            var now = System.currentTimeMillis();
+            var oldestRemainingLastModified = now - 30_000;
+            createFileWithLastModified("old1.txt", 100, now - 120_000);
+            createFileWithLastModified("old2.txt", 50, now - 90_000);
+            createFileWithLastModified("new1.txt", 10, oldestRemainingLastModified);
+            createFileWithLastModified("new2.txt", 10, now);
+
+            var listenerStats = new ArrayList<CleanupRunStats>();
+            var cleaner = TimeBasedDirectoryCleaner.builder()
+                    .directoryPath(temporaryPath.toString())
+                    .retentionThreshold(Duration.ofMinutes(1))
+                    .scanMode(scanMode)
+                    .cleanupRunListener(listenerStats::add)
+                    .build();
+
+            cleanAndAssertBeforeAndAfterCounts(cleaner, 4, 2);
+
+            var stats = cleaner.getLastCleanupRunStats().orElseThrow();
+            assertSoftly(softly -> {
+                softly.assertThat(stats.entriesExamined()).isEqualTo(4);
+                softly.assertThat(stats.entriesDeleted()).isEqualTo(2);
+                softly.assertThat(stats.bytesReclaimed()).isEqualTo(150);
+                softly.assertThat(stats.oldestRemainingLastModifiedMillis()).isEqualTo(oldestRemainingLastModified);
+                softly.assertThat(stats.oldestRemainingAge()).isPresent();
+                softly.assertThat(stats.duration()).isPositive();
+            });
+
+            assertThat(listenerStats).containsExactly(stats);
+        }
+
+        @Test
+        void shouldRecordStatsOfEachRun_WhenUsingQuota() throws IOException {
+            var now = System.currentTimeMillis();
+            createFileWithLastModified("file1.txt", 100, now - 3_000);
+            createFileWithLastModified("file2.txt", 50, now - 2_000);
+            createFileWithLastModified("file3.txt", 25, now - 1_000);
+
+            try (var cleaner = TimeBasedDirectoryCleaner.builder()
+                    .directoryPath(temporaryPath.toString())
+                    .retentionThreshold(Duration.ofDays(1))
+                    .maxEntryCount(1)
+                    .build()) {
+
+                cleanAndAssertBeforeAndAfterCounts(cleaner, 3, 1);
+
+                var stats = cleaner.getLastCleanupRunStats().orElseThrow();
+                assertSoftly(softly -> {
+                    softly.assertThat(stats.entriesExamined()).isEqualTo(3);
+                    softly.assertThat(stats.entriesDeleted()).isEqualTo(2);
+                    softly.assertThat(stats.bytesReclaimed()).isEqualTo(150);
+                    softly.assertThat(stats.oldestRemainingLastModifiedMillis()).isEqualTo(now - 1_000);
+                });
+            }
+        }
+
+        @Test
+        void shouldRecordOldEntriesNotDeleted_WhenMaxDeletesPerRunIsReached() throws IOException {
+            var now = System.currentTimeMillis();
+            createFileWithLastModified("file1.txt", 10, now - 300_000);
+            createFileWithLastModified("file2.txt", 10, now - 200_000);
+            createFileWithLastModified("file3.txt", 10, now - 100_000);
+
+            var cleaner = TimeBasedDirectoryCleaner.builder()
+                    .directoryPath(temporaryPath.toString())
+                    .retentionThreshold(Duration.ofMinutes(1))
+                    .scanMode(ScanMode.STREAMING)
+                    .maxDeletesPerRun(1)
+                    .build();
+
+            cleanAndAssertBeforeAndAfterCounts(cleaner, 3, 2);
+
+            var stats = cleaner.getLastCleanupRunStats().orElseThrow();
+            assertThat(stats.entriesDeleted()).isOne();
+            assertThat(stats.oldestRemainingAge())
+                    .hasValueSatisfying(age -> assertThat(age).isGreaterThan(Duration.ofMinutes(1)));
+        }
+
+        @Test
+        void shouldIgnoreListenerExceptions() {
+            var cleaner = TimeBasedDirectoryCleaner.builder()
+                    .directoryPath(temporaryPath.toString())
+                    .retentionThreshold(Duration.ofMinutes(1))
+                    .cleanupRunListener(stats -> {
+                        throw new IllegalStateException("listener failure");
+                    })
+                    .build();
+
+            cleaner.run();
+
+            assertThat(cleaner.getDeleteErrorCount()).isZero();
+            assertThat(cleaner.getLastCleanupRunStats()).isPresent();
+        }
+
+        private void createFileWithLastModified(String fileName, int size, long lastModifiedMillis) throws IOException {
+            var file = Files.write(temporaryPath.resolve(fileName), new byte[size]);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(lastModifiedMillis));
+        }
+    }
+
+    @Nested
+    class StreamingScanMode {
+
+        @ParameterizedTest
+        @ValueSource(ints = {1, 4})
+        void shouldDeleteFilesAndDirectoriesOlderThanRetentionThreshold(int deleteParallelism) throws IOException {
+            createFilesWithSuffixesInRange(1, 5);
+            createDirectoriesWithFiles(1, 5);
+
+            var retentionThreshold = Duration.ofSeconds(1);
+            waitUntilLastModifiedIsBeforeRetentionThreshold("folder5", retentionThreshold);
+
+            createFilesWithSuffixesInRange(6, 10);
+
+            var cleaner = newStreamingCleaner(retentionThreshold, deleteParallelism, null);
+            cleanAndAssertBeforeAndAfterCounts(cleaner, 15, 5);
+
+            assertFilesExist("file", 6, 10);
+            assertThat(cleaner.getDeleteCount()).isEqualTo(10);
+            assertThat(cleaner.getDeleteErrorCount()).isZero();
+        }
+
+        @Test
+        void shouldNotDeleteFilesNewerThanRetentionThreshold() throws IOException {
+            createFilesWithSuffixesInRange(1, 10);
+
+            var cleaner = newStreamingCleaner(Duration.ofMinutes(5), 2, null);
+            cleanAndAssertBeforeAndAfterCounts(cleaner, 10, 10);
+
+            assertThat(cleaner.getDeleteCount()).isZero();
+        }
+
+        @Test
+        void shouldLimitDeletesPerRun() throws IOException {
+            createFilesWithSuffixesInRange(1, 10);
+
+            var retentionThreshold = Duration.ofMillis(100);
+            waitUntilLastModifiedIsBeforeRetentionThreshold("file10", retentionThreshold);
+
+            var cleaner = newStreamingCleaner(retentionThreshold, 3, 4);
+            cleanAndAssertBeforeAndAfterCounts(cleaner, 10, 6);
+            cleanAndAssertBeforeAndAfterCounts(cleaner, 6, 2);
+            cleanAndAssertBeforeAndAfterCounts(cleaner, 2, 0);
+
+            assertThat(cleaner.getDeleteCount()).isEqualTo(10);
+        }
+
+        @Test
+        void shouldIgnoreDirectoryThatDoesNotExist() {
+            var cleaner = TimeBasedDirectoryCleaner.builder()
+                    .directoryPath(temporaryPath.resolve("does-not-exist").toString())
+                    .retentionThreshold(Duration.ofMillis(100))
+                    .scanMode(ScanMode.STREAMING)
+                    .build();
+
+            cleaner.run();
+
+            assertThat(cleaner.getDeleteCount()).isZero();
+            assertThat(cleaner.getDeleteErrorCount()).isZero();
+        }
+
+        @Test
+        void shouldNotDeletePathThatIsNotDirectory() throws IOException {
+            var file = Files.createFile(temporaryPath.resolve("not-a-directory.txt"));
+
+            var retentionThreshold = Duration.ofMillis(100);
+            waitUntilLastModifiedIsBeforeRetentionThreshold("not-a-directory.txt", retentionThreshold);
+
+            var cleaner = TimeBasedDirectoryCleaner.builder()
+                    .directoryPath(file.toString())
+                    .retentionThreshold(retentionThreshold)
+                    .scanMode(ScanMode.STREAMING)
+                    .build();
+
+            cleaner.run();
+
+            assertThat(file).exists();
+            assertThat(cleaner.getDeleteCount()).isZero();
+        }
+
+        private TimeBasedDirectoryCleaner newStreamingCleaner(Duration retentionThreshold,
+                                                              int deleteParallelism,
+                                                              Integer maxDeletesPerRun) {
+            return TimeBasedDirectoryCleaner.builder()
+                    .directoryPath(temporaryPath.toString())
+                    .retentionThreshold(retentionThreshold)
+                    .scanMode(ScanMode.STREAMING)
+                    .deleteParallelism(deleteParallelism)
+                    .maxDeletesPerRun(maxDeletesPerRun)
+                    .build();
+        }
+    }
+
+    @Nested
+    class WithQuota {
+
+        @ParameterizedTest
+        @ValueSource(booleans = {true, false})
+        void shouldDeleteOldestEntriesUntilUnderEntryCountQuota(boolean watchForChanges) throws IOException {
+            createFilesWithAscendingLastModifiedTimes(1, 10, 100);
+
+            try (var cleaner = newQuotaCleaner(null, 4, watchForChanges)) {
+                assertThat(cleaner.hasQuota()).isTrue();
+                assertThat(cleaner.getMaxEntryCount()).contains(4);
+
+                cleanAndAssertBeforeAndAfterCounts(cleaner, 10, 4);
+
+                assertFilesExist("file", 7, 10);
+                assertThat(cleaner.getDeleteCount()).isEqualTo(6);
+            }
+        }
+
+        @Test
+        void shouldDeleteOldestEntriesUntilUnderSizeQuota() throws IOException {
+            createFilesWithAscendingLastModifiedTimes(1, 10, 100);
+
+            try (var cleaner = newQuotaCleaner(350L, null, false)) {
+                assertThat(cleaner.getMaxTotalSizeInBytes()).contains(350L);
+
+                cleanAndAssertBeforeAndAfterCounts(cleaner, 10, 3);
+
+                assertFilesExist("file", 8, 10);
+            }
+        }
+
+        @Test
+        void shouldDeleteNewlyAddedEntriesOnSubsequentRuns() throws IOException {
+            createFilesWithAscendingLastModifiedTimes(1, 5, 10);
+
+            try (var cleaner = newQuotaCleaner(null, 5, false)) {
+                cleanAndAssertBeforeAndAfterCounts(cleaner, 5, 5);
+
+                createFilesWithAscendingLastModifiedTimes(6, 8, 10);
+                cleanAndAssertBeforeAndAfterCounts(cleaner, 8, 5);
+
+                assertFilesExist("file", 4, 8);
+                assertThat(cleaner.getDeleteCount()).isEqualTo(3);
+            }
+        }
+
+        @Test
+        void shouldStillDeleteEntriesOlderThanRetentionThreshold() throws IOException {
+            createFilesWithSuffixesInRange(1, 3);
+
+            var retentionThreshold = Duration.ofMillis(100);
+            waitUntilLastModifiedIsBeforeRetentionThreshold("file3", retentionThreshold);
+
+            try (var cleaner = TimeBasedDirectoryCleaner.builder()
+                    .directoryPath(temporaryPath.toString())
+                    .retentionThreshold(retentionThreshold)
+                    .maxEntryCount(100)
+                    .build()) {
+
+                cleanAndAssertBeforeAndAfterCounts(cleaner, 3, 0);
+            }
+        }
+
+        private void createFilesWithAscendingLastModifiedTimes(int start, int end, int size) {
+            var baseMillis = System.currentTimeMillis() - 60_000;
+            IntStream.rangeClosed(start, end).forEach(value -> {
+                try {
+                    var file = Files.write(temporaryPath.resolve("file" + value), new byte[size]);
+                    Files.setLastModifiedTime(file, FileTime.fromMillis(baseMillis + (value * 1_000L)));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+
+        private TimeBasedDirectoryCleaner newQuotaCleaner(Long maxTotalSizeInBytes,
+                                                          Integer maxEntryCount,
+                                                          boolean watchForChanges) {
+            return TimeBasedDirectoryCleaner.builder()
+                    .directoryPath(temporaryPath.toString())
+                    .retentionThreshold(Duration.ofDays(1))
+                    .maxTotalSizeInBytes(maxTotalSizeInBytes)
+                    .maxEntryCount(maxEntryCount)
+                    .watchForChanges(watchForChanges)
+                    .build();
+        }
+    }
+
     @Nested
     class TryDeleteIfExists {
 
@@ -363,6 +712,27 @@ class TimeBasedDirectoryCleanerTest {
             assertThat(deleteResult.isDeleteWasAttempted()).isFalse();
             assertThat(deleteResult.isDeleteWasSuccessful()).isFalse();
         }
+
+        @Test
+        void shouldReturnSkippedWhenPathDoesNotExist() {
+            var path = temporaryPath.resolve("file.txt");
+
+            var deleteResult = TimeBasedDirectoryCleaner.tryDeleteIfExists(path, false);
+
+            assertThat(deleteResult.isDeleteWasAttempted()).isFalse();
+            assertThat(deleteResult.isDeleteWasSuccessful()).isFalse();
+        }
+
+        @Test
+        void shouldDeleteExistingPath() throws IOException {
+            var path = Files.createFile(temporaryPath.resolve("file.txt"));
+
+            var deleteResult = TimeBasedDirectoryCleaner.tryDeleteIfExists(path, false);
+
+            assertThat(deleteResult.isDeleteWasAttempted()).isTrue();
+            assertThat(deleteResult.isDeleteWasSuccessful()).isTrue();
+            assertThat(path).doesNotExist();
+        }
     }
 
     @Nested
@@ -0,0 +1,258 @@
+package org.kiwiproject.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.IntStream;
+
+@SuppressWarnings("SqlNoDataSourceInspection")
+@DisplayName("KiwiJdbcBatches")
+class KiwiJdbcBatchesTest {
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void setUpDatabase() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:KiwiJdbcBatchesTest;DB_CLOSE_DELAY=-1");
+        try (var stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE batch_items (id BIGINT PRIMARY KEY AUTO_INCREMENT, name VARCHAR(255) UNIQUE)");
+        }
+    }
+
+    @AfterAll
+    static void tearDownDatabase() throws SQLException {
+        connection.close();
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection.setAutoCommit(true);
+        try (var stmt = connection.createStatement()) {
+            stmt.execute("DELETE FROM batch_items");
+        }
+    }
+
+    private static final String INSERT_SQL = "INSERT INTO batch_items (name) VALUES (?)";
+
+    private static final KiwiJdbcBatches.ParameterBinder<String> NAME_BINDER = (ps, name) -> ps.setString(1, name);
+
+    @Nested
+    class ExecuteBatches {
+
+        @Test
+        void shouldInsertAllItems_InBatches() throws SQLException {
+            var names = names(25);
+            var options = JdbcBatchOptions.builder().batchSize(10).build();
+
+            var result = KiwiJdbcBatches.executeBatches(connection, INSERT_SQL, names, NAME_BINDER, options);
+
+            assertThat(result.itemCount()).isEqualTo(25);
+            assertThat(result.batchCount()).isEqualTo(3);
+            assertThat(result.updateCount()).isEqualTo(25);
+            assertThat(result.generatedKeys()).isEmpty();
+            assertThat(countRows()).isEqualTo(25);
+            assertThat(connection.getAutoCommit()).isTrue();
+        }
+
+        @Test
+        void shouldDoNothing_WhenNoItems() throws SQLException {
+            var result = KiwiJdbcBatches.executeBatches(connection, INSERT_SQL, List.of(), NAME_BINDER);
+
+            assertThat(result).isEqualTo(new JdbcBatchResult<Void>(0, 0, 0, List.of()));
+        }
+
+        @Test
+        void shouldCommitPreviousBatches_AndRollBackFailedBatch() throws SQLException {
+            var names = List.of("a", "b", "c", "d", "a", "e");
+            var options = JdbcBatchOptions.builder().batchSize(3).build();
+
+            assertThatThrownBy(() -> KiwiJdbcBatches.executeBatches(connection, INSERT_SQL, names, NAME_BINDER, options))
+                    .isInstanceOf(SQLException.class);
+
+            assertThat(countRows()).isEqualTo(3);
+            assertThat(connection.getAutoCommit()).isTrue();
+        }
+
+        @Test
+        void shouldNotManageTransaction_WhenAutoCommitIsDisabled() throws SQLException {
+            connection.setAutoCommit(false);
+
+            KiwiJdbcBatches.executeBatches(connection, INSERT_SQL, names(5), NAME_BINDER);
+            connection.rollback();
+
+            assertThat(connection.getAutoCommit()).isFalse();
+            assertThat(countRows()).isZero();
+        }
+
+        @Test
+        void shouldRequireArguments() {
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> KiwiJdbcBatches.executeBatches(null, INSERT_SQL, names(1), NAME_BINDER));
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> KiwiJdbcBatches.executeBatches(connection, " ", names(1), NAME_BINDER));
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> KiwiJdbcBatches.executeBatches(connection, INSERT_SQL, null, NAME_BINDER));
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> KiwiJdbcBatches.executeBatches(connection, INSERT_SQL, names(1), null));
+        }
+    }
+
+    @Nested
+    class ExecuteBatchesReturningKeys {
+
+        @Test
+        void shouldReturnGeneratedKeys_ForAllBatches() throws SQLException {
+            var names = names(7);
+            var options = JdbcBatchOptions.builder().batchSize(3).build();
+
+            var result = KiwiJdbcBatches.executeBatchesReturningKeys(
+                    connection, INSERT_SQL, names, NAME_BINDER, "id", Long.class, options);
+
+            assertThat(result.batchCount()).isEqualTo(3);
+            assertThat(result.generatedKeys())
+                    .hasSize(7)
+                    .doesNotHaveDuplicates()
+                    .isSorted();
+
+            for (var i = 0; i < names.size(); i++) {
+                assertThat(nameWithId(result.generatedKeys().get(i))).isEqualTo(names.get(i));
+            }
+        }
+    }
+
+    @Nested
+    class UpdateCounts {
+
+        private Connection mockConnection;
+        private PreparedStatement ps;
+
+        @BeforeEach
+        void setUp() throws SQLException {
+            mockConnection = mock(Connection.class);
+            ps = mock(PreparedStatement.class);
+            when(mockConnection.prepareStatement(INSERT_SQL)).thenReturn(ps);
+            when(mockConnection.getAutoCommit()).thenReturn(true);
+        }
+
+        @Test
+        void shouldAcceptSuccessNoInfo_ByDefault() throws SQLException {
+            when(ps.executeBatch()).thenReturn(new int[] { Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO });
+
+            var result = KiwiJdbcBatches.executeBatches(mockConnection, INSERT_SQL, names(2), NAME_BINDER);
+
+            assertThat(result.itemCount()).isEqualTo(2);
+            assertThat(result.updateCount()).isZero();
+            verify(mockConnection).commit();
+        }
+
+        @Test
+        void shouldRejectSuccessNoInfo_WhenNotAllowed() throws SQLException {
+            when(ps.executeBatch()).thenReturn(new int[] { Statement.SUCCESS_NO_INFO });
+            var options = JdbcBatchOptions.builder().allowSuccessNoInfo(false).build();
+
+            assertThatIllegalStateException()
+                    .isThrownBy(() -> KiwiJdbcBatches.executeBatches(
+                            mockConnection, INSERT_SQL, names(1), NAME_BINDER, options))
+                    .withMessage("Expected statement 1 in batch 1 to update 1 row(s), but update count was -2");
+        }
+
+        @Test
+        void shouldRollBack_WhenUpdateCountIsUnexpected() throws SQLException {
+            when(ps.executeBatch()).thenReturn(new int[] { 1, 0, 1 });
+
+            assertThatIllegalStateException()
+                    .isThrownBy(() -> KiwiJdbcBatches.executeBatches(mockConnection, INSERT_SQL, names(3), NAME_BINDER))
+                    .withMessage("Expected statement 2 in batch 1 to update 1 row(s), but update count was 0");
+
+            var inOrder = inOrder(mockConnection, ps);
+            inOrder.verify(mockConnection).setAutoCommit(false);
+            inOrder.verify(ps).executeBatch();
+            inOrder.verify(mockConnection).rollback();
+            inOrder.verify(mockConnection).setAutoCommit(true);
+            verify(mockConnection, never()).commit();
+            verify(ps).close();
+        }
+
+        @Test
+        void shouldNotCheckUpdateCounts_WhenExpectedUpdateCountIsNegative() throws SQLException {
+            when(ps.executeBatch()).thenReturn(new int[] { 3, 0 });
+            var options = JdbcBatchOptions.builder().expectedUpdateCount(-1).build();
+
+            var result = KiwiJdbcBatches.executeBatches(mockConnection, INSERT_SQL, names(2), NAME_BINDER, options);
+
+            assertThat(result.updateCount()).isEqualTo(3);
+        }
+
+        @Test
+        void shouldNotManageTransactions_WhenDisabled() throws SQLException {
+            when(ps.executeBatch()).thenReturn(new int[] { 1 });
+            var options = JdbcBatchOptions.builder().transactionPerBatch(false).build();
+
+            KiwiJdbcBatches.executeBatches(mockConnection, INSERT_SQL, names(1), NAME_BINDER, options);
+
+            verify(mockConnection, never()).setAutoCommit(false);
+            verify(mockConnection, never()).commit();
+        }
+
+        @Test
+        void shouldCommitEachBatch() throws SQLException {
+            when(ps.executeBatch()).thenReturn(new int[] { 1, 1 }, new int[] { 1, 1 }, new int[] { 1 });
+            var options = JdbcBatchOptions.builder().batchSize(2).build();
+
+            var result = KiwiJdbcBatches.executeBatches(mockConnection, INSERT_SQL, names(5), NAME_BINDER, options);
+
+            assertThat(result.batchCount()).isEqualTo(3);
+            verify(ps, times(5)).addBatch();
+            verify(mockConnection, times(3)).commit();
+        }
+    }
+
+    @Test
+    void shouldNotAllowInvalidBatchSize() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> JdbcBatchOptions.builder().batchSize(0).build())
+                .withMessage("batchSize must be positive");
+    }
+
+    private static List<String> names(int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(i -> "item-" + i).toList();
+    }
+
+    private static long countRows() throws SQLException {
+        try (var stmt = connection.createStatement(); var rs = stmt.executeQuery("SELECT COUNT(*) FROM batch_items")) {
+            KiwiJdbc.nextOrThrow(rs);
+            return rs.getLong(1);
+        }
+    }
+
+    private static String nameWithId(long id) throws SQLException {
+        try (var ps = connection.prepareStatement("SELECT name FROM batch_items WHERE id = ?")) {
+            ps.setLong(1, id);
+            try (var rs = ps.executeQuery()) {
+                KiwiJdbc.nextOrThrow(rs);
+                return rs.getString(1);
+            }
+        }
+    }
+}
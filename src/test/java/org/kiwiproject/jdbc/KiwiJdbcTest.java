@@ -4,10 +4,16 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.only;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -24,6 +30,7 @@ import org.kiwiproject.base.KiwiPrimitives.BooleanConversionOption;
 import org.kiwiproject.jdbc.KiwiJdbc.StringTrimOption;
 import org.kiwiproject.util.BlankStringSource;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -1184,6 +1191,183 @@ class KiwiJdbcTest {
         }
     }
 
+    @Nested
+    class PrepareStatementForStreaming {
+
+        @Test
+        void shouldPrepareForwardOnlyReadOnlyStatement() throws SQLException {
+            var connection = mock(Connection.class);
+            var ps = newMockPreparedStatement();
+            when(connection.prepareStatement("select * from people", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY))
+                    .thenReturn(ps);
+
+            assertThat(KiwiJdbc.prepareStatementForStreaming(connection, "select * from people")).isSameAs(ps);
+        }
+    }
+
+    @Nested
+    class StreamResultSet {
+
+        private ResultSet resultSet;
+
+        @BeforeEach
+        void setUp() throws SQLException {
+            resultSet = newMockResultSet();
+            when(resultSet.next()).thenReturn(true, true, true, false);
+            when(resultSet.getString("name")).thenReturn("Alice", "Bob", "Carlos");
+        }
+
+        @Test
+        void shouldMapEachRow() throws SQLException {
+            try (var names = KiwiJdbc.stream(resultSet, rs -> rs.getString("name"))) {
+                assertThat(names).containsExactly("Alice", "Bob", "Carlos");
+            }
+
+            verify(resultSet).close();
+        }
+
+        @Test
+        void shouldReadRowsLazily() throws SQLException {
+            try (var names = KiwiJdbc.stream(resultSet, rs -> rs.getString("name"))) {
+                assertThat(names.limit(1)).containsExactly("Alice");
+            }
+
+            verify(resultSet, times(1)).next();
+        }
+
+        @Test
+        void shouldNotAdvance_AfterResultSetIsExhausted() throws SQLException {
+            try (var names = KiwiJdbc.stream(resultSet, rs -> rs.getString("name"))) {
+                var spliterator = names.spliterator();
+                spliterator.forEachRemaining(name -> { });
+
+                assertThat(spliterator.tryAdvance(name -> { })).isFalse();
+            }
+
+            verify(resultSet, times(4)).next();
+        }
+
+        @Test
+        void shouldThrowUncheckedSQLException_WhenErrorReadingRow() throws SQLException {
+            var error = new SQLException("bad row");
+            when(resultSet.getString("name")).thenThrow(error);
+
+            try (var names = KiwiJdbc.stream(resultSet, rs -> rs.getString("name"))) {
+                assertThatThrownBy(names::toList)
+                        .isExactlyInstanceOf(UncheckedSQLException.class)
+                        .hasCause(error);
+            }
+        }
+
+        @Test
+        void shouldThrowUncheckedSQLException_WhenErrorClosing() throws SQLException {
+            var error = new SQLException("close failed");
+            doThrow(error).when(resultSet).close();
+
+            var names = KiwiJdbc.stream(resultSet, rs -> rs.getString("name"));
+
+            assertThatThrownBy(names::close)
+                    .isExactlyInstanceOf(UncheckedSQLException.class)
+                    .hasCause(error);
+        }
+    }
+
+    @Nested
+    class StreamPreparedStatement {
+
+        private Connection connection;
+        private PreparedStatement ps;
+        private ResultSet resultSet;
+
+        @BeforeEach
+        void setUp() throws SQLException {
+            connection = mock(Connection.class);
+            ps = newMockPreparedStatement();
+            resultSet = newMockResultSet();
+            when(ps.getConnection()).thenReturn(connection);
+            when(ps.executeQuery()).thenReturn(resultSet);
+            when(resultSet.next()).thenReturn(true, true, false);
+            when(resultSet.getLong("id")).thenReturn(1L, 2L);
+        }
+
+        @Test
+        void shouldUseDefaultOptions() throws SQLException {
+            when(connection.getAutoCommit()).thenReturn(true);
+
+            try (var ids = KiwiJdbc.stream(ps, rs -> rs.getLong("id"))) {
+                assertThat(ids).containsExactly(1L, 2L);
+            }
+
+            var inOrder = inOrder(connection, ps, resultSet);
+            inOrder.verify(connection).setAutoCommit(false);
+            inOrder.verify(ps).setFetchSize(JdbcStreamOptions.DEFAULT_FETCH_SIZE);
+            inOrder.verify(ps).executeQuery();
+            inOrder.verify(resultSet).close();
+            inOrder.verify(ps).close();
+            inOrder.verify(connection).setAutoCommit(true);
+        }
+
+        @Test
+        void shouldNotChangeAutoCommit_WhenAlreadyDisabled() throws SQLException {
+            when(connection.getAutoCommit()).thenReturn(false);
+
+            try (var ids = KiwiJdbc.stream(ps, rs -> rs.getLong("id"))) {
+                assertThat(ids).containsExactly(1L, 2L);
+            }
+
+            verify(connection, never()).setAutoCommit(anyBoolean());
+        }
+
+        @Test
+        void shouldNotChangeAutoCommit_WhenOptionIsDisabled() throws SQLException {
+            when(connection.getAutoCommit()).thenReturn(true);
+            var options = JdbcStreamOptions.builder().fetchSize(50).disableAutoCommit(false).build();
+
+            try (var ids = KiwiJdbc.stream(ps, options, rs -> rs.getLong("id"))) {
+                assertThat(ids).containsExactly(1L, 2L);
+            }
+
+            verify(ps).setFetchSize(50);
+            verify(connection, never()).setAutoCommit(anyBoolean());
+        }
+
+        @Test
+        void shouldCloseStatementAndRestoreAutoCommit_WhenQueryFails() throws SQLException {
+            when(connection.getAutoCommit()).thenReturn(true);
+            var error = new SQLException("bad query");
+            when(ps.executeQuery()).thenThrow(error);
+
+            assertThatThrownBy(() -> KiwiJdbc.stream(ps, rs -> rs.getLong("id")))
+                    .isSameAs(error);
+
+            verify(ps).close();
+            verify(connection).setAutoCommit(true);
+        }
+
+        @Test
+        void shouldCloseEverything_EvenWhenClosingResultSetFails() throws SQLException {
+            when(connection.getAutoCommit()).thenReturn(true);
+            var error = new SQLException("close failed");
+            doThrow(error).when(resultSet).close();
+
+            var ids = KiwiJdbc.stream(ps, rs -> rs.getLong("id"));
+
+            assertThatThrownBy(ids::close)
+                    .isExactlyInstanceOf(UncheckedSQLException.class)
+                    .hasCause(error);
+
+            verify(ps).close();
+            verify(connection).setAutoCommit(true);
+        }
+
+        @Test
+        void shouldNotAllowNegativeFetchSize() {
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> JdbcStreamOptions.builder().fetchSize(-1).build())
+                    .withMessage("fetchSize must not be negative");
+        }
+    }
+
     private static ResultSet newMockResultSet() {
         return mock(ResultSet.class);
     }
@@ -0,0 +1,185 @@
+package org.kiwiproject.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.kiwiproject.base.KiwiPrimitives.BooleanConversionOption;
+import org.kiwiproject.jdbc.KiwiJdbc.StringTrimOption;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+@DisplayName("ResultSetReader")
+class ResultSetReaderTest {
+
+    private ResultSet resultSet;
+    private ResultSetMetaData metaData;
+    private ResultSetReader reader;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        resultSet = mock(ResultSet.class);
+        metaData = mock(ResultSetMetaData.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(4);
+        when(metaData.getColumnLabel(1)).thenReturn("ID");
+        when(metaData.getColumnLabel(2)).thenReturn("name");
+        when(metaData.getColumnLabel(3)).thenReturn("created_at");
+        when(metaData.getColumnLabel(4)).thenReturn("Name");
+
+        reader = ResultSetReader.of(resultSet);
+    }
+
+    @Test
+    void shouldNotAllowNullResultSet() {
+        assertThatIllegalArgumentException().isThrownBy(() -> ResultSetReader.of(null));
+    }
+
+    @Test
+    void shouldReturnResultSet() {
+        assertThat(reader.getResultSet()).isSameAs(resultSet);
+    }
+
+    @Nested
+    class ColumnIndex {
+
+        @Test
+        void shouldResolveColumnNamesCaseInsensitively() throws SQLException {
+            assertThat(reader.columnIndex("id")).isEqualTo(1);
+            assertThat(reader.columnIndex("Id")).isEqualTo(1);
+            assertThat(reader.columnIndex("CREATED_AT")).isEqualTo(3);
+        }
+
+        @Test
+        void shouldUseFirstMatchingColumn_WhenLabelsAreDuplicated() throws SQLException {
+            assertThat(reader.columnIndex("NAME")).isEqualTo(2);
+        }
+
+        @Test
+        void shouldReadMetaDataOnlyOnce() throws SQLException {
+            for (var i = 0; i < 10; i++) {
+                reader.columnIndex("id");
+                reader.columnIndex("name");
+                reader.columnIndex("created_at");
+            }
+
+            verify(resultSet, times(1)).getMetaData();
+            verify(metaData, times(1)).getColumnLabel(1);
+            verify(resultSet, never()).findColumn("id");
+        }
+
+        @Test
+        void shouldFallBackToFindColumn_WhenNotInMetaData() throws SQLException {
+            when(resultSet.findColumn("alias")).thenReturn(2);
+
+            assertThat(reader.columnIndex("alias")).isEqualTo(2);
+            assertThat(reader.columnIndex("alias")).isEqualTo(2);
+
+            verify(resultSet, times(1)).findColumn("alias");
+        }
+
+        @Test
+        void shouldThrowSQLException_WhenColumnDoesNotExist() throws SQLException {
+            when(resultSet.findColumn("unknown")).thenThrow(new SQLException("no such column"));
+
+            assertThatThrownBy(() -> reader.columnIndex("unknown"))
+                    .isExactlyInstanceOf(SQLException.class)
+                    .hasMessage("no such column");
+        }
+    }
+
+    @Nested
+    class Accessors {
+
+        @Test
+        void shouldGetNullableNumbersByIndex() throws SQLException {
+            when(resultSet.getLong(1)).thenReturn(42L);
+            when(resultSet.getInt(1)).thenReturn(24);
+            when(resultSet.getDouble(1)).thenReturn(4.2);
+            when(resultSet.wasNull()).thenReturn(false, false, false, true);
+
+            assertThat(reader.longValueOrNull("id")).isEqualTo(42L);
+            assertThat(reader.intValueOrNull("id")).isEqualTo(24);
+            assertThat(reader.doubleValueOrNull("id")).isEqualTo(4.2);
+            assertThat(reader.longValueOrNull("id")).isNull();
+
+            verify(resultSet, never()).getLong("id");
+        }
+
+        @Test
+        void shouldGetTemporalValuesByIndex() throws SQLException {
+            var instant = Instant.parse("2024-03-15T10:15:30Z");
+            when(resultSet.getTimestamp(3)).thenReturn(Timestamp.from(instant));
+            when(resultSet.getDate(3)).thenReturn(Date.valueOf(LocalDate.of(2024, 3, 15)));
+            when(resultSet.getTime(3)).thenReturn(Time.valueOf(LocalTime.of(10, 15, 30)));
+
+            assertThat(reader.instantFromTimestamp("created_at")).isEqualTo(instant);
+            assertThat(reader.epochMillisFromTimestamp("created_at")).isEqualTo(instant.toEpochMilli());
+            assertThat(reader.dateFromTimestamp("created_at")).isEqualTo(java.util.Date.from(instant));
+            assertThat(reader.localDateTimeFromTimestamp("created_at"))
+                    .isEqualTo(Timestamp.from(instant).toLocalDateTime());
+            assertThat(reader.localDateFromDateOrNull("created_at")).isEqualTo(LocalDate.of(2024, 3, 15));
+            assertThat(reader.localTimeFromTimeOrNull("created_at")).isEqualTo(LocalTime.of(10, 15, 30));
+            assertThat(reader.utcZonedDateTimeFromTimestamp("created_at"))
+                    .isEqualTo(ZonedDateTime.ofInstant(instant, ZoneOffset.UTC));
+
+            var zoneId = ZoneId.of("America/New_York");
+            assertThat(reader.zonedDateTimeFromTimestamp("created_at", zoneId))
+                    .isEqualTo(ZonedDateTime.ofInstant(instant, zoneId));
+        }
+
+        @Test
+        void shouldReturnNullTemporalValues_WhenColumnIsNull() throws SQLException {
+            assertThat(reader.instantFromTimestamp("created_at")).isNull();
+            assertThat(reader.localDateFromDateOrNull("created_at")).isNull();
+            assertThat(reader.localTimeFromTimeOrNull("created_at")).isNull();
+        }
+
+        @Test
+        void shouldGetEnumValues() throws SQLException {
+            when(resultSet.getString(2)).thenReturn("PRESERVE", (String) null);
+
+            assertThat(reader.enumValueOrNull("name", StringTrimOption.class)).isEqualTo(StringTrimOption.PRESERVE);
+            assertThat(reader.enumValueOrEmpty("name", StringTrimOption.class)).isEmpty();
+        }
+
+        @Test
+        void shouldGetBooleans() throws SQLException {
+            when(resultSet.getLong(1)).thenReturn(1L);
+            when(resultSet.getInt(1)).thenReturn(0);
+
+            assertThat(reader.booleanFromLong("id")).isTrue();
+            assertThat(reader.booleanFromInt("id")).isFalse();
+            assertThat(reader.booleanFromInt("id", BooleanConversionOption.NON_ZERO_AS_TRUE)).isFalse();
+        }
+
+        @Test
+        void shouldGetStrings() throws SQLException {
+            when(resultSet.getString(2)).thenReturn("  Alice  ", "  Alice  ", "   ");
+
+            assertThat(reader.stringOrNullIfBlank("name")).isEqualTo("  Alice  ");
+            assertThat(reader.trimmedStringOrNullIfBlank("name")).isEqualTo("Alice");
+            assertThat(reader.stringOrNullIfBlank("name", StringTrimOption.PRESERVE)).isNull();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package org.kiwiproject.jdbc.postgres;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.postgresql.copy.CopyIn;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.UUID;
+
+@DisplayName("CopyRowEncoder")
+class CopyRowEncoderTest {
+
+    private ByteArrayOutputStream written;
+    private CopyIn copyIn;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        written = new ByteArrayOutputStream();
+        copyIn = mock(CopyIn.class);
+        doAnswer(invocation -> {
+            written.write(invocation.<byte[]>getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+    }
+
+    @Nested
+    class Csv {
+
+        @Test
+        void shouldEncodeRows() throws SQLException {
+            var encoder = CopyRowEncoder.of(CopyFormat.CSV, 4);
+            encoder.start();
+            encoder.beginRow();
+            encoder.addText("say \"hi\", bob").addNull().addBoolean(true).addBytes(new byte[] { 1, (byte) 0xab });
+            encoder.endRow();
+            encoder.beginRow();
+            encoder.addText("")
+                    .addLong(42)
+                    .addTimestamp(Instant.parse("2024-05-01T12:30:00Z"))
+                    .addUuid(new UUID(1, 2));
+            encoder.endRow();
+            encoder.finish();
+            encoder.flushTo(copyIn);
+
+            assertThat(written.toString(StandardCharsets.UTF_8)).isEqualTo(
+                    "\"say \"\"hi\"\", bob\",,t,\\x01ab\n" +
+                    "\"\",42,2024-05-01T12:30:00Z,00000000-0000-0001-0000-000000000002\n");
+        }
+
+        @Test
+        void shouldAddNull_WhenObjectValuesAreNull() throws SQLException {
+            var encoder = CopyRowEncoder.of(CopyFormat.CSV, 4);
+            encoder.beginRow();
+            encoder.addText(null).addTimestamp(null).addUuid(null).addBytes(null);
+            encoder.endRow();
+            encoder.flushTo(copyIn);
+
+            assertThat(written.toString(StandardCharsets.UTF_8)).isEqualTo(",,,\n");
+        }
+    }
+
+    @Nested
+    class Binary {
+
+        @Test
+        void shouldEncodeHeaderRowsAndTrailer() throws SQLException {
+            var encoder = CopyRowEncoder.of(CopyFormat.BINARY, 3);
+            encoder.start();
+            encoder.beginRow();
+            encoder.addInt(7).addNull().addTimestamp(Instant.parse("2000-01-01T00:00:01Z"));
+            encoder.endRow();
+            encoder.finish();
+            encoder.flushTo(copyIn);
+
+            assertThat(HexFormat.of().formatHex(written.toByteArray())).isEqualTo(
+                    "5047434f50590aff0d0a00" + "00000000" + "00000000" +  // signature, flags, extension length
+                    "0003" +                                                // field count
+                    "00000004" + "00000007" +                               // int
+                    "ffffffff" +                                            // null
+                    "00000008" + "00000000000f4240" +                       // timestamp micros
+                    "ffff");                                                // trailer
+        }
+
+        @Test
+        void shouldEncodeTypedValues() throws SQLException {
+            var uuid = UUID.randomUUID();
+            var encoder = CopyRowEncoder.of(CopyFormat.BINARY, 5);
+            encoder.beginRow();
+            encoder.addLong(Long.MAX_VALUE).addDouble(1.5).addBoolean(true).addUuid(uuid).addText("é");
+            encoder.endRow();
+            encoder.flushTo(copyIn);
+
+            var bytes = ByteBuffer.wrap(written.toByteArray());
+            assertThat(bytes.getShort()).isEqualTo((short) 5);
+            assertThat(bytes.getInt()).isEqualTo(8);
+            assertThat(bytes.getLong()).isEqualTo(Long.MAX_VALUE);
+            assertThat(bytes.getInt()).isEqualTo(8);
+            assertThat(bytes.getDouble()).isEqualTo(1.5);
+            assertThat(bytes.getInt()).isEqualTo(1);
+            assertThat(bytes.get()).isEqualTo((byte) 1);
+            assertThat(bytes.getInt()).isEqualTo(16);
+            assertThat(new UUID(bytes.getLong(), bytes.getLong())).isEqualTo(uuid);
+            assertThat(bytes.getInt()).isEqualTo(2);
+            assertThat(bytes.remaining()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void shouldRequireOneValuePerColumn() {
+        var encoder = CopyRowEncoder.of(CopyFormat.CSV, 2);
+
+        encoder.beginRow();
+        encoder.addInt(1);
+        assertThatIllegalStateException()
+                .isThrownBy(encoder::endRow)
+                .withMessage("Expected 2 values in row but 1 were added");
+
+        encoder.beginRow();
+        encoder.addInt(1).addInt(2);
+        assertThatIllegalStateException()
+                .isThrownBy(() -> encoder.addInt(3))
+                .withMessage("Only 2 values may be added to each row");
+    }
+
+    @Test
+    void shouldClearBuffer_AfterFlushing() throws SQLException {
+        var encoder = CopyRowEncoder.of(CopyFormat.CSV, 1);
+        encoder.beginRow();
+        encoder.addInt(1);
+        encoder.endRow();
+        assertThat(encoder.bufferedSize()).isEqualTo(2);
+
+        encoder.flushTo(copyIn);
+        assertThat(encoder.bufferedSize()).isZero();
+
+        encoder.flushTo(copyIn);
+        verify(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+    }
+
+    @Test
+    void shouldNotWrite_WhenBufferIsEmpty() throws SQLException {
+        CopyRowEncoder.of(CopyFormat.CSV, 1).flushTo(copyIn);
+
+        verify(copyIn, never()).writeToCopy(any(byte[].class), anyInt(), anyInt());
+    }
+}
@@ -0,0 +1,223 @@
+package org.kiwiproject.jdbc.postgres;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.copy.CopyOut;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+@DisplayName("KiwiPostgresCopy")
+class KiwiPostgresCopyTest {
+
+    private Connection connection;
+    private CopyManager copyManager;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = mock(Connection.class);
+        var pgConnection = mock(PGConnection.class);
+        copyManager = mock(CopyManager.class);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+    }
+
+    record Person(int id, String name) {
+    }
+
+    private static final KiwiPostgresCopy.CopyRowMapper<Person> PERSON_MAPPER =
+            (person, row) -> row.addInt(person.id()).addText(person.name());
+
+    @Nested
+    class CopyInToTable {
+
+        private CopyIn copyIn;
+
+        @BeforeEach
+        void setUp() throws SQLException {
+            copyIn = mock(CopyIn.class);
+            when(copyManager.copyIn("COPY people (id, name) FROM STDIN WITH (FORMAT csv)")).thenReturn(copyIn);
+        }
+
+        @Test
+        void shouldWriteRows_AndReturnRowCount() throws SQLException {
+            when(copyIn.endCopy()).thenReturn(2L);
+            var people = List.of(new Person(1, "Alice"), new Person(2, "Bob"));
+
+            var rowCount = KiwiPostgresCopy.copyIn(
+                    connection, "people", List.of("id", "name"), people.iterator(), PERSON_MAPPER, CopyFormat.CSV);
+
+            assertThat(rowCount).isEqualTo(2);
+            var expected = "1,\"Alice\"\n2,\"Bob\"\n".getBytes(StandardCharsets.UTF_8);
+            verify(copyIn).writeToCopy(any(byte[].class), eq(0), eq(expected.length));
+            verify(copyIn).endCopy();
+        }
+
+        @Test
+        void shouldFlush_WhenBufferSizeIsReached() throws SQLException {
+            var people = IntStream.range(0, 10).mapToObj(i -> new Person(i, "name")).iterator();
+
+            KiwiPostgresCopy.copyIn(
+                    connection, "people", List.of("id", "name"), people, PERSON_MAPPER, CopyFormat.CSV, 20);
+
+            verify(copyIn, times(4)).writeToCopy(any(byte[].class), eq(0), anyInt());
+        }
+
+        @Test
+        void shouldUseBinaryFormat() throws SQLException {
+            var binaryCopyIn = mock(CopyIn.class);
+            when(copyManager.copyIn("COPY people (id, name) FROM STDIN WITH (FORMAT binary)")).thenReturn(binaryCopyIn);
+
+            KiwiPostgresCopy.copyIn(connection, "people", List.of("id", "name"),
+                    Collections.<Person>emptyIterator(), PERSON_MAPPER, CopyFormat.BINARY);
+
+            // header (19 bytes) + trailer (2 bytes)
+            verify(binaryCopyIn).writeToCopy(any(byte[].class), eq(0), eq(21));
+            verify(binaryCopyIn).endCopy();
+        }
+
+        @Test
+        void shouldCancelCopy_WhenRowMapperFails() throws SQLException {
+            when(copyIn.isActive()).thenReturn(true);
+            var people = List.of(new Person(1, "Alice")).iterator();
+
+            assertThatIllegalStateException()
+                    .isThrownBy(() -> KiwiPostgresCopy.copyIn(connection, "people", List.of("id", "name"), people,
+                            (person, row) -> row.addInt(person.id()), CopyFormat.CSV));
+
+            verify(copyIn).cancelCopy();
+            verify(copyIn, never()).endCopy();
+        }
+
+        @Test
+        void shouldCancelCopy_AndSuppressCancelError_WhenWriteFails() throws SQLException {
+            var writeError = new SQLException("write failed");
+            var cancelError = new SQLException("cancel failed");
+            doThrow(writeError).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+            when(copyIn.isActive()).thenReturn(true);
+            doThrow(cancelError).when(copyIn).cancelCopy();
+            var people = List.of(new Person(1, "Alice")).iterator();
+
+            assertThatThrownBy(() -> KiwiPostgresCopy.copyIn(
+                    connection, "people", List.of("id", "name"), people, PERSON_MAPPER, CopyFormat.CSV))
+                    .isSameAs(writeError)
+                    .hasSuppressedException(cancelError);
+        }
+
+        @Test
+        void shouldRequireArguments() {
+            var columns = List.of("id", "name");
+            var people = List.<Person>of().iterator();
+
+            assertThatIllegalArgumentException().isThrownBy(() ->
+                    KiwiPostgresCopy.copyIn(null, "people", columns, people, PERSON_MAPPER, CopyFormat.CSV));
+            assertThatIllegalArgumentException().isThrownBy(() ->
+                    KiwiPostgresCopy.copyIn(connection, "", columns, people, PERSON_MAPPER, CopyFormat.CSV));
+            assertThatIllegalArgumentException().isThrownBy(() ->
+                    KiwiPostgresCopy.copyIn(connection, "people", List.of(), people, PERSON_MAPPER, CopyFormat.CSV));
+            assertThatIllegalArgumentException().isThrownBy(() ->
+                    KiwiPostgresCopy.copyIn(connection, "people", columns, people, PERSON_MAPPER, null));
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> KiwiPostgresCopy.copyIn(
+                            connection, "people", columns, people, PERSON_MAPPER, CopyFormat.CSV, 0))
+                    .withMessage("bufferSize must be positive");
+        }
+    }
+
+    @Nested
+    class CopyOutFromQuery {
+
+        private CopyOut copyOut;
+
+        @BeforeEach
+        void setUp() throws SQLException {
+            copyOut = mock(CopyOut.class);
+            when(copyManager.copyOut("COPY (SELECT id, name FROM people) TO STDOUT WITH (FORMAT csv)"))
+                    .thenReturn(copyOut);
+        }
+
+        @Test
+        void shouldPassEachRowToConsumer() throws SQLException {
+            when(copyOut.readFromCopy()).thenReturn(
+                    "1,Alice\n".getBytes(StandardCharsets.UTF_8),
+                    "2,\n".getBytes(StandardCharsets.UTF_8),
+                    null);
+            when(copyOut.getHandledRowCount()).thenReturn(2L);
+            var rows = new ArrayList<List<String>>();
+
+            var rowCount = KiwiPostgresCopy.copyOut(connection, "SELECT id, name FROM people", rows::add);
+
+            assertThat(rowCount).isEqualTo(2);
+            assertThat(rows).containsExactly(List.of("1", "Alice"), Arrays.asList("2", null));
+        }
+
+        @Test
+        void shouldCancelCopy_WhenConsumerFails() throws SQLException {
+            when(copyOut.readFromCopy()).thenReturn("1,Alice\n".getBytes(StandardCharsets.UTF_8));
+            when(copyOut.isActive()).thenReturn(true);
+
+            assertThatIllegalStateException().isThrownBy(() ->
+                    KiwiPostgresCopy.copyOut(connection, "SELECT id, name FROM people", row -> {
+                        throw new IllegalStateException("oops");
+                    }));
+
+            verify(copyOut).cancelCopy();
+        }
+    }
+
+    @Nested
+    class ParseCsvRow {
+
+        @Test
+        void shouldParseUnquotedValues() {
+            assertThat(KiwiPostgresCopy.parseCsvRow("1,abc,t\n")).containsExactly("1", "abc", "t");
+        }
+
+        @Test
+        void shouldTreatUnquotedEmptyValuesAsNull() {
+            assertThat(KiwiPostgresCopy.parseCsvRow(",x,\n")).containsExactly(null, "x", null);
+        }
+
+        @Test
+        void shouldTreatQuotedEmptyValuesAsEmptyStrings() {
+            assertThat(KiwiPostgresCopy.parseCsvRow("\"\",\"\"\n")).containsExactly("", "");
+        }
+
+        @Test
+        void shouldUnescapeQuotedValues() {
+            assertThat(KiwiPostgresCopy.parseCsvRow("\"say \"\"hi\"\", bob\",\"line1\nline2\"\n"))
+                    .containsExactly("say \"hi\", bob", "line1\nline2");
+        }
+    }
+
+    @Test
+    void shouldBuildCopyInSql() {
+        assertThat(KiwiPostgresCopy.copyInSql("app.people", List.of("id", "name"), CopyFormat.BINARY))
+                .isEqualTo("COPY app.people (id, name) FROM STDIN WITH (FORMAT binary)");
+    }
+}
@@ -1,14 +1,21 @@
 package org.kiwiproject.jdbi;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.tuple;
 
 import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.statement.PreparedBatch;
 import org.jdbi.v3.core.statement.Update;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
 import java.util.stream.IntStream;
 
 @SuppressWarnings("SqlNoDataSourceInspection")
@@ -64,6 +71,93 @@ class Jdbi3GeneratedKeysTest {
         assertThat(id).isEqualTo(i);
     }
 
+    @Nested
+    class Batches {
+
+        private static final String INSERT_SQL = "INSERT INTO users (name) VALUES (:name)";
+
+        private static final BiConsumer<PreparedBatch, String> NAME_BINDER = (batch, name) -> batch.bind("name", name);
+
+        @Test
+        void shouldExecuteBatchAndGenerateIds() {
+            jdbi.useHandle(handle -> {
+                createUsersTable(handle);
+
+                var ids = Jdbi3GeneratedKeys.executeBatchAndGenerateIds(handle, INSERT_SQL, names(5), NAME_BINDER);
+
+                assertThat(ids).containsExactly(1, 2, 3, 4, 5);
+            });
+        }
+
+        @Test
+        void shouldExecuteBatchAndGenerateIds_InChunks() {
+            jdbi.useHandle(handle -> {
+                createUsersTable(handle);
+                var timings = new ArrayList<Jdbi3GeneratedKeys.ChunkTiming>();
+                var options = Jdbi3BatchOptions.builder()
+                        .chunkSize(3)
+                        .chunkTimingListener(timings::add)
+                        .build();
+
+                var ids = Jdbi3GeneratedKeys.executeBatchAndGenerateIds(
+                        handle, INSERT_SQL, names(7), NAME_BINDER, "id", options);
+
+                assertThat(ids).containsExactly(1, 2, 3, 4, 5, 6, 7);
+                assertThat(timings)
+                        .extracting(Jdbi3GeneratedKeys.ChunkTiming::chunkNumber,
+                                Jdbi3GeneratedKeys.ChunkTiming::itemCount)
+                        .containsExactly(
+                                tuple(1, 3),
+                                tuple(2, 3),
+                                tuple(3, 1));
+                assertThat(timings).allSatisfy(timing -> assertThat(timing.elapsed()).isNotNegative());
+            });
+        }
+
+        @Test
+        void shouldExecuteBatchAndGenerateKeys_InInputOrder() {
+            jdbi.useHandle(handle -> {
+                createUsersTable(handle);
+                var names = names(10);
+                var options = Jdbi3BatchOptions.builder().chunkSize(4).build();
+
+                var ids = Jdbi3GeneratedKeys.executeBatchAndGenerateKeys(
+                        handle, INSERT_SQL, names, NAME_BINDER, "id", Long.class, options);
+
+                assertThat(ids).hasSize(10);
+                for (var i = 0; i < names.size(); i++) {
+                    var name = handle.createQuery("SELECT name FROM users WHERE id = :id")
+                            .bind("id", ids.get(i))
+                            .mapTo(String.class)
+                            .one();
+                    assertThat(name).isEqualTo(names.get(i));
+                }
+            });
+        }
+
+        @Test
+        void shouldReturnEmptyResult_WhenNoItems() {
+            jdbi.useHandle(handle -> {
+                createUsersTable(handle);
+
+                var ids = Jdbi3GeneratedKeys.executeBatchAndGenerateIds(handle, INSERT_SQL, List.of(), NAME_BINDER);
+
+                assertThat(ids).isEmpty();
+            });
+        }
+
+        @Test
+        void shouldNotAllowInvalidChunkSize() {
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> Jdbi3BatchOptions.builder().chunkSize(0).build())
+                    .withMessage("chunkSize must be positive");
+        }
+
+        private static List<String> names(int count) {
+            return IntStream.rangeClosed(1, count).mapToObj(i -> "Adam" + i).toList();
+        }
+    }
+
     private static void createUsersTable(Handle handle) {
         handle.execute("CREATE TABLE users (id BIGINT PRIMARY KEY AUTO_INCREMENT, name VARCHAR)");
     }
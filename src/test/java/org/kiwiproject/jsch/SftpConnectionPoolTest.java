@@ -0,0 +1,522 @@
+package org.kiwiproject.jsch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.MetricRegistry;
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.HostKey;
+import com.jcraft.jsch.HostKeyRepository;
+import com.jcraft.jsch.JSch;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+import com.jcraft.jsch.SftpException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.kiwiproject.jsch.SftpConnectionPool.PoolStats;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * @implNote Like {@link SftpTransfersTest}, this uses mock JSch sessions and channels, since there is no embedded
+ * SFTP server available for use by tests.
+ */
+@DisplayName("SftpConnectionPool")
+class SftpConnectionPoolTest {
+
+    private SftpConfig config;
+    private JSch jsch;
+    private List<Session> sessions;
+    private List<ChannelSftp> channels;
+    private SftpConnectionPool pool;
+
+    @BeforeEach
+    void setUp() throws JSchException, SftpException {
+        config = SftpConfig.builder()
+                .user("kiwi-user")
+                .host("localhost")
+                .password("mypass")
+                .build();
+
+        sessions = new ArrayList<>();
+        channels = new ArrayList<>();
+
+        jsch = mock(JSch.class);
+        var hostKeyRepository = mock(HostKeyRepository.class);
+        var key = new HostKey("localhost", HostKey.SSHRSA, new byte[]{});
+        when(hostKeyRepository.getHostKey()).thenReturn(new HostKey[]{key});
+        when(jsch.getHostKeyRepository()).thenReturn(hostKeyRepository);
+        when(jsch.getSession(anyString(), anyString(), anyInt())).thenAnswer(invocation -> newSession());
+
+        pool = newPool(2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    private Session newSession() throws JSchException, SftpException {
+        var session = mock(Session.class);
+        when(session.isConnected()).thenReturn(true);
+        when(session.openChannel("sftp")).thenAnswer(invocation -> newChannel());
+        sessions.add(session);
+        return session;
+    }
+
+    private ChannelSftp newChannel() throws SftpException {
+        var channel = mock(ChannelSftp.class);
+        when(channel.isConnected()).thenReturn(true);
+        when(channel.getHome()).thenReturn("/home/kiwi-user");
+        channels.add(channel);
+        return channel;
+    }
+
+    private SftpConnectionPool newPool(int maxSessionsPerHost, int maxChannelsPerSession) {
+        return SftpConnectionPool.builder()
+                .maxSessionsPerHost(maxSessionsPerHost)
+                .maxChannelsPerSession(maxChannelsPerSession)
+                .borrowTimeout(Duration.ofMillis(100))
+                .evictionInterval(Duration.ZERO)
+                .jschSupplier(() -> jsch)
+                .build();
+    }
+
+    @Nested
+    class Construction {
+
+        @Test
+        void shouldUseDefaults() {
+            try (var defaultPool = new SftpConnectionPool()) {
+                assertThat(defaultPool.getMaxSessionsPerHost())
+                        .isEqualTo(SftpConnectionPool.DEFAULT_MAX_SESSIONS_PER_HOST);
+                assertThat(defaultPool.getMaxChannelsPerSession())
+                        .isEqualTo(SftpConnectionPool.DEFAULT_MAX_CHANNELS_PER_SESSION);
+                assertThat(defaultPool.getMaxIdleTime()).isEqualTo(SftpConnectionPool.DEFAULT_MAX_IDLE_TIME);
+                assertThat(defaultPool.getBorrowTimeout()).isEqualTo(SftpConnectionPool.DEFAULT_BORROW_TIMEOUT);
+                assertThat(defaultPool.isValidateOnBorrow()).isTrue();
+                assertThat(defaultPool.getStats()).isEqualTo(new PoolStats(0, 0, 0));
+            }
+        }
+
+        @Test
+        void shouldRequirePositiveLimits() {
+            var builder = SftpConnectionPool.builder().maxSessionsPerHost(0);
+            assertThatIllegalArgumentException()
+                    .isThrownBy(builder::build)
+                    .withMessage("maxSessionsPerHost must be positive");
+
+            var otherBuilder = SftpConnectionPool.builder().maxChannelsPerSession(-1);
+            assertThatIllegalArgumentException()
+                    .isThrownBy(otherBuilder::build)
+                    .withMessage("maxChannelsPerSession must be positive");
+        }
+    }
+
+    @Nested
+    class Borrow {
+
+        @Test
+        void shouldCreateSessionAndChannel() throws JSchException {
+            try (var borrowed = pool.borrow(config)) {
+                assertThat(borrowed.getChannel()).isSameAs(channels.get(0));
+                assertThat(pool.getStats()).isEqualTo(new PoolStats(1, 1, 0));
+            }
+
+            verify(sessions.get(0)).connect();
+            verify(channels.get(0)).connect(anyInt());
+            assertThat(pool.getStats()).isEqualTo(new PoolStats(1, 0, 1));
+        }
+
+        @Test
+        void shouldReuseIdleChannel_AfterValidatingIt() throws SftpException {
+            try (var borrowed = pool.borrow(config)) {
+                assertThat(borrowed.getChannel()).isNotNull();
+            }
+
+            try (var borrowed = pool.borrow(config)) {
+                assertThat(borrowed.getChannel()).isSameAs(channels.get(0));
+            }
+
+            assertThat(sessions).hasSize(1);
+            assertThat(channels).hasSize(1);
+            verify(channels.get(0)).cd("/home/kiwi-user");
+        }
+
+        @Test
+        void shouldNotValidateIdleChannel_WhenValidateOnBorrowIsFalse() throws SftpException {
+            try (var nonValidatingPool = SftpConnectionPool.builder()
+                    .validateOnBorrow(false)
+                    .evictionInterval(Duration.ZERO)
+                    .jschSupplier(() -> jsch)
+                    .build()) {
+
+                nonValidatingPool.borrow(config).close();
+                nonValidatingPool.borrow(config).close();
+
+                assertThat(channels).hasSize(1);
+                verify(channels.get(0), never()).cd(anyString());
+            }
+        }
+
+        @Test
+        void shouldDiscardIdleChannel_ThatFailsValidation() throws SftpException {
+            pool.borrow(config).close();
+            var firstChannel = channels.get(0);
+            doThrow(new SftpException(ChannelSftp.SSH_FX_FAILURE, "failed")).when(firstChannel).cd(anyString());
+
+            try (var borrowed = pool.borrow(config)) {
+                assertThat(borrowed.getChannel()).isNotSameAs(firstChannel);
+            }
+
+            verify(firstChannel).disconnect();
+            assertThat(pool.getStats()).isEqualTo(new PoolStats(1, 0, 1));
+        }
+
+        @Test
+        void shouldDiscardIdleChannel_WhenNoLongerConnected() {
+            pool.borrow(config).close();
+            var firstChannel = channels.get(0);
+            when(firstChannel.isConnected()).thenReturn(false);
+
+            try (var borrowed = pool.borrow(config)) {
+                assertThat(borrowed.getChannel()).isNotSameAs(firstChannel);
+            }
+
+            verify(firstChannel).disconnect();
+        }
+
+        @Test
+        void shouldOpenChannelsOnExistingSession_UntilMaxChannelsPerSession() {
+            var borrowed1 = pool.borrow(config);
+            var borrowed2 = pool.borrow(config);
+
+            assertThat(sessions).hasSize(1);
+            assertThat(channels).hasSize(2);
+
+            var borrowed3 = pool.borrow(config);
+
+            assertThat(sessions).hasSize(2);
+            assertThat(channels).hasSize(3);
+            assertThat(pool.getStats()).isEqualTo(new PoolStats(2, 3, 0));
+
+            borrowed1.close();
+            borrowed2.close();
+            borrowed3.close();
+        }
+
+        @Test
+        void shouldUseSeparateSessions_ForDifferentUsers() {
+            var otherConfig = SftpConfig.builder()
+                    .user("other-user")
+                    .host("localhost")
+                    .password("otherpass")
+                    .build();
+
+            try (var borrowed = pool.borrow(config); var otherBorrowed = pool.borrow(otherConfig)) {
+                assertThat(otherBorrowed.getChannel()).isNotSameAs(borrowed.getChannel());
+                assertThat(sessions).hasSize(2);
+            }
+        }
+
+        @Test
+        void shouldUseSeparateSessions_ForSameUserWithDifferentCredentials() {
+            var otherConfig = SftpConfig.builder()
+                    .user("kiwi-user")
+                    .host("localhost")
+                    .password("otherpass")
+                    .build();
+
+            var borrowed = pool.borrow(config);
+            borrowed.close();
+
+            try (var otherBorrowed = pool.borrow(otherConfig)) {
+                assertThat(otherBorrowed.getChannel()).isNotSameAs(borrowed.getChannel());
+                assertThat(sessions).hasSize(2);
+                verify(sessions.get(0)).setPassword("mypass".getBytes(StandardCharsets.UTF_8));
+                verify(sessions.get(1)).setPassword("otherpass".getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        @Test
+        void shouldLimitSessionsPerHost_AcrossDifferentCredentials() {
+            var otherConfig = SftpConfig.builder()
+                    .user("other-user")
+                    .host("localhost")
+                    .password("otherpass")
+                    .build();
+
+            try (var singleSessionPool = newPool(1, 2)) {
+                var borrowed = singleSessionPool.borrow(config);
+
+                assertThatThrownBy(() -> singleSessionPool.borrow(otherConfig))
+                        .isExactlyInstanceOf(SftpTransfersException.class)
+                        .hasMessageStartingWith("Timed out after")
+                        .hasMessageContaining("other-user@localhost:22");
+                assertThat(sessions).hasSize(1);
+
+                borrowed.close();
+
+                try (var otherBorrowed = singleSessionPool.borrow(otherConfig)) {
+                    assertThat(otherBorrowed.getChannel()).isNotSameAs(borrowed.getChannel());
+                    assertThat(sessions).hasSize(2);
+                    verify(sessions.get(0)).disconnect();
+                    assertThat(singleSessionPool.getStats()).isEqualTo(new PoolStats(1, 1, 0));
+                }
+            }
+        }
+
+        @Test
+        void shouldThrowException_WhenTimedOutWaitingForChannel() {
+            try (var singleChannelPool = newPool(1, 1)) {
+                var borrowed = singleChannelPool.borrow(config);
+
+                assertThatThrownBy(() -> singleChannelPool.borrow(config))
+                        .isExactlyInstanceOf(SftpTransfersException.class)
+                        .hasMessageStartingWith("Timed out after")
+                        .hasMessageContaining("kiwi-user@localhost:22");
+
+                borrowed.close();
+            }
+        }
+
+        @Test
+        void shouldWaitForChannel_ToBeReturned() throws InterruptedException, ExecutionException, TimeoutException {
+            try (var singleChannelPool = SftpConnectionPool.builder()
+                    .maxSessionsPerHost(1)
+                    .maxChannelsPerSession(1)
+                    .borrowTimeout(Duration.ofSeconds(10))
+                    .evictionInterval(Duration.ZERO)
+                    .jschSupplier(() -> jsch)
+                    .build()) {
+
+                var borrowed = singleChannelPool.borrow(config);
+                var future = CompletableFuture.supplyAsync(() -> singleChannelPool.borrow(config));
+
+                Thread.sleep(50);
+                assertThat(future).isNotDone();
+
+                borrowed.close();
+
+                var nextBorrowed = future.get(5, TimeUnit.SECONDS);
+                assertThat(nextBorrowed.getChannel()).isSameAs(borrowed.getChannel());
+                nextBorrowed.close();
+            }
+        }
+
+        @Test
+        void shouldThrowException_WhenSessionCannotBeCreated() throws JSchException {
+            var jSchException = new JSchException("Auth fail");
+            when(jsch.getSession(anyString(), anyString(), anyInt())).thenThrow(jSchException);
+
+            assertThatThrownBy(() -> pool.borrow(config))
+                    .isExactlyInstanceOf(SftpTransfersException.class)
+                    .hasMessage("Error occurred connecting to localhost")
+                    .hasCause(jSchException);
+
+            assertThat(pool.getStats()).isEqualTo(new PoolStats(0, 0, 0));
+        }
+
+        @Test
+        void shouldDisconnectSession_WhenChannelCannotBeOpened() throws JSchException, SftpException {
+            var session = newSession();
+            when(session.openChannel("sftp")).thenThrow(new JSchException("channel is not opened."));
+            when(jsch.getSession(anyString(), anyString(), anyInt())).thenReturn(session);
+
+            assertThatThrownBy(() -> pool.borrow(config))
+                    .isExactlyInstanceOf(SftpTransfersException.class);
+
+            verify(session).disconnect();
+            assertThat(pool.getStats()).isEqualTo(new PoolStats(0, 0, 0));
+        }
+    }
+
+    @Nested
+    class Invalidate {
+
+        @Test
+        void shouldDisconnectChannel_AndSessionWhenItHasNoOtherChannels() {
+            var borrowed = pool.borrow(config);
+
+            borrowed.invalidate();
+
+            verify(channels.get(0)).disconnect();
+            verify(sessions.get(0)).disconnect();
+            assertThat(pool.getStats()).isEqualTo(new PoolStats(0, 0, 0));
+        }
+
+        @Test
+        void shouldIgnoreClose_AfterInvalidate() {
+            var borrowed = pool.borrow(config);
+
+            borrowed.invalidate();
+            borrowed.close();
+
+            assertThat(pool.getStats()).isEqualTo(new PoolStats(0, 0, 0));
+        }
+    }
+
+    @Nested
+    class EvictIdle {
+
+        @Test
+        void shouldNotEvictChannels_IdleLessThanMaxIdleTime() {
+            pool.borrow(config).close();
+
+            assertThat(pool.evictIdle()).isZero();
+            assertThat(pool.getStats()).isEqualTo(new PoolStats(1, 0, 1));
+        }
+
+        @Test
+        void shouldEvictIdleChannels_AndTheirSessions() {
+            try (var evictingPool = SftpConnectionPool.builder()
+                    .maxIdleTime(Duration.ZERO)
+                    .evictionInterval(Duration.ZERO)
+                    .jschSupplier(() -> jsch)
+                    .build()) {
+
+                var borrowed1 = evictingPool.borrow(config);
+                var borrowed2 = evictingPool.borrow(config);
+                borrowed1.close();
+
+                assertThat(evictingPool.evictIdle()).isOne();
+                verify(borrowed1.getChannel()).disconnect();
+                verify(sessions.get(0), never()).disconnect();
+
+                borrowed2.close();
+
+                assertThat(evictingPool.evictIdle()).isOne();
+                verify(sessions.get(0)).disconnect();
+                assertThat(evictingPool.getStats()).isEqualTo(new PoolStats(0, 0, 0));
+            }
+        }
+    }
+
+    @Nested
+    class Close {
+
+        @Test
+        void shouldDisconnectIdleChannelsAndSessions() {
+            pool.borrow(config).close();
+
+            pool.close();
+
+            verify(channels.get(0)).disconnect();
+            verify(sessions.get(0)).disconnect();
+            assertThat(pool.getStats()).isEqualTo(new PoolStats(0, 0, 0));
+        }
+
+        @Test
+        void shouldDisconnectBorrowedChannels_WhenTheyAreReturned() {
+            var borrowed = pool.borrow(config);
+
+            pool.close();
+            verify(channels.get(0), never()).disconnect();
+
+            borrowed.close();
+            verify(channels.get(0)).disconnect();
+            verify(sessions.get(0)).disconnect();
+        }
+
+        @Test
+        void shouldNotAllowBorrowing_AfterClose() {
+            pool.close();
+
+            assertThatIllegalStateException()
+                    .isThrownBy(() -> pool.borrow(config))
+                    .withMessage("SftpConnectionPool is closed");
+        }
+    }
+
+    @Nested
+    class RunCommand {
+
+        @Test
+        void shouldReturnChannel_AfterSuccess() {
+            var home = pool.runCommandWithResponse(config, ChannelSftp::getHome);
+
+            assertThat(home).isEqualTo("/home/kiwi-user");
+            assertThat(pool.getStats()).isEqualTo(new PoolStats(1, 0, 1));
+        }
+
+        @Test
+        void shouldWrapExceptions_AndReturnChannel() {
+            var sftpException = new SftpException(ChannelSftp.SSH_FX_NO_SUCH_FILE, "No such file");
+
+            assertThatThrownBy(() -> pool.runCommand(config, channel -> {
+                throw sftpException;
+            }))
+                    .isExactlyInstanceOf(SftpTransfersException.class)
+                    .hasCause(sftpException);
+
+            assertThat(pool.getStats()).isEqualTo(new PoolStats(1, 0, 1));
+        }
+
+        @Test
+        void shouldReturnChannel_WhenInputStreamIsClosed() throws IOException {
+            var inputStream = pool.openInputStream(config, channel -> new ByteArrayInputStream(new byte[]{1, 2}));
+
+            assertThat(pool.getStats()).isEqualTo(new PoolStats(1, 1, 0));
+            assertThat(inputStream.readAllBytes()).containsExactly(1, 2);
+
+            inputStream.close();
+
+            assertThat(pool.getStats()).isEqualTo(new PoolStats(1, 0, 1));
+        }
+    }
+
+    @Nested
+    class Metrics {
+
+        @Test
+        void shouldRecordMetrics() {
+            var metricRegistry = new MetricRegistry();
+            try (var meteredPool = SftpConnectionPool.builder()
+                    .maxSessionsPerHost(1)
+                    .maxChannelsPerSession(1)
+                    .borrowTimeout(Duration.ofMillis(50))
+                    .evictionInterval(Duration.ZERO)
+                    .jschSupplier(() -> jsch)
+                    .metricRegistry(metricRegistry)
+                    .metricNamePrefix("sftp")
+                    .build()) {
+
+                var borrowed = meteredPool.borrow(config);
+                assertThatThrownBy(() -> meteredPool.borrow(config))
+                        .isExactlyInstanceOf(SftpTransfersException.class);
+
+                assertThat(metricRegistry.counter("sftp.sessionsCreated").getCount()).isOne();
+                assertThat(metricRegistry.counter("sftp.channelsCreated").getCount()).isOne();
+                assertThat(metricRegistry.counter("sftp.borrowTimeouts").getCount()).isOne();
+                assertThat(metricRegistry.timer("sftp.borrowWait").getCount()).isOne();
+                assertThat(metricRegistry.getGauges().get("sftp.activeChannels").getValue()).isEqualTo(1);
+
+                borrowed.invalidate();
+
+                assertThat(metricRegistry.counter("sftp.channelsInvalidated").getCount()).isOne();
+                assertThat(metricRegistry.getGauges().get("sftp.sessions").getValue()).isEqualTo(0);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.kiwiproject.jsch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@DisplayName("SftpTransferOptions")
+class SftpTransferOptionsTest {
+
+    @Test
+    void shouldHaveDefaults() {
+        var options = SftpTransferOptions.defaults();
+
+        assertThat(options.isResume()).isTrue();
+        assertThat(options.getBufferSize()).isEqualTo(SftpTransferOptions.DEFAULT_BUFFER_SIZE);
+        assertThat(options.isVerifySize()).isTrue();
+        assertThat(options.getExpectedSha256()).isEmpty();
+        assertThat(options.getProgressListener()).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 0})
+    void shouldRequirePositiveBufferSize(int bufferSize) {
+        var builder = SftpTransferOptions.builder().bufferSize(bufferSize);
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(builder::build)
+                .withMessage("bufferSize must be positive");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "abc123", "zz6a9a7b0b5a0a4b6bd2cbeb7b8d8cd6e2e0d2c4e5f7a2a1b3c4d5e6f7a8b9c0"})
+    void shouldRequireValidExpectedSha256(String expectedSha256) {
+        var builder = SftpTransferOptions.builder().expectedSha256(expectedSha256);
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(builder::build)
+                .withMessage("expectedSha256 must be 64 hexadecimal characters");
+    }
+
+    @Test
+    void shouldNotifyProgressListener() {
+        var lastProgress = new AtomicLong();
+        var options = SftpTransferOptions.builder()
+                .progressListener((bytesTransferred, totalBytes) -> lastProgress.set(bytesTransferred))
+                .build();
+
+        options.notifyProgress(42, 100);
+
+        assertThat(lastProgress).hasValue(42);
+    }
+
+    @Test
+    void shouldIgnoreProgress_WhenNoListener() {
+        var options = SftpTransferOptions.defaults();
+
+        options.notifyProgress(42, 100);
+
+        assertThat(options.getProgressListener()).isEmpty();
+    }
+}
@@ -4,11 +4,16 @@ import static org.apache.commons.io.IOUtils.toInputStream;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.kiwiproject.internal.Fixtures.fixture;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -23,6 +28,7 @@ import com.jcraft.jsch.JSchException;
 import com.jcraft.jsch.Session;
 import com.jcraft.jsch.SftpATTRS;
 import com.jcraft.jsch.SftpException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -30,11 +36,24 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.kiwiproject.io.KiwiIO;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Locale;
 import java.util.Vector;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 
 /**
@@ -283,6 +302,493 @@ class SftpTransfersTest {
         }
     }
 
+    @Nested
+    class GetAll {
+
+        @TempDir
+        Path tempDirForPulls;
+
+        @BeforeEach
+        void setUp() throws SftpException {
+            when(channelSftp.get(anyString()))
+                    .thenAnswer(invocation -> fixtureInputStream("SftpTransfersTest/file-to-pull.txt"));
+
+            var entries = buildEntries();
+            entries.addAll(buildCurrentAndParentDirectoryEntries());
+            when(channelSftp.ls("/tmp")).thenReturn(entries);
+            when(channelSftp.ls("/tmp/test-dir")).thenReturn(buildSubEntries());
+        }
+
+        @Test
+        void shouldListEachDirectoryOnce_AndStoreFilesUsingRelativePaths() throws SftpException {
+            var summary = sftp.getAll(Path.of("/tmp"), tempDirForPulls, 4);
+
+            var fileSize = fixture("SftpTransfersTest/file-to-pull.txt").getBytes(StandardCharsets.UTF_8).length;
+            assertThat(summary).isEqualTo(new SftpTransferSummary(2, 4, 4L * fileSize));
+
+            verify(channelSftp).ls("/tmp");
+            verify(channelSftp).ls("/tmp/test-dir");
+            verify(channelSftp).get("/tmp/test-file-1.txt");
+            verify(channelSftp).get("/tmp/test-file-2.txt");
+            verify(channelSftp).get("/tmp/test-dir/sub-test-file-1.txt");
+            verify(channelSftp).get("/tmp/test-dir/sub-test-file-2.txt");
+
+            assertThat(tempDirForPulls.resolve("test-file-1.txt")).exists();
+            assertThat(tempDirForPulls.resolve("test-file-2.txt")).exists();
+            assertThat(tempDirForPulls.resolve("test-dir/sub-test-file-1.txt")).exists();
+            assertThat(tempDirForPulls.resolve("test-dir/sub-test-file-2.txt")).exists();
+        }
+
+        @Test
+        void shouldUseGivenLocalPathAndFilenameSuppliers() {
+            var summary = sftp.getAndStoreAllFiles(Path.of("/tmp"),
+                    (remotePath, remoteFile) -> tempDirForPulls,
+                    (remotePath, remoteFile) -> "copy-of-" + remoteFile,
+                    2);
+
+            assertThat(summary.fileCount()).isEqualTo(4);
+            assertThat(tempDirForPulls.resolve("copy-of-test-file-1.txt")).exists();
+            assertThat(tempDirForPulls.resolve("copy-of-sub-test-file-2.txt")).exists();
+        }
+
+        @Test
+        void shouldThrowSftpTransfersException_WhenGetFails() throws SftpException {
+            doThrow(new SftpException(1, "Test exception")).when(channelSftp).get("/tmp/test-file-2.txt");
+            var remotePath = Path.of("/tmp");
+
+            assertThatThrownBy(() -> sftp.getAll(remotePath, tempDirForPulls, 4))
+                    .isExactlyInstanceOf(SftpTransfersException.class)
+                    .hasMessage("1: Test exception");
+        }
+
+        @Test
+        void shouldRequirePositiveMaxConcurrency() {
+            var remotePath = Path.of("/tmp");
+
+            assertThatThrownBy(() -> sftp.getAll(remotePath, tempDirForPulls, 0))
+                    .isExactlyInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("maxConcurrency must be positive");
+        }
+    }
+
+    @Nested
+    class PutAll {
+
+        @TempDir
+        Path localDir;
+
+        @BeforeEach
+        void setUp() throws IOException {
+            Files.writeString(localDir.resolve("file-1.txt"), "file one");
+            Files.createDirectories(localDir.resolve("sub-dir"));
+            Files.writeString(localDir.resolve("sub-dir/file-2.txt"), "file two!");
+        }
+
+        @Test
+        void shouldCreateRemoteDirectories_AndPutFiles() throws SftpException {
+            var dirAttrs = mock(SftpATTRS.class);
+            when(dirAttrs.isDir()).thenReturn(true);
+            when(channelSftp.stat("/upload")).thenReturn(dirAttrs);
+            when(channelSftp.stat("/upload/sub-dir"))
+                    .thenThrow(new SftpException(ChannelSftp.SSH_FX_NO_SUCH_FILE, "No such file"));
+
+            var summary = sftp.putAll(localDir, Path.of("/upload"), 4);
+
+            assertThat(summary).isEqualTo(new SftpTransferSummary(2, 2, 17));
+
+            verify(channelSftp, never()).mkdir("/upload");
+            verify(channelSftp).mkdir("/upload/sub-dir");
+            verify(channelSftp).put(isA(InputStream.class), eq("/upload/file-1.txt"));
+            verify(channelSftp).put(isA(InputStream.class), eq("/upload/sub-dir/file-2.txt"));
+        }
+
+        @Test
+        void shouldThrowSftpTransfersException_WhenRemotePathIsNotADirectory() throws SftpException {
+            var fileAttrs = mock(SftpATTRS.class);
+            when(channelSftp.stat("/upload")).thenReturn(fileAttrs);
+            var remotePath = Path.of("/upload");
+
+            assertThatThrownBy(() -> sftp.putAll(localDir, remotePath, 4))
+                    .isExactlyInstanceOf(SftpTransfersException.class)
+                    .hasMessageEndingWith("/upload exists but is not a directory");
+
+            verify(channelSftp, never()).put(isA(InputStream.class), anyString());
+        }
+
+        @Test
+        void shouldRequireLocalDirectory() {
+            var localFile = localDir.resolve("file-1.txt");
+            var remotePath = Path.of("/upload");
+
+            assertThatThrownBy(() -> sftp.putAll(localFile, remotePath, 4))
+                    .isExactlyInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("localPath must be a directory");
+        }
+    }
+
+    @Nested
+    class DownloadFile {
+
+        private static final byte[] CONTENT = "0123456789abcdefghij".getBytes(StandardCharsets.UTF_8);
+
+        @TempDir
+        Path tempDir;
+
+        private Path localFile;
+
+        @BeforeEach
+        void setUp() throws SftpException {
+            localFile = tempDir.resolve("downloads/big-file.bin");
+
+            var attrs = mock(SftpATTRS.class);
+            when(attrs.getSize()).thenReturn((long) CONTENT.length);
+            when(channelSftp.stat("/tmp/big-file.bin")).thenReturn(attrs);
+            when(channelSftp.get(eq("/tmp/big-file.bin"), isNull(), anyLong())).thenAnswer(invocation -> {
+                long skip = invocation.getArgument(2);
+                return new ByteArrayInputStream(CONTENT, (int) skip, CONTENT.length - (int) skip);
+            });
+        }
+
+        @Test
+        void shouldDownloadEntireFile_ReportingProgress() throws IOException {
+            var progress = new ArrayList<Long>();
+            var options = SftpTransferOptions.builder()
+                    .bufferSize(8)
+                    .progressListener((bytesTransferred, totalBytes) -> progress.add(bytesTransferred))
+                    .build();
+
+            var result = sftp.downloadFile(Path.of("/tmp"), "big-file.bin", localFile, options);
+
+            assertThat(result).isEqualTo(new SftpFileTransferResult(20, 0, 20));
+            assertThat(result.isResumed()).isFalse();
+            assertThat(localFile).hasBinaryContent(CONTENT);
+            assertThat(progress).containsExactly(8L, 16L, 20L);
+        }
+
+        @Test
+        void shouldResumeFromSizeOfPartialLocalFile() throws IOException, SftpException {
+            Files.createDirectories(localFile.getParent());
+            Files.write(localFile, Arrays.copyOf(CONTENT, 12));
+
+            var result = sftp.downloadFile(Path.of("/tmp"), "big-file.bin", localFile, SftpTransferOptions.defaults());
+
+            assertThat(result).isEqualTo(new SftpFileTransferResult(20, 12, 8));
+            assertThat(result.isResumed()).isTrue();
+            assertThat(localFile).hasBinaryContent(CONTENT);
+            verify(channelSftp).get("/tmp/big-file.bin", null, 12L);
+        }
+
+        @Test
+        void shouldNotTransfer_WhenLocalFileIsComplete() throws IOException, SftpException {
+            Files.createDirectories(localFile.getParent());
+            Files.write(localFile, CONTENT);
+
+            var result = sftp.downloadFile(Path.of("/tmp"), "big-file.bin", localFile, SftpTransferOptions.defaults());
+
+            assertThat(result).isEqualTo(new SftpFileTransferResult(20, 20, 0));
+            verify(channelSftp, never()).get(anyString(), any(), anyLong());
+        }
+
+        @Test
+        void shouldStartOver_WhenLocalFileIsLargerThanRemoteFile() throws IOException {
+            Files.createDirectories(localFile.getParent());
+            Files.write(localFile, new byte[30]);
+
+            var result = sftp.downloadFile(Path.of("/tmp"), "big-file.bin", localFile, SftpTransferOptions.defaults());
+
+            assertThat(result).isEqualTo(new SftpFileTransferResult(20, 0, 20));
+            assertThat(localFile).hasBinaryContent(CONTENT);
+        }
+
+        @Test
+        void shouldStartOver_WhenResumeIsDisabled() throws IOException {
+            Files.createDirectories(localFile.getParent());
+            Files.write(localFile, new byte[12]);
+            var options = SftpTransferOptions.builder().resume(false).build();
+
+            var result = sftp.downloadFile(Path.of("/tmp"), "big-file.bin", localFile, options);
+
+            assertThat(result).isEqualTo(new SftpFileTransferResult(20, 0, 20));
+            assertThat(localFile).hasBinaryContent(CONTENT);
+        }
+
+        @Test
+        void shouldVerifySha256() {
+            var options = SftpTransferOptions.builder()
+                    .expectedSha256(sha256Hex(CONTENT))
+                    .build();
+
+            var result = sftp.downloadFile(Path.of("/tmp"), "big-file.bin", localFile, options);
+
+            assertThat(result.bytesTransferred()).isEqualTo(20);
+        }
+
+        @Test
+        void shouldThrowSftpTransfersException_WhenSha256DoesNotMatch() {
+            var options = SftpTransferOptions.builder()
+                    .expectedSha256("0".repeat(64))
+                    .build();
+            var remotePath = Path.of("/tmp");
+
+            assertThatThrownBy(() -> sftp.downloadFile(remotePath, "big-file.bin", localFile, options))
+                    .isExactlyInstanceOf(SftpTransfersException.class)
+                    .hasMessageStartingWith("SHA-256 verification failed for " + localFile);
+        }
+
+        @Test
+        void shouldThrowSftpTransfersException_WhenLocalSizeDoesNotMatch() throws SftpException {
+            when(channelSftp.get(eq("/tmp/big-file.bin"), isNull(), anyLong()))
+                    .thenReturn(new ByteArrayInputStream(CONTENT, 0, 10));
+            var remotePath = Path.of("/tmp");
+            var options = SftpTransferOptions.defaults();
+
+            assertThatThrownBy(() -> sftp.downloadFile(remotePath, "big-file.bin", localFile, options))
+                    .isExactlyInstanceOf(SftpTransfersException.class)
+                    .hasMessage("Size verification failed for %s: expected 20 bytes but was 10 bytes", localFile);
+        }
+    }
+
+    @Nested
+    class UploadFile {
+
+        private static final byte[] CONTENT = "0123456789abcdefghij".getBytes(StandardCharsets.UTF_8);
+
+        @TempDir
+        Path tempDir;
+
+        private Path localFile;
+        private ByteArrayOutputStream remoteContent;
+        private SftpATTRS remoteAttrs;
+
+        @BeforeEach
+        void setUp() throws IOException, SftpException {
+            localFile = Files.write(tempDir.resolve("big-file.bin"), CONTENT);
+            remoteContent = new ByteArrayOutputStream();
+            remoteAttrs = mock(SftpATTRS.class);
+            when(channelSftp.put(eq("/upload/big-file.bin"), isNull(), anyInt(), eq(0L))).thenReturn(remoteContent);
+        }
+
+        @Test
+        void shouldUploadEntireFile_WhenRemoteFileDoesNotExist() throws SftpException {
+            when(remoteAttrs.getSize()).thenReturn(20L);
+            when(channelSftp.stat("/upload/big-file.bin"))
+                    .thenThrow(new SftpException(ChannelSftp.SSH_FX_NO_SUCH_FILE, "No such file"))
+                    .thenReturn(remoteAttrs);
+            var progress = new ArrayList<Long>();
+            var options = SftpTransferOptions.builder()
+                    .bufferSize(16)
+                    .progressListener((bytesTransferred, totalBytes) -> progress.add(bytesTransferred))
+                    .build();
+
+            var result = sftp.uploadFile(localFile, Path.of("/upload"), "big-file.bin", options);
+
+            assertThat(result).isEqualTo(new SftpFileTransferResult(20, 0, 20));
+            assertThat(remoteContent.toByteArray()).isEqualTo(CONTENT);
+            assertThat(progress).containsExactly(16L, 20L);
+            verify(channelSftp).put("/upload/big-file.bin", null, ChannelSftp.OVERWRITE, 0L);
+        }
+
+        @Test
+        void shouldResumeFromSizeOfPartialRemoteFile() throws SftpException {
+            when(remoteAttrs.getSize()).thenReturn(12L).thenReturn(20L);
+            when(channelSftp.stat("/upload/big-file.bin")).thenReturn(remoteAttrs);
+
+            var result = sftp.uploadFile(localFile, Path.of("/upload"), "big-file.bin", SftpTransferOptions.defaults());
+
+            assertThat(result).isEqualTo(new SftpFileTransferResult(20, 12, 8));
+            assertThat(remoteContent.toString(StandardCharsets.UTF_8)).isEqualTo("cdefghij");
+            verify(channelSftp).put("/upload/big-file.bin", null, ChannelSftp.RESUME, 0L);
+        }
+
+        @Test
+        void shouldNotTransfer_WhenRemoteFileIsComplete() throws SftpException {
+            when(remoteAttrs.getSize()).thenReturn(20L);
+            when(channelSftp.stat("/upload/big-file.bin")).thenReturn(remoteAttrs);
+
+            var result = sftp.uploadFile(localFile, Path.of("/upload"), "big-file.bin", SftpTransferOptions.defaults());
+
+            assertThat(result).isEqualTo(new SftpFileTransferResult(20, 20, 0));
+            verify(channelSftp, never()).put(anyString(), any(), anyInt(), anyLong());
+        }
+
+        @Test
+        void shouldVerifySha256_ByReadingBackRemoteFile() throws SftpException {
+            when(remoteAttrs.getSize()).thenReturn(0L).thenReturn(20L);
+            when(channelSftp.stat("/upload/big-file.bin")).thenReturn(remoteAttrs);
+            when(channelSftp.get("/upload/big-file.bin")).thenReturn(new ByteArrayInputStream(CONTENT));
+            var options = SftpTransferOptions.builder()
+                    .expectedSha256(sha256Hex(CONTENT).toUpperCase(Locale.ENGLISH))
+                    .build();
+
+            var result = sftp.uploadFile(localFile, Path.of("/upload"), "big-file.bin", options);
+
+            assertThat(result.bytesTransferred()).isEqualTo(20);
+            verify(channelSftp).get("/upload/big-file.bin");
+        }
+
+        @Test
+        void shouldThrowSftpTransfersException_WhenRemoteSizeDoesNotMatch() throws SftpException {
+            when(remoteAttrs.getSize()).thenReturn(0L).thenReturn(19L);
+            when(channelSftp.stat("/upload/big-file.bin")).thenReturn(remoteAttrs);
+            var remotePath = Path.of("/upload");
+            var options = SftpTransferOptions.defaults();
+
+            assertThatThrownBy(() -> sftp.uploadFile(localFile, remotePath, "big-file.bin", options))
+                    .isExactlyInstanceOf(SftpTransfersException.class)
+                    .hasMessage("Size verification failed for /upload/big-file.bin: expected 20 bytes but was 19 bytes");
+        }
+    }
+
+    @Nested
+    class SyncToLocal {
+
+        private static final int MTIME = 1_700_000_000;
+
+        @TempDir
+        Path localDir;
+
+        @BeforeEach
+        void setUp() throws SftpException {
+            var entries = new Vector<>(List.of(
+                    fileEntry("a.txt", 5),
+                    fileEntry("b.txt", 3),
+                    dirEntry("sub"),
+                    dirEntry("."),
+                    dirEntry("..")));
+            when(channelSftp.ls("/remote")).thenReturn(entries);
+            when(channelSftp.ls("/remote/sub")).thenReturn(new Vector<>(List.of(fileEntry("c.txt", 4))));
+
+            when(channelSftp.get("/remote/a.txt")).thenAnswer(invocation -> inputStreamOf("hello"));
+            when(channelSftp.get("/remote/b.txt")).thenAnswer(invocation -> inputStreamOf("abc"));
+            when(channelSftp.get("/remote/sub/c.txt")).thenAnswer(invocation -> inputStreamOf("1234"));
+        }
+
+        @Test
+        void shouldTransferAllFiles_OnFirstSync() throws IOException {
+            var summary = sftp.syncToLocal(Path.of("/remote"), localDir, SftpSyncOptions.defaults());
+
+            assertThat(summary).isEqualTo(new SftpSyncSummary(2, 3, 12, 0, 0, false));
+            assertThat(localDir.resolve("a.txt")).hasContent("hello");
+            assertThat(localDir.resolve("b.txt")).hasContent("abc");
+            assertThat(localDir.resolve("sub/c.txt")).hasContent("1234");
+            assertThat(Files.getLastModifiedTime(localDir.resolve("a.txt")).to(TimeUnit.SECONDS)).isEqualTo(MTIME);
+            assertThat(localDir.resolve("a.txt.sftp-sync-tmp")).doesNotExist();
+        }
+
+        @Test
+        void shouldNotTransferUnchangedFiles() throws SftpException {
+            sftp.syncToLocal(Path.of("/remote"), localDir, SftpSyncOptions.defaults());
+
+            var summary = sftp.syncToLocal(Path.of("/remote"), localDir, SftpSyncOptions.defaults());
+
+            assertThat(summary).isEqualTo(new SftpSyncSummary(2, 0, 0, 3, 0, false));
+            verify(channelSftp, times(1)).get("/remote/a.txt");
+            verify(channelSftp, times(1)).get("/remote/sub/c.txt");
+        }
+
+        @Test
+        void shouldTransferFiles_WhoseSizeOrModificationTimeChanged() throws IOException {
+            sftp.syncToLocal(Path.of("/remote"), localDir, SftpSyncOptions.defaults());
+            Files.writeString(localDir.resolve("a.txt"), "hell");
+            Files.setLastModifiedTime(localDir.resolve("b.txt"), FileTime.from(MTIME - 60, TimeUnit.SECONDS));
+
+            var summary = sftp.syncToLocal(Path.of("/remote"), localDir, SftpSyncOptions.defaults());
+
+            assertThat(summary).isEqualTo(new SftpSyncSummary(2, 2, 8, 1, 0, false));
+            assertThat(localDir.resolve("a.txt")).hasContent("hello");
+        }
+
+        @Test
+        void shouldDeleteLocalFilesAndDirectories_MissingRemotely_WhenDeleteMissingIsEnabled() throws IOException {
+            Files.writeString(localDir.resolve("gone.txt"), "old");
+            Files.createDirectories(localDir.resolve("gone-dir/nested"));
+            Files.writeString(localDir.resolve("gone-dir/one.txt"), "1");
+            Files.writeString(localDir.resolve("gone-dir/nested/two.txt"), "2");
+            Files.createDirectories(localDir.resolve("sub"));
+            Files.writeString(localDir.resolve("sub/gone-too.txt"), "3");
+            var options = SftpSyncOptions.builder().deleteMissing(true).build();
+
+            var summary = sftp.syncToLocal(Path.of("/remote"), localDir, options);
+
+            assertThat(summary).isEqualTo(new SftpSyncSummary(2, 3, 12, 0, 4, false));
+            assertThat(localDir.resolve("gone.txt")).doesNotExist();
+            assertThat(localDir.resolve("gone-dir")).doesNotExist();
+            assertThat(localDir.resolve("sub/gone-too.txt")).doesNotExist();
+            assertThat(localDir.resolve("sub/c.txt")).exists();
+        }
+
+        @Test
+        void shouldNotDeleteLocalFiles_ByDefault() throws IOException {
+            Files.writeString(localDir.resolve("gone.txt"), "old");
+
+            var summary = sftp.syncToLocal(Path.of("/remote"), localDir, SftpSyncOptions.defaults());
+
+            assertThat(summary.filesDeleted()).isZero();
+            assertThat(localDir.resolve("gone.txt")).exists();
+        }
+
+        @Test
+        void shouldNotChangeAnything_WhenDryRun() throws IOException, SftpException {
+            Files.writeString(localDir.resolve("gone.txt"), "old");
+            var options = SftpSyncOptions.builder().deleteMissing(true).dryRun(true).build();
+
+            var summary = sftp.syncToLocal(Path.of("/remote"), localDir, options);
+
+            assertThat(summary).isEqualTo(new SftpSyncSummary(2, 3, 12, 0, 1, true));
+            assertThat(localDir.resolve("gone.txt")).exists();
+            assertThat(localDir.resolve("a.txt")).doesNotExist();
+            assertThat(localDir.resolve("sub")).doesNotExist();
+            verify(channelSftp, never()).get(anyString());
+        }
+
+        @Test
+        void shouldThrowSftpTransfersException_WhenTransferFails() throws SftpException {
+            doThrow(new SftpException(1, "Test exception")).when(channelSftp).get("/remote/b.txt");
+            var remotePath = Path.of("/remote");
+            var options = SftpSyncOptions.defaults();
+
+            assertThatThrownBy(() -> sftp.syncToLocal(remotePath, localDir, options))
+                    .isExactlyInstanceOf(SftpTransfersException.class)
+                    .hasMessage("1: Test exception");
+
+            assertThat(localDir.resolve("b.txt")).doesNotExist();
+            assertThat(localDir.resolve("b.txt.sftp-sync-tmp")).doesNotExist();
+        }
+
+        private ChannelSftp.LsEntry fileEntry(String filename, long size) {
+            var attrs = mock(SftpATTRS.class);
+            when(attrs.getSize()).thenReturn(size);
+            when(attrs.getMTime()).thenReturn(MTIME);
+
+            var entry = mock(ChannelSftp.LsEntry.class);
+            when(entry.getFilename()).thenReturn(filename);
+            when(entry.getAttrs()).thenReturn(attrs);
+            return entry;
+        }
+
+        private ChannelSftp.LsEntry dirEntry(String filename) {
+            var attrs = mock(SftpATTRS.class);
+            when(attrs.isDir()).thenReturn(true);
+
+            var entry = mock(ChannelSftp.LsEntry.class);
+            when(entry.getFilename()).thenReturn(filename);
+            when(entry.getAttrs()).thenReturn(attrs);
+            return entry;
+        }
+
+        private static InputStream inputStreamOf(String content) {
+            return toInputStream(content, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String sha256Hex(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private static InputStream fixtureInputStream(String resourceName) {
         return toInputStream(fixture(resourceName), StandardCharsets.UTF_8);
     }
@@ -408,6 +914,125 @@ class SftpTransfersTest {
         }
     }
 
+    @Nested
+    class Pooled {
+
+        private SftpConnectionPool pool;
+        private JSch pooledJsch;
+
+        @BeforeEach
+        void setUp() throws JSchException, SftpException {
+            pooledJsch = mock(JSch.class);
+            var hostKeyRepository = mock(HostKeyRepository.class);
+            var key = new HostKey("localhost", HostKey.SSHRSA, new byte[]{});
+            when(hostKeyRepository.getHostKey()).thenReturn(new HostKey[]{key});
+            when(pooledJsch.getHostKeyRepository()).thenReturn(hostKeyRepository);
+            when(pooledJsch.getSession(config.getUser(), config.getHost(), config.getPort())).thenReturn(session);
+
+            reset(channelSftp, session);
+            when(session.isConnected()).thenReturn(true);
+            when(session.openChannel("sftp")).thenReturn(channelSftp);
+            when(channelSftp.isConnected()).thenReturn(true);
+            when(channelSftp.getHome()).thenReturn("/home/kiwi-user");
+
+            pool = SftpConnectionPool.builder()
+                    .evictionInterval(Duration.ZERO)
+                    .jschSupplier(() -> pooledJsch)
+                    .build();
+            sftp = new SftpTransfers(pool, config);
+        }
+
+        @AfterEach
+        void tearDown() {
+            pool.close();
+        }
+
+        @Test
+        void shouldRequireArguments() {
+            assertThatThrownBy(() -> new SftpTransfers(null, config))
+                    .isExactlyInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("connectionPool must not be null");
+
+            assertThatThrownBy(() -> new SftpTransfers(pool, null))
+                    .isExactlyInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("config must not be null");
+        }
+
+        @Test
+        void shouldBePooled() {
+            assertThat(sftp.isPooled()).isTrue();
+            assertThat(new SftpTransfers(connector).isPooled()).isFalse();
+        }
+
+        @Test
+        void shouldIgnoreConnectAndDisconnect() throws JSchException {
+            sftp.connect();
+            sftp.disconnect();
+
+            verify(pooledJsch, never()).getSession(anyString(), anyString(), anyInt());
+            assertThat(pool.getStats()).isEqualTo(new SftpConnectionPool.PoolStats(0, 0, 0));
+        }
+
+        @Test
+        void shouldBorrowChannel_AndReturnItToThePool() throws JSchException, SftpException {
+            var remoteBasePath = Path.of(config.getRemoteBasePath());
+
+            sftp.deleteRemoteFile(remoteBasePath, "test-file-1.txt");
+            sftp.deleteRemoteFile(remoteBasePath, "test-file-2.txt");
+
+            verify(channelSftp).rm("test-file-1.txt");
+            verify(channelSftp).rm("test-file-2.txt");
+            verify(session).openChannel("sftp");
+            assertThat(pool.getStats()).isEqualTo(new SftpConnectionPool.PoolStats(1, 0, 1));
+        }
+
+        @Test
+        void shouldReturnChannelToThePool_WhenThrowingSftpTransfersException() throws SftpException {
+            doThrow(new SftpException(1, "Test exception")).when(channelSftp).rm("test-file-1.txt");
+            var remoteBasePath = Path.of(config.getRemoteBasePath());
+
+            assertThatThrownBy(() -> sftp.deleteRemoteFile(remoteBasePath, "test-file-1.txt"))
+                    .isExactlyInstanceOf(SftpTransfersException.class)
+                    .hasMessage("1: Test exception");
+
+            assertThat(pool.getStats()).isEqualTo(new SftpConnectionPool.PoolStats(1, 0, 1));
+        }
+
+        @Test
+        void shouldGetAllFilesConcurrently_UsingChannelsFromThePool(@TempDir Path tempDirForPulls)
+                throws SftpException {
+
+            when(channelSftp.get(anyString()))
+                    .thenAnswer(invocation -> fixtureInputStream("SftpTransfersTest/file-to-pull.txt"));
+            when(channelSftp.ls("/tmp")).thenReturn(buildEntries());
+            when(channelSftp.ls("/tmp/test-dir")).thenReturn(buildSubEntries());
+
+            var summary = sftp.getAll(Path.of("/tmp"), tempDirForPulls, 4);
+
+            assertThat(summary.directoryCount()).isEqualTo(2);
+            assertThat(summary.fileCount()).isEqualTo(4);
+            assertThat(tempDirForPulls.resolve("test-dir/sub-test-file-2.txt")).exists();
+
+            var stats = pool.getStats();
+            assertThat(stats.activeChannels()).isZero();
+            assertThat(stats.idleChannels()).isBetween(1, 4);
+        }
+
+        @Test
+        void shouldReturnChannelToThePool_WhenInputStreamIsClosed() throws SftpException, IOException {
+            var input = fixture("SftpTransfersTest/file-to-pull.txt");
+            when(channelSftp.get("test-file-to-pull.txt")).thenReturn(toInputStream(input, StandardCharsets.UTF_8));
+            var remoteBasePath = Path.of(config.getRemoteBasePath());
+
+            try (var fileStream = sftp.getFileContentAsInputStream(remoteBasePath, "test-file-to-pull.txt")) {
+                assertThat(pool.getStats()).isEqualTo(new SftpConnectionPool.PoolStats(1, 1, 0));
+                assertThat(KiwiIO.readInputStreamAsString(fileStream)).isEqualTo(input);
+            }
+
+            assertThat(pool.getStats()).isEqualTo(new SftpConnectionPool.PoolStats(1, 0, 1));
+        }
+    }
+
     private Vector<ChannelSftp.LsEntry> buildEntries() {
         var fileEntry1 = mock(ChannelSftp.LsEntry.class);
         var fileEntry2 = mock(ChannelSftp.LsEntry.class);
@@ -431,6 +1056,21 @@ class SftpTransfersTest {
         return new Vector<>(List.of(fileEntry1, fileEntry2, dirEntry1));
     }
 
+    private List<ChannelSftp.LsEntry> buildCurrentAndParentDirectoryEntries() {
+        var dirAttrs = mock(SftpATTRS.class);
+        when(dirAttrs.isDir()).thenReturn(true);
+
+        var currentDirEntry = mock(ChannelSftp.LsEntry.class);
+        when(currentDirEntry.getFilename()).thenReturn(".");
+        when(currentDirEntry.getAttrs()).thenReturn(dirAttrs);
+
+        var parentDirEntry = mock(ChannelSftp.LsEntry.class);
+        when(parentDirEntry.getFilename()).thenReturn("..");
+        when(parentDirEntry.getAttrs()).thenReturn(dirAttrs);
+
+        return List.of(currentDirEntry, parentDirEntry);
+    }
+
     private Vector<ChannelSftp.LsEntry> buildSubEntries() {
         var fileEntry1 = mock(ChannelSftp.LsEntry.class);
         var fileEntry2 = mock(ChannelSftp.LsEntry.class);
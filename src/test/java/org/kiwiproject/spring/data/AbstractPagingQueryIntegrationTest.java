@@ -2,6 +2,7 @@ package org.kiwiproject.spring.data;
 
 import static java.util.Comparator.comparing;
 import static java.util.Comparator.comparingDouble;
+import static java.util.Objects.nonNull;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.kiwiproject.spring.data.OrderTestData.ORDER_COLLECTION;
 import static org.kiwiproject.spring.data.OrderTestData.insertSampleOrders;
@@ -22,6 +23,7 @@ import org.springframework.data.mongodb.core.query.Criteria;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.mongodb.MongoDBContainer;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Predicate;
 
@@ -173,4 +175,41 @@ public abstract class AbstractPagingQueryIntegrationTest {
 
         softly.assertThat(aggregatePage.getContent()).isEqualTo(expectedOrders);
     }
+
+    @Test
+    void shouldPaginateByKeyset_ThroughAllPages(SoftAssertions softly) {
+        var limit = 3;
+
+        var pagingParams = new PagingRequest();
+        pagingParams.setLimit(limit);
+        pagingParams.setPrimarySort("customerId");
+        pagingParams.setPrimaryDirection(Sort.Direction.ASC);
+        pagingParams.setSecondarySort("amount");
+        pagingParams.setSecondaryDirection(Sort.Direction.DESC);
+
+        var keysetOrders = new ArrayList<Order>();
+        var pageCount = 0;
+        String continuationToken = null;
+        do {
+            var keysetPage = KiwiSpringMongoQueries.paginateByKeyset(mongoTemplate, pagingParams, Order.class,
+                    continuationToken, (query, params) -> query.addCriteria(Criteria.where("status").is("A")));
+
+            softly.assertThat(keysetPage.page().getNumberOfElements()).isLessThanOrEqualTo(limit);
+            softly.assertThat(keysetPage.page().hasNext()).isEqualTo(keysetPage.hasNext());
+
+            keysetOrders.addAll(keysetPage.page().getContent());
+            continuationToken = keysetPage.continuationToken();
+            ++pageCount;
+        } while (nonNull(continuationToken) && pageCount <= storedOrderCount);
+
+        var expectedOrders = storedOrders.stream()
+                .filter(order -> order.getStatus().equals("A"))
+                .sorted(comparing(Order::getCustomerId)
+                        .thenComparing(comparingDouble(Order::getAmount).reversed())
+                        .thenComparing(Order::getId))
+                .toList();
+
+        softly.assertThat(keysetOrders).isEqualTo(expectedOrders);
+        softly.assertThat(pageCount).isEqualTo(KiwiSearching.numberOfPages(expectedOrders.size(), limit));
+    }
 }
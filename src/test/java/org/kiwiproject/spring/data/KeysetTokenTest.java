@@ -0,0 +1,103 @@
+package org.kiwiproject.spring.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+@DisplayName("KeysetToken")
+class KeysetTokenTest {
+
+    private static final List<Sort.Order> ORDERS = List.of(
+            Sort.Order.asc("customerId"),
+            Sort.Order.desc("amount"),
+            Sort.Order.desc("dateReceived"),
+            Sort.Order.asc("id"));
+
+    @Test
+    void shouldRoundTrip_PreservingValueTypes() {
+        var dateReceived = new Date();
+        var id = new ObjectId();
+        var token = new KeysetToken(ORDERS, List.of("C-42", 125.5, dateReceived, id));
+
+        var encoded = token.encode();
+        var decoded = KeysetToken.decode(encoded);
+
+        assertThat(decoded.values()).containsExactly("C-42", 125.5, dateReceived, id);
+        assertThat(decoded.hasOrders(ORDERS)).isTrue();
+    }
+
+    @Test
+    void shouldEncodeAsUrlSafeBase64() {
+        var token = new KeysetToken(ORDERS, List.of("C-42?&/", 125.5, new Date(), new ObjectId()));
+
+        assertThat(token.encode()).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void shouldRequireSameNumberOfOrdersAndValues() {
+        var values = List.<Object>of("C-42");
+        assertThatIllegalArgumentException().isThrownBy(() -> new KeysetToken(ORDERS, values));
+    }
+
+    @Nested
+    class Decode {
+
+        @ParameterizedTest
+        @ValueSource(strings = {"", "not a token", "bm90IGpzb24"})
+        void shouldRejectInvalidTokens(String value) {
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> KeysetToken.decode(value))
+                    .withMessage("Invalid continuation token");
+        }
+
+        @Test
+        void shouldRejectNullValues() {
+            var json = "{\"o\": [{\"p\": \"customerId\", \"d\": \"ASC\"}], \"v\": [null]}";
+            var value = Base64.getUrlEncoder().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> KeysetToken.decode(value))
+                    .withMessage("Invalid continuation token");
+        }
+    }
+
+    @Nested
+    class HasOrders {
+
+        private final KeysetToken token = new KeysetToken(
+                List.of(Sort.Order.asc("customerId"), Sort.Order.asc("id")),
+                List.of("C-42", "abc"));
+
+        @Test
+        void shouldBeTrue_WhenSameOrders() {
+            assertThat(token.hasOrders(List.of(Sort.Order.asc("customerId"), Sort.Order.asc("id")))).isTrue();
+        }
+
+        @Test
+        void shouldBeFalse_WhenDirectionDiffers() {
+            assertThat(token.hasOrders(List.of(Sort.Order.desc("customerId"), Sort.Order.asc("id")))).isFalse();
+        }
+
+        @Test
+        void shouldBeFalse_WhenPropertyDiffers() {
+            assertThat(token.hasOrders(List.of(Sort.Order.asc("status"), Sort.Order.asc("id")))).isFalse();
+        }
+
+        @Test
+        void shouldBeFalse_WhenNumberOfOrdersDiffers() {
+            assertThat(token.hasOrders(List.of(Sort.Order.asc("id")))).isFalse();
+        }
+    }
+}
@@ -29,6 +29,7 @@ import org.kiwiproject.base.KiwiDoubles;
 import org.kiwiproject.search.KiwiSearching;
 import org.kiwiproject.spring.data.KiwiSpringMongoQueries.PartialMatchType;
 import org.kiwiproject.time.KiwiInstants;
+import org.kiwiproject.util.function.KiwiConsumers;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
@@ -38,6 +39,7 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.mongodb.MongoDBContainer;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.function.Predicate;
@@ -698,4 +700,49 @@ class KiwiSpringMongoQueriesTest {
 
         assertThat(orderPage.getTotalElements()).isEqualTo(storedOrderCount);
     }
+
+    @Test
+    void shouldStream_WithCriteria() {
+        var statuses = List.of("A", "B");
+
+        List<Order> streamedOrders;
+        try (var orders = KiwiSpringMongoQueries.stream(mongoTemplate, Order.class,
+                query -> addInCriteriaFromCsv(query, "A,B", "status"))) {
+            streamedOrders = orders.toList();
+        }
+
+        var expectedOrders = storedOrders.stream()
+                .filter(order -> statuses.contains(order.getStatus()))
+                .toList();
+
+        assertThat(streamedOrders).containsExactlyInAnyOrderElementsOf(expectedOrders);
+    }
+
+    @Test
+    void shouldStream_WithOptions(SoftAssertions softly) {
+        var options = StreamQueryOptions.builder()
+                .cursorBatchSize(2)
+                .includedFields(List.of("customerId", "amount"))
+                .maxTime(Duration.ofSeconds(30))
+                .sort(Sort.by(Sort.Order.asc("customerId"), Sort.Order.desc("amount")))
+                .build();
+
+        List<Order> streamedOrders;
+        try (var orders = KiwiSpringMongoQueries.stream(mongoTemplate, Order.class, KiwiConsumers.noOp(), options)) {
+            streamedOrders = orders.toList();
+        }
+
+        softly.assertThat(streamedOrders).hasSize(storedOrderCount);
+        softly.assertThat(streamedOrders).extracting(Order::getStatus).containsOnlyNulls();
+        softly.assertThat(streamedOrders).extracting(Order::getDateReceived).containsOnlyNulls();
+
+        var expectedCustomerIdsAndAmounts = storedOrders.stream()
+                .sorted(comparing(Order::getCustomerId).thenComparing(comparingDouble(Order::getAmount).reversed()))
+                .map(order -> order.getCustomerId() + "/" + order.getAmount())
+                .toList();
+
+        softly.assertThat(streamedOrders)
+                .extracting(order -> order.getCustomerId() + "/" + order.getAmount())
+                .isEqualTo(expectedCustomerIdsAndAmounts);
+    }
 }
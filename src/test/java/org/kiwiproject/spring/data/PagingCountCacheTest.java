@@ -0,0 +1,174 @@
+package org.kiwiproject.spring.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+@DisplayName("PagingCountCache")
+class PagingCountCacheTest {
+
+    @Nested
+    class GetCount {
+
+        @Test
+        void shouldCacheCounts() {
+            var cache = new PagingCountCache(Duration.ofMinutes(1));
+            var counter = new AtomicInteger();
+
+            var count1 = cache.getCount("orders", new Document("status", "open"), () -> 42 + counter.getAndIncrement());
+            var count2 = cache.getCount("orders", new Document("status", "open"), () -> 42 + counter.getAndIncrement());
+
+            assertThat(count1).isEqualTo(42);
+            assertThat(count2).isEqualTo(42);
+            assertThat(counter).hasValue(1);
+            assertThat(cache.size()).isOne();
+        }
+
+        @Test
+        void shouldCountAgain_AfterInvalidation() {
+            var cache = new PagingCountCache(Duration.ofMinutes(1));
+            cache.getCount("orders", new Document(), () -> 1);
+
+            cache.invalidateAll();
+
+            assertThat(cache.getCount("orders", new Document(), () -> 2)).isEqualTo(2);
+        }
+
+        @Test
+        void shouldCountAgain_AfterExpiration() throws InterruptedException {
+            var cache = new PagingCountCache(Duration.ofMillis(10));
+            cache.getCount("orders", new Document(), () -> 1);
+
+            Thread.sleep(50);
+
+            assertThat(cache.getCount("orders", new Document(), () -> 2)).isEqualTo(2);
+        }
+
+        @Test
+        void shouldNotCacheCounts_WhenQueryCannotBeConvertedToJson() {
+            var cache = new PagingCountCache(Duration.ofMinutes(1));
+            var query = new Document("customer", new Object());
+
+            assertThat(cache.getCount("orders", query, () -> 1)).isEqualTo(1);
+            assertThat(cache.getCount("orders", query, () -> 2)).isEqualTo(2);
+            assertThat(cache.size()).isZero();
+        }
+    }
+
+    @Nested
+    class CacheKey {
+
+        @Test
+        void shouldIgnoreKeyOrder() {
+            var query1 = new Document("status", "open").append("total", new Document("$gt", 10).append("$lt", 20));
+            var query2 = new Document("total", new Document("$lt", 20).append("$gt", 10)).append("status", "open");
+
+            assertThat(PagingCountCache.cacheKey("orders", query1))
+                    .isEqualTo(PagingCountCache.cacheKey("orders", query2));
+        }
+
+        @Test
+        void shouldIgnoreKeyOrder_InLogicalOperatorQueries() {
+            var query1 = new Document("$or", List.of(new Document("status", "open").append("total", 10)));
+            var query2 = new Document("$or", List.of(new Document("total", 10).append("status", "open")));
+
+            assertThat(PagingCountCache.cacheKey("orders", query1))
+                    .isEqualTo(PagingCountCache.cacheKey("orders", query2));
+        }
+
+        @Test
+        void shouldKeepKeyOrder_InEmbeddedDocumentsMatchedByEquality() {
+            var query1 = new Document("a", new Document("x", 1).append("y", 2));
+            var query2 = new Document("a", new Document("y", 2).append("x", 1));
+
+            assertThat(PagingCountCache.cacheKey("orders", query1))
+                    .isNotEqualTo(PagingCountCache.cacheKey("orders", query2));
+        }
+
+        @Test
+        void shouldKeepKeyOrder_InEmbeddedDocumentOperands() {
+            var query1 = new Document("a", new Document("$in", List.of(new Document("x", 1).append("y", 2))));
+            var query2 = new Document("a", new Document("$in", List.of(new Document("y", 2).append("x", 1))));
+
+            assertThat(PagingCountCache.cacheKey("orders", query1))
+                    .isNotEqualTo(PagingCountCache.cacheKey("orders", query2));
+        }
+
+        @Test
+        void shouldDistinguishCollections() {
+            var query = new Document("status", "open");
+
+            assertThat(PagingCountCache.cacheKey("orders", query))
+                    .isNotEqualTo(PagingCountCache.cacheKey("invoices", query));
+        }
+
+        @Test
+        void shouldDistinguishStringsFromNumbers() {
+            assertThat(PagingCountCache.cacheKey("orders", new Document("customerId", "1")))
+                    .isNotEqualTo(PagingCountCache.cacheKey("orders", new Document("customerId", 1)));
+        }
+
+        @Test
+        void shouldDistinguishDates_ThatDifferOnlyInMilliseconds() {
+            var query1 = new Document("createdAt", new Document("$gte", new Date(1_000)));
+            var query2 = new Document("createdAt", new Document("$gte", new Date(1_500)));
+
+            assertThat(PagingCountCache.cacheKey("orders", query1))
+                    .isNotEqualTo(PagingCountCache.cacheKey("orders", query2));
+        }
+
+        @Test
+        void shouldDistinguishStrings_ContainingQuotes() {
+            var query1 = new Document("a", "x\",b:\"y");
+            var query2 = new Document("a", "x").append("b", "y");
+
+            assertThat(PagingCountCache.cacheKey("orders", query1))
+                    .isNotEqualTo(PagingCountCache.cacheKey("orders", query2));
+        }
+
+        @Test
+        void shouldKeepArrayOrder() {
+            var query1 = new Document("status", new Document("$in", List.of("open", "closed")));
+            var query2 = new Document("status", new Document("$in", List.of("closed", "open")));
+
+            assertThat(PagingCountCache.cacheKey("orders", query1))
+                    .isNotEqualTo(PagingCountCache.cacheKey("orders", query2));
+        }
+
+        @Test
+        void shouldDistinguishRegexFlags() {
+            var query1 = new Document("name", Pattern.compile("^a"));
+            var query2 = new Document("name", Pattern.compile("^a", Pattern.CASE_INSENSITIVE));
+
+            assertThat(PagingCountCache.cacheKey("orders", query1))
+                    .isNotEqualTo(PagingCountCache.cacheKey("orders", query2));
+        }
+
+        @Test
+        void shouldReturnNull_WhenQueryCannotBeConvertedToJson() {
+            var query = new Document("customer", new Object());
+
+            assertThat(PagingCountCache.cacheKey("orders", query)).isNull();
+        }
+    }
+
+    @Test
+    void shouldRequirePositiveTimeToLiveAndMaximumSize() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new PagingCountCache(Duration.ZERO))
+                .withMessage("timeToLive must be positive");
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new PagingCountCache(Duration.ofSeconds(1), 0))
+                .withMessage("maximumSize must be positive");
+    }
+}
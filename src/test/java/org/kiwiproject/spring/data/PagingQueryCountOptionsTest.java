@@ -0,0 +1,185 @@
+package org.kiwiproject.spring.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+@DisplayName("PagingQuery (count options)")
+class PagingQueryCountOptionsTest {
+
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getCollectionName(Order.class)).thenReturn("orders");
+    }
+
+    private PagingQuery pagingQuery(int page, int limit) {
+        return new PagingQuery(mongoTemplate).with(KiwiPaging.createPageable(page, limit));
+    }
+
+    @Test
+    void shouldCountExactly_ByDefault() {
+        when(mongoTemplate.count(any(Query.class), eq(Order.class))).thenReturn(12L);
+        when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenReturn(orders(5));
+
+        var page = pagingQuery(0, 5).findPage(Order.class, PagingCountOptions.defaults());
+
+        assertThat(page.getTotalElements()).isEqualTo(12);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+
+        var countQuery = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).count(countQuery.capture(), eq(Order.class));
+        assertThat(countQuery.getValue().getLimit()).isEqualTo(Integer.MAX_VALUE);
+        verify(mongoTemplate, never()).estimatedCount(Order.class);
+    }
+
+    @Nested
+    class EstimatedWhenUnfiltered {
+
+        private final PagingCountOptions options = PagingCountOptions.builder()
+                .countMode(PagingCountOptions.CountMode.ESTIMATED_WHEN_UNFILTERED)
+                .build();
+
+        @Test
+        void shouldUseEstimatedCount_WhenQueryHasNoCriteria() {
+            when(mongoTemplate.estimatedCount(Order.class)).thenReturn(100L);
+            when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenReturn(orders(10));
+
+            var page = pagingQuery(0, 10).findPage(Order.class, options);
+
+            assertThat(page.getTotalElements()).isEqualTo(100);
+            verify(mongoTemplate, never()).count(any(Query.class), eq(Order.class));
+        }
+
+        @Test
+        void shouldCountExactly_WhenQueryHasCriteria() {
+            when(mongoTemplate.count(any(Query.class), eq(Order.class))).thenReturn(7L);
+            when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenReturn(orders(7));
+            var query = pagingQuery(0, 10);
+            query.addCriteria(Criteria.where("customerId").is("A"));
+
+            var page = query.findPage(Order.class, options);
+
+            assertThat(page.getTotalElements()).isEqualTo(7);
+            verify(mongoTemplate, never()).estimatedCount(Order.class);
+        }
+    }
+
+    @Nested
+    class NoCount {
+
+        private final PagingCountOptions options = PagingCountOptions.builder()
+                .countMode(PagingCountOptions.CountMode.NONE)
+                .build();
+
+        @Test
+        void shouldProbeForNextPage_AndTrimExtraResult() {
+            when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenReturn(orders(6));
+
+            var page = pagingQuery(1, 5).findPage(Order.class, options);
+
+            assertThat(page.getContent()).hasSize(5);
+            assertThat(page.hasNext()).isTrue();
+            assertThat(page.getNumber()).isOne();
+            assertThat(page.getTotalElements()).isEqualTo(11);
+
+            var findQuery = ArgumentCaptor.forClass(Query.class);
+            verify(mongoTemplate).find(findQuery.capture(), eq(Order.class));
+            assertThat(findQuery.getValue().getLimit()).isEqualTo(6);
+            assertThat(findQuery.getValue().getSkip()).isEqualTo(5);
+            verify(mongoTemplate, never()).count(any(Query.class), eq(Order.class));
+        }
+
+        @Test
+        void shouldReportExactTotal_OnLastPage() {
+            when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenReturn(orders(3));
+
+            var page = pagingQuery(2, 5).findPage(Order.class, options);
+
+            assertThat(page.getContent()).hasSize(3);
+            assertThat(page.hasNext()).isFalse();
+            assertThat(page.getTotalElements()).isEqualTo(13);
+            assertThat(page.getTotalPages()).isEqualTo(3);
+        }
+    }
+
+    @Nested
+    class ConcurrentCount {
+
+        @Test
+        void shouldCountUsingExecutor() {
+            var executor = Executors.newSingleThreadExecutor();
+            try {
+                when(mongoTemplate.count(any(Query.class), eq(Order.class))).thenReturn(20L);
+                when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenReturn(orders(5));
+                var options = PagingCountOptions.builder().countExecutor(executor).build();
+
+                var page = pagingQuery(0, 5).findPage(Order.class, options);
+
+                assertThat(page.getTotalElements()).isEqualTo(20);
+                assertThat(page.getContent()).hasSize(5);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        void shouldRethrowCountFailure() {
+            var executor = Executors.newSingleThreadExecutor();
+            try {
+                var failure = new IllegalStateException("count failed");
+                when(mongoTemplate.count(any(Query.class), eq(Order.class))).thenThrow(failure);
+                when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenReturn(orders(5));
+                var options = PagingCountOptions.builder().countExecutor(executor).build();
+
+                var query = pagingQuery(0, 5);
+                assertThatThrownBy(() -> query.findPage(Order.class, options)).isSameAs(failure);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    void shouldUseCountCache() {
+        when(mongoTemplate.count(any(Query.class), eq(Order.class))).thenReturn(12L);
+        when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenReturn(orders(5));
+        var options = PagingCountOptions.builder()
+                .countCache(new PagingCountCache(Duration.ofMinutes(1)))
+                .build();
+
+        var page0 = pagingQuery(0, 5).findPage(Order.class, options);
+        var page1 = pagingQuery(1, 5).findPage(Order.class, options);
+
+        assertThat(page0.getTotalElements()).isEqualTo(12);
+        assertThat(page1.getTotalElements()).isEqualTo(12);
+        verify(mongoTemplate, times(1)).count(any(Query.class), eq(Order.class));
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(Order.class));
+    }
+
+    private static List<Order> orders(int count) {
+        return IntStream.range(0, count).mapToObj(i -> new Order()).toList();
+    }
+}
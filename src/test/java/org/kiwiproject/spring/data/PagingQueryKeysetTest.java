@@ -0,0 +1,285 @@
+package org.kiwiproject.spring.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.IntStream;
+
+@DisplayName("PagingQuery (keyset)")
+class PagingQueryKeysetTest {
+
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        var converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+    }
+
+    private PagingQuery pagingQuery(int limit, Object... sortDirectionAndFieldNamePairs) {
+        return new PagingQuery(mongoTemplate)
+                .with(KiwiPaging.createPageable(0, limit, sortDirectionAndFieldNamePairs));
+    }
+
+    @Test
+    void shouldFindFirstPage_SortingById_AsTieBreaker() {
+        when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenReturn(orders(6));
+
+        var keysetPage = pagingQuery(5, Sort.Direction.ASC, "customerId").findKeysetPage(Order.class, null);
+
+        assertThat(keysetPage.page().getContent()).hasSize(5);
+        assertThat(keysetPage.page().hasNext()).isTrue();
+        assertThat(keysetPage.hasNext()).isTrue();
+
+        var query = captureFindQuery();
+        assertThat(query.getLimit()).isEqualTo(6);
+        assertThat(query.getSkip()).isZero();
+        assertThat(query.getQueryObject()).isEmpty();
+        assertThat(query.getSortObject())
+                .isEqualTo(new Document("customerId", 1).append("id", 1));
+    }
+
+    @Test
+    void shouldIgnorePageNumber() {
+        when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenReturn(orders(2));
+        var query = new PagingQuery(mongoTemplate)
+                .with(KiwiPaging.createPageable(3, 5, Sort.Direction.ASC, "customerId"));
+
+        query.findKeysetPage(Order.class, null);
+
+        assertThat(captureFindQuery().getSkip()).isZero();
+    }
+
+    @Test
+    void shouldNotReturnToken_OnLastPage() {
+        when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenReturn(orders(3));
+
+        var keysetPage = pagingQuery(5, Sort.Direction.ASC, "customerId").findKeysetPage(Order.class, null);
+
+        assertThat(keysetPage.page().getContent()).hasSize(3);
+        assertThat(keysetPage.page().hasNext()).isFalse();
+        assertThat(keysetPage.continuationToken()).isNull();
+    }
+
+    @Test
+    void shouldNotAddIdSort_WhenSortAlreadyIncludesId() {
+        when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenReturn(orders(2));
+
+        pagingQuery(5, Sort.Direction.DESC, "_id").findKeysetPage(Order.class, null);
+
+        assertThat(captureFindQuery().getSortObject()).isEqualTo(new Document("_id", -1));
+    }
+
+    @Test
+    void shouldSeekAfterLastDocument_UsingContinuationToken() {
+        var firstPageOrders = orders(4);
+        when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenReturn(firstPageOrders);
+
+        var firstPage = pagingQuery(3, Sort.Direction.ASC, "customerId", Sort.Direction.DESC, "amount")
+                .findKeysetPage(Order.class, null);
+
+        var lastOrder = firstPageOrders.get(2);
+        var secondQuery = pagingQuery(3, Sort.Direction.ASC, "customerId", Sort.Direction.DESC, "amount");
+        secondQuery.findKeysetPage(Order.class, firstPage.continuationToken());
+
+        var queryCaptor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(queryCaptor.capture(), eq(Order.class));
+        var seekQuery = queryCaptor.getAllValues().get(1);
+
+        var expectedQuery = new Query(new Criteria().orOperator(
+                Criteria.where("customerId").gt(lastOrder.getCustomerId()),
+                new Criteria().andOperator(
+                        Criteria.where("customerId").is(lastOrder.getCustomerId()),
+                        Criteria.where("amount").lt(lastOrder.getAmount())),
+                new Criteria().andOperator(
+                        Criteria.where("customerId").is(lastOrder.getCustomerId()),
+                        Criteria.where("amount").is(lastOrder.getAmount()),
+                        Criteria.where("id").gt(lastOrder.getId()))));
+        assertThat(seekQuery.getQueryObject()).isEqualTo(expectedQuery.getQueryObject());
+    }
+
+    @Test
+    void shouldSeekAfterLastDocument_WhenQueryHasOrCriteria() {
+        var firstPageOrders = orders(4);
+        when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenReturn(firstPageOrders);
+        var statusCriteria = new Criteria().orOperator(
+                Criteria.where("status").is("A"), Criteria.where("status").is("B"));
+
+        var firstQuery = pagingQuery(3, Sort.Direction.ASC, "customerId");
+        firstQuery.addCriteria(statusCriteria);
+        var firstPage = firstQuery.findKeysetPage(Order.class, null);
+
+        var lastOrder = firstPageOrders.get(2);
+        var secondQuery = pagingQuery(3, Sort.Direction.ASC, "customerId");
+        secondQuery.addCriteria(statusCriteria);
+        secondQuery.findKeysetPage(Order.class, firstPage.continuationToken());
+
+        var queryCaptor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(queryCaptor.capture(), eq(Order.class));
+        var seekQuery = queryCaptor.getAllValues().get(1);
+
+        var keysetCriteria = new Criteria().orOperator(
+                Criteria.where("customerId").gt(lastOrder.getCustomerId()),
+                new Criteria().andOperator(
+                        Criteria.where("customerId").is(lastOrder.getCustomerId()),
+                        Criteria.where("id").gt(lastOrder.getId())));
+        assertThat(seekQuery.getQueryObject()).isEqualTo(new Document("$and",
+                List.of(statusCriteria.getCriteriaObject(), keysetCriteria.getCriteriaObject())));
+        assertThat(seekQuery.getSortObject()).isEqualTo(new Document("customerId", 1).append("id", 1));
+        assertThat(seekQuery.getLimit()).isEqualTo(4);
+        assertThat(seekQuery.getSkip()).isZero();
+    }
+
+    @Test
+    void shouldRejectToken_CreatedForDifferentSort() {
+        when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenReturn(orders(4));
+        var firstPage = pagingQuery(3, Sort.Direction.ASC, "customerId").findKeysetPage(Order.class, null);
+
+        var query = pagingQuery(3, Sort.Direction.DESC, "customerId");
+        var token = firstPage.continuationToken();
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> query.findKeysetPage(Order.class, token))
+                .withMessage("continuationToken was not created for this query's sort");
+    }
+
+    @Test
+    void shouldRequireNonNullSortValues() {
+        var orderWithoutCustomerId = new Order();
+        orderWithoutCustomerId.setId("000000000000000000000001");
+        when(mongoTemplate.find(any(Query.class), eq(Order.class)))
+                .thenReturn(List.of(orderWithoutCustomerId, new Order()));
+
+        var query = pagingQuery(1, Sort.Direction.ASC, "customerId");
+        assertThatIllegalStateException()
+                .isThrownBy(() -> query.findKeysetPage(Order.class, null))
+                .withMessage("sort property customerId must not be null for keyset pagination");
+    }
+
+    @Nested
+    class WithKeysetCriteria {
+
+        private final List<Sort.Order> orders = List.of(Sort.Order.asc("customerId"), Sort.Order.asc("id"));
+        private final List<Object> values = List.of("C-1", "abc");
+
+        private final Document keysetObject = new Criteria().orOperator(
+                Criteria.where("customerId").gt("C-1"),
+                new Criteria().andOperator(
+                        Criteria.where("customerId").is("C-1"),
+                        Criteria.where("id").gt("abc"))).getCriteriaObject();
+
+        @Test
+        void shouldUseOnlyKeysetCriteria_WhenQueryHasNoCriteria() {
+            var query = new Query();
+
+            var keysetQuery = PagingQuery.withKeysetCriteria(query, orders, values);
+
+            assertThat(keysetQuery.getQueryObject()).isEqualTo(keysetObject);
+        }
+
+        @Test
+        void shouldCombineWithExistingCriteria() {
+            var query = new Query(Criteria.where("status").is("A"));
+
+            var keysetQuery = PagingQuery.withKeysetCriteria(query, orders, values);
+
+            assertThat(keysetQuery.getQueryObject())
+                    .isEqualTo(new Document("$and", List.of(new Document("status", "A"), keysetObject)));
+        }
+
+        @Test
+        void shouldCombineWithExistingOrCriteria() {
+            var query = new Query(new Criteria().orOperator(
+                    Criteria.where("status").is("A"), Criteria.where("status").is("B")));
+            var queryObject = query.getQueryObject();
+            assertThat(queryObject).containsOnlyKeys("$or");
+
+            var keysetQuery = PagingQuery.withKeysetCriteria(query, orders, values);
+
+            assertThat(keysetQuery.getQueryObject())
+                    .isEqualTo(new Document("$and", List.of(queryObject, keysetObject)));
+        }
+
+        @Test
+        void shouldCombineWithExistingOrAndAndCriteria() {
+            var query = new Query(new Criteria()
+                    .orOperator(Criteria.where("status").is("A"), Criteria.where("status").is("B"))
+                    .andOperator(Criteria.where("amount").gt(1.0), Criteria.where("amount").lt(10.0)));
+            var queryObject = query.getQueryObject();
+            assertThat(queryObject).containsOnlyKeys("$or", "$and");
+
+            var keysetQuery = PagingQuery.withKeysetCriteria(query, orders, values);
+
+            assertThat(keysetQuery.getQueryObject())
+                    .isEqualTo(new Document("$and", List.of(queryObject, keysetObject)));
+        }
+
+        @Test
+        void shouldNotChangeOriginalQuery() {
+            var query = new Query(Criteria.where("status").is("A"));
+
+            PagingQuery.withKeysetCriteria(query, orders, values);
+
+            assertThat(query.getQueryObject()).isEqualTo(new Document("status", "A"));
+        }
+
+        @Test
+        void shouldCopyQuerySettings() {
+            var query = new Query(Criteria.where("status").is("A"))
+                    .with(Sort.by(Sort.Order.desc("amount")))
+                    .skip(10)
+                    .limit(5)
+                    .maxTimeMsec(5_000)
+                    .withHint("status_1");
+            query.fields().include("customerId", "amount");
+
+            var keysetQuery = PagingQuery.withKeysetCriteria(query, orders, values);
+
+            assertThat(keysetQuery.getFieldsObject()).isEqualTo(query.getFieldsObject());
+            assertThat(keysetQuery.getSortObject()).isEqualTo(new Document("amount", -1));
+            assertThat(keysetQuery.getSkip()).isEqualTo(10);
+            assertThat(keysetQuery.getLimit()).isEqualTo(5);
+            assertThat(keysetQuery.getMeta().getMaxTimeMsec()).isEqualTo(5_000L);
+            assertThat(keysetQuery.getHint()).isEqualTo("status_1");
+        }
+    }
+
+    private Query captureFindQuery() {
+        var queryCaptor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(queryCaptor.capture(), eq(Order.class));
+        return queryCaptor.getValue();
+    }
+
+    private static List<Order> orders(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> {
+                    var order = new Order("C-" + (i / 2), 100.0 - i, "A", new Date(i * 1000L));
+                    order.setId(String.format("%024x", i));
+                    return order;
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,93 @@
+package org.kiwiproject.spring.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Meta;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.util.List;
+
+@DisplayName("StreamQueryOptions")
+class StreamQueryOptionsTest {
+
+    @Test
+    void shouldHaveDefaults() {
+        var options = StreamQueryOptions.defaults();
+
+        assertThat(options.getCursorBatchSize()).isNull();
+        assertThat(options.getIncludedFields()).isEmpty();
+        assertThat(options.getExcludedFields()).isEmpty();
+        assertThat(options.getMaxTime()).isNull();
+        assertThat(options.getSort()).isEqualTo(Sort.unsorted());
+        assertThat(options.isNoCursorTimeout()).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 0})
+    void shouldRequirePositiveCursorBatchSize(int cursorBatchSize) {
+        var builder = StreamQueryOptions.builder().cursorBatchSize(cursorBatchSize);
+        assertThatIllegalArgumentException()
+                .isThrownBy(builder::build)
+                .withMessage("cursorBatchSize must be positive");
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {-1, 0})
+    void shouldRequirePositiveMaxTime(long maxTimeMillis) {
+        var builder = StreamQueryOptions.builder().maxTime(Duration.ofMillis(maxTimeMillis));
+        assertThatIllegalArgumentException()
+                .isThrownBy(builder::build)
+                .withMessage("maxTime must be positive");
+    }
+
+    @Nested
+    class ApplyTo {
+
+        @Test
+        void shouldNotChangeQuery_WithDefaults() {
+            var query = new Query(Criteria.where("status").is("A"));
+
+            StreamQueryOptions.defaults().applyTo(query);
+
+            assertThat(query.getQueryObject()).isEqualTo(new Document("status", "A"));
+            assertThat(query.getFieldsObject()).isEmpty();
+            assertThat(query.getSortObject()).isEmpty();
+            assertThat(query.getMeta().getCursorBatchSize()).isNull();
+            assertThat(query.getMeta().getMaxTimeMsec()).isNull();
+            assertThat(query.getMeta().getFlags()).isEmpty();
+        }
+
+        @Test
+        void shouldApplyAllOptions() {
+            var query = new Query(Criteria.where("status").is("A"));
+            var options = StreamQueryOptions.builder()
+                    .cursorBatchSize(500)
+                    .includedFields(List.of("customerId", "amount"))
+                    .excludedFields(List.of("_id"))
+                    .maxTime(Duration.ofSeconds(5))
+                    .sort(Sort.by(Sort.Order.desc("amount")))
+                    .noCursorTimeout(true)
+                    .build();
+
+            options.applyTo(query);
+
+            assertThat(query.getQueryObject()).isEqualTo(new Document("status", "A"));
+            assertThat(query.getFieldsObject())
+                    .isEqualTo(new Document("customerId", 1).append("amount", 1).append("_id", 0));
+            assertThat(query.getSortObject()).isEqualTo(new Document("amount", -1));
+            assertThat(query.getMeta().getCursorBatchSize()).isEqualTo(500);
+            assertThat(query.getMeta().getMaxTimeMsec()).isEqualTo(5_000L);
+            assertThat(query.getMeta().getFlags()).containsExactly(Meta.CursorOption.NO_TIMEOUT);
+        }
+    }
+}